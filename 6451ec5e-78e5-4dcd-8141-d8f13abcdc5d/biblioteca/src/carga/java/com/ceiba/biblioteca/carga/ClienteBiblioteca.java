@@ -0,0 +1,109 @@
+package com.ceiba.biblioteca.carga;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Cliente HTTP mínimo de la API de préstamos sobre HttpURLConnection.
+ *
+ * Lee siempre el cuerpo completo, incluso en las respuestas de error, para
+ * que la conexión vuelva al pool de keep-alive de la JVM y la prueba no
+ * mida el establecimiento de conexiones TCP.
+ */
+final class ClienteBiblioteca {
+
+    private final String url;
+
+    ClienteBiblioteca(String url) {
+        this.url = url;
+    }
+
+    /**
+     * @return código de estado y cuerpo de la respuesta; el cuerpo de un
+     *         préstamo exitoso es {"id":...,"fechaMaximaDevolucion":...}
+     */
+    Respuesta prestar(String isbn, String identificacionUsuario, int tipoUsuario) throws IOException {
+        byte[] cuerpo = ("{\"isbn\":\"" + isbn + "\",\"identificacionUsuario\":\"" + identificacionUsuario
+            + "\",\"tipoUsuario\":" + tipoUsuario + "}").getBytes(StandardCharsets.UTF_8);
+        HttpURLConnection conexion = abrir("/prestamo");
+        conexion.setRequestMethod("POST");
+        conexion.setDoOutput(true);
+        conexion.setFixedLengthStreamingMode(cuerpo.length);
+        conexion.setRequestProperty("Content-Type", "application/json");
+        try (OutputStream salida = conexion.getOutputStream()) {
+            salida.write(cuerpo);
+        }
+        return leer(conexion);
+    }
+
+    Respuesta consultar(int id) throws IOException {
+        HttpURLConnection conexion = abrir("/prestamo/" + id);
+        conexion.setRequestMethod("GET");
+        return leer(conexion);
+    }
+
+    private HttpURLConnection abrir(String ruta) throws IOException {
+        HttpURLConnection conexion = (HttpURLConnection) new URL(url + ruta).openConnection();
+        conexion.setRequestProperty("Accept", "application/json");
+        conexion.setConnectTimeout(5_000);
+        conexion.setReadTimeout(30_000);
+        return conexion;
+    }
+
+    private static Respuesta leer(HttpURLConnection conexion) throws IOException {
+        int estado = conexion.getResponseCode();
+        InputStream entrada = estado < 400 ? conexion.getInputStream() : conexion.getErrorStream();
+        ByteArrayOutputStream cuerpo = new ByteArrayOutputStream(256);
+        if (entrada != null) {
+            try (InputStream cerrable = entrada) {
+                byte[] bloque = new byte[1024];
+                for (int leidos; (leidos = cerrable.read(bloque)) != -1; ) {
+                    cuerpo.write(bloque, 0, leidos);
+                }
+            }
+        }
+        return new Respuesta(estado, cuerpo.toString("UTF-8"));
+    }
+
+    static final class Respuesta {
+
+        private final int estado;
+        private final String cuerpo;
+
+        Respuesta(int estado, String cuerpo) {
+            this.estado = estado;
+            this.cuerpo = cuerpo;
+        }
+
+        int getEstado() {
+            return estado;
+        }
+
+        String getCuerpo() {
+            return cuerpo;
+        }
+
+        /**
+         * Extrae el id de un ResultadoPrestar sin deserializar el resto del cuerpo.
+         */
+        Integer idPrestamo() {
+            int inicio = cuerpo.indexOf("\"id\":");
+            if (inicio < 0) {
+                return null;
+            }
+            int posicion = inicio + 5;
+            int id = 0;
+            boolean hayDigitos = false;
+            while (posicion < cuerpo.length() && Character.isDigit(cuerpo.charAt(posicion))) {
+                id = id * 10 + (cuerpo.charAt(posicion++) - '0');
+                hayDigitos = true;
+            }
+            return hayDigitos ? id : null;
+        }
+    }
+}
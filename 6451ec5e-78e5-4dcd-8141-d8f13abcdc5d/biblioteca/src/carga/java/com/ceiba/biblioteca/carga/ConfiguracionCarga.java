@@ -0,0 +1,137 @@
+package com.ceiba.biblioteca.carga;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opciones de la prueba de carga, leídas de argumentos --clave=valor:
+ * <pre>
+ * --tasa=500                 peticiones por segundo, constantes sin importar las respuestas
+ * --duracion=30s             tiempo de medición
+ * --calentamiento=10s        tiempo a la misma tasa antes de medir, sin registrar latencias
+ * --hilos=64                 hilos que envían las peticiones programadas
+ * --mezcla=afiliado:3,empleado:2,invitado:1,consulta:4   pesos de cada operación
+ * --perfil=memoria           perfil de Spring de la aplicación arrancada (por defecto JPA)
+ * --url=http://host:8000     servidor ya en marcha; sin esta opción se arranca uno en un puerto libre
+ * </pre>
+ * Los demás argumentos se pasan a la aplicación arrancada, por ejemplo
+ * --biblioteca.cache.prestamos.habilitado=false.
+ */
+final class ConfiguracionCarga {
+
+    private int tasa = 500;
+    private Duration duracion = Duration.ofSeconds(30);
+    private Duration calentamiento = Duration.ofSeconds(10);
+    private int hilos = 64;
+    private final Map<Operacion, Integer> mezcla = new EnumMap<>(Operacion.class);
+    private String perfil;
+    private String url;
+    private final List<String> argumentosAplicacion = new ArrayList<>();
+
+    private ConfiguracionCarga() {
+        mezcla.put(Operacion.AFILIADO, 3);
+        mezcla.put(Operacion.EMPLEADO, 2);
+        mezcla.put(Operacion.INVITADO, 1);
+        mezcla.put(Operacion.CONSULTA, 4);
+    }
+
+    static ConfiguracionCarga desdeArgumentos(String[] argumentos) {
+        ConfiguracionCarga configuracion = new ConfiguracionCarga();
+        for (String argumento : argumentos) {
+            int igual = argumento.indexOf('=');
+            if (!argumento.startsWith("--") || igual < 0) {
+                throw new IllegalArgumentException("Argumento con formato distinto de --clave=valor: " + argumento);
+            }
+            String valor = argumento.substring(igual + 1);
+            switch (argumento.substring(2, igual)) {
+                case "tasa":
+                    configuracion.tasa = positivo("tasa", valor);
+                    break;
+                case "duracion":
+                    configuracion.duracion = DurationStyle.detectAndParse(valor);
+                    break;
+                case "calentamiento":
+                    configuracion.calentamiento = DurationStyle.detectAndParse(valor);
+                    break;
+                case "hilos":
+                    configuracion.hilos = positivo("hilos", valor);
+                    break;
+                case "mezcla":
+                    configuracion.leerMezcla(valor);
+                    break;
+                case "perfil":
+                    configuracion.perfil = valor;
+                    break;
+                case "url":
+                    configuracion.url = valor.endsWith("/") ? valor.substring(0, valor.length() - 1) : valor;
+                    break;
+                default:
+                    configuracion.argumentosAplicacion.add(argumento);
+            }
+        }
+        return configuracion;
+    }
+
+    private void leerMezcla(String valor) {
+        mezcla.clear();
+        for (String parte : valor.split(",")) {
+            String[] nombreYPeso = parte.trim().split(":");
+            if (nombreYPeso.length != 2) {
+                throw new IllegalArgumentException("Mezcla con formato distinto de operacion:peso: " + parte);
+            }
+            int peso = Integer.parseInt(nombreYPeso[1].trim());
+            if (peso < 0) {
+                throw new IllegalArgumentException("Peso negativo en la mezcla: " + parte);
+            }
+            mezcla.put(Operacion.porNombre(nombreYPeso[0].trim()), peso);
+        }
+        if (mezcla.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("La mezcla no tiene ninguna operación con peso");
+        }
+    }
+
+    private static int positivo(String nombre, String valor) {
+        int numero = Integer.parseInt(valor);
+        if (numero <= 0) {
+            throw new IllegalArgumentException(nombre + " debe ser mayor que cero: " + valor);
+        }
+        return numero;
+    }
+
+    int getTasa() {
+        return tasa;
+    }
+
+    Duration getDuracion() {
+        return duracion;
+    }
+
+    Duration getCalentamiento() {
+        return calentamiento;
+    }
+
+    int getHilos() {
+        return hilos;
+    }
+
+    Map<Operacion, Integer> getMezcla() {
+        return mezcla;
+    }
+
+    String getPerfil() {
+        return perfil;
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    List<String> getArgumentosAplicacion() {
+        return argumentosAplicacion;
+    }
+}
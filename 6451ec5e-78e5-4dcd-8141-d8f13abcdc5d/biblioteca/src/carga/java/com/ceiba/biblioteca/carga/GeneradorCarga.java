@@ -0,0 +1,180 @@
+package com.ceiba.biblioteca.carga;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga de modelo abierto: las peticiones se programan a una
+ * tasa constante, sin esperar a que respondan las anteriores.
+ *
+ * Un hilo programador calcula el instante en que debe salir cada petición
+ * y la entrega a un pool de hilos con cola sin límite. La latencia se mide
+ * desde ese instante programado y no desde el envío real, así que el tiempo
+ * que una petición pasa en cola porque el servidor va atrasado cuenta como
+ * latencia. Un generador cerrado, que espera cada respuesta antes de enviar
+ * la siguiente, dejaría de enviar justo cuando el servidor se atasca y
+ * ocultaría esos tiempos (omisión coordinada).
+ *
+ * Los préstamos de invitado usan una identificación nueva en cada petición,
+ * porque un invitado solo puede tener un préstamo; afiliados y empleados se
+ * reparten entre un grupo fijo de usuarios. Las consultas piden préstamos
+ * creados por la propia prueba.
+ */
+final class GeneradorCarga {
+
+    private static final String[] ISBNS = {
+        "9788408187462", "9788491050145", "9788420432781", "9788466331470", "9788437604947",
+        "9788408114314", "9788466337991", "9788499892719", "9788408043645", "9788497592567",
+        "9788466658935", "9788466352406", "9788499926278", "9788408131465", "9788466334242",
+        "ASDA7884", "AWQ489", "EQWQW8545"
+    };
+
+    private static final int USUARIOS_FRECUENTES = 1_000;
+    private static final int IDS_RECORDADOS = 4_096;
+
+    private final ConfiguracionCarga configuracion;
+    private final ClienteBiblioteca cliente;
+    private final Operacion[] operacionesPorPeso;
+    private final Map<Operacion.Endpoint, MedicionEndpoint> mediciones = new EnumMap<>(Operacion.Endpoint.class);
+
+    private final String prefijoInvitados = "C" + Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong invitados = new AtomicLong();
+    private final AtomicIntegerArray idsCreados = new AtomicIntegerArray(IDS_RECORDADOS);
+    private final AtomicLong prestamosCreados = new AtomicLong();
+
+    private int colaMaxima;
+    private long nanosMedidos;
+
+    GeneradorCarga(ConfiguracionCarga configuracion, ClienteBiblioteca cliente) {
+        this.configuracion = configuracion;
+        this.cliente = cliente;
+        int pesoTotal = configuracion.getMezcla().values().stream().mapToInt(Integer::intValue).sum();
+        this.operacionesPorPeso = new Operacion[pesoTotal];
+        int posicion = 0;
+        for (Map.Entry<Operacion, Integer> entrada : configuracion.getMezcla().entrySet()) {
+            for (int i = 0; i < entrada.getValue(); i++) {
+                operacionesPorPeso[posicion++] = entrada.getKey();
+            }
+        }
+        for (Operacion.Endpoint endpoint : Operacion.Endpoint.values()) {
+            mediciones.put(endpoint, new MedicionEndpoint());
+        }
+    }
+
+    /**
+     * Ejecuta el calentamiento y la medición y espera a que terminen todas
+     * las peticiones programadas.
+     */
+    Map<Operacion.Endpoint, MedicionEndpoint> ejecutar() throws InterruptedException {
+        ThreadPoolExecutor hilos = crearHilos(configuracion.getHilos());
+        double nanosEntrePeticiones = TimeUnit.SECONDS.toNanos(1) / (double) configuracion.getTasa();
+        long inicio = System.nanoTime();
+        long inicioMedicion = inicio + configuracion.getCalentamiento().toNanos();
+        long fin = inicioMedicion + configuracion.getDuracion().toNanos();
+        try {
+            for (long i = 0; ; i++) {
+                long programada = inicio + (long) (i * nanosEntrePeticiones);
+                if (programada >= fin) {
+                    break;
+                }
+                for (long espera; (espera = programada - System.nanoTime()) > 0; ) {
+                    LockSupport.parkNanos(espera);
+                }
+                Operacion operacion = operacionesPorPeso[ThreadLocalRandom.current().nextInt(operacionesPorPeso.length)];
+                boolean medir = programada >= inicioMedicion;
+                hilos.execute(() -> ejecutar(operacion, programada, medir));
+                colaMaxima = Math.max(colaMaxima, hilos.getQueue().size());
+            }
+        } finally {
+            hilos.shutdown();
+        }
+        hilos.awaitTermination(1, TimeUnit.HOURS);
+        nanosMedidos = Math.max(System.nanoTime(), fin) - inicioMedicion;
+        return mediciones;
+    }
+
+    /**
+     * @return segundos desde el inicio de la medición hasta la última respuesta
+     */
+    double segundosMedidos() {
+        return nanosMedidos / 1e9;
+    }
+
+    /**
+     * @return peticiones que llegaron a esperar en cola a un hilo libre; si no
+     *         es cercano a cero, la tasa superó la capacidad del servidor o de --hilos
+     */
+    int getColaMaxima() {
+        return colaMaxima;
+    }
+
+    private void ejecutar(Operacion operacion, long programada, boolean medir) {
+        int estado;
+        try {
+            ClienteBiblioteca.Respuesta respuesta = enviar(operacion);
+            estado = respuesta.getEstado();
+            if (operacion.getEndpoint() == Operacion.Endpoint.PRESTAMO && estado == 200) {
+                recordar(respuesta.idPrestamo());
+            }
+        } catch (IOException e) {
+            estado = MedicionEndpoint.ERROR_ENTRADA_SALIDA;
+        }
+        long latencia = System.nanoTime() - programada;
+        if (medir) {
+            mediciones.get(operacion.getEndpoint()).registrar(latencia, estado);
+        }
+    }
+
+    private ClienteBiblioteca.Respuesta enviar(Operacion operacion) throws IOException {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        switch (operacion) {
+            case CONSULTA:
+                return cliente.consultar(idExistente(aleatorio));
+            case INVITADO:
+                return cliente.prestar(ISBNS[aleatorio.nextInt(ISBNS.length)],
+                    prefijoInvitados + invitados.incrementAndGet(), operacion.getTipoUsuario());
+            default:
+                return cliente.prestar(ISBNS[aleatorio.nextInt(ISBNS.length)],
+                    operacion.getNombre().charAt(0) + String.valueOf(aleatorio.nextInt(USUARIOS_FRECUENTES)),
+                    operacion.getTipoUsuario());
+        }
+    }
+
+    private void recordar(Integer id) {
+        if (id != null) {
+            idsCreados.set((int) (prestamosCreados.getAndIncrement() % IDS_RECORDADOS), id);
+        }
+    }
+
+    /**
+     * Mientras la prueba no haya creado préstamos consulta el id 1, que
+     * existe en los datos semilla de los perfiles JPA y memoria.
+     */
+    private int idExistente(ThreadLocalRandom aleatorio) {
+        int recordados = (int) Math.min(prestamosCreados.get(), IDS_RECORDADOS);
+        if (recordados == 0) {
+            return 1;
+        }
+        int id = idsCreados.get(aleatorio.nextInt(recordados));
+        return id == 0 ? 1 : id;
+    }
+
+    private static ThreadPoolExecutor crearHilos(int cantidad) {
+        AtomicInteger numero = new AtomicInteger();
+        return new ThreadPoolExecutor(cantidad, cantidad, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+            tarea -> {
+                Thread hilo = new Thread(tarea, "carga-" + numero.incrementAndGet());
+                hilo.setDaemon(true);
+                return hilo;
+            });
+    }
+}
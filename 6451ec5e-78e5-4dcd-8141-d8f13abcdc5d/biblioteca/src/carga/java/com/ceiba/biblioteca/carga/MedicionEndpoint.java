@@ -0,0 +1,64 @@
+package com.ceiba.biblioteca.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias y errores de un endpoint durante la medición.
+ *
+ * Las latencias se registran en microsegundos en un histograma HDR con 3
+ * dígitos significativos, que se redimensiona solo: los percentiles altos
+ * no se pierden por un límite fijado de antemano ni se promedian.
+ */
+final class MedicionEndpoint {
+
+    /**
+     * Clave de los errores de E/S: conexión rechazada, tiempo de espera agotado.
+     */
+    static final int ERROR_ENTRADA_SALIDA = -1;
+
+    private final Histogram latencias = new ConcurrentHistogram(3);
+    private final Map<Integer, LongAdder> errores = new ConcurrentHashMap<>();
+
+    void registrar(long latenciaNanos, int estado) {
+        latencias.recordValue(Math.max(1, latenciaNanos / 1_000));
+        if (estado != 200) {
+            errores.computeIfAbsent(estado, clave -> new LongAdder()).increment();
+        }
+    }
+
+    long getPeticiones() {
+        return latencias.getTotalCount();
+    }
+
+    long getErrores() {
+        return errores.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * @return errores por código de estado HTTP, con {@link #ERROR_ENTRADA_SALIDA}
+     *         para los que no tuvieron respuesta
+     */
+    Map<Integer, Long> getErroresPorEstado() {
+        Map<Integer, Long> porEstado = new TreeMap<>();
+        errores.forEach((estado, cuenta) -> porEstado.put(estado, cuenta.sum()));
+        return porEstado;
+    }
+
+    /**
+     * @param percentil entre 0 y 100
+     * @return latencia en milisegundos
+     */
+    double percentil(double percentil) {
+        return latencias.getValueAtPercentile(percentil) / 1_000.0;
+    }
+
+    double maximo() {
+        return latencias.getMaxValue() / 1_000.0;
+    }
+}
@@ -0,0 +1,60 @@
+package com.ceiba.biblioteca.carga;
+
+/**
+ * Operaciones que mezcla la prueba de carga. Los préstamos de los tres
+ * tipos de usuario se miden juntos en POST /prestamo y las consultas en
+ * GET /prestamo/{id}.
+ */
+enum Operacion {
+
+    AFILIADO("afiliado", 1, Endpoint.PRESTAMO),
+    EMPLEADO("empleado", 2, Endpoint.PRESTAMO),
+    INVITADO("invitado", 3, Endpoint.PRESTAMO),
+    CONSULTA("consulta", 0, Endpoint.CONSULTA);
+
+    private final String nombre;
+    private final int tipoUsuario;
+    private final Endpoint endpoint;
+
+    Operacion(String nombre, int tipoUsuario, Endpoint endpoint) {
+        this.nombre = nombre;
+        this.tipoUsuario = tipoUsuario;
+        this.endpoint = endpoint;
+    }
+
+    String getNombre() {
+        return nombre;
+    }
+
+    int getTipoUsuario() {
+        return tipoUsuario;
+    }
+
+    Endpoint getEndpoint() {
+        return endpoint;
+    }
+
+    static Operacion porNombre(String nombre) {
+        for (Operacion operacion : values()) {
+            if (operacion.nombre.equals(nombre)) {
+                return operacion;
+            }
+        }
+        throw new IllegalArgumentException("Operación desconocida en la mezcla: " + nombre);
+    }
+
+    enum Endpoint {
+        PRESTAMO("POST /prestamo"),
+        CONSULTA("GET /prestamo/{id}");
+
+        private final String descripcion;
+
+        Endpoint(String descripcion) {
+            this.descripcion = descripcion;
+        }
+
+        String getDescripcion() {
+            return descripcion;
+        }
+    }
+}
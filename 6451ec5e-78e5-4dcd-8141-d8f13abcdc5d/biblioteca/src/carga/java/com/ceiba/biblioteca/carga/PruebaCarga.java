@@ -0,0 +1,134 @@
+package com.ceiba.biblioteca.carga;
+
+import com.ceiba.biblioteca.BibliotecaApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Prueba de carga HTTP de POST /prestamo y GET /prestamo/{id}.
+ *
+ * Arranca la aplicación en un puerto libre de 127.0.0.1 (o usa --url),
+ * envía la mezcla de operaciones a tasa constante con {@link GeneradorCarga}
+ * e imprime por endpoint las peticiones, los errores, el throughput y los
+ * percentiles p50, p99 y p999 de latencia. Las opciones están descritas en
+ * {@link ConfiguracionCarga}; desde Gradle:
+ * <pre>
+ * ./gradlew carga -Pcarga.args="--tasa=2000 --duracion=60s --perfil=memoria"
+ * </pre>
+ *
+ * La tasa sostenible es la mayor con la que el p99 se mantiene dentro del
+ * objetivo, sin errores y con la cola del generador cerca de cero.
+ */
+public final class PruebaCarga {
+
+    private PruebaCarga() {
+    }
+
+    public static void main(String[] argumentos) throws Exception {
+        ConfiguracionCarga configuracion = ConfiguracionCarga.desdeArgumentos(argumentos);
+        // Por defecto la JVM solo conserva 5 conexiones keep-alive por servidor
+        System.setProperty("http.maxConnections", String.valueOf(configuracion.getHilos()));
+
+        Path directorioJournal = null;
+        ConfigurableApplicationContext contexto = null;
+        String url = configuracion.getUrl();
+        try {
+            if (url == null) {
+                if ("journal".equals(configuracion.getPerfil())) {
+                    directorioJournal = Files.createTempDirectory("carga-journal");
+                }
+                contexto = arrancar(configuracion, directorioJournal);
+                url = "http://127.0.0.1:" + ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            }
+            GeneradorCarga generador = new GeneradorCarga(configuracion, new ClienteBiblioteca(url));
+            System.out.printf("%s: %d peticiones/s durante %ss tras %ss de calentamiento, %d hilos, mezcla %s%n",
+                url, configuracion.getTasa(), configuracion.getDuracion().getSeconds(),
+                configuracion.getCalentamiento().getSeconds(), configuracion.getHilos(), describirMezcla(configuracion));
+            imprimir(generador.ejecutar(), generador);
+        } finally {
+            if (contexto != null) {
+                contexto.close();
+            }
+            if (directorioJournal != null) {
+                borrar(directorioJournal);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext arrancar(ConfiguracionCarga configuracion, Path directorioJournal) {
+        // Los argumentos de la prueba reemplazan a los de fábrica con la misma clave;
+        // repetida en la línea de comandos, Spring la uniría con comas
+        Map<String, String> valores = new LinkedHashMap<>();
+        valores.put("server.port", "0");
+        valores.put("server.address", "127.0.0.1");
+        valores.put("spring.main.banner-mode", "off");
+        valores.put("spring.jpa.show-sql", "false");
+        valores.put("logging.level.root", "WARN");
+        if (directorioJournal != null) {
+            valores.put("biblioteca.journal.directorio", directorioJournal.toString());
+        }
+        for (String argumento : configuracion.getArgumentosAplicacion()) {
+            int igual = argumento.indexOf('=');
+            valores.put(argumento.substring(2, igual), argumento.substring(igual + 1));
+        }
+        SpringApplicationBuilder aplicacion = new SpringApplicationBuilder(BibliotecaApplication.class)
+            .web(WebApplicationType.SERVLET)
+            .logStartupInfo(false);
+        if (configuracion.getPerfil() != null) {
+            aplicacion.profiles(configuracion.getPerfil());
+        }
+        return aplicacion.run(valores.entrySet().stream()
+            .map(valor -> "--" + valor.getKey() + "=" + valor.getValue())
+            .toArray(String[]::new));
+    }
+
+    private static void imprimir(Map<Operacion.Endpoint, MedicionEndpoint> mediciones, GeneradorCarga generador) {
+        double segundos = generador.segundosMedidos();
+        System.out.printf("%n%-20s %10s %8s %12s %10s %10s %10s %10s%n",
+            "Endpoint", "Peticiones", "Errores", "Peticiones/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Map.Entry<Operacion.Endpoint, MedicionEndpoint> entrada : mediciones.entrySet()) {
+            MedicionEndpoint medicion = entrada.getValue();
+            if (medicion.getPeticiones() == 0) {
+                continue;
+            }
+            System.out.printf("%-20s %10d %8d %12.1f %10.3f %10.3f %10.3f %10.3f%n",
+                entrada.getKey().getDescripcion(), medicion.getPeticiones(), medicion.getErrores(),
+                medicion.getPeticiones() / segundos, medicion.percentil(50), medicion.percentil(99),
+                medicion.percentil(99.9), medicion.maximo());
+        }
+        for (Map.Entry<Operacion.Endpoint, MedicionEndpoint> entrada : mediciones.entrySet()) {
+            if (entrada.getValue().getErrores() > 0) {
+                System.out.printf("Errores de %s por estado (-1 = E/S): %s%n",
+                    entrada.getKey().getDescripcion(), entrada.getValue().getErroresPorEstado());
+            }
+        }
+        System.out.printf("Medido en %.1fs; mayor cola del generador: %d peticiones%n",
+            segundos, generador.getColaMaxima());
+    }
+
+    private static String describirMezcla(ConfiguracionCarga configuracion) {
+        return configuracion.getMezcla().entrySet().stream()
+            .map(peso -> peso.getKey().getNombre() + ":" + peso.getValue())
+            .collect(Collectors.joining(","));
+    }
+
+    private static void borrar(Path directorio) {
+        try (Stream<Path> rutas = Files.walk(directorio)) {
+            rutas.sorted(Comparator.reverseOrder()).forEach(ruta -> ruta.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.ceiba.biblioteca;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Arranca la aplicación sin servidor web para los benchmarks que necesitan
+ * los adaptadores reales (JPA sobre H2, journal, cachés).
+ *
+ * Las propiedades se pasan como argumentos de línea de comandos para que
+ * prevalezcan sobre application.properties: sin SQL en consola, con log
+ * solo de advertencias y con las cachés apagadas salvo que el benchmark
+ * las encienda. Cada propiedad del benchmark reemplaza a la de fábrica con
+ * la misma clave; repetida en la línea de comandos, Spring la uniría con comas.
+ */
+public final class ContextoBiblioteca {
+
+    private ContextoBiblioteca() {
+    }
+
+    public static ConfigurableApplicationContext iniciar(String perfil, String... propiedades) {
+        Map<String, String> valores = new LinkedHashMap<>();
+        valores.put("spring.main.banner-mode", "off");
+        valores.put("spring.jpa.show-sql", "false");
+        valores.put("logging.level.root", "WARN");
+        valores.put("biblioteca.cache.libros.habilitado", "false");
+        valores.put("biblioteca.cache.prestamos.habilitado", "false");
+        for (String propiedad : propiedades) {
+            int igual = propiedad.indexOf('=');
+            valores.put(propiedad.substring(0, igual), propiedad.substring(igual + 1));
+        }
+        String[] argumentos = valores.entrySet().stream()
+            .map(valor -> "--" + valor.getKey() + "=" + valor.getValue())
+            .toArray(String[]::new);
+        SpringApplicationBuilder aplicacion = new SpringApplicationBuilder(BibliotecaApplication.class)
+            .web(WebApplicationType.NONE)
+            .logStartupInfo(false);
+        if (perfil != null) {
+            aplicacion.profiles(perfil);
+        }
+        return aplicacion.run(argumentos);
+    }
+}
@@ -0,0 +1,136 @@
+package com.ceiba.biblioteca.application.usecase;
+
+import com.ceiba.biblioteca.application.dto.ConsultaPrestamoResponse;
+import com.ceiba.biblioteca.application.dto.PrestarLibroCommand;
+import com.ceiba.biblioteca.application.dto.ResultadoPrestar;
+import com.ceiba.biblioteca.domain.port.in.ConsultarPrestamoUseCase;
+import com.ceiba.biblioteca.domain.port.in.PrestarLibroUseCase;
+import com.ceiba.biblioteca.domain.port.out.LibroRepositoryPort;
+import com.ceiba.biblioteca.domain.port.out.PrestamoRepositoryPort;
+import com.ceiba.biblioteca.domain.service.CalculadorFechaDevolucion;
+import com.ceiba.biblioteca.domain.service.ProveedorFechasDelDia;
+import com.ceiba.biblioteca.domain.service.ValidadorPrestamo;
+import com.ceiba.biblioteca.infrastructure.adapter.in.metricas.ConsultarPrestamoUseCaseMetricas;
+import com.ceiba.biblioteca.infrastructure.adapter.in.metricas.PrestarLibroUseCaseMetricas;
+import com.ceiba.biblioteca.infrastructure.adapter.out.bloqueo.BloqueoUsuarioLocalAdapter;
+import com.ceiba.biblioteca.infrastructure.adapter.out.memoria.AlmacenMemoria;
+import com.ceiba.biblioteca.infrastructure.adapter.out.memoria.LibroRepositoryMemoriaAdapter;
+import com.ceiba.biblioteca.infrastructure.adapter.out.memoria.PrestamoRepositoryMemoriaAdapter;
+import com.ceiba.biblioteca.infrastructure.adapter.out.metricas.LibroRepositoryMetricasAdapter;
+import com.ceiba.biblioteca.infrastructure.adapter.out.metricas.PrestamoRepositoryMetricasAdapter;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Casos de uso de préstamo y consulta sobre los adaptadores en memoria, sin
+ * Spring ni base de datos: mide el costo propio de la aplicación y del
+ * dominio. Las variantes con 64 hilos miden la contención en los mapas
+ * concurrentes del almacén.
+ *
+ * El almacén se recrea en cada iteración para que su tamaño no dependa de
+ * cuántos préstamos alcanzaron a crearse antes.
+ *
+ * Con metricas=true los casos de uso y los puertos llevan los decoradores
+ * de Micrometer sobre un registro de Prometheus, como en la aplicación; la
+ * diferencia con metricas=false es el costo de la instrumentación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrestamoUseCaseBenchmark {
+
+    private static final String[] ISBNS = {"ASDA7884", "AWQ489", "9788408187462", "978-84-08-18746-2"};
+
+    @Param({"false", "true"})
+    private boolean metricas;
+
+    private PrestarLibroUseCase prestarLibro;
+    private ConsultarPrestamoUseCase consultarPrestamo;
+
+    @State(Scope.Thread)
+    public static class Solicitudes {
+
+        private static int siguienteHilo;
+
+        private final String prefijo;
+        private int contador;
+
+        public Solicitudes() {
+            synchronized (Solicitudes.class) {
+                prefijo = "H" + siguienteHilo++ + "-";
+            }
+        }
+
+        PrestarLibroCommand siguiente() {
+            int numero = contador++;
+            return new PrestarLibroCommand(ISBNS[numero & 3], prefijo + (numero & 1023), 1 + (numero & 1));
+        }
+
+        int siguienteId() {
+            return 1 + (contador++ % 7);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void preparar() {
+        AlmacenMemoria almacen = new AlmacenMemoria(new ClassPathResource("memoria/libros.csv"),
+            new ClassPathResource("memoria/prestamos.csv"));
+        PrestamoRepositoryPort prestamos = new PrestamoRepositoryMemoriaAdapter(almacen);
+        LibroRepositoryPort libros = new LibroRepositoryMemoriaAdapter(almacen);
+        PrometheusMeterRegistry registro = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        if (metricas) {
+            prestamos = new PrestamoRepositoryMetricasAdapter(prestamos, registro);
+            libros = new LibroRepositoryMetricasAdapter(libros, registro);
+        }
+        prestarLibro = new PrestarLibroUseCaseImpl(prestamos, libros,
+            new ProveedorFechasDelDia(Clock.systemDefaultZone(), new CalculadorFechaDevolucion()),
+            new ValidadorPrestamo(prestamos), new BloqueoUsuarioLocalAdapter());
+        consultarPrestamo = new ConsultarPrestamoUseCaseImpl(prestamos);
+        if (metricas) {
+            prestarLibro = new PrestarLibroUseCaseMetricas(prestarLibro, registro);
+            consultarPrestamo = new ConsultarPrestamoUseCaseMetricas(consultarPrestamo, registro);
+        }
+    }
+
+    @Benchmark
+    public ResultadoPrestar prestar(Solicitudes solicitudes) {
+        return prestarLibro.ejecutar(solicitudes.siguiente());
+    }
+
+    @Benchmark
+    @Threads(64)
+    public ResultadoPrestar prestar64Hilos(Solicitudes solicitudes) {
+        return prestarLibro.ejecutar(solicitudes.siguiente());
+    }
+
+    @Benchmark
+    public ConsultaPrestamoResponse consultar(Solicitudes solicitudes) {
+        return consultarPrestamo.ejecutar(solicitudes.siguienteId());
+    }
+
+    @Benchmark
+    @Threads(64)
+    public ConsultaPrestamoResponse consultar64Hilos(Solicitudes solicitudes) {
+        return consultarPrestamo.ejecutar(solicitudes.siguienteId());
+    }
+}
@@ -0,0 +1,64 @@
+package com.ceiba.biblioteca.domain.model;
+
+import com.ceiba.biblioteca.domain.exception.TipoUsuarioNoPermitidoException;
+import com.ceiba.biblioteca.domain.service.ValidadorPrestamo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolución del tipo de usuario y su rechazo. Con -prof gc,
+ * validarTipoUsuario con un valor inválido debería reportar 0 B/op en
+ * gc.alloc.rate.norm: la excepción es una instancia compartida sin traza.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TipoUsuarioBenchmark {
+
+    @Param({"1", "3", "5"})
+    private Integer valor;
+
+    private ValidadorPrestamo validador;
+
+    @Setup
+    public void preparar() {
+        validador = new ValidadorPrestamo(null);
+    }
+
+    @Benchmark
+    public TipoUsuario fromValor() {
+        try {
+            return TipoUsuario.fromValor(valor);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public TipoUsuario buscarPorValor() {
+        return TipoUsuario.buscarPorValor(valor);
+    }
+
+    @Benchmark
+    public TipoUsuario validarTipoUsuario() {
+        try {
+            return validador.validarTipoUsuario(valor);
+        } catch (TipoUsuarioNoPermitidoException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.ceiba.biblioteca.domain.service;
+
+import com.ceiba.biblioteca.domain.model.CalendarioFestivos;
+import com.ceiba.biblioteca.domain.model.FechasDelDia;
+import com.ceiba.biblioteca.domain.model.FestivosColombia;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo de la fecha máxima de devolución: sin festivos, con el calendario
+ * de festivos de Colombia generado por regla, y la lectura memorizada de
+ * las fechas del día que usa el caso de uso de préstamo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculadorFechaDevolucionBenchmark {
+
+    @Param({"AFILIADO", "EMPLEADO", "INVITADO"})
+    private TipoUsuario tipoUsuario;
+
+    private final LocalDate fechaBase = LocalDate.of(2026, 12, 18);
+
+    private CalculadorFechaDevolucion sinFestivos;
+    private CalculadorFechaDevolucion conFestivos;
+    private ProveedorFechasDelDia fechasDelDia;
+
+    @Setup
+    public void preparar() {
+        sinFestivos = new CalculadorFechaDevolucion();
+        conFestivos = new CalculadorFechaDevolucion(
+            CalendarioFestivos.porRegla(FestivosColombia::delAnio, Collections.emptyList()));
+        fechasDelDia = new ProveedorFechasDelDia(Clock.systemDefaultZone(), conFestivos);
+    }
+
+    @Benchmark
+    public LocalDate calcularHoy() {
+        return sinFestivos.calcular(tipoUsuario);
+    }
+
+    @Benchmark
+    public LocalDate calcularSinFestivos() {
+        return sinFestivos.calcular(tipoUsuario, fechaBase);
+    }
+
+    @Benchmark
+    public LocalDate calcularConFestivos() {
+        return conFestivos.calcular(tipoUsuario, fechaBase);
+    }
+
+    @Benchmark
+    public LocalDate fechasDelDiaMemorizadas() {
+        FechasDelDia fechas = fechasDelDia.actuales();
+        return fechas.getFechaMaximaDevolucion(tipoUsuario);
+    }
+}
@@ -0,0 +1,135 @@
+package com.ceiba.biblioteca.infrastructure.adapter.in.web.codec;
+
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ConsultaPrestamoResponseDto;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ResultadoPrestarDto;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.SolicitudPrestarLibroDto;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU y bytes por mensaje de préstamo en cada formato:
+ * - jackson: binding por reflexión con ObjectMapper, como antes de los codecs
+ * - streaming: el JSON escrito a mano de PrestamoJsonHttpMessageConverter
+ * - binario: el formato compacto de CodecBinarioPrestamo
+ *
+ * El contador auxiliar "bytes" reporta el tamaño del mensaje; con -prof gc,
+ * gc.alloc.rate.norm da los bytes asignados por mensaje.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecPrestamoBenchmark {
+
+    @Param({"jackson", "streaming", "binario"})
+    private String formato;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final JsonFactory jsonFactory = objectMapper.getFactory();
+
+    private final SolicitudPrestarLibroDto solicitud = new SolicitudPrestarLibroDto("9788408187462", "1022334455", 1);
+    private final ResultadoPrestarDto resultado = new ResultadoPrestarDto(1048576, "26/10/2026",
+        LocalDate.of(2026, 10, 26));
+    private final ConsultaPrestamoResponseDto consulta = new ConsultaPrestamoResponseDto(1048576, "9788408187462",
+        "Cien Años de Soledad", "26/10/2026", "1022334455", 1, LocalDate.of(2026, 10, 26));
+
+    private byte[] solicitudCodificada;
+
+    /**
+     * Tamaño en bytes del último mensaje; al ser un valor fijo por formato,
+     * JMH lo reporta tal cual.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Tamano {
+        public long bytes;
+    }
+
+    @Setup
+    public void preparar() throws IOException {
+        if (formato.equals("binario")) {
+            solicitudCodificada = CodecBinarioPrestamo.codificar(solicitud);
+        } else {
+            solicitudCodificada = objectMapper.writeValueAsBytes(solicitud);
+        }
+    }
+
+    @Benchmark
+    public SolicitudPrestarLibroDto leerSolicitud(Tamano tamano) throws IOException {
+        tamano.bytes = solicitudCodificada.length;
+        switch (formato) {
+            case "jackson":
+                return objectMapper.readValue(solicitudCodificada, SolicitudPrestarLibroDto.class);
+            case "streaming":
+                try (JsonParser parser = jsonFactory.createParser(solicitudCodificada)) {
+                    return PrestamoJsonHttpMessageConverter.leerSolicitud(parser);
+                }
+            default:
+                return CodecBinarioPrestamo.leerSolicitud(new DataInputStream(new ByteArrayInputStream(solicitudCodificada)));
+        }
+    }
+
+    @Benchmark
+    public byte[] escribirResultado(Tamano tamano) throws IOException {
+        return escribir(resultado, tamano);
+    }
+
+    @Benchmark
+    public byte[] escribirConsulta(Tamano tamano) throws IOException {
+        return escribir(consulta, tamano);
+    }
+
+    private byte[] escribir(Object respuesta, Tamano tamano) throws IOException {
+        byte[] bytes;
+        if (formato.equals("jackson")) {
+            bytes = objectMapper.writeValueAsBytes(respuesta);
+        } else {
+            ByteArrayOutputStream salida = new ByteArrayOutputStream(128);
+            if (formato.equals("streaming")) {
+                JsonGenerator generador = jsonFactory.createGenerator(salida, JsonEncoding.UTF8);
+                if (respuesta instanceof ResultadoPrestarDto) {
+                    PrestamoJsonHttpMessageConverter.escribir((ResultadoPrestarDto) respuesta, generador);
+                } else {
+                    PrestamoJsonHttpMessageConverter.escribir((ConsultaPrestamoResponseDto) respuesta, generador);
+                }
+                generador.close();
+            } else {
+                DataOutputStream datos = new DataOutputStream(salida);
+                if (respuesta instanceof ResultadoPrestarDto) {
+                    CodecBinarioPrestamo.escribirResultado((ResultadoPrestarDto) respuesta, datos);
+                } else {
+                    CodecBinarioPrestamo.escribirConsulta((ConsultaPrestamoResponseDto) respuesta, datos);
+                }
+            }
+            bytes = salida.toByteArray();
+        }
+        tamano.bytes = bytes.length;
+        return bytes;
+    }
+}
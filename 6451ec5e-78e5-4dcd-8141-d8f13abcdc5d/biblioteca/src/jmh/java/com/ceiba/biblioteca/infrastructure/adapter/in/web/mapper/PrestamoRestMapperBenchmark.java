@@ -0,0 +1,62 @@
+package com.ceiba.biblioteca.infrastructure.adapter.in.web.mapper;
+
+import com.ceiba.biblioteca.application.dto.PrestarLibroCommand;
+import com.ceiba.biblioteca.application.dto.ResultadoPrestarLote;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ResultadoPrestarLoteDto;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.SolicitudPrestarLibroDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión entre DTOs web y de aplicación de un préstamo por lote: las
+ * solicitudes a comandos y los resultados de vuelta a DTOs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrestamoRestMapperBenchmark {
+
+    @Param({"1", "100"})
+    private int tamanoLote;
+
+    private final PrestamoRestMapper mapper = new PrestamoRestMapper();
+
+    private List<SolicitudPrestarLibroDto> solicitudes;
+    private List<ResultadoPrestarLote> resultados;
+
+    @Setup
+    public void preparar() {
+        solicitudes = new ArrayList<>(tamanoLote);
+        resultados = new ArrayList<>(tamanoLote);
+        for (int i = 0; i < tamanoLote; i++) {
+            solicitudes.add(new SolicitudPrestarLibroDto("ASDA7884", "usuario" + i, 1 + i % 3));
+            resultados.add(new ResultadoPrestarLote(i + 1, "24/10/2026", null));
+        }
+    }
+
+    @Benchmark
+    public List<PrestarLibroCommand> solicitudesAComandos() {
+        return mapper.toCommands(solicitudes);
+    }
+
+    @Benchmark
+    public List<ResultadoPrestarLoteDto> resultadosADtos() {
+        return mapper.toDtos(resultados);
+    }
+}
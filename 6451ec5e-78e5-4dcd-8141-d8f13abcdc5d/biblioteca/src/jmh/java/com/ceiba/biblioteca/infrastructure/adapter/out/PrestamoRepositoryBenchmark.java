@@ -0,0 +1,91 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out;
+
+import com.ceiba.biblioteca.ContextoBiblioteca;
+import com.ceiba.biblioteca.domain.model.ConsultaPrestamo;
+import com.ceiba.biblioteca.domain.model.Libro;
+import com.ceiba.biblioteca.domain.model.Prestamo;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
+import com.ceiba.biblioteca.domain.port.out.PrestamoRepositoryPort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guardado y consulta de préstamos con cada adaptador de persistencia:
+ * JPA sobre H2, el journal en disco con fsync en grupo y los mapas en
+ * memoria. El guardado usa 16 hilos, que es donde el journal reparte un
+ * fsync entre varias escrituras. La consulta recorre préstamos guardados
+ * al preparar, porque el journal arranca vacío.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrestamoRepositoryBenchmark {
+
+    private static final int PRESTAMOS_CONSULTADOS = 1000;
+
+    @Param({"jpa", "journal", "memoria"})
+    private String almacen;
+
+    private final Libro libro = Libro.builder().id(1).build();
+    private final LocalDate hoy = LocalDate.now();
+
+    private Path directorioJournal;
+    private ConfigurableApplicationContext contexto;
+    private PrestamoRepositoryPort prestamos;
+    private int[] guardados;
+
+    @Setup
+    public void preparar() throws IOException {
+        directorioJournal = Files.createTempDirectory("journal-benchmark");
+        contexto = ContextoBiblioteca.iniciar(almacen.equals("jpa") ? null : almacen,
+            "biblioteca.journal.directorio=" + directorioJournal);
+        prestamos = contexto.getBean(PrestamoRepositoryPort.class);
+        guardados = new int[PRESTAMOS_CONSULTADOS];
+        for (int i = 0; i < guardados.length; i++) {
+            guardados[i] = guardar().getId();
+        }
+    }
+
+    @TearDown
+    public void cerrar() throws IOException {
+        contexto.close();
+        FileSystemUtils.deleteRecursively(directorioJournal);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Prestamo guardar() {
+        String usuario = "AFILIADO" + ThreadLocalRandom.current().nextInt(1000);
+        return prestamos.save(Prestamo.crear(usuario, TipoUsuario.AFILIADO, libro, hoy, hoy.plusDays(10)));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<ConsultaPrestamo> consultar() {
+        return prestamos.findConsultaById(guardados[ThreadLocalRandom.current().nextInt(guardados.length)]);
+    }
+}
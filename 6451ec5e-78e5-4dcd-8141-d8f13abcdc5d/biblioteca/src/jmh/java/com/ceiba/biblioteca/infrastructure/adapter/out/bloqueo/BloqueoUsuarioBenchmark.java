@@ -0,0 +1,88 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.bloqueo;
+
+import com.ceiba.biblioteca.domain.port.out.BloqueoUsuarioPort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Rendimiento de 64 hilos que toman el bloqueo de invitados para usuarios
+ * al azar, con una sección crítica corta que simula validar e insertar.
+ * Compara un candado por usuario (BloqueoUsuarioLocalAdapter) con un único
+ * candado global.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+public class BloqueoUsuarioBenchmark {
+
+    @Param({"porUsuario", "global"})
+    private String estrategia;
+
+    @Param({"10000"})
+    private int usuarios;
+
+    @Param({"200"})
+    private long trabajoSeccionCritica;
+
+    private BloqueoUsuarioPort bloqueo;
+    private String[] identificaciones;
+
+    @Setup
+    public void preparar() {
+        bloqueo = estrategia.equals("global") ? new BloqueoGlobal() : new BloqueoUsuarioLocalAdapter();
+        identificaciones = new String[usuarios];
+        for (int i = 0; i < usuarios; i++) {
+            identificaciones[i] = "invitado" + i;
+        }
+    }
+
+    @Benchmark
+    public Integer ejecutarConBloqueo() {
+        String identificacion = identificaciones[ThreadLocalRandom.current().nextInt(usuarios)];
+        return bloqueo.ejecutarConBloqueo(identificacion, () -> {
+            Blackhole.consumeCPU(trabajoSeccionCritica);
+            return 1;
+        });
+    }
+
+    private static final class BloqueoGlobal implements BloqueoUsuarioPort {
+
+        private final ReentrantLock candado = new ReentrantLock();
+
+        @Override
+        public <T> T ejecutarConBloqueo(String identificacionUsuario, Supplier<T> accion) {
+            candado.lock();
+            try {
+                return accion.get();
+            } finally {
+                candado.unlock();
+            }
+        }
+
+        @Override
+        public <T> T ejecutarConBloqueo(Collection<String> identificacionesUsuario, Supplier<T> accion) {
+            return ejecutarConBloqueo((String) null, accion);
+        }
+    }
+}
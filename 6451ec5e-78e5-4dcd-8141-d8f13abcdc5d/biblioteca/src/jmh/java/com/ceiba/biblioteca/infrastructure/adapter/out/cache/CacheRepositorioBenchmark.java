@@ -0,0 +1,77 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.cache;
+
+import com.ceiba.biblioteca.ContextoBiblioteca;
+import com.ceiba.biblioteca.domain.model.ConsultaPrestamo;
+import com.ceiba.biblioteca.domain.model.Libro;
+import com.ceiba.biblioteca.domain.port.out.LibroRepositoryPort;
+import com.ceiba.biblioteca.domain.port.out.PrestamoRepositoryPort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda de libros por ISBN y consulta de préstamos por ID sobre H2, con
+ * y sin las cachés de Caffeine delante de los adaptadores JPA.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class CacheRepositorioBenchmark {
+
+    private static final String[] ISBNS = {
+        "9788408187462", "9788491050145", "9788420432781", "9788466331470", "9788437604947",
+        "9788408114314", "9788466337991", "9788499892719", "9788408043645", "9788497592567",
+        "9788466658935", "9788466352406", "9788499926278", "9788408131465", "9788466334242",
+        "ASDA7884", "AWQ489", "EQWQW8545"
+    };
+
+    @Param({"true", "false"})
+    private boolean cache;
+
+    private ConfigurableApplicationContext contexto;
+    private LibroRepositoryPort libros;
+    private PrestamoRepositoryPort prestamos;
+
+    @Setup
+    public void preparar() {
+        contexto = ContextoBiblioteca.iniciar(null,
+            "biblioteca.cache.libros.habilitado=" + cache,
+            "biblioteca.cache.prestamos.habilitado=" + cache);
+        libros = contexto.getBean(LibroRepositoryPort.class);
+        prestamos = contexto.getBean(PrestamoRepositoryPort.class);
+    }
+
+    @TearDown
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Optional<Libro> buscarLibroPorIsbn() {
+        return libros.findByIsbn(ISBNS[ThreadLocalRandom.current().nextInt(ISBNS.length)]);
+    }
+
+    @Benchmark
+    public Optional<ConsultaPrestamo> consultarPrestamo() {
+        return prestamos.findConsultaById(1 + ThreadLocalRandom.current().nextInt(7));
+    }
+}
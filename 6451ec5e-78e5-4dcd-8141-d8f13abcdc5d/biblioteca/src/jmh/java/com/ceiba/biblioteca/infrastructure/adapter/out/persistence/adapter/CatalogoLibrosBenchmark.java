@@ -0,0 +1,81 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.adapter;
+
+import com.ceiba.biblioteca.ContextoBiblioteca;
+import com.ceiba.biblioteca.application.dto.PrestarLibroCommand;
+import com.ceiba.biblioteca.application.dto.ResultadoPrestar;
+import com.ceiba.biblioteca.domain.model.Libro;
+import com.ceiba.biblioteca.domain.port.in.PrestarLibroUseCase;
+import com.ceiba.biblioteca.domain.port.out.LibroRepositoryPort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Préstamo y búsqueda por ISBN sobre H2 con distintos tamaños de catálogo.
+ * Con el índice único de libro.isbn ambos deberían costar lo mismo con
+ * cualquier catálogo; sin él, cada búsqueda recorre la tabla completa.
+ *
+ * Los préstamos son de afiliados con identificaciones distintas, para que
+ * la regla de invitados no intervenga.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogoLibrosBenchmark {
+
+    private static final int LIBROS_POR_BLOQUE = 10_000;
+
+    @Param({"0", "1000000"})
+    private int catalogo;
+
+    private ConfigurableApplicationContext contexto;
+    private PrestarLibroUseCase prestarLibro;
+    private LibroRepositoryPort libros;
+    private int usuario;
+
+    @Setup
+    public void preparar() {
+        contexto = ContextoBiblioteca.iniciar(null);
+        JdbcTemplate jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+        // Bloques pequeños: una sola transacción de un millón de filas es varias veces más lenta en H2
+        for (int desde = 1; desde <= catalogo; desde += LIBROS_POR_BLOQUE) {
+            jdbcTemplate.update("INSERT INTO libro (isbn, titulo, autor) "
+                    + "SELECT 'ESC' || X, 'Libro de escala ' || X, 'Autor de escala' FROM SYSTEM_RANGE(?, ?)",
+                desde, Math.min(desde + LIBROS_POR_BLOQUE - 1, catalogo));
+        }
+        prestarLibro = contexto.getBean(PrestarLibroUseCase.class);
+        libros = contexto.getBean(LibroRepositoryPort.class);
+    }
+
+    @TearDown
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public ResultadoPrestar prestar() {
+        return prestarLibro.ejecutar(new PrestarLibroCommand("ASDA7884", "AFILIADO" + usuario++, 1));
+    }
+
+    @Benchmark
+    public Optional<Libro> buscarPorIsbn() {
+        return libros.findByIsbn("ASDA7884");
+    }
+}
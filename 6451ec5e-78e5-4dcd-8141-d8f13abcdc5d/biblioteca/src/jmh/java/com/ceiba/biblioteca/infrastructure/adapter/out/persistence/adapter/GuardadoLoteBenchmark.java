@@ -0,0 +1,106 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.adapter;
+
+import com.ceiba.biblioteca.ContextoBiblioteca;
+import com.ceiba.biblioteca.domain.model.Libro;
+import com.ceiba.biblioteca.domain.model.Prestamo;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
+import com.ceiba.biblioteca.domain.port.out.LibroRepositoryPort;
+import com.ceiba.biblioteca.domain.port.out.PrestamoRepositoryPort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guardado de préstamos y libros en H2, uno por uno frente a saveAll. Con
+ * IDs de secuencia pooled-lo, saveAll agrupa los INSERT en lotes JDBC y una
+ * sola transacción. Los resultados se reportan por registro guardado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GuardadoLoteBenchmark {
+
+    private static final int TAMANO_LOTE = 100;
+
+    private final Libro libro = Libro.builder().id(1).build();
+    private final LocalDate hoy = LocalDate.now();
+
+    private ConfigurableApplicationContext contexto;
+    private PrestamoRepositoryPort prestamos;
+    private LibroRepositoryPort libros;
+    private long siguienteLibro;
+
+    @Setup
+    public void preparar() {
+        contexto = ContextoBiblioteca.iniciar(null);
+        prestamos = contexto.getBean(PrestamoRepositoryPort.class);
+        libros = contexto.getBean(LibroRepositoryPort.class);
+    }
+
+    @TearDown
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANO_LOTE)
+    public void prestamosUnoAUno() {
+        for (Prestamo prestamo : prestamos()) {
+            prestamos.save(prestamo);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANO_LOTE)
+    public List<Prestamo> prestamosEnLote() {
+        return prestamos.saveAll(prestamos());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANO_LOTE)
+    public void librosUnoAUno() {
+        for (Libro nuevo : libros()) {
+            libros.save(nuevo);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANO_LOTE)
+    public List<Libro> librosEnLote() {
+        return libros.saveAll(libros());
+    }
+
+    private List<Prestamo> prestamos() {
+        List<Prestamo> lote = new ArrayList<>(TAMANO_LOTE);
+        for (int i = 0; i < TAMANO_LOTE; i++) {
+            lote.add(Prestamo.crear("AFILIADO" + i, TipoUsuario.AFILIADO, libro, hoy, hoy.plusDays(10)));
+        }
+        return lote;
+    }
+
+    private List<Libro> libros() {
+        List<Libro> lote = new ArrayList<>(TAMANO_LOTE);
+        for (int i = 0; i < TAMANO_LOTE; i++) {
+            lote.add(Libro.crear("B" + siguienteLibro++, "Libro de carga", "Autor de carga"));
+        }
+        return lote;
+    }
+}
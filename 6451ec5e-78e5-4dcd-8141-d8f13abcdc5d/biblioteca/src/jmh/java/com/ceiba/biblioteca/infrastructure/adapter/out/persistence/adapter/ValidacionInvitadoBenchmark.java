@@ -0,0 +1,86 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.adapter;
+
+import com.ceiba.biblioteca.ContextoBiblioteca;
+import com.ceiba.biblioteca.domain.exception.UsuarioConPrestamoExistenteException;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
+import com.ceiba.biblioteca.domain.service.ValidadorPrestamo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validación de invitados sobre H2 con distintos tamaños de historial de
+ * préstamos. Uno de cada diez préstamos del historial es del mismo usuario;
+ * la verificación de existencia sobre el índice compuesto debería costar lo
+ * mismo con cualquier historial, hasta los 10 millones de préstamos.
+ *
+ * Con 10 millones de préstamos H2 ocupa cerca de 5 GB en memoria, de ahí el
+ * heap de 8 GB del fork, y sembrarlos toma varios minutos; para una corrida
+ * rápida basta -p historial=0,1000000.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ValidacionInvitadoBenchmark {
+
+    private static final int PRESTAMOS_POR_BLOQUE = 10_000;
+    private static final String USUARIO_FRECUENTE = "FRECUENTE";
+
+    @Param({"0", "1000000", "10000000"})
+    private int historial;
+
+    private ConfigurableApplicationContext contexto;
+    private ValidadorPrestamo validador;
+
+    @Setup
+    public void preparar() {
+        contexto = ContextoBiblioteca.iniciar(null);
+        JdbcTemplate jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+        for (int desde = 1; desde <= historial; desde += PRESTAMOS_POR_BLOQUE) {
+            jdbcTemplate.update("INSERT INTO prestamo (fecha_prestamo, fecha_maxima_devolucion, identificacion_usuario, tipo_usuario, id_libro) "
+                    + "SELECT CURRENT_DATE, CURRENT_DATE, CASE WHEN MOD(X, 10) = 0 THEN ? ELSE 'H' || X END, 1, 1 "
+                    + "FROM SYSTEM_RANGE(?, ?)",
+                USUARIO_FRECUENTE, desde, Math.min(desde + PRESTAMOS_POR_BLOQUE - 1, historial));
+        }
+        jdbcTemplate.update("INSERT INTO prestamo (fecha_prestamo, fecha_maxima_devolucion, identificacion_usuario, tipo_usuario, id_libro) "
+            + "VALUES (CURRENT_DATE, CURRENT_DATE, ?, 1, 1)", USUARIO_FRECUENTE);
+        validador = contexto.getBean(ValidadorPrestamo.class);
+    }
+
+    @TearDown
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public boolean invitadoConPrestamo() {
+        try {
+            validador.validarUsuarioInvitado(USUARIO_FRECUENTE, TipoUsuario.INVITADO);
+            return false;
+        } catch (UsuarioConPrestamoExistenteException e) {
+            return true;
+        }
+    }
+
+    @Benchmark
+    public boolean invitadoSinPrestamo() {
+        validador.validarUsuarioInvitado("SIN_PRESTAMOS", TipoUsuario.INVITADO);
+        return false;
+    }
+}
@@ -0,0 +1,74 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.mapper;
+
+import com.ceiba.biblioteca.domain.model.ConsultaPrestamo;
+import com.ceiba.biblioteca.domain.model.Libro;
+import com.ceiba.biblioteca.domain.model.Prestamo;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.entity.ConsultaPrestamoJpaEntity;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.entity.LibroJpaEntity;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.repository.LibroJpaRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ida y vuelta de un préstamo entre el modelo de dominio y la entidad JPA,
+ * y la conversión de una fila del modelo de lectura en la respuesta de la
+ * consulta. El repositorio de libros se reemplaza por uno que devuelve
+ * siempre la misma referencia, para medir solo los mappers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrestamoJpaMapperBenchmark {
+
+    private PrestamoJpaMapper mapper;
+    private ConsultaPrestamoJpaMapper consultaMapper;
+    private Prestamo prestamo;
+    private ConsultaPrestamoJpaEntity consulta;
+
+    @Setup
+    public void preparar() {
+        LibroJpaMapper libroMapper = new LibroJpaMapper();
+        Libro libro = Libro.builder().id(16).isbn("ASDA7884").titulo("Libro Test Afiliado").autor("Autor Test").build();
+        LibroJpaEntity referencia = libroMapper.toEntity(libro);
+        LibroJpaRepository libroRepository = (LibroJpaRepository) Proxy.newProxyInstance(
+            LibroJpaRepository.class.getClassLoader(), new Class<?>[]{LibroJpaRepository.class},
+            (proxy, metodo, argumentos) -> {
+                if (metodo.getName().equals("getOne")) {
+                    return referencia;
+                }
+                throw new UnsupportedOperationException(metodo.getName());
+            });
+        mapper = new PrestamoJpaMapper(libroMapper, libroRepository);
+        prestamo = Prestamo.crear("74851254", TipoUsuario.AFILIADO, libro,
+            LocalDate.of(2026, 10, 16), LocalDate.of(2026, 10, 26));
+        consultaMapper = new ConsultaPrestamoJpaMapper();
+        consulta = new ConsultaPrestamoJpaEntity(7, "ASDA7884", "Libro Test Afiliado", LocalDate.of(2026, 10, 26),
+            "26/10/2026", "74851254", 1);
+    }
+
+    @Benchmark
+    public Prestamo idaYVuelta() {
+        return mapper.toDomain(mapper.toEntity(prestamo));
+    }
+
+    @Benchmark
+    public ConsultaPrestamo consulta() {
+        return consultaMapper.toDomain(consulta);
+    }
+}
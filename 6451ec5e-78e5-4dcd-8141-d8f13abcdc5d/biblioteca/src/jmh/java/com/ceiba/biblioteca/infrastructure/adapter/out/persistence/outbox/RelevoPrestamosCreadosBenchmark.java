@@ -0,0 +1,114 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.outbox;
+
+import com.ceiba.biblioteca.ContextoBiblioteca;
+import com.ceiba.biblioteca.domain.model.Libro;
+import com.ceiba.biblioteca.domain.model.Prestamo;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
+import com.ceiba.biblioteca.domain.port.out.PrestamoRepositoryPort;
+import com.ceiba.biblioteca.domain.port.out.PublicadorPrestamosCreadosPort;
+import com.ceiba.biblioteca.infrastructure.adapter.out.eventos.PublicadorPrestamosCreadosArchivoAdapter;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.mapper.OutboxPrestamoCreadoJpaMapper;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.repository.OutboxPrestamoCreadoJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendimiento del relevo del outbox en H2: eventos entregados por
+ * milisegundo según el tamaño del tramo y el destino (uno que descarta,
+ * para medir solo la lectura y el borrado del outbox, y el archivo JSON).
+ * Antes de cada invocación se registran préstamos en lote, que dejan sus
+ * eventos en el outbox; el relevo propio de la aplicación no corre durante
+ * la medición.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RelevoPrestamosCreadosBenchmark {
+
+    private static final int EVENTOS = 2000;
+
+    @Param({"100", "500"})
+    private int tamanoLote;
+
+    @Param({"nulo", "archivo"})
+    private String destino;
+
+    private final Libro libro = Libro.builder().id(16).isbn("ASDA7884").build();
+    private final LocalDate hoy = LocalDate.now();
+
+    private ConfigurableApplicationContext contexto;
+    private PrestamoRepositoryPort prestamos;
+    private Path directorio;
+    private PublicadorPrestamosCreadosArchivoAdapter archivo;
+    private RelevoPrestamosCreados relevo;
+
+    @Setup
+    public void preparar() throws IOException {
+        contexto = ContextoBiblioteca.iniciar(null, "biblioteca.outbox.habilitado=true",
+            "biblioteca.outbox.destino=log", "biblioteca.outbox.intervalo=1h");
+        prestamos = contexto.getBean(PrestamoRepositoryPort.class);
+
+        PublicadorPrestamosCreadosPort publicador = eventos -> { };
+        if ("archivo".equals(destino)) {
+            directorio = Files.createTempDirectory("outbox");
+            archivo = new PublicadorPrestamosCreadosArchivoAdapter(directorio.resolve("prestamos-creados.jsonl"),
+                Long.MAX_VALUE, false);
+            publicador = archivo;
+        }
+        relevo = new RelevoPrestamosCreados(contexto.getBean(OutboxPrestamoCreadoJpaRepository.class),
+            contexto.getBean(OutboxPrestamoCreadoJpaMapper.class), publicador, tamanoLote,
+            Duration.ofHours(1), Clock.systemDefaultZone(), new SimpleMeterRegistry());
+    }
+
+    @Setup(Level.Invocation)
+    public void registrarPrestamos() {
+        List<Prestamo> lote = new ArrayList<>(EVENTOS);
+        for (int i = 0; i < EVENTOS; i++) {
+            lote.add(Prestamo.crear("AFILIADO" + i, TipoUsuario.AFILIADO, libro, hoy, hoy.plusDays(10)));
+        }
+        prestamos.saveAll(lote);
+    }
+
+    @TearDown
+    public void cerrar() throws IOException {
+        contexto.close();
+        if (archivo != null) {
+            archivo.cerrar();
+            Files.deleteIfExists(directorio.resolve("prestamos-creados.jsonl"));
+            Files.deleteIfExists(directorio);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTOS)
+    public int relevar() {
+        return relevo.relevar();
+    }
+}
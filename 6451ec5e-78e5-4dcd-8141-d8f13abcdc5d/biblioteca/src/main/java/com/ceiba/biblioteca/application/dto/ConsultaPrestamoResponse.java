@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
+
 /**
  * DTO que representa la respuesta completa de una consulta de préstamo.
  *
@@ -93,4 +95,12 @@ public class ConsultaPrestamoResponse {
      * Este valor determina las reglas que se aplicaron al préstamo.
      */
     private Integer tipoUsuario;
-}
\ No newline at end of file
+
+    /**
+     * La misma fecha máxima de devolución, como fecha.
+     *
+     * La usa el formato binario, que la envía como número de día; el JSON
+     * entrega el texto de fechaMaximaDevolucion tal cual, sin formatear.
+     */
+    private LocalDate diaMaximoDevolucion;
+}
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
+
 /**
  * DTO que representa el resultado exitoso de un préstamo de libro.
  *
@@ -62,4 +64,12 @@ public class ResultadoPrestar {
      * Ejemplo: Si un afiliado presta hoy lunes, tendrá hasta lunes de la siguiente semana
      */
     private String fechaMaximaDevolucion;
-}
\ No newline at end of file
+
+    /**
+     * La misma fecha máxima de devolución, como fecha.
+     *
+     * La usa el formato binario, que la envía como número de día; el JSON
+     * entrega el texto de fechaMaximaDevolucion tal cual, sin formatear.
+     */
+    private LocalDate diaMaximoDevolucion;
+}
@@ -0,0 +1,53 @@
+package com.ceiba.biblioteca.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO que representa el resultado de un préstamo dentro de un lote.
+ *
+ * Cada solicitud de un lote produce exactamente un resultado, en la misma
+ * posición en que fue recibida. Un resultado exitoso contiene el ID y la
+ * fecha máxima de devolución del préstamo creado; uno fallido contiene
+ * únicamente el mensaje de la regla de negocio que lo rechazó.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResultadoPrestarLote {
+
+    /**
+     * Identificador del préstamo creado, o null si la solicitud fue rechazada.
+     */
+    private Integer id;
+
+    /**
+     * Fecha máxima de devolución en formato "dd/MM/yyyy",
+     * o null si la solicitud fue rechazada.
+     */
+    private String fechaMaximaDevolucion;
+
+    /**
+     * Mensaje del error que rechazó la solicitud, o null si el préstamo se creó.
+     */
+    private String mensaje;
+
+    /**
+     * Crea el resultado de una solicitud rechazada.
+     *
+     * @param mensaje Descripción de la regla de negocio incumplida
+     * @return Resultado fallido con el mensaje indicado
+     */
+    public static ResultadoPrestarLote fallido(String mensaje) {
+        return ResultadoPrestarLote.builder()
+                .mensaje(mensaje)
+                .build();
+    }
+}
@@ -2,12 +2,12 @@ package com.ceiba.biblioteca.application.usecase;
 
 import com.ceiba.biblioteca.application.dto.ConsultaPrestamoResponse;
 import com.ceiba.biblioteca.domain.exception.PrestamoNoEncontradoException;
-import com.ceiba.biblioteca.domain.model.Libro;
-import com.ceiba.biblioteca.domain.model.Prestamo;
+import com.ceiba.biblioteca.domain.model.ConsultaPrestamo;
 import com.ceiba.biblioteca.domain.port.in.ConsultarPrestamoUseCase;
 import com.ceiba.biblioteca.domain.port.out.PrestamoRepositoryPort;
+import com.ceiba.biblioteca.domain.port.out.TemporizadorFasesPort;
 
-import java.time.format.DateTimeFormatter;
+import java.util.Optional;
 
 /**
  * Implementación del caso de uso para consultar información de préstamos existentes.
@@ -15,22 +15,21 @@ import java.time.format.DateTimeFormatter;
  * Esta clase se encarga de:
  * - Buscar un préstamo por su identificador único
  * - Validar que el préstamo exista en el sistema
- * - Construir y retornar la respuesta con toda la información relevante
- * - Formatear las fechas para presentación al usuario
+ * - Retornar la respuesta con toda la información relevante, obtenida
+ *   en una sola consulta de lectura del repositorio
+ * - Convertir el modelo de lectura del dominio en la respuesta de la aplicación
  *
  * Implementa el patrón Query para separar las operaciones de consulta
  * de las operaciones de comando (modificación de estado).
  *
+ * La lectura del repositorio se registra como la fase consulta del
+ * temporizador, encontrado o no el préstamo.
+ *
  * @author Sistema Biblioteca Ceiba
  * @version 1.0
  * @since 1.0
  */
 public class ConsultarPrestamoUseCaseImpl implements ConsultarPrestamoUseCase {
-    /**
-     * Formateador de fechas utilizado para convertir LocalDate a String.
-     * Utiliza el patrón dd/MM/yyyy para mostrar fechas en formato legible.
-     */
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
     /**
      * Puerto de salida para acceder al repositorio de préstamos.
@@ -39,20 +38,36 @@ public class ConsultarPrestamoUseCaseImpl implements ConsultarPrestamoUseCase {
     private final PrestamoRepositoryPort prestamoRepository;
 
     /**
-     * Constructor que inicializa el caso de uso con sus dependencias.
+     * Puerto de salida para medir la duración de la consulta.
+     */
+    private final TemporizadorFasesPort fases;
+
+    /**
+     * Constructor que inicializa el caso de uso sin medir sus fases.
      *
      * @param prestamoRepository Repositorio para consultar préstamos por ID
      */
     public ConsultarPrestamoUseCaseImpl(PrestamoRepositoryPort prestamoRepository) {
+        this(prestamoRepository, TemporizadorFasesPort.INACTIVO);
+    }
+
+    /**
+     * Constructor que inicializa el caso de uso con sus dependencias.
+     *
+     * @param prestamoRepository Repositorio para consultar préstamos por ID
+     * @param fases Temporizador de las fases de cada consulta
+     */
+    public ConsultarPrestamoUseCaseImpl(PrestamoRepositoryPort prestamoRepository, TemporizadorFasesPort fases) {
         this.prestamoRepository = prestamoRepository;
+        this.fases = fases;
     }
 
     /**
      * Ejecuta la consulta de un préstamo específico por su ID.
      *
-     * Busca el préstamo en el repositorio y construye una respuesta
-     * con toda la información relevante incluyendo datos del libro
-     * y del usuario que realizó el préstamo.
+     * Obtiene del repositorio el modelo de lectura del préstamo, con los
+     * datos del préstamo, del libro y del usuario que realizó el préstamo,
+     * y lo convierte en la respuesta.
      *
      * @param prestamoId Identificador único del préstamo a consultar
      * @return Respuesta con toda la información del préstamo encontrado
@@ -61,18 +76,21 @@ public class ConsultarPrestamoUseCaseImpl implements ConsultarPrestamoUseCase {
      */
     @Override
     public ConsultaPrestamoResponse ejecutar(Integer prestamoId) {
-        Prestamo prestamo = prestamoRepository.findById(prestamoId)
-            .orElseThrow(() -> new PrestamoNoEncontradoException(prestamoId));
-
-        Libro libro = prestamo.getLibro();
+        long marca = fases.iniciar();
+        Optional<ConsultaPrestamo> consulta = prestamoRepository.findConsultaById(prestamoId);
+        fases.fase("consulta", marca);
+        return toResponse(consulta.orElseThrow(() -> new PrestamoNoEncontradoException(prestamoId)));
+    }
 
+    private static ConsultaPrestamoResponse toResponse(ConsultaPrestamo consulta) {
         return ConsultaPrestamoResponse.builder()
-            .id(prestamo.getId())
-            .isbn(libro.getIsbn())
-            .titulo(libro.getTitulo())
-            .fechaMaximaDevolucion(prestamo.getFechaMaximaDevolucion().format(DATE_FORMATTER))
-            .identificacionUsuario(prestamo.getIdentificacionUsuario())
-            .tipoUsuario(prestamo.getTipoUsuario().getValor())
+            .id(consulta.getId())
+            .isbn(consulta.getIsbn())
+            .titulo(consulta.getTitulo())
+            .fechaMaximaDevolucion(consulta.getFechaMaximaDevolucionFormateada())
+            .diaMaximoDevolucion(consulta.getFechaMaximaDevolucion())
+            .identificacionUsuario(consulta.getIdentificacionUsuario())
+            .tipoUsuario(consulta.getTipoUsuario().getValor())
             .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.ceiba.biblioteca.application.usecase;
+
+import com.ceiba.biblioteca.application.dto.PrestarLibroCommand;
+import com.ceiba.biblioteca.application.dto.ResultadoPrestar;
+import com.ceiba.biblioteca.application.dto.ResultadoPrestarLote;
+import com.ceiba.biblioteca.domain.exception.DomainException;
+import com.ceiba.biblioteca.domain.model.IntentoPrestamo;
+import com.ceiba.biblioteca.domain.port.in.PrestarLibroUseCase;
+import com.ceiba.biblioteca.domain.port.out.AuditoriaPrestamosPort;
+
+import java.time.Clock;
+import java.util.List;
+
+/**
+ * Decorador que deja una traza de auditoría de cada solicitud de préstamo.
+ *
+ * Registra cada solicitud con su resultado después de ejecutarla:
+ * - ACEPTADO con el ID del préstamo creado
+ * - RECHAZADO con el mensaje de la regla de negocio incumplida
+ * - ERROR con el mensaje de cualquier otra excepción, que se propaga igual
+ *
+ * En un lote cada solicitud deja su propio registro; si el lote completo
+ * falla, todas sus solicitudes quedan como ERROR.
+ *
+ * El registro no espera a que la traza se persista: el puerto de
+ * auditoría lo recibe y lo escribe por su cuenta.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public class PrestarLibroUseCaseAuditado implements PrestarLibroUseCase {
+
+    /**
+     * Caso de uso auditado.
+     */
+    private final PrestarLibroUseCase delegado;
+
+    /**
+     * Puerto de salida que recibe los registros de auditoría.
+     */
+    private final AuditoriaPrestamosPort auditoria;
+
+    /**
+     * Reloj del dominio, para el instante de cada registro.
+     */
+    private final Clock reloj;
+
+    /**
+     * @param delegado Caso de uso a auditar
+     * @param auditoria Puerto que recibe los registros
+     * @param reloj Reloj del dominio
+     */
+    public PrestarLibroUseCaseAuditado(PrestarLibroUseCase delegado, AuditoriaPrestamosPort auditoria, Clock reloj) {
+        this.delegado = delegado;
+        this.auditoria = auditoria;
+        this.reloj = reloj;
+    }
+
+    @Override
+    public ResultadoPrestar ejecutar(PrestarLibroCommand command) {
+        long instante = reloj.millis();
+        try {
+            ResultadoPrestar resultado = delegado.ejecutar(command);
+            registrar(instante, command, IntentoPrestamo.Resultado.ACEPTADO, resultado.getId(), null);
+            return resultado;
+        } catch (DomainException e) {
+            registrar(instante, command, IntentoPrestamo.Resultado.RECHAZADO, null, e.getMessage());
+            throw e;
+        } catch (RuntimeException e) {
+            registrar(instante, command, IntentoPrestamo.Resultado.ERROR, null, e.getMessage());
+            throw e;
+        }
+    }
+
+    @Override
+    public List<ResultadoPrestarLote> ejecutarLote(List<PrestarLibroCommand> commands) {
+        long instante = reloj.millis();
+        List<ResultadoPrestarLote> resultados;
+        try {
+            resultados = delegado.ejecutarLote(commands);
+        } catch (RuntimeException e) {
+            for (PrestarLibroCommand command : commands) {
+                registrar(instante, command, IntentoPrestamo.Resultado.ERROR, null, e.getMessage());
+            }
+            throw e;
+        }
+        for (int i = 0; i < resultados.size(); i++) {
+            ResultadoPrestarLote resultado = resultados.get(i);
+            registrar(instante, commands.get(i),
+                resultado.getId() != null ? IntentoPrestamo.Resultado.ACEPTADO : IntentoPrestamo.Resultado.RECHAZADO,
+                resultado.getId(), resultado.getMensaje());
+        }
+        return resultados;
+    }
+
+    private void registrar(long instante, PrestarLibroCommand command, IntentoPrestamo.Resultado resultado,
+                           Integer prestamoId, String mensaje) {
+        auditoria.registrar(command == null
+            ? new IntentoPrestamo(instante, null, null, null, resultado, prestamoId, mensaje)
+            : new IntentoPrestamo(instante, command.getIsbn(), command.getIdentificacionUsuario(),
+                command.getTipoUsuario(), resultado, prestamoId, mensaje));
+    }
+}
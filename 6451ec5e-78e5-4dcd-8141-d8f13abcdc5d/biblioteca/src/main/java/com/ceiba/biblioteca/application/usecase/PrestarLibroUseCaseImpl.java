@@ -2,17 +2,29 @@ package com.ceiba.biblioteca.application.usecase;
 
 import com.ceiba.biblioteca.application.dto.PrestarLibroCommand;
 import com.ceiba.biblioteca.application.dto.ResultadoPrestar;
+import com.ceiba.biblioteca.application.dto.ResultadoPrestarLote;
+import com.ceiba.biblioteca.domain.exception.DomainException;
+import com.ceiba.biblioteca.domain.exception.LibroNoEncontradoException;
+import com.ceiba.biblioteca.domain.exception.UsuarioConPrestamoExistenteException;
+import com.ceiba.biblioteca.domain.model.FechasDelDia;
 import com.ceiba.biblioteca.domain.model.Libro;
 import com.ceiba.biblioteca.domain.model.Prestamo;
 import com.ceiba.biblioteca.domain.model.TipoUsuario;
 import com.ceiba.biblioteca.domain.port.in.PrestarLibroUseCase;
+import com.ceiba.biblioteca.domain.port.out.BloqueoUsuarioPort;
 import com.ceiba.biblioteca.domain.port.out.LibroRepositoryPort;
 import com.ceiba.biblioteca.domain.port.out.PrestamoRepositoryPort;
-import com.ceiba.biblioteca.domain.service.CalculadorFechaDevolucion;
+import com.ceiba.biblioteca.domain.port.out.TemporizadorFasesPort;
+import com.ceiba.biblioteca.domain.service.ProveedorFechasDelDia;
 import com.ceiba.biblioteca.domain.service.ValidadorPrestamo;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Implementación del caso de uso para prestar libros en el sistema de biblioteca.
@@ -23,6 +35,22 @@ import java.time.format.DateTimeFormatter;
  * - Cálculo de la fecha máxima de devolución
  * - Creación y persistencia del préstamo
  * - Generación del resultado con información relevante
+ * - Procesamiento de préstamos por lote aplicando las mismas reglas
+ *
+ * La regla de un préstamo por invitado la garantiza el repositorio al
+ * persistir (en la base de datos, con el índice uk_prestamo_invitado).
+ * Solo cuentan los préstamos registrados como invitado: la misma
+ * identificación puede tener préstamos como afiliado o empleado y aun así
+ * recibir uno como invitado, tanto en el préstamo individual como en el
+ * lote y en la validación cuando el libro no existe.
+ * Además, el registro del préstamo de un invitado se ejecuta bajo el
+ * bloqueo del usuario, de modo que las solicitudes concurrentes del mismo
+ * invitado en esta instancia se atienden en orden en lugar de competir
+ * por el INSERT. Los demás tipos de usuario no toman ningún bloqueo.
+ *
+ * Cada paso de un préstamo individual se registra como una fase en el
+ * temporizador: validacion, libro, fechas, bloqueo (espera del bloqueo del
+ * invitado), insert o, si el libro no existe, validacion_invitado.
  *
  * Implementa el patrón Command para encapsular la lógica de negocio
  * y coordinar las interacciones entre los diferentes servicios de dominio.
@@ -32,12 +60,6 @@ import java.time.format.DateTimeFormatter;
  * @since 1.0
  */
 public class PrestarLibroUseCaseImpl implements PrestarLibroUseCase {
-    /**
-     * Formateador de fechas utilizado para convertir LocalDate a String.
-     * Utiliza el patrón dd/MM/yyyy para mostrar fechas en formato legible.
-     */
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-
     /**
      * Puerto de salida para acceder al repositorio de préstamos.
      * Permite persistir nuevos préstamos y consultar préstamos existentes.
@@ -51,10 +73,10 @@ public class PrestarLibroUseCaseImpl implements PrestarLibroUseCase {
     private final LibroRepositoryPort libroRepository;
 
     /**
-     * Servicio de dominio para calcular fechas de devolución.
-     * Aplica las reglas de negocio para determinar cuándo debe devolverse un libro.
+     * Servicio de dominio con las fechas de préstamo y devolución del día.
+     * Las calcula y formatea una vez por día según las reglas de negocio.
      */
-    private final CalculadorFechaDevolucion calculadorFecha;
+    private final ProveedorFechasDelDia fechasDelDia;
 
     /**
      * Servicio de dominio para validar reglas de préstamo.
@@ -62,81 +84,284 @@ public class PrestarLibroUseCaseImpl implements PrestarLibroUseCase {
      */
     private final ValidadorPrestamo validadorPrestamo;
 
+    /**
+     * Puerto de salida para la exclusión mutua por usuario.
+     * Protege la ventana entre validar y registrar el préstamo de un invitado.
+     */
+    private final BloqueoUsuarioPort bloqueoUsuario;
+
+    /**
+     * Puerto de salida para medir la duración de cada paso del préstamo.
+     */
+    private final TemporizadorFasesPort fases;
+
+    /**
+     * Constructor que inicializa el caso de uso sin medir sus fases.
+     *
+     * @param prestamoRepository Repositorio para persistir y consultar préstamos
+     * @param libroRepository Repositorio para consultar libros por ISBN
+     * @param fechasDelDia Servicio con las fechas de préstamo y devolución del día
+     * @param validadorPrestamo Servicio para validar reglas de préstamo
+     * @param bloqueoUsuario Bloqueos por usuario para la regla de un préstamo por invitado
+     */
+    public PrestarLibroUseCaseImpl(PrestamoRepositoryPort prestamoRepository,
+                                  LibroRepositoryPort libroRepository,
+                                  ProveedorFechasDelDia fechasDelDia,
+                                  ValidadorPrestamo validadorPrestamo,
+                                  BloqueoUsuarioPort bloqueoUsuario) {
+        this(prestamoRepository, libroRepository, fechasDelDia, validadorPrestamo, bloqueoUsuario,
+            TemporizadorFasesPort.INACTIVO);
+    }
+
     /**
      * Constructor que inicializa el caso de uso con todas sus dependencias.
      *
      * @param prestamoRepository Repositorio para persistir y consultar préstamos
      * @param libroRepository Repositorio para consultar libros por ISBN
-     * @param calculadorFecha Servicio para calcular fechas de devolución
+     * @param fechasDelDia Servicio con las fechas de préstamo y devolución del día
      * @param validadorPrestamo Servicio para validar reglas de préstamo
+     * @param bloqueoUsuario Bloqueos por usuario para la regla de un préstamo por invitado
+     * @param fases Temporizador de las fases de cada préstamo
      */
     public PrestarLibroUseCaseImpl(PrestamoRepositoryPort prestamoRepository,
                                   LibroRepositoryPort libroRepository,
-                                  CalculadorFechaDevolucion calculadorFecha,
-                                  ValidadorPrestamo validadorPrestamo) {
+                                  ProveedorFechasDelDia fechasDelDia,
+                                  ValidadorPrestamo validadorPrestamo,
+                                  BloqueoUsuarioPort bloqueoUsuario,
+                                  TemporizadorFasesPort fases) {
         this.prestamoRepository = prestamoRepository;
         this.libroRepository = libroRepository;
-        this.calculadorFecha = calculadorFecha;
+        this.fechasDelDia = fechasDelDia;
         this.validadorPrestamo = validadorPrestamo;
+        this.bloqueoUsuario = bloqueoUsuario;
+        this.fases = fases;
     }
 
     /**
      * Ejecuta el caso de uso de prestar un libro siguiendo todas las reglas de negocio.
      *
      * Este método orquesta el proceso completo de préstamo:
-     * 1. Valida que el tipo de usuario sea válido
-     * 2. Verifica restricciones específicas para usuarios invitados
-     * 3. Obtiene el libro del repositorio
-     * 4. Calcula la fecha máxima de devolución
-     * 5. Crea y persiste el préstamo
+     * 1. Valida que el tipo de usuario sea válido y que la identificación
+     *    del usuario esté presente y quepa en el registro
+     * 2. Obtiene el libro del repositorio
+     * 3. Obtiene la fecha máxima de devolución del día para el tipo de usuario
+     * 4. Crea y persiste el préstamo; el repositorio rechaza un segundo
+     *    préstamo de un usuario invitado
+     * 5. Verifica restricciones de invitados solo si el libro no existe
      * 6. Retorna el resultado con la información del préstamo creado
      *
+     * La búsqueda del libro y la obtención de las fechas se hacen antes de tomar
+     * el bloqueo del invitado, para mantenerlo solo durante la persistencia.
+     *
      * @param command Comando que encapsula los datos necesarios para el préstamo
      * @return Resultado del préstamo con ID y fecha máxima de devolución
      *
      * @throws TipoUsuarioNoPermitidoException si el tipo de usuario no es válido
+     * @throws IdentificacionUsuarioInvalidaException si la identificación falta o es demasiado larga
      * @throws UsuarioConPrestamoExistenteException si el usuario invitado ya tiene un préstamo
-     * @throws RuntimeException si el libro con el ISBN no se encuentra
+     * @throws LibroNoEncontradoException si el libro con el ISBN no se encuentra
      */
     @Override
     public ResultadoPrestar ejecutar(PrestarLibroCommand command) {
-        validadorPrestamo.validarTipoUsuario(command.getTipoUsuario());
+        long marca = fases.iniciar();
+        TipoUsuario tipoUsuario = validarTipoUsuario(command);
+        validadorPrestamo.validarIdentificacionUsuario(command.getIdentificacionUsuario());
+        marca = fases.fase("validacion", marca);
+        Optional<Libro> libro = libroRepository.findByIsbn(command.getIsbn());
+        marca = fases.fase("libro", marca);
+        FechasDelDia fechas = fechasDelDia.actuales();
+        long finFechas = fases.fase("fechas", marca);
 
-        TipoUsuario tipoUsuario = TipoUsuario.fromValor(command.getTipoUsuario());
-        validadorPrestamo.validarUsuarioInvitado(command.getIdentificacionUsuario(), tipoUsuario);
+        Prestamo prestamoGuardado = tipoUsuario == TipoUsuario.INVITADO
+            ? bloqueoUsuario.ejecutarConBloqueo(command.getIdentificacionUsuario(),
+                () -> registrar(command, tipoUsuario, libro, fechas, fases.fase("bloqueo", finFechas)))
+            : registrar(command, tipoUsuario, libro, fechas, finFechas);
 
-        Libro libro = obtenerOCrearLibro(command.getIsbn());
-        LocalDate fechaMaximaDevolucion = calculadorFecha.calcular(tipoUsuario);
+        return ResultadoPrestar.builder()
+            .id(prestamoGuardado.getId())
+            .fechaMaximaDevolucion(fechas.getFechaMaximaDevolucionFormateada(tipoUsuario))
+            .diaMaximoDevolucion(fechas.getFechaMaximaDevolucion(tipoUsuario))
+            .build();
+    }
 
-        Prestamo prestamo = Prestamo.crear(
+    /**
+     * Ejecuta un lote de préstamos aplicando las mismas reglas que {@link #ejecutar}.
+     *
+     * En lugar de consultar el repositorio por cada solicitud:
+     * 1. Resuelve todos los ISBN del lote con una sola consulta
+     * 2. Obtiene con una sola consulta los invitados del lote que ya tienen préstamo
+     * 3. Valida cada solicitud en orden, de modo que un invitado repetido en el
+     *    lote queda rechazado igual que si las solicitudes llegaran una a una
+     * 4. Toma las fechas del día una sola vez para todo el lote
+     * 5. Persiste todos los préstamos aceptados en una sola transacción; si otra
+     *    instancia registró entretanto el préstamo de un invitado del lote, los
+     *    persiste uno a uno y solo ese queda rechazado
+     *
+     * Las solicitudes rechazadas no interrumpen el lote: su resultado contiene
+     * el mensaje de la regla incumplida. Eso incluye las que llegan sin
+     * identificación o con una más larga que la admitida, que se rechazan
+     * antes de persistir para no hacer fallar el lote completo en la base
+     * de datos.
+     *
+     * Los pasos 2 a 5 se ejecutan con el bloqueo de todos los invitados del
+     * lote, tomados en orden, para excluir préstamos concurrentes de esos
+     * mismos invitados por otras solicitudes o lotes.
+     *
+     * @param commands Solicitudes de préstamo en el orden recibido
+     * @return Un resultado por solicitud, en el mismo orden
+     */
+    @Override
+    public List<ResultadoPrestarLote> ejecutarLote(List<PrestarLibroCommand> commands) {
+        Map<String, Libro> libros = libroRepository.findAllByIsbn(isbns(commands));
+        Set<String> invitados = identificacionesInvitados(commands);
+        return bloqueoUsuario.ejecutarConBloqueo(invitados, () -> procesarLote(commands, libros, invitados));
+    }
+
+    private List<ResultadoPrestarLote> procesarLote(List<PrestarLibroCommand> commands,
+                                                     Map<String, Libro> libros, Set<String> invitados) {
+        Set<String> invitadosConPrestamo = new HashSet<>(prestamoRepository.findInvitadosConPrestamo(invitados));
+        FechasDelDia fechas = fechasDelDia.actuales();
+
+        ResultadoPrestarLote[] resultados = new ResultadoPrestarLote[commands.size()];
+        List<Prestamo> prestamos = new ArrayList<>();
+        List<Integer> posiciones = new ArrayList<>();
+        for (int i = 0; i < commands.size(); i++) {
+            PrestarLibroCommand command = commands.get(i);
+            try {
+                TipoUsuario tipoUsuario = validarTipoUsuario(command);
+                validadorPrestamo.validarIdentificacionUsuario(command.getIdentificacionUsuario());
+                validadorPrestamo.validarUsuarioInvitado(command.getIdentificacionUsuario(), tipoUsuario, invitadosConPrestamo);
+
+                Libro libro = libros.get(command.getIsbn());
+                if (libro == null) {
+                    resultados[i] = ResultadoPrestarLote.fallido(LibroNoEncontradoException.mensaje(command.getIsbn()));
+                    continue;
+                }
+                prestamos.add(crearPrestamo(command, tipoUsuario, libro, fechas));
+                posiciones.add(i);
+                if (tipoUsuario.esInvitado()) {
+                    invitadosConPrestamo.add(command.getIdentificacionUsuario());
+                }
+            } catch (DomainException e) {
+                resultados[i] = ResultadoPrestarLote.fallido(e.getMessage());
+            }
+        }
+
+        if (!prestamos.isEmpty()) {
+            guardar(prestamos, posiciones, resultados, fechas);
+        }
+        return Arrays.asList(resultados);
+    }
+
+    /**
+     * Persiste los préstamos aceptados del lote en una sola operación.
+     *
+     * El bloqueo de los invitados solo excluye a esta instancia: otra puede
+     * registrar el préstamo de uno de ellos después de la consulta del lote,
+     * y entonces el repositorio rechaza el conjunto completo. En ese caso los
+     * préstamos se persisten uno a uno, de modo que solo el que está en
+     * conflicto queda rechazado.
+     */
+    private void guardar(List<Prestamo> prestamos, List<Integer> posiciones,
+                         ResultadoPrestarLote[] resultados, FechasDelDia fechas) {
+        List<Prestamo> guardados;
+        try {
+            guardados = prestamoRepository.saveAll(prestamos);
+        } catch (UsuarioConPrestamoExistenteException e) {
+            for (int j = 0; j < prestamos.size(); j++) {
+                try {
+                    resultados[posiciones.get(j)] = resultadoLote(prestamoRepository.save(prestamos.get(j)), fechas);
+                } catch (UsuarioConPrestamoExistenteException conflicto) {
+                    resultados[posiciones.get(j)] = ResultadoPrestarLote.fallido(conflicto.getMessage());
+                }
+            }
+            return;
+        }
+        for (int j = 0; j < guardados.size(); j++) {
+            resultados[posiciones.get(j)] = resultadoLote(guardados.get(j), fechas);
+        }
+    }
+
+    private static ResultadoPrestarLote resultadoLote(Prestamo guardado, FechasDelDia fechas) {
+        return ResultadoPrestarLote.builder()
+            .id(guardado.getId())
+            .fechaMaximaDevolucion(fechas.getFechaMaximaDevolucionFormateada(guardado.getTipoUsuario()))
+            .build();
+    }
+
+    /**
+     * Valida el tipo de usuario del comando y lo convierte a su enumeración.
+     *
+     * @throws TipoUsuarioNoPermitidoException si el tipo de usuario no es válido
+     */
+    private TipoUsuario validarTipoUsuario(PrestarLibroCommand command) {
+        return validadorPrestamo.validarTipoUsuario(command.getTipoUsuario());
+    }
+
+    private Prestamo crearPrestamo(PrestarLibroCommand command, TipoUsuario tipoUsuario,
+                                   Libro libro, FechasDelDia fechas) {
+        return Prestamo.crear(
             command.getIdentificacionUsuario(),
             tipoUsuario,
             libro,
-            fechaMaximaDevolucion
+            fechas.getFecha(),
+            fechas.getFechaMaximaDevolucion(tipoUsuario)
         );
+    }
 
-        Prestamo prestamoGuardado = prestamoRepository.save(prestamo);
+    private static List<String> isbns(List<PrestarLibroCommand> commands) {
+        List<String> isbns = new ArrayList<>(commands.size());
+        for (PrestarLibroCommand command : commands) {
+            if (command.getIsbn() != null) {
+                isbns.add(command.getIsbn());
+            }
+        }
+        return isbns;
+    }
 
-        return ResultadoPrestar.builder()
-            .id(prestamoGuardado.getId())
-            .fechaMaximaDevolucion(fechaMaximaDevolucion.format(DATE_FORMATTER))
-            .build();
+    /**
+     * Solo los invitados están sujetos a la regla de un préstamo, así que
+     * únicamente sus identificaciones se consultan en el repositorio.
+     * Las solicitudes sin identificación se rechazan en la validación, así
+     * que no entran al conjunto de bloqueos ni a la consulta.
+     */
+    private static Set<String> identificacionesInvitados(List<PrestarLibroCommand> commands) {
+        Integer invitado = TipoUsuario.INVITADO.getValor();
+        Set<String> identificaciones = new HashSet<>();
+        for (PrestarLibroCommand command : commands) {
+            if (invitado.equals(command.getTipoUsuario()) && command.getIdentificacionUsuario() != null) {
+                identificaciones.add(command.getIdentificacionUsuario());
+            }
+        }
+        return identificaciones;
     }
 
     /**
-     * Método auxiliar para obtener un libro existente por su ISBN.
+     * Crea el préstamo y lo persiste.
+     *
+     * La regla de un préstamo por invitado la garantiza el repositorio al
+     * persistir, sin una consulta previa. Solo cuando el libro no existe se
+     * consulta antes al validador, para reportar primero el préstamo
+     * existente del invitado, igual que antes de mover la regla al repositorio.
      *
-     * Busca el libro en el repositorio utilizando el código ISBN.
-     * Si no se encuentra, lanza una excepción indicando que el libro
-     * no está disponible en el sistema.
+     * Para los invitados se invoca con el bloqueo del usuario tomado, de modo
+     * que las solicitudes concurrentes de un mismo invitado dentro de esta
+     * instancia no llegan a competir por el INSERT.
      *
-     * @param isbn Código ISBN del libro a buscar
-     * @return El libro encontrado en el repositorio
+     * @param marca Marca del temporizador al terminar la fase anterior
      *
-     * @throws RuntimeException si no se encuentra un libro con el ISBN especificado
+     * @throws UsuarioConPrestamoExistenteException si el usuario invitado ya tiene un préstamo
+     * @throws LibroNoEncontradoException si no se encuentra un libro con el ISBN especificado
      */
-    private Libro obtenerOCrearLibro(String isbn) {
-        return libroRepository.findByIsbn(isbn)
-            .orElseThrow(() -> new RuntimeException("Libro con ISBN " + isbn + " no encontrado"));
+    private Prestamo registrar(PrestarLibroCommand command, TipoUsuario tipoUsuario,
+                               Optional<Libro> libro, FechasDelDia fechas, long marca) {
+        if (!libro.isPresent()) {
+            validadorPrestamo.validarUsuarioInvitado(command.getIdentificacionUsuario(), tipoUsuario);
+            fases.fase("validacion_invitado", marca);
+            throw new LibroNoEncontradoException(command.getIsbn());
+        }
+        Prestamo prestamo = prestamoRepository.save(crearPrestamo(command, tipoUsuario, libro.get(), fechas));
+        fases.fase("insert", marca);
+        return prestamo;
     }
-}
\ No newline at end of file
+}
@@ -11,6 +11,11 @@ package com.ceiba.biblioteca.domain.exception;
  * lo cual es apropiado para errores de dominio que representan violaciones
  * de reglas de negocio.
  *
+ * Las excepciones de dominio no capturan la pila de llamadas ni admiten
+ * excepciones suprimidas: son respuestas esperadas a solicitudes inválidas,
+ * no fallas a depurar, y se lanzan en buena parte del tráfico. Capturar
+ * la pila en cada rechazo costaría más que la validación misma.
+ *
  * @author Sistema Biblioteca Ceiba
  * @version 1.0
  * @since 1.0
@@ -23,6 +28,6 @@ public abstract class DomainException extends RuntimeException {
      * @param message Mensaje que describe la causa específica del error de dominio
      */
     public DomainException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.ceiba.biblioteca.domain.exception;
+
+import com.ceiba.biblioteca.domain.service.ValidadorPrestamo;
+
+/**
+ * Excepción que se lanza cuando la identificación del usuario de una
+ * solicitud de préstamo falta o no cabe en el registro del préstamo.
+ *
+ * Esta excepción se produce cuando:
+ * - No se envía la identificación del usuario
+ * - La identificación está vacía
+ * - La identificación supera la longitud máxima admitida
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public class IdentificacionUsuarioInvalidaException extends DomainException {
+
+    /**
+     * Instancia compartida para los rechazos de identificación.
+     *
+     * Igual que {@link TipoUsuarioNoPermitidoException#INSTANCIA}, la
+     * excepción no guarda pila y su mensaje es fijo, así que puede lanzarse
+     * desde varios hilos sin crear una nueva por solicitud.
+     */
+    public static final IdentificacionUsuarioInvalidaException INSTANCIA = new IdentificacionUsuarioInvalidaException();
+
+    /**
+     * Constructor que inicializa la excepción con un mensaje predefinido.
+     */
+    public IdentificacionUsuarioInvalidaException() {
+        super("La identificación del usuario es obligatoria y debe tener máximo "
+              + ValidadorPrestamo.LONGITUD_MAXIMA_IDENTIFICACION + " caracteres");
+    }
+}
@@ -0,0 +1,40 @@
+package com.ceiba.biblioteca.domain.exception;
+
+/**
+ * Excepción que se lanza cuando se solicita en préstamo un libro cuyo ISBN
+ * no está en el catálogo.
+ *
+ * No extiende {@link DomainException}: el préstamo individual responde a
+ * este caso con un error 500, no con el 400 de las reglas de negocio. Tener
+ * un tipo propio permite distinguirlo de las fallas inesperadas, por
+ * ejemplo en las métricas del caso de uso.
+ *
+ * Igual que las excepciones de dominio, no captura la pila de llamadas: es
+ * una respuesta esperada a una solicitud, no una falla a depurar.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public class LibroNoEncontradoException extends RuntimeException {
+
+    /**
+     * Constructor que inicializa la excepción con el ISBN solicitado.
+     *
+     * @param isbn ISBN del libro que no se encontró
+     */
+    public LibroNoEncontradoException(String isbn) {
+        super(mensaje(isbn), null, false, false);
+    }
+
+    /**
+     * Mensaje para un libro inexistente, también usado en los resultados de
+     * los préstamos por lote, que informan el rechazo sin lanzar la excepción.
+     *
+     * @param isbn ISBN del libro que no se encontró
+     * @return Mensaje con el ISBN solicitado
+     */
+    public static String mensaje(String isbn) {
+        return "Libro con ISBN " + isbn + " no encontrado";
+    }
+}
@@ -19,6 +19,15 @@ package com.ceiba.biblioteca.domain.exception;
  */
 public class TipoUsuarioNoPermitidoException extends DomainException {
 
+    /**
+     * Instancia compartida para los rechazos de tipo de usuario.
+     *
+     * Como la excepción no guarda pila ni suprimidas y su mensaje es fijo,
+     * es inmutable y puede lanzarse desde varios hilos sin crear una nueva
+     * en cada solicitud rechazada.
+     */
+    public static final TipoUsuarioNoPermitidoException INSTANCIA = new TipoUsuarioNoPermitidoException();
+
     /**
      * Constructor que inicializa la excepción con un mensaje predefinido.
      *
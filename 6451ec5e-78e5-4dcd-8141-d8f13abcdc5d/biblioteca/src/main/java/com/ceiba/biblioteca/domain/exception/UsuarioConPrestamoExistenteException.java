@@ -32,4 +32,14 @@ public class UsuarioConPrestamoExistenteException extends DomainException {
         super("El usuario con identificación " + identificacionUsuario +
               " ya tiene un libro prestado por lo cual no se le puede realizar otro préstamo");
     }
+
+    /**
+     * Constructor para un conjunto de préstamos rechazado en bloque.
+     *
+     * Se usa cuando la base de datos rechaza el conjunto completo y no
+     * indica cuál de los usuarios invitados ya tenía un préstamo.
+     */
+    public UsuarioConPrestamoExistenteException() {
+        super("Un usuario invitado del conjunto ya tiene un libro prestado por lo cual no se le puede realizar otro préstamo");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,173 @@
+package com.ceiba.biblioteca.domain.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.IntFunction;
+
+/**
+ * Calendario de días festivos usado para calcular fechas de devolución.
+ *
+ * Los festivos de cada año salen de una regla, como {@link FestivosColombia},
+ * más una lista de fechas adicionales. Así el calendario cubre cualquier
+ * año sin depender de un archivo que haya que actualizar cada enero.
+ *
+ * Solo cuentan los festivos que caen de lunes a viernes: un festivo en
+ * fin de semana no cambia el conteo de días hábiles.
+ *
+ * La primera consulta de cada año precalcula un arreglo acumulado con la
+ * cantidad de festivos hasta cada día del año, y el arreglo se conserva
+ * para las siguientes. Con él, contar los festivos entre dos fechas cuesta
+ * una resta por año recorrido, sin iterar día por día.
+ *
+ * La instancia puede compartirse entre hilos: dos hilos que calculan el
+ * mismo año a la vez obtienen el mismo resultado.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public final class CalendarioFestivos {
+
+    private static final IntFunction<List<LocalDate>> SIN_REGLA = anio -> Collections.emptyList();
+
+    private static final CalendarioFestivos SIN_FESTIVOS =
+        new CalendarioFestivos(SIN_REGLA, Collections.emptyList());
+
+    /**
+     * Acumulados de un año sin festivos entre semana.
+     */
+    private static final int[] ANIO_SIN_FESTIVOS = new int[0];
+
+    /**
+     * Festivos de un año según la regla; puede incluir fines de semana y repetidos.
+     */
+    private final IntFunction<? extends Collection<LocalDate>> regla;
+
+    /**
+     * Fechas adicionales a la regla, agrupadas por año.
+     */
+    private final Map<Integer, List<LocalDate>> adicionalesPorAnio;
+
+    /**
+     * Para cada año consultado, posición i: cantidad de festivos con día del
+     * año menor o igual a i; {@link #ANIO_SIN_FESTIVOS} si no tiene.
+     */
+    private final ConcurrentMap<Integer, int[]> acumuladosPorAnio = new ConcurrentHashMap<>();
+
+    private CalendarioFestivos(IntFunction<? extends Collection<LocalDate>> regla, Collection<LocalDate> adicionales) {
+        this.regla = regla;
+        Map<Integer, List<LocalDate>> porAnio = new HashMap<>();
+        for (LocalDate fecha : adicionales) {
+            porAnio.computeIfAbsent(fecha.getYear(), anio -> new ArrayList<>()).add(fecha);
+        }
+        this.adicionalesPorAnio = porAnio;
+    }
+
+    /**
+     * Crea un calendario con los festivos indicados. Los años sin festivos
+     * en la lista se consideran sin festivos.
+     *
+     * @param festivos Fechas festivas; se ignoran las repetidas y las de fin de semana
+     * @return Calendario con solo esos festivos
+     */
+    public static CalendarioFestivos de(Collection<LocalDate> festivos) {
+        return festivos.isEmpty() ? SIN_FESTIVOS : new CalendarioFestivos(SIN_REGLA, festivos);
+    }
+
+    /**
+     * Crea un calendario cuyos festivos salen de una regla por año, más
+     * unas fechas adicionales, por ejemplo los festivos locales de una sede.
+     *
+     * @param regla Festivos de cada año, por ejemplo {@code FestivosColombia::delAnio}
+     * @param adicionales Fechas festivas que la regla no incluye
+     * @return Calendario que cubre cualquier año
+     */
+    public static CalendarioFestivos porRegla(IntFunction<? extends Collection<LocalDate>> regla,
+                                              Collection<LocalDate> adicionales) {
+        return new CalendarioFestivos(regla, adicionales);
+    }
+
+    /**
+     * @return Calendario sin festivos: solo se excluyen sábados y domingos
+     */
+    public static CalendarioFestivos sinFestivos() {
+        return SIN_FESTIVOS;
+    }
+
+    /**
+     * Indica si la fecha es un festivo que cae entre semana.
+     *
+     * @param fecha Fecha a consultar
+     * @return true si la fecha es festivo y es de lunes a viernes
+     */
+    public boolean esFestivo(LocalDate fecha) {
+        int[] acumulados = acumuladosDe(fecha.getYear());
+        int dia = fecha.getDayOfYear();
+        return acumulados != ANIO_SIN_FESTIVOS && acumulados[dia] > acumulados[dia - 1];
+    }
+
+    /**
+     * Cuenta los festivos entre semana en el intervalo (desde, hasta].
+     *
+     * @param desde Fecha inicial, excluida del conteo
+     * @param hasta Fecha final, incluida en el conteo; no debe ser anterior a desde
+     * @return Cantidad de festivos de lunes a viernes en el intervalo
+     */
+    public int contarFestivos(LocalDate desde, LocalDate hasta) {
+        int total = 0;
+        for (int anio = desde.getYear(); anio <= hasta.getYear(); anio++) {
+            int[] acumulados = acumuladosDe(anio);
+            if (acumulados == ANIO_SIN_FESTIVOS) {
+                continue;
+            }
+            int inicio = anio == desde.getYear() ? desde.getDayOfYear() : 0;
+            int fin = anio == hasta.getYear() ? hasta.getDayOfYear() : acumulados.length - 1;
+            total += acumulados[fin] - acumulados[inicio];
+        }
+        return total;
+    }
+
+    private int[] acumuladosDe(int anio) {
+        int[] acumulados = acumuladosPorAnio.get(anio);
+        return acumulados != null ? acumulados : acumuladosPorAnio.computeIfAbsent(anio, this::calcularAcumulados);
+    }
+
+    private int[] calcularAcumulados(int anio) {
+        boolean[] festivos = new boolean[Year.of(anio).length() + 1];
+        boolean alguno = marcarFestivos(regla.apply(anio), festivos);
+        alguno |= marcarFestivos(adicionalesPorAnio.getOrDefault(anio, Collections.emptyList()), festivos);
+        if (!alguno) {
+            return ANIO_SIN_FESTIVOS;
+        }
+        int[] acumulados = new int[festivos.length];
+        for (int dia = 1; dia < acumulados.length; dia++) {
+            acumulados[dia] = acumulados[dia - 1] + (festivos[dia] ? 1 : 0);
+        }
+        return acumulados;
+    }
+
+    private static boolean marcarFestivos(Collection<LocalDate> fechas, boolean[] festivos) {
+        boolean alguno = false;
+        for (LocalDate fecha : fechas) {
+            if (esDiaHabil(fecha)) {
+                festivos[fecha.getDayOfYear()] = true;
+                alguno = true;
+            }
+        }
+        return alguno;
+    }
+
+    private static boolean esDiaHabil(LocalDate fecha) {
+        DayOfWeek dia = fecha.getDayOfWeek();
+        return dia != DayOfWeek.SATURDAY && dia != DayOfWeek.SUNDAY;
+    }
+}
@@ -0,0 +1,99 @@
+package com.ceiba.biblioteca.domain.model;
+
+import java.time.LocalDate;
+
+/**
+ * Modelo de lectura de un préstamo: los datos que se muestran al
+ * consultarlo, ya combinados con el ISBN y el título del libro.
+ *
+ * Es el lado de consulta del dominio. Los repositorios lo obtienen en una
+ * sola lectura, sin armar el {@link Prestamo} completo, y el caso de uso de
+ * consulta lo convierte en la respuesta de la aplicación.
+ *
+ * La fecha máxima de devolución viene como fecha y ya formateada como
+ * dd/MM/yyyy: el modelo de lectura persistente la guarda así, y las
+ * respuestas JSON la entregan sin formatearla en cada consulta.
+ *
+ * La instancia es inmutable y puede compartirse entre hilos, por ejemplo
+ * desde una caché.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public final class ConsultaPrestamo {
+
+    private final Integer id;
+    private final String isbn;
+    private final String titulo;
+    private final LocalDate fechaMaximaDevolucion;
+    private final String fechaMaximaDevolucionFormateada;
+    private final String identificacionUsuario;
+    private final TipoUsuario tipoUsuario;
+
+    /**
+     * @param id ID del préstamo
+     * @param isbn ISBN del libro prestado
+     * @param titulo Título del libro prestado
+     * @param fechaMaximaDevolucion Fecha límite de devolución
+     * @param fechaMaximaDevolucionFormateada La misma fecha en formato dd/MM/yyyy
+     * @param identificacionUsuario Usuario que recibió el préstamo
+     * @param tipoUsuario Tipo de usuario del préstamo
+     */
+    public ConsultaPrestamo(Integer id, String isbn, String titulo, LocalDate fechaMaximaDevolucion,
+                            String fechaMaximaDevolucionFormateada, String identificacionUsuario,
+                            TipoUsuario tipoUsuario) {
+        this.id = id;
+        this.isbn = isbn;
+        this.titulo = titulo;
+        this.fechaMaximaDevolucion = fechaMaximaDevolucion;
+        this.fechaMaximaDevolucionFormateada = fechaMaximaDevolucionFormateada;
+        this.identificacionUsuario = identificacionUsuario;
+        this.tipoUsuario = tipoUsuario;
+    }
+
+    /**
+     * Arma la consulta de un préstamo y su libro, formateando la fecha
+     * máxima de devolución.
+     *
+     * @param prestamo Préstamo con ID
+     * @param libro Libro del préstamo, con ISBN y título
+     * @return Consulta con los datos de ambos
+     */
+    public static ConsultaPrestamo de(Prestamo prestamo, Libro libro) {
+        return new ConsultaPrestamo(prestamo.getId(), libro.getIsbn(), libro.getTitulo(),
+            prestamo.getFechaMaximaDevolucion(), prestamo.getFechaMaximaDevolucion().format(FechasDelDia.DATE_FORMATTER),
+            prestamo.getIdentificacionUsuario(), prestamo.getTipoUsuario());
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public LocalDate getFechaMaximaDevolucion() {
+        return fechaMaximaDevolucion;
+    }
+
+    /**
+     * @return Fecha máxima de devolución en formato dd/MM/yyyy
+     */
+    public String getFechaMaximaDevolucionFormateada() {
+        return fechaMaximaDevolucionFormateada;
+    }
+
+    public String getIdentificacionUsuario() {
+        return identificacionUsuario;
+    }
+
+    public TipoUsuario getTipoUsuario() {
+        return tipoUsuario;
+    }
+}
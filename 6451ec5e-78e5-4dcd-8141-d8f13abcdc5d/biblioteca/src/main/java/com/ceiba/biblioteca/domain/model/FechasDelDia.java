@@ -0,0 +1,76 @@
+package com.ceiba.biblioteca.domain.model;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Fechas de préstamo y de devolución vigentes durante un día.
+ *
+ * La fecha máxima de devolución solo depende del día del préstamo y del
+ * tipo de usuario, así que para un mismo día hay una por tipo de usuario.
+ * Esta clase guarda esas fechas, ya formateadas para las respuestas, de
+ * modo que los préstamos del día las reutilizan sin calcular ni formatear.
+ *
+ * La instancia es inmutable y puede compartirse entre hilos.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public final class FechasDelDia {
+
+    /**
+     * Formato de fecha de las respuestas de préstamo.
+     */
+    public static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final LocalDate fecha;
+    private final long inicioEpochMilli;
+    private final long finEpochMilli;
+    private final LocalDate[] devolucionPorTipo;
+    private final String[] devolucionFormateadaPorTipo;
+
+    /**
+     * @param fecha Día al que corresponden las fechas
+     * @param inicioEpochMilli Instante, en milisegundos, en que empieza el día
+     * @param finEpochMilli Instante, en milisegundos, en que empieza el día siguiente
+     * @param devolucionPorTipo Fecha máxima de devolución de cada tipo de usuario, por ordinal
+     */
+    public FechasDelDia(LocalDate fecha, long inicioEpochMilli, long finEpochMilli, LocalDate[] devolucionPorTipo) {
+        this.fecha = fecha;
+        this.inicioEpochMilli = inicioEpochMilli;
+        this.finEpochMilli = finEpochMilli;
+        this.devolucionPorTipo = devolucionPorTipo.clone();
+        this.devolucionFormateadaPorTipo = new String[devolucionPorTipo.length];
+        for (int i = 0; i < devolucionPorTipo.length; i++) {
+            devolucionFormateadaPorTipo[i] = devolucionPorTipo[i].format(DATE_FORMATTER);
+        }
+    }
+
+    /**
+     * @return Día al que corresponden las fechas; es la fecha de los préstamos del día
+     */
+    public LocalDate getFecha() {
+        return fecha;
+    }
+
+    /**
+     * @param epochMilli Instante actual en milisegundos
+     * @return true si el instante pertenece a este día; false si el reloj
+     *         ya pasó la medianoche o fue retrocedido a un día anterior
+     */
+    public boolean vigentes(long epochMilli) {
+        return epochMilli >= inicioEpochMilli && epochMilli < finEpochMilli;
+    }
+
+    public LocalDate getFechaMaximaDevolucion(TipoUsuario tipoUsuario) {
+        return devolucionPorTipo[tipoUsuario.ordinal()];
+    }
+
+    /**
+     * @return Fecha máxima de devolución en formato dd/MM/yyyy
+     */
+    public String getFechaMaximaDevolucionFormateada(TipoUsuario tipoUsuario) {
+        return devolucionFormateadaPorTipo[tipoUsuario.ordinal()];
+    }
+}
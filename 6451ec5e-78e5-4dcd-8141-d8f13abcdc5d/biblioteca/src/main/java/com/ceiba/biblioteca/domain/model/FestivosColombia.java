@@ -0,0 +1,99 @@
+package com.ceiba.biblioteca.domain.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Regla de los festivos nacionales de Colombia, para cualquier año.
+ *
+ * Los festivos se generan a partir de la ley, sin depender de una lista
+ * publicada por años:
+ * - Fechas fijas: 1 de enero, 1 de mayo, 20 de julio, 7 de agosto,
+ *   8 y 25 de diciembre
+ * - Ley 51 de 1983 (Ley Emiliani): Reyes Magos, San José, San Pedro y San
+ *   Pablo, Asunción, Día de la Raza, Todos los Santos e Independencia de
+ *   Cartagena se trasladan al lunes siguiente si no caen en lunes
+ * - Fechas que dependen del domingo de Pascua: Jueves y Viernes Santo, y
+ *   Ascensión, Corpus Christi y Sagrado Corazón, trasladados a lunes
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public final class FestivosColombia {
+
+    /**
+     * Días desde el domingo de Pascua de Jueves Santo, Viernes Santo, y de
+     * los lunes de Ascensión, Corpus Christi y Sagrado Corazón.
+     */
+    private static final int[] DIAS_DESDE_PASCUA = {-3, -2, 43, 64, 71};
+
+    private FestivosColombia() {
+    }
+
+    /**
+     * Genera los festivos nacionales de un año.
+     *
+     * Dos festivos pueden caer el mismo día, como San Pedro y San Pablo y
+     * Sagrado Corazón en 2025; la lista los incluye a ambos.
+     *
+     * @param anio Año gregoriano
+     * @return Festivos del año, incluidos los que caen en fin de semana
+     */
+    public static List<LocalDate> delAnio(int anio) {
+        List<LocalDate> festivos = new ArrayList<>(18);
+        festivos.add(LocalDate.of(anio, Month.JANUARY, 1));
+        festivos.add(LocalDate.of(anio, Month.MAY, 1));
+        festivos.add(LocalDate.of(anio, Month.JULY, 20));
+        festivos.add(LocalDate.of(anio, Month.AUGUST, 7));
+        festivos.add(LocalDate.of(anio, Month.DECEMBER, 8));
+        festivos.add(LocalDate.of(anio, Month.DECEMBER, 25));
+
+        festivos.add(lunesSiguiente(LocalDate.of(anio, Month.JANUARY, 6)));
+        festivos.add(lunesSiguiente(LocalDate.of(anio, Month.MARCH, 19)));
+        festivos.add(lunesSiguiente(LocalDate.of(anio, Month.JUNE, 29)));
+        festivos.add(lunesSiguiente(LocalDate.of(anio, Month.AUGUST, 15)));
+        festivos.add(lunesSiguiente(LocalDate.of(anio, Month.OCTOBER, 12)));
+        festivos.add(lunesSiguiente(LocalDate.of(anio, Month.NOVEMBER, 1)));
+        festivos.add(lunesSiguiente(LocalDate.of(anio, Month.NOVEMBER, 11)));
+
+        LocalDate pascua = domingoDePascua(anio);
+        for (int dias : DIAS_DESDE_PASCUA) {
+            festivos.add(pascua.plusDays(dias));
+        }
+        return festivos;
+    }
+
+    /**
+     * Calcula el domingo de Pascua con el algoritmo gregoriano anónimo
+     * (Meeus/Jones/Butcher).
+     *
+     * @param anio Año gregoriano
+     * @return Domingo de Pascua del año
+     */
+    static LocalDate domingoDePascua(int anio) {
+        int a = anio % 19;
+        int b = anio / 100;
+        int c = anio % 100;
+        int d = b / 4;
+        int e = b % 4;
+        int f = (b + 8) / 25;
+        int g = (b - f + 1) / 3;
+        int h = (19 * a + b - d - g + 15) % 30;
+        int i = c / 4;
+        int k = c % 4;
+        int l = (32 + 2 * e + 2 * i - h - k) % 7;
+        int m = (a + 11 * h + 22 * l) / 451;
+        int mes = (h + l - 7 * m + 114) / 31;
+        int dia = (h + l - 7 * m + 114) % 31 + 1;
+        return LocalDate.of(anio, mes, dia);
+    }
+
+    private static LocalDate lunesSiguiente(LocalDate fecha) {
+        return fecha.with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+    }
+}
@@ -0,0 +1,94 @@
+package com.ceiba.biblioteca.domain.model;
+
+/**
+ * Registro de auditoría de una solicitud de préstamo, aceptada o no.
+ *
+ * Conserva los datos tal como llegaron en la solicitud (el tipo de usuario
+ * puede no ser válido) junto con el resultado: el ID del préstamo creado o
+ * el mensaje que explica el rechazo o el error.
+ *
+ * La instancia es inmutable y puede compartirse entre hilos.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public final class IntentoPrestamo {
+
+    /**
+     * Resultado de la solicitud.
+     */
+    public enum Resultado {
+
+        /**
+         * El préstamo se creó.
+         */
+        ACEPTADO,
+
+        /**
+         * Una regla de negocio rechazó la solicitud.
+         */
+        RECHAZADO,
+
+        /**
+         * La solicitud falló por un error que no es una regla de negocio.
+         */
+        ERROR
+    }
+
+    private final long instante;
+    private final String isbn;
+    private final String identificacionUsuario;
+    private final Integer tipoUsuario;
+    private final Resultado resultado;
+    private final Integer prestamoId;
+    private final String mensaje;
+
+    /**
+     * @param instante Momento de la solicitud en milisegundos desde la época
+     * @param isbn ISBN solicitado
+     * @param identificacionUsuario Usuario que solicitó el préstamo
+     * @param tipoUsuario Tipo de usuario recibido, válido o no
+     * @param resultado Resultado de la solicitud
+     * @param prestamoId ID del préstamo creado, o null si no se creó
+     * @param mensaje Motivo del rechazo o del error, o null si se aceptó
+     */
+    public IntentoPrestamo(long instante, String isbn, String identificacionUsuario, Integer tipoUsuario,
+                           Resultado resultado, Integer prestamoId, String mensaje) {
+        this.instante = instante;
+        this.isbn = isbn;
+        this.identificacionUsuario = identificacionUsuario;
+        this.tipoUsuario = tipoUsuario;
+        this.resultado = resultado;
+        this.prestamoId = prestamoId;
+        this.mensaje = mensaje;
+    }
+
+    public long getInstante() {
+        return instante;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public String getIdentificacionUsuario() {
+        return identificacionUsuario;
+    }
+
+    public Integer getTipoUsuario() {
+        return tipoUsuario;
+    }
+
+    public Resultado getResultado() {
+        return resultado;
+    }
+
+    public Integer getPrestamoId() {
+        return prestamoId;
+    }
+
+    public String getMensaje() {
+        return mensaje;
+    }
+}
@@ -94,4 +94,39 @@ public class Libro {
                 .editorial("Editorial Temporal")
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Convierte un ISBN a su clave de búsqueda: sin espacios ni guiones
+     * y con letras en mayúscula (por ejemplo "978-84-08-18746-2" pasa a
+     * "9788408187462" y "asda 7884" a "ASDA7884").
+     *
+     * Si el valor ya está normalizado se retorna la misma instancia,
+     * evitando asignaciones en el caso común.
+     *
+     * @param isbn ISBN tal como lo envía el cliente, puede ser null
+     * @return ISBN normalizado, o null si la entrada es null
+     */
+    public static String normalizarIsbn(String isbn) {
+        if (isbn == null || yaNormalizado(isbn)) {
+            return isbn;
+        }
+        StringBuilder normalizado = new StringBuilder(isbn.length());
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c != '-' && !Character.isWhitespace(c)) {
+                normalizado.append(Character.toUpperCase(c));
+            }
+        }
+        return normalizado.toString();
+    }
+
+    private static boolean yaNormalizado(String isbn) {
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c == '-' || Character.isWhitespace(c) || Character.isLowerCase(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
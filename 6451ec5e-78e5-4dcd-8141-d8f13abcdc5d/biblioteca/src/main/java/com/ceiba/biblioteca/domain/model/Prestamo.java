@@ -59,32 +59,33 @@ public class Prestamo {
 
     /**
      * Referencia al libro que se está prestando.
-     * Contiene toda la información bibliográfica del libro.
+     * Contiene toda la información bibliográfica del libro y su ID,
+     * que la persistencia usa para asociarlo sin volver a consultarlo.
      */
     private Libro libro;
 
     /**
      * Método factory para crear un nuevo préstamo con las reglas de negocio aplicadas.
      *
-     * Establece automáticamente la fecha de préstamo como la fecha actual y
-     * construye el objeto préstamo con los parámetros proporcionados.
+     * La fecha de préstamo la recibe en lugar de tomarla del reloj del
+     * sistema: el caso de uso pasa la fecha del día de {@link FechasDelDia},
+     * de modo que sale del mismo reloj que la de devolución.
      *
      * @param identificacionUsuario Documento de identificación del usuario solicitante
      * @param tipoUsuario Tipo de usuario que realiza el préstamo
-     * @param libro Libro que se va a prestar
+     * @param libro Libro que se va a prestar, ya resuelto en el catálogo (con ID)
+     * @param fechaPrestamo Día en que se realiza el préstamo
      * @param fechaMaximaDevolucion Fecha límite calculada para la devolución
      * @return Nueva instancia de Prestamo configurada con los datos proporcionados
-     *
-     * @throws IllegalArgumentException si algún parámetro es nulo o inválido
      */
     public static Prestamo crear(String identificacionUsuario, TipoUsuario tipoUsuario,
-                                Libro libro, LocalDate fechaMaximaDevolucion) {
+                                Libro libro, LocalDate fechaPrestamo, LocalDate fechaMaximaDevolucion) {
         return Prestamo.builder()
-                .fechaPrestamo(LocalDate.now())
+                .fechaPrestamo(fechaPrestamo)
                 .fechaMaximaDevolucion(fechaMaximaDevolucion)
                 .identificacionUsuario(identificacionUsuario)
                 .tipoUsuario(tipoUsuario)
                 .libro(libro)
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,85 @@
+package com.ceiba.biblioteca.domain.model;
+
+import java.time.LocalDate;
+
+/**
+ * Evento de dominio que anuncia el registro de un préstamo.
+ *
+ * Se guarda en la misma transacción que el préstamo y se entrega después a
+ * los sistemas interesados (facturación, notificaciones), por lo que un
+ * préstamo confirmado siempre tiene su evento y un préstamo revertido nunca
+ * lo tiene. La entrega es al menos una vez: el mismo evento puede llegar
+ * más de una vez y los consumidores lo reconocen por {@link #getEventoId()}.
+ *
+ * La instancia es inmutable y puede compartirse entre hilos.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public final class PrestamoCreado {
+
+    private final long eventoId;
+    private final Integer prestamoId;
+    private final String isbn;
+    private final String identificacionUsuario;
+    private final TipoUsuario tipoUsuario;
+    private final LocalDate fechaPrestamo;
+    private final LocalDate fechaMaximaDevolucion;
+    private final long creado;
+
+    /**
+     * @param eventoId Identificador único del evento, creciente en el orden de registro
+     * @param prestamoId ID del préstamo creado
+     * @param isbn ISBN del libro prestado
+     * @param identificacionUsuario Usuario que recibió el préstamo
+     * @param tipoUsuario Tipo de usuario del préstamo
+     * @param fechaPrestamo Fecha en que se realizó el préstamo
+     * @param fechaMaximaDevolucion Fecha límite de devolución
+     * @param creado Momento del registro en milisegundos desde la época
+     */
+    public PrestamoCreado(long eventoId, Integer prestamoId, String isbn, String identificacionUsuario,
+                          TipoUsuario tipoUsuario, LocalDate fechaPrestamo, LocalDate fechaMaximaDevolucion,
+                          long creado) {
+        this.eventoId = eventoId;
+        this.prestamoId = prestamoId;
+        this.isbn = isbn;
+        this.identificacionUsuario = identificacionUsuario;
+        this.tipoUsuario = tipoUsuario;
+        this.fechaPrestamo = fechaPrestamo;
+        this.fechaMaximaDevolucion = fechaMaximaDevolucion;
+        this.creado = creado;
+    }
+
+    public long getEventoId() {
+        return eventoId;
+    }
+
+    public Integer getPrestamoId() {
+        return prestamoId;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public String getIdentificacionUsuario() {
+        return identificacionUsuario;
+    }
+
+    public TipoUsuario getTipoUsuario() {
+        return tipoUsuario;
+    }
+
+    public LocalDate getFechaPrestamo() {
+        return fechaPrestamo;
+    }
+
+    public LocalDate getFechaMaximaDevolucion() {
+        return fechaMaximaDevolucion;
+    }
+
+    public long getCreado() {
+        return creado;
+    }
+}
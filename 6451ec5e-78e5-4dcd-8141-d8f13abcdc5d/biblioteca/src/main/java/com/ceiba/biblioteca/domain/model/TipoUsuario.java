@@ -36,6 +36,12 @@ public enum TipoUsuario {
      */
     INVITADO(3, 7);
 
+    /**
+     * Tipos de usuario indexados por su valor numérico; las posiciones sin
+     * tipo quedan en null.
+     */
+    private static final TipoUsuario[] POR_VALOR = indexarPorValor();
+
     /**
      * Valor numérico que identifica el tipo de usuario.
      * Se utiliza para persistencia y comunicación con sistemas externos.
@@ -92,13 +98,41 @@ public enum TipoUsuario {
         if (valor == null) {
             throw new IllegalArgumentException("Tipo de usuario no puede ser nulo");
         }
+        TipoUsuario tipo = buscarPorValor(valor);
+        if (tipo == null) {
+            throw new IllegalArgumentException("Tipo de usuario no permitido en la biblioteca");
+        }
+        return tipo;
+    }
 
+    /**
+     * Busca el tipo de usuario por su valor numérico sin lanzar excepciones.
+     *
+     * Es un acceso directo a un arreglo indexado por valor, sin recorrer los
+     * tipos ni crear objetos. Lo usan las validaciones, donde un valor
+     * inválido es un caso frecuente y no una falla.
+     *
+     * @param valor Valor numérico del tipo de usuario; puede ser nulo
+     * @return El tipo de usuario correspondiente, o null si el valor es nulo o no es válido
+     */
+    public static TipoUsuario buscarPorValor(Integer valor) {
+        if (valor == null) {
+            return null;
+        }
+        int indice = valor;
+        return indice >= 0 && indice < POR_VALOR.length ? POR_VALOR[indice] : null;
+    }
+
+    private static TipoUsuario[] indexarPorValor() {
+        int maximo = 0;
+        for (TipoUsuario tipo : values()) {
+            maximo = Math.max(maximo, tipo.valor);
+        }
+        TipoUsuario[] porValor = new TipoUsuario[maximo + 1];
         for (TipoUsuario tipo : values()) {
-            if (tipo.valor == valor) {
-                return tipo;
-            }
+            porValor[tipo.valor] = tipo;
         }
-        throw new IllegalArgumentException("Tipo de usuario no permitido en la biblioteca");
+        return porValor;
     }
 
     /**
@@ -2,6 +2,9 @@ package com.ceiba.biblioteca.domain.port.in;
 
 import com.ceiba.biblioteca.application.dto.PrestarLibroCommand;
 import com.ceiba.biblioteca.application.dto.ResultadoPrestar;
+import com.ceiba.biblioteca.application.dto.ResultadoPrestarLote;
+
+import java.util.List;
 
 /**
  * Puerto de entrada para el caso de uso de prestar libros.
@@ -44,11 +47,28 @@ public interface PrestarLibroUseCase {
      *
      * @return Resultado del préstamo conteniendo:
      *         - ID único del préstamo generado
-     *         - Fecha máxima de devolución formateada (dd/MM/yyyy)
+     *         - Fecha máxima de devolución formateada (dd/MM/yyyy), tomada de las fechas del día
+     *         - La misma fecha como LocalDate, para el formato binario
      *
      * @throws TipoUsuarioNoPermitidoException si el tipo de usuario no es válido (1, 2, o 3)
      * @throws UsuarioConPrestamoExistenteException si el usuario invitado ya tiene un préstamo activo
-     * @throws RuntimeException si el libro con el ISBN especificado no existe en el catálogo
+     * @throws LibroNoEncontradoException si el libro con el ISBN especificado no existe en el catálogo
      */
     ResultadoPrestar ejecutar(PrestarLibroCommand command);
+
+    /**
+     * Ejecuta un lote de préstamos con las mismas reglas de negocio que {@link #ejecutar}.
+     *
+     * Pensado para sincronizar ráfagas de préstamos registrados sin conexión:
+     * resuelve los libros y las restricciones de invitados para todo el lote
+     * de una vez y persiste los préstamos aceptados en una sola transacción.
+     * Una solicitud rechazada no afecta al resto del lote.
+     *
+     * @param commands Solicitudes de préstamo en el orden en que se recibieron
+     *
+     * @return Un resultado por solicitud, en el mismo orden: el ID y la fecha
+     *         máxima de devolución si el préstamo se creó, o el mensaje de
+     *         error si fue rechazado.
+     */
+    List<ResultadoPrestarLote> ejecutarLote(List<PrestarLibroCommand> commands);
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.ceiba.biblioteca.domain.port.out;
+
+import com.ceiba.biblioteca.domain.model.IntentoPrestamo;
+
+/**
+ * Puerto de salida para la traza de auditoría de las solicitudes de préstamo.
+ *
+ * Cada solicitud, aceptada, rechazada o fallida, deja un registro. El
+ * registro se hace en el camino de la solicitud, así que las
+ * implementaciones no deben esperar a que el registro llegue a su destino:
+ * lo reciben y lo persisten después. Si no pueden recibirlo (por ejemplo,
+ * porque su cola está llena) aplican su propia política y no lanzan
+ * excepciones al caso de uso.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public interface AuditoriaPrestamosPort {
+
+    /**
+     * Recibe un registro de auditoría para persistirlo.
+     *
+     * @param intento Solicitud de préstamo y su resultado.
+     */
+    void registrar(IntentoPrestamo intento);
+}
@@ -0,0 +1,50 @@
+package com.ceiba.biblioteca.domain.port.out;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Puerto de salida para la exclusión mutua por usuario.
+ *
+ * La regla de un solo préstamo para usuarios invitados se compone de dos
+ * pasos separados: verificar que el usuario no tenga préstamos y registrar
+ * el nuevo préstamo. Si dos solicitudes del mismo invitado se ejecutan a la
+ * vez, ambas pueden pasar la verificación antes de que cualquiera registre
+ * su préstamo.
+ *
+ * Este puerto permite ejecutar esa ventana de verificar e insertar en
+ * exclusión mutua por identificación de usuario, sin serializar las
+ * solicitudes de usuarios distintos. Las implementaciones pueden ser locales
+ * al proceso o distribuidas entre varias instancias.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public interface BloqueoUsuarioPort {
+
+    /**
+     * Ejecuta la acción mientras ninguna otra acción del mismo usuario se ejecuta.
+     *
+     * @param identificacionUsuario Usuario cuyas acciones se excluyen entre sí.
+     * @param accion Acción a ejecutar; sus excepciones se propagan al llamador.
+     * @param <T> Tipo del resultado de la acción.
+     *
+     * @return El resultado de la acción.
+     */
+    <T> T ejecutarConBloqueo(String identificacionUsuario, Supplier<T> accion);
+
+    /**
+     * Ejecuta la acción con el bloqueo de todos los usuarios indicados.
+     *
+     * Los bloqueos se toman siempre en el mismo orden, de modo que dos
+     * lotes con usuarios en común no pueden bloquearse mutuamente.
+     *
+     * @param identificacionesUsuario Usuarios a bloquear; puede estar vacío.
+     * @param accion Acción a ejecutar; sus excepciones se propagan al llamador.
+     * @param <T> Tipo del resultado de la acción.
+     *
+     * @return El resultado de la acción.
+     */
+    <T> T ejecutarConBloqueo(Collection<String> identificacionesUsuario, Supplier<T> accion);
+}
@@ -2,6 +2,9 @@ package com.ceiba.biblioteca.domain.port.out;
 
 import com.ceiba.biblioteca.domain.model.Libro;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -45,6 +48,21 @@ public interface LibroRepositoryPort {
      */
     Libro save(Libro libro);
 
+    /**
+     * Persiste un conjunto de libros en una sola operación.
+     *
+     * Pensado para cargas masivas del catálogo: los registros se envían
+     * a la base de datos en lotes en lugar de un viaje por libro.
+     *
+     * @param libros Libros a persistir, con las mismas condiciones que {@link #save(Libro)}.
+     *
+     * @return Los libros persistidos con su ID asignado, en el mismo orden recibido.
+     *
+     * @throws RuntimeException si ocurre un error durante la persistencia;
+     *                         en ese caso no se persiste ningún libro del conjunto.
+     */
+    List<Libro> saveAll(List<Libro> libros);
+
     /**
      * Busca un libro en el catálogo utilizando su código ISBN.
      *
@@ -65,4 +83,41 @@ public interface LibroRepositoryPort {
      *         o Optional.empty() si no existe un libro con ese ISBN.
      */
     Optional<Libro> findByIsbn(String isbn);
-}
\ No newline at end of file
+
+    /**
+     * Busca un libro del catálogo por su identificador interno.
+     *
+     * Se utiliza cuando un préstamo guarda solo la referencia al libro y
+     * se necesitan sus datos bibliográficos para responder una consulta.
+     *
+     * @param id Identificador único del libro.
+     *
+     * @return Optional conteniendo el libro si existe, o Optional.empty() si no.
+     */
+    Optional<Libro> findById(Integer id);
+
+    /**
+     * Busca varios libros del catálogo en una sola consulta.
+     *
+     * Se utiliza en los préstamos por lote para resolver todos los ISBN
+     * solicitados de una vez en lugar de una consulta por préstamo.
+     *
+     * @param isbns Códigos ISBN a buscar, tal como los envió el cliente.
+     *
+     * @return Mapa de cada ISBN recibido al libro encontrado. Los ISBN que
+     *         no existen en el catálogo no aparecen en el mapa.
+     */
+    Map<String, Libro> findAllByIsbn(Collection<String> isbns);
+
+    /**
+     * Obtiene los libros con más préstamos registrados.
+     *
+     * Se utiliza para precargar cachés del catálogo al arrancar la
+     * aplicación con los libros que más se solicitan.
+     *
+     * @param limite Cantidad máxima de libros a retornar.
+     *
+     * @return Los libros más prestados, del más al menos solicitado.
+     */
+    List<Libro> findMasPrestados(int limite);
+}
@@ -1,8 +1,13 @@
 package com.ceiba.biblioteca.domain.port.out;
 
+import com.ceiba.biblioteca.domain.exception.UsuarioConPrestamoExistenteException;
+import com.ceiba.biblioteca.domain.model.ConsultaPrestamo;
 import com.ceiba.biblioteca.domain.model.Prestamo;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Puerto de salida para el acceso a datos de préstamos.
@@ -19,8 +24,10 @@ import java.util.Optional;
  * Las operaciones disponibles incluyen:
  * - Persistencia de nuevos préstamos y actualizaciones
  * - Búsqueda por identificador único
+ * - Consulta de lectura con los datos de la respuesta de un préstamo
  * - Búsqueda por usuario para validaciones
  * - Conteo de préstamos activos por usuario
+ * - Verificación de existencia de préstamos por usuario
  *
  * @author Sistema Biblioteca Ceiba
  * @version 1.0
@@ -37,16 +44,39 @@ public interface PrestamoRepositoryPort {
      *
      * @param prestamo Entidad de dominio del préstamo a persistir.
      *                 Debe contener toda la información necesaria
-     *                 incluyendo libro, usuario y fechas.
+     *                 incluyendo libro, usuario y fechas. Si el libro
+     *                 tiene ID se asocia directamente sin consultarlo.
      *
      * @return El préstamo persistido con su ID asignado y cualquier
      *         campo generado por la base de datos.
      *
+     * @throws UsuarioConPrestamoExistenteException si el préstamo es de un usuario
+     *                         invitado que ya tiene un préstamo. Cada implementación
+     *                         garantiza esta regla de forma atómica con la inserción,
+     *                         por lo que el llamador no necesita consultarla antes.
      * @throws RuntimeException si ocurre un error durante la persistencia
      *                         o si el libro asociado no existe.
      */
     Prestamo save(Prestamo prestamo);
 
+    /**
+     * Persiste un conjunto de préstamos en una sola operación.
+     *
+     * Pensado para migraciones y cargas masivas: los registros se envían
+     * a la base de datos en lotes en lugar de un viaje por préstamo.
+     *
+     * @param prestamos Préstamos a persistir, con las mismas condiciones que {@link #save(Prestamo)}.
+     *
+     * @return Los préstamos persistidos con su ID asignado, en el mismo orden recibido.
+     *
+     * @throws UsuarioConPrestamoExistenteException si algún préstamo es de un usuario
+     *                         invitado que ya tiene un préstamo; en ese caso no se
+     *                         persiste ningún préstamo del conjunto.
+     * @throws RuntimeException si ocurre un error durante la persistencia;
+     *                         en ese caso no se persiste ningún préstamo del conjunto.
+     */
+    List<Prestamo> saveAll(List<Prestamo> prestamos);
+
     /**
      * Busca un préstamo por su identificador único.
      *
@@ -61,6 +91,20 @@ public interface PrestamoRepositoryPort {
      */
     Optional<Prestamo> findById(Integer id);
 
+    /**
+     * Obtiene directamente los datos de la consulta de un préstamo.
+     *
+     * Operación del lado de lectura: trae en una sola consulta los datos
+     * del préstamo y el ISBN y título del libro, sin construir el modelo
+     * de dominio completo.
+     *
+     * @param id Identificador único del préstamo a consultar.
+     *
+     * @return Optional conteniendo el modelo de lectura si el préstamo existe,
+     *         o Optional.empty() si no se encuentra.
+     */
+    Optional<ConsultaPrestamo> findConsultaById(Integer id);
+
     /**
      * Busca un préstamo por la identificación del usuario.
      *
@@ -90,4 +134,37 @@ public interface PrestamoRepositoryPort {
      *         Retorna 0 si el usuario no tiene préstamos.
      */
     long countByIdentificacionUsuario(String identificacionUsuario);
+
+    /**
+     * Verifica si un usuario tiene un préstamo registrado como invitado.
+     *
+     * Es la regla de un solo préstamo para usuarios invitados: solo cuentan
+     * los préstamos de tipo INVITADO, los mismos que cubre el índice único
+     * uk_prestamo_invitado, así que un préstamo de la misma identificación
+     * como afiliado o empleado no impide un préstamo como invitado.
+     *
+     * A diferencia de countByIdentificacionUsuario, la consulta se detiene
+     * en el primer préstamo encontrado, por lo que su costo no depende del
+     * historial de préstamos del usuario.
+     *
+     * @param identificacionUsuario Documento de identificación del usuario
+     *                             a verificar.
+     *
+     * @return true si el usuario tiene un préstamo como invitado,
+     *         false en caso contrario.
+     */
+    boolean existsPrestamoInvitado(String identificacionUsuario);
+
+    /**
+     * Determina, en una sola consulta, cuáles de los usuarios indicados
+     * tienen un préstamo registrado como invitado.
+     *
+     * Es la versión por lote de existsPrestamoInvitado, usada para validar
+     * la regla de invitados sobre todos los préstamos de un lote.
+     *
+     * @param identificacionesUsuario Documentos de identificación a verificar.
+     *
+     * @return Subconjunto de las identificaciones recibidas con un préstamo como invitado.
+     */
+    Set<String> findInvitadosConPrestamo(Collection<String> identificacionesUsuario);
 }
\ No newline at end of file
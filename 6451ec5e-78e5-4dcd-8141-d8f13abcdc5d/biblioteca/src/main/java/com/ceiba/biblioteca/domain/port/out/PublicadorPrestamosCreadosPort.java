@@ -0,0 +1,32 @@
+package com.ceiba.biblioteca.domain.port.out;
+
+import com.ceiba.biblioteca.domain.model.PrestamoCreado;
+
+import java.util.List;
+
+/**
+ * Puerto de salida hacia los sistemas que reciben los préstamos creados.
+ *
+ * Lo invoca el relevo del outbox, nunca el caso de uso, así que una
+ * implementación lenta o caída no afecta la latencia de los préstamos.
+ *
+ * Contrato de entrega al menos una vez:
+ * - Un lote se da por entregado solo si {@link #publicar} retorna sin excepción
+ * - Si lanza una excepción, el lote completo se vuelve a entregar en el
+ *   siguiente ciclo, incluidos los eventos que alcanzaron a publicarse
+ * - Los eventos llegan en orden de registro dentro de cada lote
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public interface PublicadorPrestamosCreadosPort {
+
+    /**
+     * Entrega un lote de eventos a su destino.
+     *
+     * @param eventos Eventos en orden de registro; nunca vacío
+     * @throws RuntimeException si el lote no pudo entregarse completo
+     */
+    void publicar(List<PrestamoCreado> eventos);
+}
@@ -0,0 +1,56 @@
+package com.ceiba.biblioteca.domain.port.out;
+
+/**
+ * Puerto de salida para medir las fases de un caso de uso.
+ *
+ * Los casos de uso marcan el final de cada paso (validación, consulta de
+ * un puerto, cálculo de fechas, persistencia) y la implementación decide
+ * qué hacer con las duraciones: acumularlas para la solicitud en curso,
+ * publicarlas o descartarlas. El dominio no conoce el reloj ni la solicitud.
+ *
+ * Las marcas son valores opacos: cada llamada a {@link #fase} recibe la
+ * marca anterior y devuelve la siguiente, así las fases se encadenan sin
+ * estado en el caso de uso.
+ *
+ * {@link #INACTIVO} no mide nada; con él las llamadas son vacías y el
+ * compilador JIT las elimina.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public interface TemporizadorFasesPort {
+
+    /**
+     * Temporizador que no mide ninguna fase.
+     */
+    TemporizadorFasesPort INACTIVO = new TemporizadorFasesPort() {
+
+        @Override
+        public long iniciar() {
+            return 0L;
+        }
+
+        @Override
+        public long fase(String nombre, long desde) {
+            return 0L;
+        }
+    };
+
+    /**
+     * Marca el inicio de la primera fase.
+     *
+     * @return Marca a pasar a la primera llamada de {@link #fase}.
+     */
+    long iniciar();
+
+    /**
+     * Registra una fase que terminó en este momento.
+     *
+     * @param nombre Nombre corto de la fase, sin espacios ni comas.
+     * @param desde Marca devuelta por {@link #iniciar} o por la fase anterior.
+     *
+     * @return Marca del final de esta fase, inicio de la siguiente.
+     */
+    long fase(String nombre, long desde);
+}
@@ -1,7 +1,9 @@
 package com.ceiba.biblioteca.domain.service;
 
+import com.ceiba.biblioteca.domain.model.CalendarioFestivos;
 import com.ceiba.biblioteca.domain.model.TipoUsuario;
 
+import java.time.Clock;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 
@@ -9,69 +11,145 @@ import java.time.LocalDate;
  * Servicio de dominio responsable de calcular la fecha máxima de devolución de préstamos.
  *
  * Este servicio implementa las reglas de negocio para determinar cuándo debe ser
- * devuelto un libro según el tipo de usuario y excluyendo fines de semana del cálculo.
+ * devuelto un libro según el tipo de usuario, excluyendo fines de semana y
+ * festivos del cálculo.
  *
  * La lógica de cálculo considera:
  * - Los días de préstamo específicos para cada tipo de usuario
  * - Exclusión de sábados y domingos del conteo de días hábiles
+ * - Exclusión de los festivos del {@link CalendarioFestivos} configurado
  * - Flexibilidad para calcular desde una fecha base específica
  *
+ * El cálculo no avanza día por día: los fines de semana se saltan con
+ * aritmética de semanas y los festivos se cuentan con los acumulados
+ * precalculados del calendario, así el costo no depende de los días de
+ * préstamo.
+ *
  * @author Sistema Biblioteca Ceiba
  * @version 1.0
  * @since 1.0
  */
 public class CalculadorFechaDevolucion {
 
+    private static final int DIAS_HABILES_POR_SEMANA = 5;
+    private static final int DIAS_POR_SEMANA = 7;
+    private static final int DIAS_FIN_DE_SEMANA = 2;
+
+    /**
+     * Festivos que no cuentan como días de préstamo.
+     */
+    private final CalendarioFestivos calendario;
+
+    /**
+     * Reloj del que se toma la fecha actual en {@link #calcular(TipoUsuario)}.
+     */
+    private final Clock reloj;
+
+    /**
+     * Constructor para calcular solo con fines de semana, sin festivos.
+     */
+    public CalculadorFechaDevolucion() {
+        this(CalendarioFestivos.sinFestivos());
+    }
+
+    /**
+     * Constructor que inicializa el calculador con un calendario de festivos
+     * y el reloj del sistema.
+     *
+     * @param calendario Festivos a excluir del conteo de días hábiles
+     */
+    public CalculadorFechaDevolucion(CalendarioFestivos calendario) {
+        this(calendario, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructor que inicializa el calculador con un calendario de festivos y un reloj.
+     *
+     * @param calendario Festivos a excluir del conteo de días hábiles
+     * @param reloj Reloj del que se toma la fecha actual
+     */
+    public CalculadorFechaDevolucion(CalendarioFestivos calendario, Clock reloj) {
+        this.calendario = calendario;
+        this.reloj = reloj;
+    }
+
     /**
      * Calcula la fecha máxima de devolución usando la fecha actual como punto de partida.
      *
      * Este método es un wrapper de conveniencia que utiliza la fecha actual
-     * como fecha base para el cálculo de la fecha de devolución.
+     * del reloj como fecha base para el cálculo de la fecha de devolución.
      *
      * @param tipoUsuario Tipo de usuario que determina los días de préstamo permitidos
-     * @return Fecha máxima de devolución calculada desde hoy, excluyendo fines de semana
+     * @return Fecha máxima de devolución calculada desde hoy, excluyendo fines de semana y festivos
      */
     public LocalDate calcular(TipoUsuario tipoUsuario) {
-        return calcular(tipoUsuario, LocalDate.now());
+        return calcular(tipoUsuario, LocalDate.now(reloj));
     }
 
     /**
      * Calcula la fecha máxima de devolución desde una fecha base específica.
      *
      * Suma los días de préstamo correspondientes al tipo de usuario,
-     * excluyendo sábados y domingos del conteo. Solo cuenta días hábiles
-     * (lunes a viernes) para el cálculo.
+     * excluyendo sábados, domingos y festivos del conteo. Solo cuenta días
+     * hábiles (lunes a viernes no festivos) para el cálculo.
      *
      * @param tipoUsuario Tipo de usuario que determina los días de préstamo permitidos
      * @param fechaBase Fecha desde la cual se inicia el cálculo del período de préstamo
-     * @return Fecha máxima de devolución calculada excluyendo fines de semana
+     * @return Fecha máxima de devolución calculada excluyendo fines de semana y festivos
      *
      * @throws IllegalArgumentException si el tipo de usuario es nulo
      */
     public LocalDate calcular(TipoUsuario tipoUsuario, LocalDate fechaBase) {
-        return addDaysSkippingWeekends(fechaBase, tipoUsuario.getDiasPrestamo());
+        return sumarDiasHabiles(fechaBase, tipoUsuario.getDiasPrestamo());
     }
 
     /**
-     * Método auxiliar que suma días hábiles a una fecha, excluyendo fines de semana.
+     * Método auxiliar que suma días hábiles a una fecha, excluyendo fines de semana y festivos.
      *
-     * Implementa la lógica de avanzar día por día contando solo los días
-     * de lunes a viernes hasta alcanzar el número de días requeridos.
-     * Los sábados y domingos se saltan sin contar hacia el total.
+     * Primero suma los días saltando solo fines de semana. Los festivos que
+     * quedaron dentro del intervalo no debían contarse, así que se suman
+     * otros tantos días hábiles desde la fecha obtenida, repitiendo hasta
+     * que el tramo agregado no contenga festivos. Cada vuelta cuesta lo
+     * mismo sin importar la longitud del tramo, y solo hay más de una
+     * cuando un festivo cae en el tramo.
      *
-     * @param date Fecha inicial desde la que se empiezan a contar los días
-     * @param days Número de días hábiles a sumar (excluyendo fines de semana)
+     * @param fecha Fecha inicial desde la que se empiezan a contar los días
+     * @param dias Número de días hábiles a sumar
      * @return Nueva fecha que resulta de sumar los días hábiles especificados
      */
-    private LocalDate addDaysSkippingWeekends(LocalDate date, int days) {
-        LocalDate result = date;
-        int addedDays = 0;
-        while (addedDays < days) {
-            result = result.plusDays(1);
-            if (!(result.getDayOfWeek() == DayOfWeek.SATURDAY || result.getDayOfWeek() == DayOfWeek.SUNDAY)) {
-                ++addedDays;
-            }
+    LocalDate sumarDiasHabiles(LocalDate fecha, int dias) {
+        LocalDate resultado = fecha;
+        int pendientes = dias;
+        while (pendientes > 0) {
+            LocalDate siguiente = sumarDiasSaltandoFinesDeSemana(resultado, pendientes);
+            pendientes = calendario.contarFestivos(resultado, siguiente);
+            resultado = siguiente;
+        }
+        return resultado;
+    }
+
+    /**
+     * Suma días hábiles saltando sábados y domingos con aritmética de semanas.
+     *
+     * Cada bloque de cinco días hábiles equivale a una semana completa. El
+     * resto se suma desde el día de la semana de partida, agregando el fin
+     * de semana si el resto lo cruza. Empezar un sábado o un domingo da el
+     * mismo resultado que empezar el viernes anterior.
+     *
+     * @param fecha Fecha inicial, excluida del conteo
+     * @param dias Número de días hábiles a sumar; mayor que cero
+     * @return Fecha del último día hábil sumado
+     */
+    private static LocalDate sumarDiasSaltandoFinesDeSemana(LocalDate fecha, int dias) {
+        int diaSemana = fecha.getDayOfWeek().getValue();
+        int retroceso = Math.max(diaSemana - DayOfWeek.FRIDAY.getValue(), 0);
+        int diaPartida = diaSemana - retroceso;
+
+        int resto = dias % DIAS_HABILES_POR_SEMANA;
+        long desplazamiento = (long) (dias / DIAS_HABILES_POR_SEMANA) * DIAS_POR_SEMANA + resto;
+        if (diaPartida + resto > DayOfWeek.FRIDAY.getValue()) {
+            desplazamiento += DIAS_FIN_DE_SEMANA;
         }
-        return result;
+        return fecha.plusDays(desplazamiento - retroceso);
     }
-}
\ No newline at end of file
+}
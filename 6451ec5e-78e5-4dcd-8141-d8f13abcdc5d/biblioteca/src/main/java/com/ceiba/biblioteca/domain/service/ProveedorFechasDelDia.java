@@ -0,0 +1,82 @@
+package com.ceiba.biblioteca.domain.service;
+
+import com.ceiba.biblioteca.domain.model.FechasDelDia;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Servicio de dominio que entrega las fechas de préstamo y devolución del día.
+ *
+ * Calcula las fechas de todos los tipos de usuario una vez por día y las
+ * reutiliza hasta la medianoche del reloj configurado. En el camino de un
+ * préstamo solo se lee el reloj y se compara con el fin del día, sin crear
+ * fechas ni textos.
+ *
+ * El reloj es inyectable, de modo que las pruebas pueden fijar el día o
+ * avanzarlo sin depender de la fecha del sistema.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public class ProveedorFechasDelDia {
+
+    private static final TipoUsuario[] TIPOS = TipoUsuario.values();
+
+    /**
+     * Reloj con la zona horaria en la que se define el día.
+     */
+    private final Clock reloj;
+
+    /**
+     * Servicio de dominio con las reglas de la fecha máxima de devolución.
+     */
+    private final CalculadorFechaDevolucion calculadorFecha;
+
+    /**
+     * Fechas del día en curso; se reemplazan al pasar la medianoche.
+     */
+    private volatile FechasDelDia actuales;
+
+    /**
+     * Constructor que inicializa el proveedor con sus dependencias.
+     *
+     * @param reloj Reloj del que se toma el día actual
+     * @param calculadorFecha Servicio para calcular fechas de devolución
+     */
+    public ProveedorFechasDelDia(Clock reloj, CalculadorFechaDevolucion calculadorFecha) {
+        this.reloj = reloj;
+        this.calculadorFecha = calculadorFecha;
+    }
+
+    /**
+     * Retorna las fechas del día actual según el reloj.
+     *
+     * Si el día cambió desde la última consulta, en cualquier dirección,
+     * recalcula las fechas. Dos hilos que lleguen a la vez al cambio de día
+     * pueden recalcularlas ambos; el resultado es el mismo.
+     *
+     * @return Fechas de préstamo y de devolución vigentes
+     */
+    public FechasDelDia actuales() {
+        FechasDelDia fechas = actuales;
+        if (fechas == null || !fechas.vigentes(reloj.millis())) {
+            fechas = calcular();
+            actuales = fechas;
+        }
+        return fechas;
+    }
+
+    private FechasDelDia calcular() {
+        LocalDate hoy = LocalDate.now(reloj);
+        LocalDate[] devolucionPorTipo = new LocalDate[TIPOS.length];
+        for (TipoUsuario tipoUsuario : TIPOS) {
+            devolucionPorTipo[tipoUsuario.ordinal()] = calculadorFecha.calcular(tipoUsuario, hoy);
+        }
+        long inicioDelDia = hoy.atStartOfDay(reloj.getZone()).toInstant().toEpochMilli();
+        long finDelDia = hoy.plusDays(1).atStartOfDay(reloj.getZone()).toInstant().toEpochMilli();
+        return new FechasDelDia(hoy, inicioDelDia, finDelDia, devolucionPorTipo);
+    }
+}
@@ -1,10 +1,13 @@
 package com.ceiba.biblioteca.domain.service;
 
+import com.ceiba.biblioteca.domain.exception.IdentificacionUsuarioInvalidaException;
 import com.ceiba.biblioteca.domain.exception.TipoUsuarioNoPermitidoException;
 import com.ceiba.biblioteca.domain.exception.UsuarioConPrestamoExistenteException;
 import com.ceiba.biblioteca.domain.model.TipoUsuario;
 import com.ceiba.biblioteca.domain.port.out.PrestamoRepositoryPort;
 
+import java.util.Set;
+
 /**
  * Servicio de dominio responsable de validar las reglas de negocio para préstamos de libros.
  *
@@ -21,6 +24,12 @@ import com.ceiba.biblioteca.domain.port.out.PrestamoRepositoryPort;
  */
 public class ValidadorPrestamo {
 
+    /**
+     * Longitud máxima de la identificación del usuario, la de la columna
+     * identificacion_usuario de la tabla prestamo.
+     */
+    public static final int LONGITUD_MAXIMA_IDENTIFICACION = 20;
+
     /**
      * Puerto de salida para acceder al repositorio de préstamos.
      * Se utiliza para consultar préstamos existentes y aplicar validaciones.
@@ -42,16 +51,41 @@ public class ValidadorPrestamo {
      * Verifica que el valor numérico corresponda a uno de los tipos de usuario
      * permitidos en el sistema (AFILIADO, EMPLEADO, INVITADO).
      *
+     * La búsqueda no lanza excepciones intermedias y el rechazo usa la
+     * instancia compartida de la excepción, así que un valor inválido no
+     * crea objetos.
+     *
      * @param tipoUsuarioValor Valor numérico del tipo de usuario a validar
+     * @return El tipo de usuario validado
      *
      * @throws TipoUsuarioNoPermitidoException si el tipo de usuario no es válido
      *         o no está permitido en el sistema
      */
-    public void validarTipoUsuario(Integer tipoUsuarioValor) {
-        try {
-            TipoUsuario.fromValor(tipoUsuarioValor);
-        } catch (IllegalArgumentException e) {
-            throw new TipoUsuarioNoPermitidoException();
+    public TipoUsuario validarTipoUsuario(Integer tipoUsuarioValor) {
+        TipoUsuario tipoUsuario = TipoUsuario.buscarPorValor(tipoUsuarioValor);
+        if (tipoUsuario == null) {
+            throw TipoUsuarioNoPermitidoException.INSTANCIA;
+        }
+        return tipoUsuario;
+    }
+
+    /**
+     * Valida que la solicitud traiga la identificación del usuario y que
+     * quepa en el registro del préstamo.
+     *
+     * Se valida antes de tomar el bloqueo del usuario y de consultar o
+     * persistir el préstamo, de modo que una identificación inválida se
+     * rechaza como cualquier otra regla y no como un error de la base de datos.
+     *
+     * @param identificacionUsuario Documento de identificación del usuario
+     *
+     * @throws IdentificacionUsuarioInvalidaException si la identificación falta,
+     *         está vacía o supera {@link #LONGITUD_MAXIMA_IDENTIFICACION} caracteres
+     */
+    public void validarIdentificacionUsuario(String identificacionUsuario) {
+        if (identificacionUsuario == null || identificacionUsuario.isEmpty()
+            || identificacionUsuario.length() > LONGITUD_MAXIMA_IDENTIFICACION) {
+            throw IdentificacionUsuarioInvalidaException.INSTANCIA;
         }
     }
 
@@ -60,10 +94,16 @@ public class ValidadorPrestamo {
      *
      * Los usuarios invitados tienen la restricción de solo poder tener
      * un libro prestado a la vez. Este método verifica que un usuario
-     * invitado no tenga préstamos activos antes de permitir un nuevo préstamo.
+     * invitado no tenga ya un préstamo como invitado antes de permitir uno
+     * nuevo; sus préstamos como afiliado o empleado no cuentan, igual que en
+     * el índice único uk_prestamo_invitado.
      *
      * Para otros tipos de usuario (AFILIADO, EMPLEADO), no aplica esta restricción.
      *
+     * No forma parte del camino de un préstamo exitoso: ahí la regla la
+     * garantiza el repositorio al persistir. Se usa cuando el préstamo no
+     * llega a persistirse y se necesita reportar igualmente la restricción.
+     *
      * @param identificacionUsuario Documento de identificación del usuario
      * @param tipoUsuario Tipo de usuario que solicita el préstamo
      *
@@ -72,10 +112,32 @@ public class ValidadorPrestamo {
      */
     public void validarUsuarioInvitado(String identificacionUsuario, TipoUsuario tipoUsuario) {
         if (tipoUsuario.esInvitado()) {
-            long prestamosActivos = prestamoRepository.countByIdentificacionUsuario(identificacionUsuario);
-            if (prestamosActivos > 0) {
+            if (prestamoRepository.existsPrestamoInvitado(identificacionUsuario)) {
                 throw new UsuarioConPrestamoExistenteException(identificacionUsuario);
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Valida la restricción de usuarios invitados sobre un conjunto conocido
+     * de usuarios con préstamo, sin consultar el repositorio.
+     *
+     * Se utiliza en los préstamos por lote: el conjunto se obtiene con una
+     * sola consulta para todo el lote y se va completando con los préstamos
+     * de invitados aceptados, de modo que un invitado repetido dentro del
+     * mismo lote también es rechazado.
+     *
+     * @param identificacionUsuario Documento de identificación del usuario
+     * @param tipoUsuario Tipo de usuario que solicita el préstamo
+     * @param invitadosConPrestamo Identificaciones que ya tienen un préstamo como invitado
+     *
+     * @throws UsuarioConPrestamoExistenteException si el usuario invitado ya tiene
+     *         un préstamo activo y no puede tener uno adicional
+     */
+    public void validarUsuarioInvitado(String identificacionUsuario, TipoUsuario tipoUsuario,
+                                       Set<String> invitadosConPrestamo) {
+        if (tipoUsuario.esInvitado() && invitadosConPrestamo.contains(identificacionUsuario)) {
+            throw new UsuarioConPrestamoExistenteException(identificacionUsuario);
+        }
+    }
+}
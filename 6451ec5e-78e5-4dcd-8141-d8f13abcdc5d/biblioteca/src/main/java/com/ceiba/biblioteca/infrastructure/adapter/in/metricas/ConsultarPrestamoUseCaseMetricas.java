@@ -0,0 +1,50 @@
+package com.ceiba.biblioteca.infrastructure.adapter.in.metricas;
+
+import com.ceiba.biblioteca.application.dto.ConsultaPrestamoResponse;
+import com.ceiba.biblioteca.domain.port.in.ConsultarPrestamoUseCase;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Decorador que mide las consultas de préstamos.
+ *
+ * Registra cada ejecución en {@link MedidorCasoUso#METRICA} con
+ * caso_uso=consultar y resultado ok, no_encontrado o error.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public class ConsultarPrestamoUseCaseMetricas implements ConsultarPrestamoUseCase {
+
+    /**
+     * Caso de uso medido.
+     */
+    private final ConsultarPrestamoUseCase delegado;
+
+    private final MedidorCasoUso consultar;
+
+    /**
+     * @param delegado Caso de uso a medir
+     * @param registro Registro de métricas de la aplicación
+     */
+    public ConsultarPrestamoUseCaseMetricas(ConsultarPrestamoUseCase delegado, MeterRegistry registro) {
+        this.delegado = delegado;
+        this.consultar = new MedidorCasoUso(registro, "consultar", ResultadoCasoUso.OK, ResultadoCasoUso.NO_ENCONTRADO);
+    }
+
+    @Override
+    public ConsultaPrestamoResponse ejecutar(Integer prestamoId) {
+        long inicio = System.nanoTime();
+        ResultadoCasoUso resultado = ResultadoCasoUso.ERROR;
+        try {
+            ConsultaPrestamoResponse consulta = delegado.ejecutar(prestamoId);
+            resultado = ResultadoCasoUso.OK;
+            return consulta;
+        } catch (RuntimeException e) {
+            resultado = ResultadoCasoUso.de(e);
+            throw e;
+        } finally {
+            consultar.registrar(inicio, resultado);
+        }
+    }
+}
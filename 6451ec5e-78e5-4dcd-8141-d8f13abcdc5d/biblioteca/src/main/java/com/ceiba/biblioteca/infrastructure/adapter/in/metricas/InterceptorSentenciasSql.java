@@ -0,0 +1,118 @@
+package com.ceiba.biblioteca.infrastructure.adapter.in.metricas;
+
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.sql.ContadorSentenciasSql;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.sql.MedicionSql;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registra por solicitud HTTP las sentencias SQL, las filas y el tiempo en
+ * la base de datos, con las etiquetas metodo y uri.
+ *
+ * - {@value #SENTENCIAS}: sentencias por solicitud, con cubetas de 1 a 50
+ *   para ver cuántas solicitudes superan un número dado de sentencias
+ * - {@value #FILAS}: filas leídas o afectadas por solicitud
+ * - {@value #TIEMPO}: tiempo en las llamadas execute de JDBC por solicitud
+ *
+ * La etiqueta uri es el patrón del endpoint (por ejemplo
+ * /prestamo/{prestamoId}), no la ruta recibida, para que los identificadores
+ * no creen series nuevas. Los medidores de cada endpoint se crean en su
+ * primera solicitud y se reutilizan.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public class InterceptorSentenciasSql implements HandlerInterceptor {
+
+    /**
+     * Nombre del resumen de sentencias por solicitud.
+     */
+    public static final String SENTENCIAS = "biblioteca.sql.sentencias";
+
+    /**
+     * Nombre del resumen de filas por solicitud.
+     */
+    public static final String FILAS = "biblioteca.sql.filas";
+
+    /**
+     * Nombre del temporizador del tiempo en la base de datos por solicitud.
+     */
+    public static final String TIEMPO = "biblioteca.sql.tiempo";
+
+    private static final String INICIO = InterceptorSentenciasSql.class.getName() + ".inicio";
+
+    private final MeterRegistry registro;
+
+    private final ConcurrentMap<String, Medidores> porEndpoint = new ConcurrentHashMap<>();
+
+    /**
+     * @param registro Registro de métricas de la aplicación
+     */
+    public InterceptorSentenciasSql(MeterRegistry registro) {
+        this.registro = registro;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(INICIO, ContadorSentenciasSql.actual());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        MedicionSql inicio = (MedicionSql) request.getAttribute(INICIO);
+        if (inicio != null) {
+            medidores(request).registrar(ContadorSentenciasSql.actual().desde(inicio));
+        }
+    }
+
+    private Medidores medidores(HttpServletRequest request) {
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String metodo = request.getMethod();
+        String uri = patron != null ? patron.toString() : "desconocida";
+        return porEndpoint.computeIfAbsent(metodo + ' ' + uri, clave -> new Medidores(registro, metodo, uri));
+    }
+
+    private static final class Medidores {
+
+        private final DistributionSummary sentencias;
+        private final DistributionSummary filas;
+        private final Timer tiempo;
+
+        Medidores(MeterRegistry registro, String metodo, String uri) {
+            this.sentencias = DistributionSummary.builder(SENTENCIAS)
+                .description("Sentencias SQL por solicitud HTTP")
+                .tag("metodo", metodo)
+                .tag("uri", uri)
+                .sla(1, 2, 3, 5, 10, 20, 50)
+                .register(registro);
+            this.filas = DistributionSummary.builder(FILAS)
+                .description("Filas leídas o afectadas por solicitud HTTP")
+                .tag("metodo", metodo)
+                .tag("uri", uri)
+                .register(registro);
+            this.tiempo = Timer.builder(TIEMPO)
+                .description("Tiempo en las sentencias SQL por solicitud HTTP")
+                .tag("metodo", metodo)
+                .tag("uri", uri)
+                .register(registro);
+        }
+
+        void registrar(MedicionSql medicion) {
+            sentencias.record(medicion.getSentencias());
+            filas.record(medicion.getFilas());
+            tiempo.record(medicion.getNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+}
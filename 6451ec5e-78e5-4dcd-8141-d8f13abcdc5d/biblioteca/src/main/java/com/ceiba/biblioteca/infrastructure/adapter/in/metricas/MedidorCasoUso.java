@@ -0,0 +1,69 @@
+package com.ceiba.biblioteca.infrastructure.adapter.in.metricas;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Temporizadores de un caso de uso, uno por cada resultado posible.
+ *
+ * Registra la duración de cada ejecución en el temporizador
+ * {@value #METRICA} con las etiquetas caso_uso y resultado. Los
+ * temporizadores se registran al crear el decorador y se guardan en un
+ * arreglo indexado por el ordinal del resultado, así registrar una
+ * ejecución no busca el medidor en el registro ni crea etiquetas.
+ *
+ * El histograma se publica en cubetas desde 100 microsegundos hasta 10
+ * segundos para calcular los percentiles en Prometheus.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public final class MedidorCasoUso {
+
+    /**
+     * Nombre del temporizador de los casos de uso.
+     */
+    public static final String METRICA = "biblioteca.caso.uso";
+
+    private final Timer[] porResultado = new Timer[ResultadoCasoUso.values().length];
+
+    /**
+     * @param registro Registro de métricas de la aplicación
+     * @param casoUso Valor de la etiqueta caso_uso
+     * @param resultados Resultados que puede tener el caso de uso; cualquier
+     *                   otro se registra como ERROR, que siempre se incluye
+     */
+    public MedidorCasoUso(MeterRegistry registro, String casoUso, ResultadoCasoUso... resultados) {
+        porResultado[ResultadoCasoUso.ERROR.ordinal()] = temporizador(registro, casoUso, ResultadoCasoUso.ERROR);
+        for (ResultadoCasoUso resultado : resultados) {
+            porResultado[resultado.ordinal()] = temporizador(registro, casoUso, resultado);
+        }
+    }
+
+    /**
+     * @param inicio Valor de System.nanoTime() al iniciar la ejecución
+     * @param resultado Resultado de la ejecución
+     */
+    public void registrar(long inicio, ResultadoCasoUso resultado) {
+        Timer temporizador = porResultado[resultado.ordinal()];
+        if (temporizador == null) {
+            temporizador = porResultado[ResultadoCasoUso.ERROR.ordinal()];
+        }
+        temporizador.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer temporizador(MeterRegistry registro, String casoUso, ResultadoCasoUso resultado) {
+        return Timer.builder(METRICA)
+            .description("Duración de las ejecuciones de los casos de uso")
+            .tag("caso_uso", casoUso)
+            .tag("resultado", resultado.getEtiqueta())
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofNanos(100_000))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(registro);
+    }
+}
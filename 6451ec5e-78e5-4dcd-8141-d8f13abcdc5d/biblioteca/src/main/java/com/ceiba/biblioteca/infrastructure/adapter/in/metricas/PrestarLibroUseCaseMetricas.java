@@ -0,0 +1,118 @@
+package com.ceiba.biblioteca.infrastructure.adapter.in.metricas;
+
+import com.ceiba.biblioteca.application.dto.PrestarLibroCommand;
+import com.ceiba.biblioteca.application.dto.ResultadoPrestar;
+import com.ceiba.biblioteca.application.dto.ResultadoPrestarLote;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
+import com.ceiba.biblioteca.domain.port.in.PrestarLibroUseCase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+
+/**
+ * Decorador que mide los préstamos de libros.
+ *
+ * Registra cada ejecución en {@link MedidorCasoUso#METRICA} con
+ * caso_uso=prestar o prestar_lote, y cuenta cada solicitud en
+ * {@value #SOLICITUDES} por tipo de usuario y resultado:
+ * - prestar: ok, tipo_no_permitido, invitado_con_prestamo, no_encontrado
+ *   (libro inexistente) o error
+ * - prestar_lote: ok o rechazado por cada solicitud del lote
+ *
+ * La etiqueta tipo_usuario toma el nombre del tipo (afiliado, empleado,
+ * invitado) o no_valido para un valor fuera del catálogo, de modo que un
+ * cliente no puede crear series nuevas enviando tipos arbitrarios.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public class PrestarLibroUseCaseMetricas implements PrestarLibroUseCase {
+
+    /**
+     * Nombre del contador de solicitudes de préstamo.
+     */
+    public static final String SOLICITUDES = "biblioteca.prestamos.solicitudes";
+
+    private static final ResultadoCasoUso[] RESULTADOS_CONTADOS = {
+        ResultadoCasoUso.OK, ResultadoCasoUso.TIPO_NO_PERMITIDO, ResultadoCasoUso.INVITADO_CON_PRESTAMO,
+        ResultadoCasoUso.NO_ENCONTRADO, ResultadoCasoUso.RECHAZADO, ResultadoCasoUso.ERROR
+    };
+
+    /**
+     * Caso de uso medido.
+     */
+    private final PrestarLibroUseCase delegado;
+
+    private final MedidorCasoUso prestar;
+    private final MedidorCasoUso prestarLote;
+
+    /**
+     * Contadores por [ordinal del tipo de usuario + 1, o 0 si no es válido][ordinal del resultado].
+     */
+    private final Counter[][] solicitudes;
+
+    /**
+     * @param delegado Caso de uso a medir
+     * @param registro Registro de métricas de la aplicación
+     */
+    public PrestarLibroUseCaseMetricas(PrestarLibroUseCase delegado, MeterRegistry registro) {
+        this.delegado = delegado;
+        this.prestar = new MedidorCasoUso(registro, "prestar", ResultadoCasoUso.OK,
+            ResultadoCasoUso.TIPO_NO_PERMITIDO, ResultadoCasoUso.INVITADO_CON_PRESTAMO, ResultadoCasoUso.NO_ENCONTRADO);
+        this.prestarLote = new MedidorCasoUso(registro, "prestar_lote", ResultadoCasoUso.OK);
+        this.solicitudes = new Counter[TipoUsuario.values().length + 1][ResultadoCasoUso.values().length];
+        for (int tipo = 0; tipo < solicitudes.length; tipo++) {
+            String etiqueta = tipo == 0 ? "no_valido" : TipoUsuario.values()[tipo - 1].name().toLowerCase();
+            for (ResultadoCasoUso resultado : RESULTADOS_CONTADOS) {
+                solicitudes[tipo][resultado.ordinal()] = Counter.builder(SOLICITUDES)
+                    .description("Solicitudes de préstamo por tipo de usuario y resultado")
+                    .tag("tipo_usuario", etiqueta)
+                    .tag("resultado", resultado.getEtiqueta())
+                    .register(registro);
+            }
+        }
+    }
+
+    @Override
+    public ResultadoPrestar ejecutar(PrestarLibroCommand command) {
+        long inicio = System.nanoTime();
+        ResultadoCasoUso resultado = ResultadoCasoUso.ERROR;
+        try {
+            ResultadoPrestar prestamo = delegado.ejecutar(command);
+            resultado = ResultadoCasoUso.OK;
+            return prestamo;
+        } catch (RuntimeException e) {
+            resultado = ResultadoCasoUso.de(e);
+            throw e;
+        } finally {
+            prestar.registrar(inicio, resultado);
+            contar(command, resultado);
+        }
+    }
+
+    @Override
+    public List<ResultadoPrestarLote> ejecutarLote(List<PrestarLibroCommand> commands) {
+        long inicio = System.nanoTime();
+        ResultadoCasoUso resultado = ResultadoCasoUso.ERROR;
+        try {
+            List<ResultadoPrestarLote> resultados = delegado.ejecutarLote(commands);
+            resultado = ResultadoCasoUso.OK;
+            for (int i = 0; i < resultados.size(); i++) {
+                contar(commands.get(i),
+                    resultados.get(i).getId() != null ? ResultadoCasoUso.OK : ResultadoCasoUso.RECHAZADO);
+            }
+            return resultados;
+        } finally {
+            prestarLote.registrar(inicio, resultado);
+        }
+    }
+
+    private void contar(PrestarLibroCommand command, ResultadoCasoUso resultado) {
+        TipoUsuario tipo = command == null ? null : TipoUsuario.buscarPorValor(command.getTipoUsuario());
+        Counter[] porResultado = solicitudes[tipo == null ? 0 : tipo.ordinal() + 1];
+        Counter contador = porResultado[resultado.ordinal()];
+        (contador != null ? contador : porResultado[ResultadoCasoUso.ERROR.ordinal()]).increment();
+    }
+}
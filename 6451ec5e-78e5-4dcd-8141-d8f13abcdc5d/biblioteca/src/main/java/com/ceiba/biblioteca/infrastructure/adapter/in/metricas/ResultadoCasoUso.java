@@ -0,0 +1,73 @@
+package com.ceiba.biblioteca.infrastructure.adapter.in.metricas;
+
+import com.ceiba.biblioteca.domain.exception.LibroNoEncontradoException;
+import com.ceiba.biblioteca.domain.exception.PrestamoNoEncontradoException;
+import com.ceiba.biblioteca.domain.exception.TipoUsuarioNoPermitidoException;
+import com.ceiba.biblioteca.domain.exception.UsuarioConPrestamoExistenteException;
+
+/**
+ * Resultado de una ejecución de caso de uso, valor de la etiqueta resultado
+ * de las métricas de los casos de uso.
+ *
+ * Los valores son pocos y fijos para que cada combinación de etiquetas sea
+ * una serie acotada en Prometheus: nunca se etiqueta con el mensaje de la
+ * excepción ni con datos de la solicitud.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public enum ResultadoCasoUso {
+
+    OK("ok"),
+
+    TIPO_NO_PERMITIDO("tipo_no_permitido"),
+
+    INVITADO_CON_PRESTAMO("invitado_con_prestamo"),
+
+    /**
+     * Préstamo consultado o libro solicitado que no existe.
+     */
+    NO_ENCONTRADO("no_encontrado"),
+
+    /**
+     * Solicitud de un lote que no generó préstamo. El lote informa el
+     * rechazo solo con un mensaje, así que no se distingue la regla incumplida.
+     */
+    RECHAZADO("rechazado"),
+
+    /**
+     * Cualquier otra excepción: una falla inesperada.
+     */
+    ERROR("error");
+
+    private final String etiqueta;
+
+    ResultadoCasoUso(String etiqueta) {
+        this.etiqueta = etiqueta;
+    }
+
+    public String getEtiqueta() {
+        return etiqueta;
+    }
+
+    /**
+     * Clasifica la excepción lanzada por un caso de uso.
+     *
+     * @param excepcion Excepción propagada por el caso de uso
+     * @return El resultado que corresponde a la regla de negocio incumplida,
+     *         o ERROR si no es una excepción de dominio conocida
+     */
+    public static ResultadoCasoUso de(RuntimeException excepcion) {
+        if (excepcion instanceof TipoUsuarioNoPermitidoException) {
+            return TIPO_NO_PERMITIDO;
+        }
+        if (excepcion instanceof UsuarioConPrestamoExistenteException) {
+            return INVITADO_CON_PRESTAMO;
+        }
+        if (excepcion instanceof PrestamoNoEncontradoException || excepcion instanceof LibroNoEncontradoException) {
+            return NO_ENCONTRADO;
+        }
+        return ERROR;
+    }
+}
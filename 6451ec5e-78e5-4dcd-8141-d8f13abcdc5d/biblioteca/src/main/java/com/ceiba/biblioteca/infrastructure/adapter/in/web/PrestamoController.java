@@ -1,17 +1,18 @@
 package com.ceiba.biblioteca.infrastructure.adapter.in.web;
 
-import com.ceiba.biblioteca.application.dto.ConsultaPrestamoResponse;
-import com.ceiba.biblioteca.application.dto.PrestarLibroCommand;
-import com.ceiba.biblioteca.application.dto.ResultadoPrestar;
 import com.ceiba.biblioteca.domain.port.in.ConsultarPrestamoUseCase;
 import com.ceiba.biblioteca.domain.port.in.PrestarLibroUseCase;
 import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ConsultaPrestamoResponseDto;
 import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ResultadoPrestarDto;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ResultadoPrestarLoteDto;
 import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.SolicitudPrestarLibroDto;
 import com.ceiba.biblioteca.infrastructure.adapter.in.web.mapper.PrestamoRestMapper;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.traza.TemporizadorFasesAdapter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Controlador REST para operaciones de préstamos de libros.
  *
@@ -26,8 +27,19 @@ import org.springframework.web.bind.annotation.*;
  * - Manejo de respuestas HTTP y códigos de estado
  * - Delegación de lógica de negocio a casos de uso
  *
+ * Los DTOs web de POST /prestamo y GET /prestamo/{id} los lee y escribe
+ * PrestamoJsonHttpMessageConverter en application/json, y el binding de
+ * Jackson con otros tipos de contenido, con los mismos nombres de campo.
+ * Con application/vnd.biblioteca.prestamo en Content-Type o Accept usan el
+ * formato binario compacto de CodecBinarioPrestamo.
+ *
+ * Con biblioteca.traza.habilitado=true las respuestas exitosas de
+ * POST /prestamo y GET /prestamo/{id} llevan el encabezado Server-Timing
+ * con la duración de cada fase del caso de uso y el total de la solicitud.
+ *
  * Endpoints disponibles:
  * - POST /prestamo: Crear nuevo préstamo
+ * - POST /prestamo/lote: Crear varios préstamos en una sola llamada
  * - GET /prestamo/{id}: Consultar préstamo existente
  *
  * @author Sistema Biblioteca Ceiba
@@ -56,19 +68,28 @@ public class PrestamoController {
      */
     private final PrestamoRestMapper mapper;
 
+    /**
+     * Temporizador con las fases de la solicitud en curso, publicadas en
+     * el encabezado Server-Timing.
+     */
+    private final TemporizadorFasesAdapter temporizadorFases;
+
     /**
      * Constructor que inicializa el controlador con sus dependencias.
      *
      * @param prestarLibroUseCase Caso de uso para procesar préstamos
      * @param consultarPrestamoUseCase Caso de uso para consultar préstamos
-     * @param mapper Transformador entre DTOs web y aplicación
+     * @param mapper Transformador entre DTOs web y de aplicación, para todos los endpoints
+     * @param temporizadorFases Temporizador de las fases de cada solicitud
      */
     public PrestamoController(PrestarLibroUseCase prestarLibroUseCase,
                              ConsultarPrestamoUseCase consultarPrestamoUseCase,
-                             PrestamoRestMapper mapper) {
+                             PrestamoRestMapper mapper,
+                             TemporizadorFasesAdapter temporizadorFases) {
         this.prestarLibroUseCase = prestarLibroUseCase;
         this.consultarPrestamoUseCase = consultarPrestamoUseCase;
         this.mapper = mapper;
+        this.temporizadorFases = temporizadorFases;
     }
 
     /**
@@ -96,8 +117,35 @@ public class PrestamoController {
      */
     @PostMapping
     public ResponseEntity<ResultadoPrestarDto> prestarLibro(@RequestBody SolicitudPrestarLibroDto solicitud) {
-        ResultadoPrestar resultado = prestarLibroUseCase.ejecutar(mapper.toCommand(solicitud));
-        return ResponseEntity.ok(mapper.toDto(resultado));
+        return conFases(mapper.toDto(prestarLibroUseCase.ejecutar(mapper.toCommand(solicitud))));
+    }
+
+    /**
+     * Endpoint para crear varios préstamos en una sola llamada.
+     *
+     * Pensado para sincronizar ráfagas de préstamos registrados sin conexión
+     * en los puntos de atención. Aplica a cada solicitud las mismas reglas que
+     * POST /prestamo, pero resuelve libros y restricciones para todo el lote
+     * de una vez y persiste los préstamos aceptados en una sola transacción.
+     *
+     * @param solicitudes DTOs con los datos de cada préstamo, en orden
+     * @return ResponseEntity con un resultado por solicitud, en el mismo orden
+     *
+     * Ejemplo de solicitud:
+     * POST /prestamo/lote
+     * Content-Type: application/json
+     * [
+     *   { "isbn": "ASDA7884", "identificacionUsuario": "12345678", "tipoUsuario": 1 },
+     *   { "isbn": "ASDA7884", "identificacionUsuario": "87654321", "tipoUsuario": 5 }
+     * ]
+     *
+     * Respuestas posibles:
+     * - 200 OK: Lote procesado; cada elemento indica su préstamo o su error
+     * - 500 Internal Server Error: Error interno; ningún préstamo del lote se persiste
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<List<ResultadoPrestarLoteDto>> prestarLibrosLote(@RequestBody List<SolicitudPrestarLibroDto> solicitudes) {
+        return ResponseEntity.ok(mapper.toDtos(prestarLibroUseCase.ejecutarLote(mapper.toCommands(solicitudes))));
     }
 
     /**
@@ -119,7 +167,19 @@ public class PrestamoController {
      */
     @GetMapping("/{prestamoId}")
     public ResponseEntity<ConsultaPrestamoResponseDto> consultarPrestamo(@PathVariable Integer prestamoId) {
-        ConsultaPrestamoResponse consulta = consultarPrestamoUseCase.ejecutar(prestamoId);
-        return ResponseEntity.ok(mapper.toDto(consulta));
+        return conFases(mapper.toDto(consultarPrestamoUseCase.ejecutar(prestamoId)));
+    }
+
+    /**
+     * Respuesta 200 con el cuerpo y, si la traza está habilitada, el
+     * encabezado Server-Timing. Se arma después de ejecutar el caso de uso
+     * para que incluya todas sus fases.
+     */
+    private <T> ResponseEntity<T> conFases(T cuerpo) {
+        String fases = temporizadorFases.isHabilitado() ? temporizadorFases.servidorTiming() : null;
+        if (fases == null) {
+            return ResponseEntity.ok(cuerpo);
+        }
+        return ResponseEntity.ok().header(TemporizadorFasesAdapter.ENCABEZADO, fases).body(cuerpo);
     }
 }
\ No newline at end of file
@@ -0,0 +1,207 @@
+package com.ceiba.biblioteca.infrastructure.adapter.in.web.codec;
+
+import com.ceiba.biblioteca.domain.model.FechasDelDia;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ConsultaPrestamoResponseDto;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ErrorResponseDto;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ResultadoPrestarDto;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.SolicitudPrestarLibroDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Formato binario compacto de los mensajes de préstamo, para clientes de
+ * alto volumen como los kioscos de autoservicio y los agentes de sincronización.
+ *
+ * Se negocia con el tipo de contenido {@link #TIPO_CONTENIDO} en los
+ * encabezados Content-Type y Accept. Todos los enteros van en big-endian:
+ * <pre>
+ * texto      u16 longitud en bytes (0xFFFF = null) + bytes UTF-8
+ * tipo       u8 tipo de usuario (0 = null)
+ * fecha      i32 días desde 1970-01-01 (Integer.MIN_VALUE = null)
+ * id         i32 (0 = null; ningún préstamo tiene id 0)
+ *
+ * Solicitud de préstamo   texto isbn, texto identificacionUsuario, tipo tipoUsuario
+ * Resultado del préstamo  id, fecha fechaMaximaDevolucion
+ * Consulta del préstamo   id, texto isbn, texto titulo, fecha fechaMaximaDevolucion,
+ *                         texto identificacionUsuario, tipo tipoUsuario
+ * Error                   texto mensaje
+ * </pre>
+ *
+ * El código de estado HTTP indica si la respuesta es un resultado o un error.
+ *
+ * La clase no depende de Spring: el servidor la usa desde
+ * PrestamoBinarioHttpMessageConverter y un cliente Java puede usarla tal
+ * cual para codificar sus solicitudes y decodificar las respuestas. Los
+ * mensajes se leen y escriben con los mismos DTOs del JSON, para que un
+ * cliente cambie de formato sin cambiar su código. La fecha se escribe
+ * desde diaMaximoDevolucion, sin interpretar el texto dd/MM/yyyy. Al leer
+ * una respuesta se llenan los dos campos, como en el JSON.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public final class CodecBinarioPrestamo {
+
+    /**
+     * Tipo de contenido del formato binario.
+     */
+    public static final String TIPO_CONTENIDO = "application/vnd.biblioteca.prestamo";
+
+    private static final int TEXTO_NULO = 0xFFFF;
+    private static final int FECHA_NULA = Integer.MIN_VALUE;
+
+    private CodecBinarioPrestamo() {
+    }
+
+    public static void escribirSolicitud(SolicitudPrestarLibroDto solicitud, DataOutput salida) throws IOException {
+        escribirTexto(solicitud.getIsbn(), salida);
+        escribirTexto(solicitud.getIdentificacionUsuario(), salida);
+        escribirTipo(solicitud.getTipoUsuario(), salida);
+    }
+
+    public static SolicitudPrestarLibroDto leerSolicitud(DataInput entrada) throws IOException {
+        return new SolicitudPrestarLibroDto(leerTexto(entrada), leerTexto(entrada), leerTipo(entrada));
+    }
+
+    public static void escribirResultado(ResultadoPrestarDto resultado, DataOutput salida) throws IOException {
+        escribirId(resultado.getId(), salida);
+        escribirFecha(resultado.getDiaMaximoDevolucion(), salida);
+    }
+
+    public static ResultadoPrestarDto leerResultado(DataInput entrada) throws IOException {
+        Integer id = leerId(entrada);
+        LocalDate dia = leerFecha(entrada);
+        return new ResultadoPrestarDto(id, formatear(dia), dia);
+    }
+
+    public static void escribirConsulta(ConsultaPrestamoResponseDto consulta, DataOutput salida) throws IOException {
+        escribirId(consulta.getId(), salida);
+        escribirTexto(consulta.getIsbn(), salida);
+        escribirTexto(consulta.getTitulo(), salida);
+        escribirFecha(consulta.getDiaMaximoDevolucion(), salida);
+        escribirTexto(consulta.getIdentificacionUsuario(), salida);
+        escribirTipo(consulta.getTipoUsuario(), salida);
+    }
+
+    public static ConsultaPrestamoResponseDto leerConsulta(DataInput entrada) throws IOException {
+        Integer id = leerId(entrada);
+        String isbn = leerTexto(entrada);
+        String titulo = leerTexto(entrada);
+        LocalDate dia = leerFecha(entrada);
+        return new ConsultaPrestamoResponseDto(id, isbn, titulo, formatear(dia), leerTexto(entrada),
+            leerTipo(entrada), dia);
+    }
+
+    public static void escribirError(ErrorResponseDto error, DataOutput salida) throws IOException {
+        escribirTexto(error.getMensaje(), salida);
+    }
+
+    public static ErrorResponseDto leerError(DataInput entrada) throws IOException {
+        return new ErrorResponseDto(leerTexto(entrada));
+    }
+
+    /**
+     * Codifica una solicitud de préstamo como cuerpo de un POST /prestamo.
+     */
+    public static byte[] codificar(SolicitudPrestarLibroDto solicitud) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try {
+            escribirSolicitud(solicitud, new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodifica la respuesta exitosa de un POST /prestamo.
+     */
+    public static ResultadoPrestarDto decodificarResultado(byte[] cuerpo) throws IOException {
+        return leerResultado(new DataInputStream(new ByteArrayInputStream(cuerpo)));
+    }
+
+    /**
+     * Decodifica la respuesta exitosa de un GET /prestamo/{id}.
+     */
+    public static ConsultaPrestamoResponseDto decodificarConsulta(byte[] cuerpo) throws IOException {
+        return leerConsulta(new DataInputStream(new ByteArrayInputStream(cuerpo)));
+    }
+
+    /**
+     * Decodifica el cuerpo de una respuesta con código de error.
+     */
+    public static ErrorResponseDto decodificarError(byte[] cuerpo) throws IOException {
+        return leerError(new DataInputStream(new ByteArrayInputStream(cuerpo)));
+    }
+
+    private static void escribirTexto(String texto, DataOutput salida) throws IOException {
+        if (texto == null) {
+            salida.writeShort(TEXTO_NULO);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= TEXTO_NULO) {
+            throw new IllegalArgumentException("Texto demasiado largo para el formato binario: " + bytes.length + " bytes");
+        }
+        salida.writeShort(bytes.length);
+        salida.write(bytes);
+    }
+
+    private static String leerTexto(DataInput entrada) throws IOException {
+        int longitud = entrada.readUnsignedShort();
+        if (longitud == TEXTO_NULO) {
+            return null;
+        }
+        byte[] bytes = new byte[longitud];
+        entrada.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void escribirTipo(Integer tipoUsuario, DataOutput salida) throws IOException {
+        if (tipoUsuario == null) {
+            salida.writeByte(0);
+            return;
+        }
+        if (tipoUsuario < 1 || tipoUsuario > 0xFF) {
+            throw new IllegalArgumentException("Tipo de usuario fuera del rango del formato binario: " + tipoUsuario);
+        }
+        salida.writeByte(tipoUsuario);
+    }
+
+    private static Integer leerTipo(DataInput entrada) throws IOException {
+        int tipo = entrada.readUnsignedByte();
+        return tipo == 0 ? null : tipo;
+    }
+
+    private static void escribirId(Integer id, DataOutput salida) throws IOException {
+        salida.writeInt(id == null ? 0 : id);
+    }
+
+    private static Integer leerId(DataInput entrada) throws IOException {
+        int id = entrada.readInt();
+        return id == 0 ? null : id;
+    }
+
+    private static void escribirFecha(LocalDate fecha, DataOutput salida) throws IOException {
+        salida.writeInt(fecha == null ? FECHA_NULA : Math.toIntExact(fecha.toEpochDay()));
+    }
+
+    private static LocalDate leerFecha(DataInput entrada) throws IOException {
+        int dia = entrada.readInt();
+        return dia == FECHA_NULA ? null : LocalDate.ofEpochDay(dia);
+    }
+
+    private static String formatear(LocalDate fecha) {
+        return fecha == null ? null : fecha.format(FechasDelDia.DATE_FORMATTER);
+    }
+}
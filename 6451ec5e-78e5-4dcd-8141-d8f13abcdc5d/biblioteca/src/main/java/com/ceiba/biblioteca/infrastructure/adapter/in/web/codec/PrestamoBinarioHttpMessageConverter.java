@@ -0,0 +1,88 @@
+package com.ceiba.biblioteca.infrastructure.adapter.in.web.codec;
+
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ConsultaPrestamoResponseDto;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ErrorResponseDto;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ResultadoPrestarDto;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.SolicitudPrestarLibroDto;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * Convertidor HTTP del formato binario de préstamos.
+ *
+ * Atiende el tipo de contenido {@link CodecBinarioPrestamo#TIPO_CONTENIDO}:
+ * lee la solicitud de préstamo en un SolicitudPrestarLibroDto y escribe
+ * ResultadoPrestarDto, ConsultaPrestamoResponseDto y ErrorResponseDto con el
+ * formato descrito en {@link CodecBinarioPrestamo}.
+ *
+ * Solo cubre POST /prestamo y GET /prestamo/{id}; el préstamo por lote
+ * sigue siendo solo JSON.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public class PrestamoBinarioHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType TIPO_CONTENIDO = MediaType.valueOf(CodecBinarioPrestamo.TIPO_CONTENIDO);
+
+    public PrestamoBinarioHttpMessageConverter() {
+        super(TIPO_CONTENIDO);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return esLegible(clazz) || esEscribible(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return esLegible(clazz) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return esEscribible(clazz) && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return CodecBinarioPrestamo.leerSolicitud(new DataInputStream(inputMessage.getBody()));
+        } catch (EOFException e) {
+            throw new HttpMessageNotReadableException("Solicitud binaria incompleta", e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object objeto, HttpOutputMessage outputMessage) throws IOException {
+        DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(outputMessage.getBody(), 256));
+        if (objeto instanceof ResultadoPrestarDto) {
+            CodecBinarioPrestamo.escribirResultado((ResultadoPrestarDto) objeto, salida);
+        } else if (objeto instanceof ConsultaPrestamoResponseDto) {
+            CodecBinarioPrestamo.escribirConsulta((ConsultaPrestamoResponseDto) objeto, salida);
+        } else {
+            CodecBinarioPrestamo.escribirError((ErrorResponseDto) objeto, salida);
+        }
+        salida.flush();
+    }
+
+    private static boolean esLegible(Class<?> clazz) {
+        return clazz == SolicitudPrestarLibroDto.class;
+    }
+
+    private static boolean esEscribible(Class<?> clazz) {
+        return clazz == ResultadoPrestarDto.class
+            || clazz == ConsultaPrestamoResponseDto.class
+            || clazz == ErrorResponseDto.class;
+    }
+}
@@ -0,0 +1,202 @@
+package com.ceiba.biblioteca.infrastructure.adapter.in.web.codec;
+
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ConsultaPrestamoResponseDto;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ErrorResponseDto;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ResultadoPrestarDto;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.SolicitudPrestarLibroDto;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Convertidor HTTP de JSON escrito a mano para los mensajes de préstamo.
+ *
+ * Lee y escribe con la API de streaming de Jackson (JsonParser y
+ * JsonGenerator), sin reflexión:
+ * - La solicitud de préstamo se lee directamente en un SolicitudPrestarLibroDto
+ * - ResultadoPrestarDto, ConsultaPrestamoResponseDto y ErrorResponseDto se
+ *   escriben campo por campo desde el objeto recibido
+ *
+ * El JSON producido es el mismo del binding de Jackson: mismos campos, en
+ * el mismo orden, y los valores nulos se escriben como null. Al leer se
+ * siguen las mismas reglas de Spring Boot: los campos desconocidos se
+ * ignoran, un escalar se acepta como texto y tipoUsuario se acepta también
+ * como texto numérico.
+ *
+ * Solo atiende application/json. Cualquier otro tipo de contenido, o
+ * cualquier otra clase, queda para los convertidores siguientes de la
+ * cadena, entre ellos el de Jackson.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public class PrestamoJsonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private final JsonFactory jsonFactory;
+
+    /**
+     * @param jsonFactory Fábrica de parsers y generadores; normalmente la del
+     *                    ObjectMapper de la aplicación, para compartir su configuración
+     */
+    public PrestamoJsonHttpMessageConverter(JsonFactory jsonFactory) {
+        super(MediaType.APPLICATION_JSON);
+        this.jsonFactory = jsonFactory;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return esLegible(clazz) || esEscribible(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return esLegible(clazz) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return esEscribible(clazz) && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(inputMessage.getBody())) {
+            return leerSolicitud(parser);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("JSON inválido: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object objeto, HttpOutputMessage outputMessage) throws IOException {
+        // Sin cerrar el generador: cerraría el cuerpo de la respuesta, que es de Spring
+        JsonGenerator generador = jsonFactory.createGenerator(outputMessage.getBody(), JsonEncoding.UTF8);
+        if (objeto instanceof ResultadoPrestarDto) {
+            escribir((ResultadoPrestarDto) objeto, generador);
+        } else if (objeto instanceof ConsultaPrestamoResponseDto) {
+            escribir((ConsultaPrestamoResponseDto) objeto, generador);
+        } else {
+            escribir((ErrorResponseDto) objeto, generador);
+        }
+        generador.flush();
+    }
+
+    /**
+     * Lee un objeto de solicitud de préstamo. Los campos pueden venir en
+     * cualquier orden; los que falten quedan en null.
+     */
+    static SolicitudPrestarLibroDto leerSolicitud(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Se esperaba un objeto JSON");
+        }
+        SolicitudPrestarLibroDto solicitud = new SolicitudPrestarLibroDto();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = parser.getCurrentName();
+            JsonToken valor = parser.nextToken();
+            switch (campo) {
+                case "isbn":
+                    solicitud.setIsbn(leerTexto(parser, valor));
+                    break;
+                case "identificacionUsuario":
+                    solicitud.setIdentificacionUsuario(leerTexto(parser, valor));
+                    break;
+                case "tipoUsuario":
+                    solicitud.setTipoUsuario(leerEntero(parser, valor));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return solicitud;
+    }
+
+    static void escribir(ResultadoPrestarDto resultado, JsonGenerator generador) throws IOException {
+        generador.writeStartObject();
+        escribirCampo(generador, "id", resultado.getId());
+        generador.writeStringField("fechaMaximaDevolucion", resultado.getFechaMaximaDevolucion());
+        generador.writeEndObject();
+    }
+
+    static void escribir(ConsultaPrestamoResponseDto consulta, JsonGenerator generador) throws IOException {
+        generador.writeStartObject();
+        escribirCampo(generador, "id", consulta.getId());
+        generador.writeStringField("isbn", consulta.getIsbn());
+        generador.writeStringField("titulo", consulta.getTitulo());
+        generador.writeStringField("fechaMaximaDevolucion", consulta.getFechaMaximaDevolucion());
+        // Jackson deja al final identificacionUsuario, que lleva @JsonProperty en el DTO
+        escribirCampo(generador, "tipoUsuario", consulta.getTipoUsuario());
+        generador.writeStringField("identificacionUsuario", consulta.getIdentificacionUsuario());
+        generador.writeEndObject();
+    }
+
+    static void escribir(ErrorResponseDto error, JsonGenerator generador) throws IOException {
+        generador.writeStartObject();
+        generador.writeStringField("mensaje", error.getMensaje());
+        generador.writeEndObject();
+    }
+
+    private static String leerTexto(JsonParser parser, JsonToken valor) throws IOException {
+        if (valor == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!valor.isScalarValue()) {
+            throw new JsonParseException(parser, "Se esperaba un texto en " + parser.getCurrentName());
+        }
+        return parser.getText();
+    }
+
+    private static Integer leerEntero(JsonParser parser, JsonToken valor) throws IOException {
+        switch (valor) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_NUMBER_INT:
+                return parser.getIntValue();
+            case VALUE_STRING:
+                String texto = parser.getText().trim();
+                if (texto.isEmpty()) {
+                    return null;
+                }
+                try {
+                    return Integer.valueOf(texto);
+                } catch (NumberFormatException e) {
+                    throw new JsonParseException(parser, "Se esperaba un número entero en " + parser.getCurrentName(), e);
+                }
+            default:
+                throw new JsonParseException(parser, "Se esperaba un número entero en " + parser.getCurrentName());
+        }
+    }
+
+    /**
+     * writeStringField ya escribe null para un texto nulo; para los números
+     * hay que hacerlo aparte.
+     */
+    private static void escribirCampo(JsonGenerator generador, String campo, Integer valor) throws IOException {
+        if (valor == null) {
+            generador.writeNullField(campo);
+        } else {
+            generador.writeNumberField(campo, valor);
+        }
+    }
+
+    private static boolean esLegible(Class<?> clazz) {
+        return clazz == SolicitudPrestarLibroDto.class;
+    }
+
+    private static boolean esEscribible(Class<?> clazz) {
+        return clazz == ResultadoPrestarDto.class
+            || clazz == ConsultaPrestamoResponseDto.class
+            || clazz == ErrorResponseDto.class;
+    }
+}
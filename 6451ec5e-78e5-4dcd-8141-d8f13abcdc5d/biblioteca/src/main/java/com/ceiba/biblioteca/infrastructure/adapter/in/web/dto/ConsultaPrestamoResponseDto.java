@@ -1,11 +1,14 @@
 package com.ceiba.biblioteca.infrastructure.adapter.in.web.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
+
 /**
  * DTO para retornar información completa de un préstamo desde la API REST.
  *
@@ -91,4 +94,13 @@ public class ConsultaPrestamoResponseDto {
      * - 3: INVITADO
      */
     private Integer tipoUsuario;
-}
\ No newline at end of file
+
+    /**
+     * La misma fecha límite, como fecha.
+     *
+     * No aparece en el JSON: la usa el formato binario, que la envía como
+     * número de día sin interpretar el texto.
+     */
+    @JsonIgnore
+    private LocalDate diaMaximoDevolucion;
+}
@@ -1,10 +1,13 @@
 package com.ceiba.biblioteca.infrastructure.adapter.in.web.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
+
 /**
  * DTO para retornar el resultado de un préstamo exitoso desde la API REST.
  *
@@ -63,4 +66,13 @@ public class ResultadoPrestarDto {
      * Ejemplo: "15/01/2024", "03/12/2023"
      */
     private String fechaMaximaDevolucion;
-}
\ No newline at end of file
+
+    /**
+     * La misma fecha límite, como fecha.
+     *
+     * No aparece en el JSON: la usa el formato binario, que la envía como
+     * número de día sin interpretar el texto.
+     */
+    @JsonIgnore
+    private LocalDate diaMaximoDevolucion;
+}
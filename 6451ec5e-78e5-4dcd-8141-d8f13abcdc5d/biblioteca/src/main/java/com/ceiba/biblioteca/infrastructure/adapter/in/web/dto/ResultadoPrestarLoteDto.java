@@ -0,0 +1,51 @@
+package com.ceiba.biblioteca.infrastructure.adapter.in.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para retornar el resultado de cada préstamo de un lote desde la API REST.
+ *
+ * El endpoint POST /prestamo/lote responde un arreglo con un elemento por
+ * solicitud, en el mismo orden recibido. Solo se serializan los campos
+ * presentes: los préstamos creados llevan ID y fecha, los rechazados el
+ * mismo mensaje que retornaría POST /prestamo.
+ *
+ * Ejemplo de respuesta JSON generada:
+ * [
+ *   { "id": 123, "fechaMaximaDevolucion": "15/01/2024" },
+ *   { "mensaje": "Tipo de usuario no permitido en la biblioteca" }
+ * ]
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResultadoPrestarLoteDto {
+
+    /**
+     * Identificador único del préstamo creado.
+     * Ausente si la solicitud fue rechazada.
+     */
+    private Integer id;
+
+    /**
+     * Fecha máxima para devolver el libro prestado.
+     * Formato: "dd/MM/yyyy". Ausente si la solicitud fue rechazada.
+     */
+    private String fechaMaximaDevolucion;
+
+    /**
+     * Mensaje descriptivo del error que rechazó la solicitud.
+     * Ausente si el préstamo se creó correctamente.
+     */
+    private String mensaje;
+}
@@ -3,11 +3,16 @@ package com.ceiba.biblioteca.infrastructure.adapter.in.web.mapper;
 import com.ceiba.biblioteca.application.dto.ConsultaPrestamoResponse;
 import com.ceiba.biblioteca.application.dto.PrestarLibroCommand;
 import com.ceiba.biblioteca.application.dto.ResultadoPrestar;
+import com.ceiba.biblioteca.application.dto.ResultadoPrestarLote;
 import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ConsultaPrestamoResponseDto;
 import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ResultadoPrestarDto;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ResultadoPrestarLoteDto;
 import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.SolicitudPrestarLibroDto;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Mapper para transformar entre DTOs de la capa web y DTOs de la capa de aplicación.
  *
@@ -63,6 +68,7 @@ public class PrestamoRestMapper {
         return ResultadoPrestarDto.builder()
             .id(resultado.getId())
             .fechaMaximaDevolucion(resultado.getFechaMaximaDevolucion())
+            .diaMaximoDevolucion(resultado.getDiaMaximoDevolucion())
             .build();
     }
 
@@ -83,6 +89,41 @@ public class PrestamoRestMapper {
             .fechaMaximaDevolucion(consulta.getFechaMaximaDevolucion())
             .identificacionUsuario(consulta.getIdentificacionUsuario())
             .tipoUsuario(consulta.getTipoUsuario())
+            .diaMaximoDevolucion(consulta.getDiaMaximoDevolucion())
             .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Convierte las solicitudes web de un lote en comandos de aplicación,
+     * conservando el orden recibido.
+     *
+     * @param dtos Solicitudes recibidas desde el cliente web
+     * @return Commands preparados para ejecutar el préstamo por lote
+     */
+    public List<PrestarLibroCommand> toCommands(List<SolicitudPrestarLibroDto> dtos) {
+        List<PrestarLibroCommand> commands = new ArrayList<>(dtos.size());
+        for (SolicitudPrestarLibroDto dto : dtos) {
+            commands.add(toCommand(dto));
+        }
+        return commands;
+    }
+
+    /**
+     * Convierte los resultados de un préstamo por lote a DTOs web,
+     * conservando el orden de las solicitudes.
+     *
+     * @param resultados Resultados del caso de uso de préstamo por lote
+     * @return DTOs con formato apropiado para respuesta HTTP
+     */
+    public List<ResultadoPrestarLoteDto> toDtos(List<ResultadoPrestarLote> resultados) {
+        List<ResultadoPrestarLoteDto> dtos = new ArrayList<>(resultados.size());
+        for (ResultadoPrestarLote resultado : resultados) {
+            dtos.add(ResultadoPrestarLoteDto.builder()
+                .id(resultado.getId())
+                .fechaMaximaDevolucion(resultado.getFechaMaximaDevolucion())
+                .mensaje(resultado.getMensaje())
+                .build());
+        }
+        return dtos;
+    }
+}
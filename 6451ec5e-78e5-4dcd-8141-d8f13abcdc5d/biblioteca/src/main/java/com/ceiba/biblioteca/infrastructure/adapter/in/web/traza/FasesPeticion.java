@@ -0,0 +1,75 @@
+package com.ceiba.biblioteca.infrastructure.adapter.in.web.traza;
+
+/**
+ * Fases medidas durante una solicitud HTTP.
+ *
+ * Cada hilo reutiliza la misma instancia en todas sus solicitudes: abrirla
+ * reinicia el contador, así medir una solicitud no reserva memoria. Se
+ * guardan hasta {@value #MAXIMO_FASES} fases; las siguientes se descartan.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+final class FasesPeticion {
+
+    static final int MAXIMO_FASES = 8;
+
+    private final String[] nombres = new String[MAXIMO_FASES];
+    private final long[] duraciones = new long[MAXIMO_FASES];
+    private int cantidad;
+    private long inicio;
+    private boolean abierta;
+
+    void abrir(long ahora) {
+        inicio = ahora;
+        cantidad = 0;
+        abierta = true;
+    }
+
+    void cerrar() {
+        abierta = false;
+    }
+
+    boolean isAbierta() {
+        return abierta;
+    }
+
+    long getInicio() {
+        return inicio;
+    }
+
+    void agregar(String nombre, long nanos) {
+        if (cantidad < MAXIMO_FASES) {
+            nombres[cantidad] = nombre;
+            duraciones[cantidad] = nanos;
+            cantidad++;
+        }
+    }
+
+    /**
+     * Lista las fases en el formato del encabezado Server-Timing, en
+     * milisegundos con tres decimales, seguidas de la fase total desde que
+     * se abrió la solicitud. Por ejemplo:
+     * {@code validacion;dur=0.004, libro;dur=0.310, total;dur=1.520}
+     *
+     * @param ahora Valor de System.nanoTime() con el que se calcula el total
+     */
+    String formatear(long ahora) {
+        StringBuilder texto = new StringBuilder(24 * (cantidad + 1));
+        for (int i = 0; i < cantidad; i++) {
+            agregarFase(texto, nombres[i], duraciones[i]).append(", ");
+        }
+        return agregarFase(texto, "total", ahora - inicio).toString();
+    }
+
+    private static StringBuilder agregarFase(StringBuilder texto, String nombre, long nanos) {
+        long micros = nanos / 1_000;
+        long fraccion = micros % 1_000;
+        texto.append(nombre).append(";dur=").append(micros / 1_000).append('.');
+        if (fraccion < 100) {
+            texto.append(fraccion < 10 ? "00" : "0");
+        }
+        return texto.append(fraccion);
+    }
+}
@@ -0,0 +1,73 @@
+package com.ceiba.biblioteca.infrastructure.adapter.in.web.traza;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Abre y cierra la medición de fases de cada solicitud de préstamo y
+ * registra en el log las que superan el umbral de lentitud.
+ *
+ * El log de solicitudes lentas es una muestra: se registran como máximo
+ * lentosPorSegundo solicitudes por segundo, para que una degradación
+ * general no inunde el log justo cuando el servicio está cargado. El
+ * límite es aproximado al cambiar de segundo.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public class InterceptorFases implements HandlerInterceptor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InterceptorFases.class);
+
+    private final TemporizadorFasesAdapter temporizador;
+    private final long umbralNanos;
+    private final int lentosPorSegundo;
+
+    private final AtomicLong segundoActual = new AtomicLong();
+    private final AtomicInteger lentosEnSegundo = new AtomicInteger();
+
+    /**
+     * @param temporizador Temporizador que reciben los casos de uso
+     * @param umbralLento Duración a partir de la cual una solicitud se registra como lenta
+     * @param lentosPorSegundo Máximo de solicitudes lentas registradas por segundo
+     */
+    public InterceptorFases(TemporizadorFasesAdapter temporizador, Duration umbralLento, int lentosPorSegundo) {
+        this.temporizador = temporizador;
+        this.umbralNanos = umbralLento.toNanos();
+        this.lentosPorSegundo = lentosPorSegundo;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        temporizador.abrir();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        FasesPeticion fases = temporizador.cerrar();
+        long ahora = System.nanoTime();
+        if (ahora - fases.getInicio() >= umbralNanos && muestrear(ahora) && LOG.isWarnEnabled()) {
+            LOG.warn("Solicitud lenta {} {} -> {}: {}", request.getMethod(), request.getRequestURI(),
+                response.getStatus(), fases.formatear(ahora));
+        }
+    }
+
+    private boolean muestrear(long ahora) {
+        long segundo = ahora / 1_000_000_000L;
+        long anterior = segundoActual.get();
+        if (segundo != anterior && segundoActual.compareAndSet(anterior, segundo)) {
+            lentosEnSegundo.set(0);
+        }
+        return lentosEnSegundo.incrementAndGet() <= lentosPorSegundo;
+    }
+}
@@ -0,0 +1,83 @@
+package com.ceiba.biblioteca.infrastructure.adapter.in.web.traza;
+
+import com.ceiba.biblioteca.domain.port.out.TemporizadorFasesPort;
+
+/**
+ * Temporizador de fases que acumula las duraciones de la solicitud HTTP
+ * que atiende el hilo actual.
+ *
+ * {@link InterceptorFases} abre la solicitud al recibirla y la cierra al
+ * terminar. Las fases registradas por los casos de uso fuera de una
+ * solicitud abierta (préstamos por lote, tareas internas) se ignoran.
+ *
+ * El controlador publica las fases acumuladas con {@link #servidorTiming()}
+ * en el encabezado {@value #ENCABEZADO}. Si la traza está deshabilitada el
+ * controlador no consulta el temporizador y los casos de uso reciben
+ * {@link TemporizadorFasesPort#INACTIVO}.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public class TemporizadorFasesAdapter implements TemporizadorFasesPort {
+
+    /**
+     * Encabezado de respuesta con las fases de la solicitud.
+     */
+    public static final String ENCABEZADO = "Server-Timing";
+
+    private final ThreadLocal<FasesPeticion> peticion = ThreadLocal.withInitial(FasesPeticion::new);
+
+    private final boolean habilitado;
+
+    /**
+     * @param habilitado Si es false el temporizador no se usa y el
+     *                   controlador no agrega el encabezado
+     */
+    public TemporizadorFasesAdapter(boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    @Override
+    public long iniciar() {
+        return peticion.get().isAbierta() ? System.nanoTime() : 0L;
+    }
+
+    @Override
+    public long fase(String nombre, long desde) {
+        FasesPeticion actual = peticion.get();
+        if (!actual.isAbierta()) {
+            return 0L;
+        }
+        long ahora = System.nanoTime();
+        actual.agregar(nombre, ahora - desde);
+        return ahora;
+    }
+
+    /**
+     * @return Valor del encabezado {@value #ENCABEZADO} con las fases de la
+     *         solicitud en curso, o null si no hay una solicitud abierta
+     */
+    public String servidorTiming() {
+        FasesPeticion actual = peticion.get();
+        return actual.isAbierta() ? actual.formatear(System.nanoTime()) : null;
+    }
+
+    void abrir() {
+        peticion.get().abrir(System.nanoTime());
+    }
+
+    /**
+     * @return Las fases de la solicitud cerrada; son válidas hasta que el
+     *         mismo hilo abra la siguiente
+     */
+    FasesPeticion cerrar() {
+        FasesPeticion actual = peticion.get();
+        actual.cerrar();
+        return actual;
+    }
+}
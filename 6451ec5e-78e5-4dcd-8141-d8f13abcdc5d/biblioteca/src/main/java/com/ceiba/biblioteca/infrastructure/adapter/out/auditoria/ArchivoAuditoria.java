@@ -0,0 +1,130 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.auditoria;
+
+import com.ceiba.biblioteca.domain.model.IntentoPrestamo;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Archivos de auditoría de solo anexar, con rotación por tamaño.
+ *
+ * Cada registro es una línea de texto con los campos separados por |:
+ * instante ISO-8601 en UTC|resultado|tipo de usuario|usuario|isbn|id del
+ * préstamo|mensaje. Los campos vacíos quedan vacíos y los caracteres | y
+ * los saltos de línea dentro de un campo se reemplazan por espacios.
+ *
+ * Las líneas se acumulan en un buffer en memoria; {@link #vaciar()} las
+ * entrega al sistema operativo y, si se pide, las fuerza a disco. Cuando
+ * el archivo actual supera el tamaño máximo se vacía, se cierra y el
+ * siguiente registro abre un archivo nuevo. Los archivos se nombran
+ * auditoria-fecha-hora-secuencia.log, así el orden alfabético es el
+ * orden de escritura.
+ *
+ * Solo lo usa el hilo escritor de {@link AuditoriaArchivoAdapter}.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+final class ArchivoAuditoria {
+
+    private static final DateTimeFormatter NOMBRE = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")
+        .withZone(ZoneOffset.UTC);
+
+    private static final int BUFFER = 64 * 1024;
+
+    private final Path directorio;
+    private final long tamanoMaximo;
+    private final boolean sincronizar;
+
+    private FileOutputStream salida;
+    private Writer escritor;
+    private long tamanoActual;
+    private int secuencia;
+
+    private final StringBuilder linea = new StringBuilder(256);
+
+    /**
+     * @param directorio Directorio de los archivos; se crea si no existe
+     * @param tamanoMaximo Tamaño a partir del cual se rota el archivo; se cuenta
+     *                     en caracteres, igual a los bytes para texto ASCII
+     * @param sincronizar Si es true, cada vaciado espera a que los datos estén en disco
+     */
+    ArchivoAuditoria(Path directorio, long tamanoMaximo, boolean sincronizar) throws IOException {
+        this.directorio = Files.createDirectories(directorio);
+        this.tamanoMaximo = tamanoMaximo;
+        this.sincronizar = sincronizar;
+    }
+
+    void escribir(List<IntentoPrestamo> intentos) throws IOException {
+        for (IntentoPrestamo intento : intentos) {
+            if (escritor == null) {
+                abrir();
+            }
+            formatear(intento);
+            escritor.append(linea);
+            tamanoActual += linea.length();
+            if (tamanoActual >= tamanoMaximo) {
+                cerrar();
+            }
+        }
+    }
+
+    void vaciar() throws IOException {
+        if (escritor != null) {
+            escritor.flush();
+            if (sincronizar) {
+                salida.getChannel().force(false);
+            }
+        }
+    }
+
+    void cerrar() throws IOException {
+        if (escritor != null) {
+            vaciar();
+            escritor.close();
+            escritor = null;
+            salida = null;
+        }
+    }
+
+    private void abrir() throws IOException {
+        Path archivo = directorio.resolve(String.format("auditoria-%s-%04d.log",
+            NOMBRE.format(Instant.now()), ++secuencia));
+        salida = new FileOutputStream(archivo.toFile(), true);
+        escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), BUFFER);
+        tamanoActual = Files.size(archivo);
+    }
+
+    private void formatear(IntentoPrestamo intento) {
+        linea.setLength(0);
+        linea.append(Instant.ofEpochMilli(intento.getInstante())).append('|')
+            .append(intento.getResultado()).append('|');
+        campo(intento.getTipoUsuario()).append('|');
+        campo(intento.getIdentificacionUsuario()).append('|');
+        campo(intento.getIsbn()).append('|');
+        campo(intento.getPrestamoId()).append('|');
+        campo(intento.getMensaje()).append('\n');
+    }
+
+    private StringBuilder campo(Object valor) {
+        if (valor != null) {
+            String texto = valor.toString();
+            for (int i = 0; i < texto.length(); i++) {
+                char c = texto.charAt(i);
+                linea.append(c == '|' || c == '\n' || c == '\r' ? ' ' : c);
+            }
+        }
+        return linea;
+    }
+}
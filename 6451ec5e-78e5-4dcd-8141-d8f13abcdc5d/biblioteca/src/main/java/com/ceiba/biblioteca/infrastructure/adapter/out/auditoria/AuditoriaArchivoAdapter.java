@@ -0,0 +1,250 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.auditoria;
+
+import com.ceiba.biblioteca.domain.model.IntentoPrestamo;
+import com.ceiba.biblioteca.domain.port.out.AuditoriaPrestamosPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Adaptador de auditoría que escribe los registros en archivos, fuera del
+ * camino de las solicitudes.
+ *
+ * Funcionamiento:
+ * - {@link #registrar} publica el registro en un {@link BufferCircular}
+ *   acotado, sin bloqueos ni E/S
+ * - Un único hilo escritor drena el buffer en lotes y los anexa a
+ *   {@link ArchivoAuditoria}, que rota los archivos por tamaño
+ * - Los datos se entregan al sistema operativo (y a disco, si se pide) a
+ *   lo sumo cada intervalo de vaciado, y siempre al cerrar
+ * - Con el buffer lleno se aplica la {@link PoliticaBufferLleno}
+ *   configurada; un registro que no entra se descarta y se cuenta
+ *
+ * Métricas:
+ * - {@value #PENDIENTES}: registros en el buffer, el atraso del escritor
+ * - {@value #RETRASO}: tiempo entre la solicitud y la escritura de cada lote,
+ *   medido con su registro más antiguo
+ * - {@value #ESCRITOS}: registros anexados a los archivos
+ * - {@value #DESCARTADOS}: registros perdidos, con motivo buffer_lleno o
+ *   error_escritura
+ *
+ * Al cerrar, el escritor termina de drenar el buffer antes de cerrar el
+ * archivo, así un apagado ordenado no pierde registros.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public class AuditoriaArchivoAdapter implements AuditoriaPrestamosPort {
+
+    /**
+     * Nombre del indicador de registros pendientes de escribir.
+     */
+    public static final String PENDIENTES = "biblioteca.auditoria.pendientes";
+
+    /**
+     * Nombre del temporizador del retraso de escritura.
+     */
+    public static final String RETRASO = "biblioteca.auditoria.retraso";
+
+    /**
+     * Nombre del contador de registros escritos.
+     */
+    public static final String ESCRITOS = "biblioteca.auditoria.escritos";
+
+    /**
+     * Nombre del contador de registros descartados.
+     */
+    public static final String DESCARTADOS = "biblioteca.auditoria.descartados";
+
+    private static final Logger LOG = LoggerFactory.getLogger(AuditoriaArchivoAdapter.class);
+
+    /**
+     * Pausa del escritor cuando no hay registros, y de un productor que
+     * espera espacio con la política BLOQUEAR.
+     */
+    private static final long PAUSA_ESCRITOR_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long PAUSA_PRODUCTOR_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final BufferCircular<IntentoPrestamo> buffer;
+    private final ArchivoAuditoria archivo;
+    private final PoliticaBufferLleno politica;
+    private final long esperaMaximaNanos;
+    private final long intervaloVaciadoNanos;
+    private final int tamanoLote;
+    private final Clock reloj;
+
+    private final Timer retraso;
+    private final Counter escritos;
+    private final Counter descartadosBufferLleno;
+    private final Counter descartadosErrorEscritura;
+
+    private final Thread escritor;
+    private volatile boolean activo = true;
+
+    /**
+     * @param directorio Directorio de los archivos de auditoría; se crea si no existe
+     * @param tamanoMaximoArchivo Tamaño a partir del cual se rota el archivo
+     * @param sincronizar Si es true, cada vaciado espera a que los datos estén en disco
+     * @param capacidad Registros que caben en el buffer; se redondea a potencia de 2
+     * @param politica Qué hacer cuando el buffer está lleno
+     * @param esperaMaxima Espera máxima de una solicitud con la política BLOQUEAR
+     * @param intervaloVaciado Tiempo máximo que un registro queda en memoria después de drenarse
+     * @param tamanoLote Registros que el escritor drena en cada vuelta
+     * @param reloj Reloj con el que se fechan los registros, para medir el retraso
+     * @param registro Registro de métricas de la aplicación
+     */
+    public AuditoriaArchivoAdapter(Path directorio, long tamanoMaximoArchivo, boolean sincronizar,
+                                   int capacidad, PoliticaBufferLleno politica, Duration esperaMaxima,
+                                   Duration intervaloVaciado, int tamanoLote, Clock reloj, MeterRegistry registro) {
+        try {
+            this.archivo = new ArchivoAuditoria(directorio, tamanoMaximoArchivo, sincronizar);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo preparar el directorio de auditoría " + directorio, e);
+        }
+        this.buffer = new BufferCircular<>(capacidad);
+        this.politica = politica;
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+        this.intervaloVaciadoNanos = intervaloVaciado.toNanos();
+        this.tamanoLote = tamanoLote;
+        this.reloj = reloj;
+
+        Gauge.builder(PENDIENTES, buffer, BufferCircular::pendientes)
+            .description("Registros de auditoría pendientes de escribir")
+            .register(registro);
+        this.retraso = Timer.builder(RETRASO)
+            .description("Tiempo entre una solicitud de préstamo y la escritura de su registro de auditoría")
+            .register(registro);
+        this.escritos = Counter.builder(ESCRITOS)
+            .description("Registros de auditoría escritos")
+            .register(registro);
+        this.descartadosBufferLleno = descartados(registro, "buffer_lleno");
+        this.descartadosErrorEscritura = descartados(registro, "error_escritura");
+
+        this.escritor = new Thread(this::escribir, "auditoria-prestamos");
+        this.escritor.setDaemon(true);
+    }
+
+    /**
+     * Arranca el hilo escritor.
+     */
+    @PostConstruct
+    public void iniciar() {
+        escritor.start();
+    }
+
+    /**
+     * Publica el registro sin esperar su escritura. Con el buffer lleno lo
+     * descarta o espera espacio, según la política.
+     */
+    @Override
+    public void registrar(IntentoPrestamo intento) {
+        if (buffer.ofrecer(intento)) {
+            return;
+        }
+        if (politica == PoliticaBufferLleno.BLOQUEAR && activo) {
+            long limite = System.nanoTime() + esperaMaximaNanos;
+            do {
+                LockSupport.parkNanos(PAUSA_PRODUCTOR_NANOS);
+                if (buffer.ofrecer(intento)) {
+                    return;
+                }
+            } while (System.nanoTime() - limite < 0);
+        }
+        descartadosBufferLleno.increment();
+    }
+
+    /**
+     * Detiene el escritor después de drenar el buffer y cierra el archivo.
+     */
+    @PreDestroy
+    public void cerrar() {
+        activo = false;
+        LockSupport.unpark(escritor);
+        try {
+            escritor.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return Registros en el buffer que el escritor aún no toma
+     */
+    long pendientes() {
+        return buffer.pendientes();
+    }
+
+    private void escribir() {
+        List<IntentoPrestamo> lote = new ArrayList<>(tamanoLote);
+        long proximoVaciado = System.nanoTime() + intervaloVaciadoNanos;
+        boolean porVaciar = false;
+        while (true) {
+            boolean terminar = !activo;
+            int drenados = buffer.drenar(lote, tamanoLote);
+            if (drenados > 0) {
+                anexar(lote);
+                lote.clear();
+                porVaciar = true;
+            }
+            long ahora = System.nanoTime();
+            if (porVaciar && ahora - proximoVaciado >= 0) {
+                vaciar();
+                porVaciar = false;
+                proximoVaciado = ahora + intervaloVaciadoNanos;
+            }
+            if (drenados == 0) {
+                if (terminar) {
+                    break;
+                }
+                LockSupport.parkNanos(PAUSA_ESCRITOR_NANOS);
+            }
+        }
+        try {
+            archivo.cerrar();
+        } catch (IOException e) {
+            LOG.error("No se pudo cerrar el archivo de auditoría", e);
+        }
+    }
+
+    private void anexar(List<IntentoPrestamo> lote) {
+        try {
+            archivo.escribir(lote);
+            escritos.increment(lote.size());
+            retraso.record(Math.max(0, reloj.millis() - lote.get(0).getInstante()), TimeUnit.MILLISECONDS);
+        } catch (IOException e) {
+            descartadosErrorEscritura.increment(lote.size());
+            LOG.error("No se pudieron escribir {} registros de auditoría", lote.size(), e);
+        }
+    }
+
+    private void vaciar() {
+        try {
+            archivo.vaciar();
+        } catch (IOException e) {
+            LOG.error("No se pudo vaciar el archivo de auditoría", e);
+        }
+    }
+
+    private static Counter descartados(MeterRegistry registro, String motivo) {
+        return Counter.builder(DESCARTADOS)
+            .description("Registros de auditoría perdidos")
+            .tag("motivo", motivo)
+            .register(registro);
+    }
+}
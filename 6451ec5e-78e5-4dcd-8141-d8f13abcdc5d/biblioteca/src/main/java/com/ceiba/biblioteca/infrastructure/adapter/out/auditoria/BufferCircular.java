@@ -0,0 +1,117 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.auditoria;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Cola circular acotada, sin bloqueos, para varios productores y un solo
+ * consumidor.
+ *
+ * Cada posición lleva un número de secuencia que indica si está libre para
+ * la vuelta actual del productor o ya publicada para el consumidor:
+ * - Un productor reserva la siguiente posición con un compareAndSet sobre
+ *   la cola y, si su secuencia coincide, guarda el elemento y publica la
+ *   secuencia; si la posición aún no se consumió, la cola está llena y
+ *   {@link #ofrecer} devuelve false de inmediato
+ * - El consumidor lee la cabeza sin competir con nadie y devuelve la
+ *   posición a los productores de la siguiente vuelta
+ *
+ * Ningún hilo espera a otro: un productor nunca se bloquea y el consumidor
+ * solo ve los elementos cuya publicación terminó.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+final class BufferCircular<T> {
+
+    private final int mascara;
+    private final AtomicReferenceArray<T> elementos;
+    private final AtomicLongArray secuencias;
+    private final AtomicLong cola = new AtomicLong();
+
+    /**
+     * Siguiente posición a consumir; solo la escribe el consumidor.
+     */
+    private volatile long cabeza;
+
+    /**
+     * @param capacidad Cantidad mínima de elementos; se redondea a la
+     *                  siguiente potencia de 2
+     */
+    BufferCircular(int capacidad) {
+        if (capacidad < 1 || capacidad > 1 << 30) {
+            throw new IllegalArgumentException("Capacidad inválida: " + capacidad);
+        }
+        int tamano = Integer.highestOneBit(capacidad);
+        if (tamano < capacidad) {
+            tamano <<= 1;
+        }
+        this.mascara = tamano - 1;
+        this.elementos = new AtomicReferenceArray<>(tamano);
+        this.secuencias = new AtomicLongArray(tamano);
+        for (int i = 0; i < tamano; i++) {
+            secuencias.set(i, i);
+        }
+    }
+
+    int capacidad() {
+        return mascara + 1;
+    }
+
+    /**
+     * Agrega el elemento si hay espacio. Seguro para varios productores.
+     *
+     * @return false si la cola está llena
+     */
+    boolean ofrecer(T elemento) {
+        while (true) {
+            long posicion = cola.get();
+            int indice = (int) posicion & mascara;
+            long diferencia = secuencias.get(indice) - posicion;
+            if (diferencia == 0) {
+                if (cola.compareAndSet(posicion, posicion + 1)) {
+                    elementos.lazySet(indice, elemento);
+                    secuencias.lazySet(indice, posicion + 1);
+                    return true;
+                }
+            } else if (diferencia < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Mueve al destino hasta maximo elementos publicados, en orden. Solo
+     * puede llamarlo el hilo consumidor.
+     *
+     * @return Cantidad de elementos movidos
+     */
+    int drenar(List<T> destino, int maximo) {
+        long posicion = cabeza;
+        int movidos = 0;
+        while (movidos < maximo) {
+            int indice = (int) posicion & mascara;
+            if (secuencias.get(indice) != posicion + 1) {
+                break;
+            }
+            destino.add(elementos.get(indice));
+            elementos.lazySet(indice, null);
+            secuencias.lazySet(indice, posicion + mascara + 1);
+            posicion++;
+            movidos++;
+        }
+        cabeza = posicion;
+        return movidos;
+    }
+
+    /**
+     * @return Elementos reservados por los productores y aún no consumidos;
+     *         es una aproximación mientras hay publicaciones en curso
+     */
+    long pendientes() {
+        return Math.max(0, cola.get() - cabeza);
+    }
+}
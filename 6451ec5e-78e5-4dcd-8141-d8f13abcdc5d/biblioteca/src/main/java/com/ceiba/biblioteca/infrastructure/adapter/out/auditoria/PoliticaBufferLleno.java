@@ -0,0 +1,22 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.auditoria;
+
+/**
+ * Qué hace una solicitud cuando el buffer de auditoría está lleno.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public enum PoliticaBufferLleno {
+
+    /**
+     * Descarta el registro y lo cuenta; la solicitud no espera nada.
+     */
+    DESCARTAR,
+
+    /**
+     * Espera a que el escritor libere espacio, como máximo la espera
+     * configurada; si no lo consigue, descarta el registro y lo cuenta.
+     */
+    BLOQUEAR
+}
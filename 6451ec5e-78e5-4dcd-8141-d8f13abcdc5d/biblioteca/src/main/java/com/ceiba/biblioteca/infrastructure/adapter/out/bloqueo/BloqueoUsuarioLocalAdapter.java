@@ -0,0 +1,104 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.bloqueo;
+
+import com.ceiba.biblioteca.domain.port.out.BloqueoUsuarioPort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Adaptador de bloqueos por usuario dentro del proceso.
+ *
+ * Implementa el puerto BloqueoUsuarioPort con un candado por
+ * identificación de usuario que solo existe mientras alguien lo usa:
+ * - Al pedir el bloqueo se crea (o reutiliza) la entrada del usuario y se
+ *   incrementa su contador de usos, en un solo compute atómico del mapa
+ * - Al liberarlo se decrementa el contador y la entrada se elimina cuando
+ *   llega a cero, así el mapa no crece con el número de usuarios atendidos
+ *
+ * A diferencia de un arreglo fijo de candados repartidos por hash, dos
+ * usuarios distintos nunca comparten candado, por lo que nunca compiten.
+ *
+ * Solo coordina hilos de esta instancia; con varias instancias la regla
+ * debe garantizarse además en la base de datos.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class BloqueoUsuarioLocalAdapter implements BloqueoUsuarioPort {
+
+    /**
+     * Candados en uso, por identificación de usuario.
+     */
+    private final ConcurrentMap<String, Entrada> bloqueos = new ConcurrentHashMap<>();
+
+    @Override
+    public <T> T ejecutarConBloqueo(String identificacionUsuario, Supplier<T> accion) {
+        Entrada entrada = adquirir(identificacionUsuario);
+        try {
+            return accion.get();
+        } finally {
+            liberar(identificacionUsuario, entrada);
+        }
+    }
+
+    /**
+     * Toma los candados en orden lexicográfico y sin repetidos, y los libera
+     * en orden inverso.
+     */
+    @Override
+    public <T> T ejecutarConBloqueo(Collection<String> identificacionesUsuario, Supplier<T> accion) {
+        Deque<String> tomados = new ArrayDeque<>();
+        Deque<Entrada> entradas = new ArrayDeque<>();
+        try {
+            for (String identificacion : new TreeSet<>(identificacionesUsuario)) {
+                entradas.push(adquirir(identificacion));
+                tomados.push(identificacion);
+            }
+            return accion.get();
+        } finally {
+            while (!tomados.isEmpty()) {
+                liberar(tomados.pop(), entradas.pop());
+            }
+        }
+    }
+
+    /**
+     * @return Cantidad de usuarios con un candado en uso en este momento
+     */
+    public int getBloqueosActivos() {
+        return bloqueos.size();
+    }
+
+    private Entrada adquirir(String identificacionUsuario) {
+        Entrada entrada = bloqueos.compute(identificacionUsuario, (clave, actual) -> {
+            Entrada enUso = actual != null ? actual : new Entrada();
+            enUso.usos++;
+            return enUso;
+        });
+        entrada.candado.lock();
+        return entrada;
+    }
+
+    private void liberar(String identificacionUsuario, Entrada entrada) {
+        entrada.candado.unlock();
+        bloqueos.computeIfPresent(identificacionUsuario, (clave, actual) -> --actual.usos == 0 ? null : actual);
+    }
+
+    /**
+     * Candado de un usuario y cantidad de hilos que lo tienen o lo esperan.
+     * El contador solo se modifica dentro de compute sobre la misma clave.
+     */
+    private static final class Entrada {
+        private final ReentrantLock candado = new ReentrantLock();
+        private int usos;
+    }
+}
@@ -0,0 +1,227 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.cache;
+
+import com.ceiba.biblioteca.domain.model.Libro;
+import com.ceiba.biblioteca.domain.port.out.LibroRepositoryPort;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Decorador con caché en memoria para el catálogo de libros.
+ *
+ * Esta clase implementa el puerto de salida LibroRepositoryPort envolviendo
+ * otra implementación del mismo puerto (normalmente el adaptador JPA). Los
+ * libros cambian muy poco pero se leen en cada préstamo, por lo que las
+ * búsquedas por ISBN se atienden desde memoria y solo los fallos llegan
+ * al repositorio decorado.
+ *
+ * Características de la caché:
+ * - Tamaño acotado con desalojo por frecuencia de uso (W-TinyLFU de Caffeine)
+ * - Expiración de cada entrada un tiempo después de cargada (TTL)
+ * - Invalidación explícita al guardar libros por este mismo puerto
+ * - Precarga opcional de los libros más prestados
+ * - Métricas cache.* de Micrometer con la etiqueta cache=libros: aciertos,
+ *   fallos, desalojos y tamaño
+ *
+ * Las entradas se indexan por el ISBN normalizado, así las distintas
+ * escrituras de un mismo ISBN comparten una entrada y se invalidan juntas.
+ *
+ * Solo se guardan en caché los libros encontrados: un ISBN inexistente
+ * siempre se consulta en el repositorio, así un libro recién creado nunca
+ * queda oculto por una ausencia cacheada.
+ *
+ * Los libros cacheados se comparten entre llamadas, por lo que no deben
+ * modificarse después de obtenerlos.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public class LibroRepositoryCacheAdapter implements LibroRepositoryPort {
+
+    /**
+     * Repositorio decorado al que se delegan escrituras y fallos de caché.
+     */
+    private final LibroRepositoryPort delegado;
+
+    /**
+     * Libros cacheados, indexados por el ISBN normalizado.
+     */
+    private final Cache<String, Libro> cache;
+
+    /**
+     * Constructor que inicializa la caché con sus límites.
+     *
+     * @param delegado Repositorio real del catálogo
+     * @param tamanoMaximo Cantidad máxima de libros en memoria
+     * @param ttl Tiempo de vida de cada entrada desde que se carga
+     * @param registro Registro de Micrometer donde se publican las métricas de la caché
+     */
+    public LibroRepositoryCacheAdapter(LibroRepositoryPort delegado, long tamanoMaximo, Duration ttl,
+                                       MeterRegistry registro) {
+        this.delegado = delegado;
+        this.cache = CaffeineCacheMetrics.monitor(registro, Caffeine.newBuilder()
+            .maximumSize(tamanoMaximo)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .<String, Libro>build(), "libros");
+    }
+
+    /**
+     * Persiste un libro e invalida las entradas que lo referencian.
+     *
+     * Se eliminan las entradas del ISBN recibido y del ISBN guardado. Si el
+     * libro ya existía, su ISBN anterior se lee antes de guardar, porque al
+     * cambiar de ISBN la entrada anterior seguiría resolviendo el libro.
+     *
+     * @param libro Modelo de dominio del libro a persistir
+     * @return Libro persistido con ID asignado
+     */
+    @Override
+    public Libro save(Libro libro) {
+        if (libro.getId() != null) {
+            delegado.findById(libro.getId()).ifPresent(this::invalidar);
+        }
+        Libro guardado = delegado.save(libro);
+        invalidar(libro);
+        invalidar(guardado);
+        return guardado;
+    }
+
+    /**
+     * Persiste un conjunto de libros y vacía la caché.
+     *
+     * Las cargas masivas pueden tocar gran parte del catálogo, así que es
+     * más simple y barato invalidar todo que buscar entrada por entrada.
+     *
+     * @param libros Libros a persistir
+     * @return Libros persistidos, en el orden recibido
+     */
+    @Override
+    public List<Libro> saveAll(List<Libro> libros) {
+        List<Libro> guardados = delegado.saveAll(libros);
+        cache.invalidateAll();
+        return guardados;
+    }
+
+    /**
+     * Busca un libro por ISBN, primero en memoria y luego en el repositorio.
+     *
+     * @param isbn Código ISBN del libro a buscar
+     * @return Optional conteniendo el libro si existe, empty() si no se encuentra
+     */
+    @Override
+    public Optional<Libro> findByIsbn(String isbn) {
+        if (isbn == null) {
+            return delegado.findByIsbn(null);
+        }
+        return Optional.ofNullable(cache.get(Libro.normalizarIsbn(isbn), clave -> delegado.findByIsbn(clave).orElse(null)));
+    }
+
+    /**
+     * Delegado sin caché: las búsquedas del préstamo son por ISBN, que es
+     * la clave de la caché.
+     *
+     * @param id Identificador único del libro
+     * @return Optional conteniendo el libro si existe, empty() si no se encuentra
+     */
+    @Override
+    public Optional<Libro> findById(Integer id) {
+        return delegado.findById(id);
+    }
+
+    /**
+     * Busca varios libros resolviendo en memoria los que ya están cacheados.
+     *
+     * Los ISBN que no están en caché se consultan juntos con una sola
+     * llamada al repositorio decorado y se agregan a la caché.
+     *
+     * @param isbns Códigos ISBN a buscar
+     * @return Mapa de ISBN recibido a libro; los ISBN inexistentes no aparecen
+     */
+    @Override
+    public Map<String, Libro> findAllByIsbn(Collection<String> isbns) {
+        Map<String, String> claves = new HashMap<>();
+        for (String isbn : isbns) {
+            if (isbn != null) {
+                claves.put(isbn, Libro.normalizarIsbn(isbn));
+            }
+        }
+        Map<String, Libro> libros = new HashMap<>();
+        if (claves.isEmpty()) {
+            return libros;
+        }
+        Map<String, Libro> cacheados = cache.getAll(new HashSet<>(claves.values()), this::cargarFaltantes);
+        for (Map.Entry<String, String> clave : claves.entrySet()) {
+            Libro libro = cacheados.get(clave.getValue());
+            if (libro != null) {
+                libros.put(clave.getKey(), libro);
+            }
+        }
+        return libros;
+    }
+
+    /**
+     * Delegado sin caché: es una consulta de ranking usada solo en la precarga.
+     *
+     * @param limite Cantidad máxima de libros a retornar
+     * @return Los libros más prestados, del más al menos solicitado
+     */
+    @Override
+    public List<Libro> findMasPrestados(int limite) {
+        return delegado.findMasPrestados(limite);
+    }
+
+    /**
+     * Carga en memoria los libros más prestados.
+     *
+     * @param limite Cantidad de libros a precargar
+     * @return Cantidad de libros efectivamente cargados
+     */
+    public int precargar(int limite) {
+        List<Libro> libros = delegado.findMasPrestados(limite);
+        for (Libro libro : libros) {
+            cache.put(Libro.normalizarIsbn(libro.getIsbn()), libro);
+        }
+        return libros.size();
+    }
+
+    /**
+     * @return Instantánea completa de las estadísticas de la caché
+     */
+    public CacheStats getEstadisticas() {
+        return cache.stats();
+    }
+
+    /**
+     * @return Cantidad aproximada de libros en memoria
+     */
+    public long getTamano() {
+        return cache.estimatedSize();
+    }
+
+    private Map<String, Libro> cargarFaltantes(Iterable<? extends String> faltantes) {
+        List<String> isbns = new ArrayList<>();
+        for (String isbn : faltantes) {
+            isbns.add(isbn);
+        }
+        return delegado.findAllByIsbn(isbns);
+    }
+
+    private void invalidar(Libro libro) {
+        if (libro != null && libro.getIsbn() != null) {
+            cache.invalidate(Libro.normalizarIsbn(libro.getIsbn()));
+        }
+    }
+}
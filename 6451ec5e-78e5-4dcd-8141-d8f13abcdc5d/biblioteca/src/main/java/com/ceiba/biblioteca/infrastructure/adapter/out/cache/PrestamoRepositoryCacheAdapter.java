@@ -0,0 +1,202 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.cache;
+
+import com.ceiba.biblioteca.domain.model.ConsultaPrestamo;
+import com.ceiba.biblioteca.domain.model.Libro;
+import com.ceiba.biblioteca.domain.model.Prestamo;
+import com.ceiba.biblioteca.domain.port.out.PrestamoRepositoryPort;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Decorador con caché de lectura para la consulta de préstamos.
+ *
+ * Esta clase implementa el puerto de salida PrestamoRepositoryPort
+ * envolviendo otra implementación del mismo puerto. GET /prestamo/{id} es
+ * la llamada más frecuente y los préstamos no cambian después de creados,
+ * así que las respuestas de consulta se guardan ya construidas, por ID.
+ *
+ * Funcionamiento:
+ * - Al guardar un préstamo se arma y cachea su respuesta de consulta, sin
+ *   volver a leerla de la base de datos
+ * - En un fallo se lee del repositorio decorado y se cachea el resultado;
+ *   las lecturas concurrentes del mismo ID esperan una sola consulta
+ * - Los ID inexistentes también se cachean, con un tiempo de vida corto,
+ *   para que sondear IDs que no existen no llegue siempre a la base de datos;
+ *   guardar un préstamo reemplaza la ausencia cacheada de su ID
+ * - El tamaño total está acotado y el desalojo es por frecuencia de uso
+ * - Aciertos, fallos, desalojos y tamaño se publican en las métricas cache.*
+ *   de Micrometer con la etiqueta cache=prestamos
+ *
+ * El resto de operaciones del puerto se delegan sin caché.
+ *
+ * Las respuestas cacheadas se comparten entre llamadas, por lo que no deben
+ * modificarse después de obtenerlas.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public class PrestamoRepositoryCacheAdapter implements PrestamoRepositoryPort {
+
+    /**
+     * Repositorio decorado al que se delegan escrituras y fallos de caché.
+     */
+    private final PrestamoRepositoryPort delegado;
+
+    /**
+     * Respuestas de consulta por ID; Optional.empty() marca un ID inexistente.
+     */
+    private final Cache<Integer, Optional<ConsultaPrestamo>> consultas;
+
+    /**
+     * Constructor que inicializa la caché con sus límites.
+     *
+     * @param delegado Repositorio real de préstamos
+     * @param tamanoMaximo Cantidad máxima de entradas en memoria, incluidas las ausencias
+     * @param ttlAusentes Tiempo durante el cual se recuerda que un ID no existe
+     * @param registro Registro de Micrometer donde se publican las métricas de la caché
+     */
+    public PrestamoRepositoryCacheAdapter(PrestamoRepositoryPort delegado, long tamanoMaximo, Duration ttlAusentes,
+                                          MeterRegistry registro) {
+        this.delegado = delegado;
+        this.consultas = CaffeineCacheMetrics.monitor(registro, Caffeine.newBuilder()
+            .maximumSize(tamanoMaximo)
+            .expireAfter(new ExpiracionAusentes(ttlAusentes.toNanos()))
+            .recordStats()
+            .<Integer, Optional<ConsultaPrestamo>>build(), "prestamos");
+    }
+
+    /**
+     * Persiste un préstamo y cachea su respuesta de consulta.
+     *
+     * @param prestamo Préstamo a persistir
+     * @return Préstamo persistido con ID asignado
+     */
+    @Override
+    public Prestamo save(Prestamo prestamo) {
+        Prestamo guardado = delegado.save(prestamo);
+        cachear(guardado);
+        return guardado;
+    }
+
+    /**
+     * Persiste un conjunto de préstamos y cachea la respuesta de cada uno.
+     *
+     * @param prestamos Préstamos a persistir
+     * @return Préstamos persistidos, en el orden recibido
+     */
+    @Override
+    public List<Prestamo> saveAll(List<Prestamo> prestamos) {
+        List<Prestamo> guardados = delegado.saveAll(prestamos);
+        for (Prestamo guardado : guardados) {
+            cachear(guardado);
+        }
+        return guardados;
+    }
+
+    @Override
+    public Optional<Prestamo> findById(Integer id) {
+        return delegado.findById(id);
+    }
+
+    /**
+     * Obtiene la respuesta de consulta desde memoria o, en un fallo, del
+     * repositorio decorado.
+     *
+     * @param id Identificador único del préstamo a consultar
+     * @return Optional con la respuesta si el préstamo existe, empty() si no
+     */
+    @Override
+    public Optional<ConsultaPrestamo> findConsultaById(Integer id) {
+        if (id == null) {
+            return delegado.findConsultaById(null);
+        }
+        return consultas.get(id, delegado::findConsultaById);
+    }
+
+    @Override
+    public Optional<Prestamo> findByIdentificacionUsuario(String identificacionUsuario) {
+        return delegado.findByIdentificacionUsuario(identificacionUsuario);
+    }
+
+    @Override
+    public long countByIdentificacionUsuario(String identificacionUsuario) {
+        return delegado.countByIdentificacionUsuario(identificacionUsuario);
+    }
+
+    @Override
+    public boolean existsPrestamoInvitado(String identificacionUsuario) {
+        return delegado.existsPrestamoInvitado(identificacionUsuario);
+    }
+
+    @Override
+    public Set<String> findInvitadosConPrestamo(Collection<String> identificacionesUsuario) {
+        return delegado.findInvitadosConPrestamo(identificacionesUsuario);
+    }
+
+    /**
+     * @return Instantánea completa de las estadísticas de la caché
+     */
+    public CacheStats getEstadisticas() {
+        return consultas.stats();
+    }
+
+    /**
+     * Arma la respuesta de consulta a partir del préstamo recién guardado.
+     *
+     * Si el libro no trae ISBN y título (por ejemplo, solo se conocía su ID)
+     * no hay datos suficientes: se descarta cualquier entrada previa y la
+     * primera consulta se resolverá con el repositorio.
+     */
+    private void cachear(Prestamo prestamo) {
+        if (prestamo.getId() == null) {
+            return;
+        }
+        Libro libro = prestamo.getLibro();
+        if (libro == null || libro.getIsbn() == null || libro.getTitulo() == null) {
+            consultas.invalidate(prestamo.getId());
+            return;
+        }
+        consultas.put(prestamo.getId(), Optional.of(ConsultaPrestamo.de(prestamo, libro)));
+    }
+
+    /**
+     * Los préstamos existentes no expiran (solo se desalojan por tamaño);
+     * las ausencias expiran después del tiempo configurado.
+     */
+    private static final class ExpiracionAusentes implements Expiry<Integer, Optional<ConsultaPrestamo>> {
+
+        private final long ttlAusentesNanos;
+
+        private ExpiracionAusentes(long ttlAusentesNanos) {
+            this.ttlAusentesNanos = ttlAusentesNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(Integer id, Optional<ConsultaPrestamo> consulta, long ahora) {
+            return consulta.isPresent() ? Long.MAX_VALUE : ttlAusentesNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Integer id, Optional<ConsultaPrestamo> consulta,
+                                      long ahora, long duracionActual) {
+            return expireAfterCreate(id, consulta, ahora);
+        }
+
+        @Override
+        public long expireAfterRead(Integer id, Optional<ConsultaPrestamo> consulta,
+                                    long ahora, long duracionActual) {
+            return duracionActual;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.eventos;
+
+import com.ceiba.biblioteca.domain.model.PrestamoCreado;
+import com.ceiba.biblioteca.domain.port.out.PublicadorPrestamosCreadosPort;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Publicador de eventos PrestamoCreado que los anexa a un archivo local,
+ * un objeto JSON por línea.
+ *
+ * Sirve para integrar sistemas que leen el archivo (o lo envían a un
+ * colector de logs) sin depender de un broker. Cada línea tiene eventoId,
+ * tipo, prestamoId, isbn, identificacionUsuario, tipoUsuario,
+ * fechaPrestamo, fechaMaximaDevolucion (ISO-8601) y creado (instante
+ * ISO-8601 en UTC).
+ *
+ * Cada lote se entrega al sistema operativo antes de retornar, y a disco si
+ * se pide sincronizar, así el relevo solo borra del outbox lo que ya está
+ * en el archivo. Un lote que falla a mitad de escritura se vuelve a
+ * escribir completo: los consumidores deben ignorar los eventoId repetidos.
+ * Tras la falla el archivo se cierra, porque el generador JSON pudo quedar
+ * a mitad de un objeto, y el lote siguiente lo abre de nuevo empezando en
+ * una línea nueva: una línea cortada queda sola y no daña la siguiente.
+ *
+ * Cuando el archivo supera el tamaño máximo al terminar un lote se cierra
+ * y se renombra como nombre-fecha-hora-secuencia, en el mismo directorio;
+ * el siguiente lote abre un archivo nuevo con el nombre configurado. Como
+ * en la auditoría, el orden alfabético de los archivos rotados es el
+ * orden de escritura.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public class PublicadorPrestamosCreadosArchivoAdapter implements PublicadorPrestamosCreadosPort {
+
+    private static final DateTimeFormatter NOMBRE = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")
+        .withZone(ZoneOffset.UTC);
+
+    private static final int BUFFER = 64 * 1024;
+
+    /**
+     * Al cerrar tras una falla no se completan los objetos abiertos: la
+     * línea cortada no debe parecer un evento válido.
+     */
+    private final JsonFactory fabrica = new JsonFactory()
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+    private final Path archivo;
+    private final long tamanoMaximo;
+    private final boolean sincronizar;
+
+    private FileOutputStream salida;
+    private JsonGenerator generador;
+    private int secuencia;
+
+    /**
+     * @param archivo Archivo de eventos; se crea con sus directorios si no existe
+     * @param tamanoMaximo Tamaño en bytes a partir del cual se rota el archivo
+     * @param sincronizar Si es true, cada lote espera a que los datos estén en disco
+     */
+    public PublicadorPrestamosCreadosArchivoAdapter(Path archivo, long tamanoMaximo, boolean sincronizar) {
+        this.archivo = archivo;
+        this.tamanoMaximo = tamanoMaximo;
+        this.sincronizar = sincronizar;
+        try {
+            Path directorio = archivo.toAbsolutePath().getParent();
+            if (directorio != null) {
+                Files.createDirectories(directorio);
+            }
+            abrir();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el archivo de eventos " + archivo, e);
+        }
+    }
+
+    @Override
+    public synchronized void publicar(List<PrestamoCreado> eventos) {
+        try {
+            if (generador == null) {
+                abrir();
+            }
+            for (PrestamoCreado evento : eventos) {
+                escribir(evento);
+                generador.writeRaw('\n');
+            }
+            generador.flush();
+            if (sincronizar) {
+                salida.getChannel().force(false);
+            }
+            // En modo de anexar, la posición del canal es el tamaño del archivo
+            if (salida.getChannel().position() >= tamanoMaximo) {
+                rotar();
+            }
+        } catch (IOException e) {
+            descartar();
+            throw new UncheckedIOException("No se pudieron escribir " + eventos.size() + " eventos en " + archivo, e);
+        }
+    }
+
+    /**
+     * Cierra el archivo después de entregar lo escrito.
+     */
+    @PreDestroy
+    public synchronized void cerrar() throws IOException {
+        if (generador != null) {
+            generador.close();
+            generador = null;
+            salida = null;
+        }
+    }
+
+    /**
+     * Abre el archivo para anexar. Si no termina en salto de línea, por un
+     * lote que falló a mitad de escritura, agrega uno antes del primer evento.
+     */
+    private void abrir() throws IOException {
+        boolean lineaIncompleta = terminaSinSaltoDeLinea();
+        salida = new FileOutputStream(archivo.toFile(), true);
+        generador = fabrica.createGenerator(new BufferedOutputStream(salida, BUFFER), JsonEncoding.UTF8)
+            .setRootValueSeparator(null);
+        if (lineaIncompleta) {
+            generador.writeRaw('\n');
+        }
+    }
+
+    private boolean terminaSinSaltoDeLinea() throws IOException {
+        if (!Files.exists(archivo) || Files.size(archivo) == 0) {
+            return false;
+        }
+        try (RandomAccessFile lectura = new RandomAccessFile(archivo.toFile(), "r")) {
+            lectura.seek(lectura.length() - 1);
+            return lectura.read() != '\n';
+        }
+    }
+
+    private void rotar() throws IOException {
+        cerrar();
+        String nombre = archivo.getFileName().toString();
+        int punto = nombre.lastIndexOf('.');
+        String base = punto > 0 ? nombre.substring(0, punto) : nombre;
+        String extension = punto > 0 ? nombre.substring(punto) : "";
+        String fecha = NOMBRE.format(Instant.now());
+        Path rotado;
+        do {
+            rotado = archivo.resolveSibling(String.format("%s-%s-%04d%s", base, fecha, ++secuencia, extension));
+        } while (Files.exists(rotado));
+        Files.move(archivo, rotado);
+    }
+
+    /**
+     * Cierra el archivo tras una falla sin propagar otra excepción; el
+     * siguiente lote lo vuelve a abrir.
+     */
+    private void descartar() {
+        if (generador != null) {
+            try {
+                generador.close();
+            } catch (IOException | RuntimeException ignorada) {
+                // El lote ya falló; se reporta esa excepción
+            }
+            generador = null;
+            salida = null;
+        }
+    }
+
+    private void escribir(PrestamoCreado evento) throws IOException {
+        generador.writeStartObject();
+        generador.writeNumberField("eventoId", evento.getEventoId());
+        generador.writeStringField("tipo", "PrestamoCreado");
+        if (evento.getPrestamoId() != null) {
+            generador.writeNumberField("prestamoId", evento.getPrestamoId());
+        }
+        generador.writeStringField("isbn", evento.getIsbn());
+        generador.writeStringField("identificacionUsuario", evento.getIdentificacionUsuario());
+        if (evento.getTipoUsuario() != null) {
+            generador.writeNumberField("tipoUsuario", evento.getTipoUsuario().getValor());
+        }
+        generador.writeStringField("fechaPrestamo", texto(evento.getFechaPrestamo()));
+        generador.writeStringField("fechaMaximaDevolucion", texto(evento.getFechaMaximaDevolucion()));
+        generador.writeStringField("creado", Instant.ofEpochMilli(evento.getCreado()).toString());
+        generador.writeEndObject();
+    }
+
+    private static String texto(Object valor) {
+        return valor != null ? valor.toString() : null;
+    }
+}
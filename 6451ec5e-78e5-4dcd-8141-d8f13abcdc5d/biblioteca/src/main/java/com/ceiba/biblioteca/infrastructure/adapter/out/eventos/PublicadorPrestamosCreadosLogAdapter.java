@@ -0,0 +1,34 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.eventos;
+
+import com.ceiba.biblioteca.domain.model.PrestamoCreado;
+import com.ceiba.biblioteca.domain.port.out.PublicadorPrestamosCreadosPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Publicador de eventos PrestamoCreado que los escribe en el log de la
+ * aplicación, uno por línea en nivel INFO.
+ *
+ * Pensado para desarrollo y para entornos donde el log ya llega a un
+ * colector. La categoría es el nombre de esta clase, así puede dirigirse a
+ * su propio appender o apagarse sin afectar al resto del log.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public class PublicadorPrestamosCreadosLogAdapter implements PublicadorPrestamosCreadosPort {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PublicadorPrestamosCreadosLogAdapter.class);
+
+    @Override
+    public void publicar(List<PrestamoCreado> eventos) {
+        for (PrestamoCreado evento : eventos) {
+            LOG.info("PrestamoCreado eventoId={} prestamoId={} isbn={} usuario={} tipoUsuario={} fechaMaximaDevolucion={}",
+                evento.getEventoId(), evento.getPrestamoId(), evento.getIsbn(), evento.getIdentificacionUsuario(),
+                evento.getTipoUsuario(), evento.getFechaMaximaDevolucion());
+        }
+    }
+}
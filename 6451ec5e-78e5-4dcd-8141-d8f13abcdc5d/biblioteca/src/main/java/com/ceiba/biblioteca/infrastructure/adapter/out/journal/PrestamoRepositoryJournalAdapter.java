@@ -0,0 +1,402 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.journal;
+
+import com.ceiba.biblioteca.domain.exception.UsuarioConPrestamoExistenteException;
+import com.ceiba.biblioteca.domain.model.ConsultaPrestamo;
+import com.ceiba.biblioteca.domain.model.Libro;
+import com.ceiba.biblioteca.domain.model.Prestamo;
+import com.ceiba.biblioteca.domain.port.out.LibroRepositoryPort;
+import com.ceiba.biblioteca.domain.port.out.PrestamoRepositoryPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Adaptador de persistencia de préstamos sobre un journal binario en disco.
+ *
+ * Implementa el puerto de salida PrestamoRepositoryPort sin motor SQL en el
+ * camino de escritura. Se activa con el perfil "journal"; el catálogo de
+ * libros sigue en su propio adaptador.
+ *
+ * Funcionamiento:
+ * - Cada préstamo se agrega como un registro de tamaño fijo
+ *   ({@link RegistroPrestamo}) al final del segmento actual, un archivo
+ *   mapeado en memoria
+ * - Cuando el segmento se llena se fuerza a disco y se abre el siguiente
+ * - Sincronización en grupo: save espera a que su registro esté en disco,
+ *   pero un solo hilo hace el force() por todos los registros escritos
+ *   hasta ese momento, así N escrituras concurrentes pagan un solo fsync
+ * - Los índices por ID y por usuario viven en memoria y se reconstruyen al
+ *   arrancar recorriendo los segmentos en orden
+ * - Si el último segmento termina en un registro a medias (caída durante
+ *   la escritura), ese registro se descarta al arrancar
+ *
+ * El libro de cada préstamo se guarda por ID y sus datos se leen del
+ * puerto de libros al consultar.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+@Repository
+@Profile("journal")
+public class PrestamoRepositoryJournalAdapter implements PrestamoRepositoryPort {
+
+    private final Path directorio;
+    private final int registrosPorSegmento;
+    private final boolean sincronizar;
+    private final LibroRepositoryPort libroRepository;
+
+    /**
+     * Segmentos abiertos, en orden; el último es el que recibe escrituras.
+     */
+    private final List<SegmentoJournal> segmentos = new CopyOnWriteArrayList<>();
+
+    /**
+     * Ubicación de cada préstamo: número de segmento en los 32 bits altos e
+     * índice del registro en los bajos.
+     */
+    private final ConcurrentMap<Integer, Long> ubicacionPorId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Integer> primerPrestamoPorUsuario = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> prestamosPorUsuario = new ConcurrentHashMap<>();
+
+    /**
+     * Invitados con préstamo; se consulta y actualiza con el candado de
+     * escritura tomado, así cumple el papel del índice único uk_prestamo_invitado.
+     */
+    private final Set<String> invitadosConPrestamo = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Protege el segmento actual, el siguiente ID y el contador de escritos.
+     */
+    private final Object escritura = new Object();
+    private int ultimoId;
+    private long escritos;
+
+    /**
+     * Protege el estado de la sincronización en grupo.
+     */
+    private final Object sincronizacion = new Object();
+    private long sincronizados;
+    private boolean sincronizando;
+
+    /**
+     * Constructor que abre el journal y reconstruye los índices.
+     *
+     * @param directorio Directorio de los segmentos; se crea si no existe
+     * @param tamanoSegmento Tamaño de cada segmento en bytes
+     * @param sincronizar Si es false, save no espera el fsync (más rápido, pero
+     *                    una caída del sistema operativo puede perder préstamos)
+     * @param libroRepository Puerto para resolver los libros de los préstamos
+     */
+    public PrestamoRepositoryJournalAdapter(@Value("${biblioteca.journal.directorio:journal}") String directorio,
+                                            @Value("${biblioteca.journal.tamano-segmento:16777216}") long tamanoSegmento,
+                                            @Value("${biblioteca.journal.sincronizar:true}") boolean sincronizar,
+                                            LibroRepositoryPort libroRepository) {
+        if (tamanoSegmento < RegistroPrestamo.TAMANO || tamanoSegmento / RegistroPrestamo.TAMANO > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tamaño de segmento inválido: " + tamanoSegmento);
+        }
+        this.directorio = Paths.get(directorio);
+        this.registrosPorSegmento = (int) (tamanoSegmento / RegistroPrestamo.TAMANO);
+        this.sincronizar = sincronizar;
+        this.libroRepository = libroRepository;
+        abrir();
+    }
+
+    /**
+     * Agrega el préstamo al journal y, si la sincronización está activa,
+     * espera a que esté en disco.
+     *
+     * @param prestamo Préstamo a persistir, con el libro ya resuelto
+     * @return Préstamo persistido con ID asignado
+     *
+     * @throws DataIntegrityViolationException si el libro no existe en el catálogo
+     *                                         o la identificación no cabe en el registro
+     * @throws UsuarioConPrestamoExistenteException si el usuario es invitado y ya tiene un préstamo
+     */
+    @Override
+    public Prestamo save(Prestamo prestamo) {
+        Integer idLibro = idLibro(prestamo.getLibro());
+        long secuencia;
+        int id;
+        synchronized (escritura) {
+            if (prestamo.getTipoUsuario().esInvitado()
+                    && invitadosConPrestamo.contains(prestamo.getIdentificacionUsuario())) {
+                throw new UsuarioConPrestamoExistenteException(prestamo.getIdentificacionUsuario());
+            }
+            id = ultimoId + 1;
+            byte[] registro = RegistroPrestamo.codificar(id, idLibro, prestamo);
+            SegmentoJournal actual = segmentoConEspacio();
+            int indice = actual.agregar(registro);
+            ultimoId = id;
+            secuencia = ++escritos;
+            indexar(id, prestamo, actual.getNumero(), indice);
+        }
+        if (sincronizar) {
+            esperarSincronizacion(secuencia);
+        }
+        return Prestamo.builder()
+            .id(id)
+            .fechaPrestamo(prestamo.getFechaPrestamo())
+            .fechaMaximaDevolucion(prestamo.getFechaMaximaDevolucion())
+            .identificacionUsuario(prestamo.getIdentificacionUsuario())
+            .tipoUsuario(prestamo.getTipoUsuario())
+            .libro(prestamo.getLibro())
+            .build();
+    }
+
+    /**
+     * Agrega los préstamos en orden. Cada uno queda en disco al retornar.
+     *
+     * Antes del primero verifica que ningún invitado del conjunto tenga ya
+     * un préstamo ni aparezca dos veces, para que la regla de invitados
+     * rechace el conjunto completo como el adaptador JPA; la verificación es
+     * exacta mientras el llamador tenga el bloqueo de esos invitados, como el
+     * caso de uso de préstamo. Ante otros fallos el conjunto no es atómico.
+     *
+     * @param prestamos Préstamos a persistir
+     * @return Préstamos persistidos, en el orden recibido
+     *
+     * @throws UsuarioConPrestamoExistenteException si algún préstamo es de un invitado que ya tiene un préstamo
+     */
+    @Override
+    public List<Prestamo> saveAll(List<Prestamo> prestamos) {
+        Set<String> invitados = new HashSet<>();
+        for (Prestamo prestamo : prestamos) {
+            String identificacion = prestamo.getIdentificacionUsuario();
+            if (prestamo.getTipoUsuario().esInvitado()
+                    && (invitadosConPrestamo.contains(identificacion) || !invitados.add(identificacion))) {
+                throw new UsuarioConPrestamoExistenteException(identificacion);
+            }
+        }
+        List<Prestamo> guardados = new ArrayList<>(prestamos.size());
+        for (Prestamo prestamo : prestamos) {
+            guardados.add(save(prestamo));
+        }
+        return guardados;
+    }
+
+    @Override
+    public Optional<Prestamo> findById(Integer id) {
+        return leer(id).map(prestamo -> {
+            libroRepository.findById(prestamo.getLibro().getId()).ifPresent(prestamo::setLibro);
+            return prestamo;
+        });
+    }
+
+    @Override
+    public Optional<ConsultaPrestamo> findConsultaById(Integer id) {
+        return findById(id).map(prestamo -> ConsultaPrestamo.de(prestamo, prestamo.getLibro()));
+    }
+
+    /**
+     * Retorna el primer préstamo registrado por el usuario.
+     */
+    @Override
+    public Optional<Prestamo> findByIdentificacionUsuario(String identificacionUsuario) {
+        if (identificacionUsuario == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(primerPrestamoPorUsuario.get(identificacionUsuario)).flatMap(this::findById);
+    }
+
+    @Override
+    public long countByIdentificacionUsuario(String identificacionUsuario) {
+        LongAdder contador = identificacionUsuario != null ? prestamosPorUsuario.get(identificacionUsuario) : null;
+        return contador != null ? contador.sum() : 0;
+    }
+
+    @Override
+    public boolean existsPrestamoInvitado(String identificacionUsuario) {
+        return identificacionUsuario != null && invitadosConPrestamo.contains(identificacionUsuario);
+    }
+
+    @Override
+    public Set<String> findInvitadosConPrestamo(Collection<String> identificacionesUsuario) {
+        Set<String> conPrestamo = new HashSet<>();
+        for (String identificacion : identificacionesUsuario) {
+            if (existsPrestamoInvitado(identificacion)) {
+                conPrestamo.add(identificacion);
+            }
+        }
+        return conPrestamo;
+    }
+
+    /**
+     * Fuerza el segmento actual a disco y libera los archivos.
+     */
+    @PreDestroy
+    public void cerrar() {
+        synchronized (escritura) {
+            for (SegmentoJournal segmento : segmentos) {
+                segmento.cerrar();
+            }
+        }
+    }
+
+    /**
+     * Abre los segmentos existentes en orden y reconstruye los índices.
+     * Solo el último segmento puede terminar en un registro inválido; en
+     * cualquier otro significa que el journal está dañado.
+     */
+    private void abrir() {
+        List<Integer> numeros;
+        try {
+            Files.createDirectories(directorio);
+            try (Stream<Path> archivos = Files.list(directorio)) {
+                numeros = archivos.map(archivo -> archivo.getFileName().toString())
+                    .filter(SegmentoJournal::esSegmento)
+                    .map(SegmentoJournal::numeroDe)
+                    .sorted()
+                    .collect(Collectors.toList());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No fue posible abrir el journal en " + directorio, e);
+        }
+        if (numeros.isEmpty()) {
+            numeros.add(1);
+        }
+        for (int i = 1; i < numeros.size(); i++) {
+            if (numeros.get(i) != numeros.get(i - 1) + 1) {
+                throw new IllegalStateException("Falta el segmento " + SegmentoJournal.nombre(numeros.get(i - 1) + 1));
+            }
+        }
+
+        for (int i = 0; i < numeros.size(); i++) {
+            SegmentoJournal segmento = SegmentoJournal.abrir(directorio, numeros.get(i), registrosPorSegmento);
+            segmentos.add(segmento);
+            boolean colaInvalida = segmento.recorrer((prestamo, indice) -> {
+                indexar(prestamo.getId(), prestamo, segmento.getNumero(), indice);
+                ultimoId = Math.max(ultimoId, prestamo.getId());
+            });
+            boolean ultimo = i == numeros.size() - 1;
+            if (colaInvalida && !ultimo) {
+                throw new IllegalStateException("Segmento dañado en el journal: "
+                    + SegmentoJournal.nombre(segmento.getNumero()));
+            }
+            if (colaInvalida) {
+                segmento.truncarCola();
+            }
+        }
+    }
+
+    /**
+     * Retorna el segmento actual o, si está lleno, lo fuerza a disco y abre
+     * el siguiente. Se llama con el candado de escritura tomado.
+     */
+    private SegmentoJournal segmentoConEspacio() {
+        SegmentoJournal actual = segmentos.get(segmentos.size() - 1);
+        if (!actual.lleno()) {
+            return actual;
+        }
+        actual.forzar();
+        SegmentoJournal siguiente = SegmentoJournal.abrir(directorio, actual.getNumero() + 1, registrosPorSegmento);
+        segmentos.add(siguiente);
+        return siguiente;
+    }
+
+    /**
+     * Sincronización en grupo: el primer hilo que encuentra su registro sin
+     * sincronizar hace force() por todos los escritos hasta ese momento; los
+     * demás esperan ese force() o el siguiente. El force() corre fuera de los
+     * monitores, así otros hilos siguen agregando registros mientras tanto.
+     */
+    private void esperarSincronizacion(long secuencia) {
+        while (true) {
+            synchronized (sincronizacion) {
+                while (sincronizando && sincronizados < secuencia) {
+                    esperar();
+                }
+                if (sincronizados >= secuencia) {
+                    return;
+                }
+                sincronizando = true;
+            }
+
+            long objetivo;
+            SegmentoJournal actual;
+            synchronized (escritura) {
+                objetivo = escritos;
+                actual = segmentos.get(segmentos.size() - 1);
+            }
+            boolean forzado = false;
+            try {
+                actual.forzar();
+                forzado = true;
+            } finally {
+                synchronized (sincronizacion) {
+                    sincronizando = false;
+                    if (forzado) {
+                        sincronizados = Math.max(sincronizados, objetivo);
+                    }
+                    sincronizacion.notifyAll();
+                }
+            }
+        }
+    }
+
+    private void esperar() {
+        try {
+            sincronizacion.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando la sincronización del journal", e);
+        }
+    }
+
+    private void indexar(int id, Prestamo prestamo, int numeroSegmento, int indice) {
+        String identificacionUsuario = prestamo.getIdentificacionUsuario();
+        ubicacionPorId.put(id, ((long) numeroSegmento << 32) | indice);
+        primerPrestamoPorUsuario.putIfAbsent(identificacionUsuario, id);
+        prestamosPorUsuario.computeIfAbsent(identificacionUsuario, clave -> new LongAdder()).increment();
+        if (prestamo.getTipoUsuario().esInvitado()) {
+            invitadosConPrestamo.add(identificacionUsuario);
+        }
+    }
+
+    private Optional<Prestamo> leer(Integer id) {
+        Long ubicacion = id != null ? ubicacionPorId.get(id) : null;
+        if (ubicacion == null) {
+            return Optional.empty();
+        }
+        SegmentoJournal segmento = segmentos.get((int) (ubicacion >>> 32) - segmentos.get(0).getNumero());
+        byte[] registro = new byte[RegistroPrestamo.TAMANO];
+        segmento.leer((int) (long) ubicacion, registro);
+        return Optional.ofNullable(RegistroPrestamo.decodificar(registro));
+    }
+
+    /**
+     * Obtiene el ID del libro del préstamo, resolviéndolo por ISBN si no lo trae.
+     */
+    private Integer idLibro(Libro libro) {
+        if (libro != null && libro.getId() != null) {
+            return libro.getId();
+        }
+        if (libro != null && libro.getIsbn() != null) {
+            Optional<Libro> registrado = libroRepository.findByIsbn(libro.getIsbn());
+            if (registrado.isPresent()) {
+                return registrado.get().getId();
+            }
+        }
+        throw new DataIntegrityViolationException("El libro del préstamo no existe en el catálogo");
+    }
+}
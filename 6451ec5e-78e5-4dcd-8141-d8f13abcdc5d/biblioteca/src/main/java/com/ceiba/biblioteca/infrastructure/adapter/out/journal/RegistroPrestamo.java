@@ -0,0 +1,102 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.journal;
+
+import com.ceiba.biblioteca.domain.model.Libro;
+import com.ceiba.biblioteca.domain.model.Prestamo;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.CRC32;
+
+/**
+ * Formato binario de tamaño fijo de un préstamo en el journal.
+ *
+ * Cada registro ocupa {@link #TAMANO} bytes, en big-endian:
+ * <pre>
+ *  0  int   id del préstamo (nunca 0)
+ *  4  int   id del libro
+ *  8  int   fecha de préstamo, en días desde 1970-01-01
+ * 12  int   fecha máxima de devolución, en días desde 1970-01-01
+ * 16  byte  tipo de usuario
+ * 17  byte  longitud en bytes de la identificación del usuario
+ * 18  byte[42] identificación del usuario en UTF-8, rellena con ceros
+ * 60  int   CRC32 de los bytes 0..59
+ * </pre>
+ *
+ * El CRC permite distinguir un registro completo de uno escrito a medias
+ * por una caída del proceso: un registro con CRC inválido marca el final
+ * de los datos del segmento.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+final class RegistroPrestamo {
+
+    static final int TAMANO = 64;
+
+    private static final int MAXIMO_IDENTIFICACION = 42;
+    private static final int POSICION_IDENTIFICACION = 18;
+    private static final int POSICION_CRC = 60;
+
+    private RegistroPrestamo() {
+    }
+
+    /**
+     * Serializa el préstamo a un registro completo con su CRC.
+     *
+     * @throws DataIntegrityViolationException si la identificación no cabe en el
+     *                                         registro, como una columna demasiado corta
+     */
+    static byte[] codificar(int id, int idLibro, Prestamo prestamo) {
+        byte[] identificacion = prestamo.getIdentificacionUsuario().getBytes(StandardCharsets.UTF_8);
+        if (identificacion.length > MAXIMO_IDENTIFICACION) {
+            throw new DataIntegrityViolationException("Identificación de usuario demasiado larga para el journal");
+        }
+        byte[] registro = new byte[TAMANO];
+        ByteBuffer buffer = ByteBuffer.wrap(registro);
+        buffer.putInt(id);
+        buffer.putInt(idLibro);
+        buffer.putInt((int) prestamo.getFechaPrestamo().toEpochDay());
+        buffer.putInt((int) prestamo.getFechaMaximaDevolucion().toEpochDay());
+        buffer.put((byte) prestamo.getTipoUsuario().getValor());
+        buffer.put((byte) identificacion.length);
+        buffer.put(identificacion);
+        buffer.putInt(POSICION_CRC, crc(registro));
+        return registro;
+    }
+
+    /**
+     * Deserializa un registro leído del segmento.
+     *
+     * @return el préstamo, con un libro que solo trae su ID, o null si el
+     *         registro está vacío o su CRC no coincide
+     */
+    static Prestamo decodificar(byte[] registro) {
+        ByteBuffer buffer = ByteBuffer.wrap(registro);
+        int id = buffer.getInt(0);
+        if (id == 0 || buffer.getInt(POSICION_CRC) != crc(registro)) {
+            return null;
+        }
+        int longitud = registro[17];
+        if (longitud < 0 || longitud > MAXIMO_IDENTIFICACION) {
+            return null;
+        }
+        return Prestamo.builder()
+            .id(id)
+            .libro(Libro.builder().id(buffer.getInt(4)).build())
+            .fechaPrestamo(LocalDate.ofEpochDay(buffer.getInt(8)))
+            .fechaMaximaDevolucion(LocalDate.ofEpochDay(buffer.getInt(12)))
+            .tipoUsuario(TipoUsuario.fromValor(Integer.valueOf(registro[16])))
+            .identificacionUsuario(new String(registro, POSICION_IDENTIFICACION, longitud, StandardCharsets.UTF_8))
+            .build();
+    }
+
+    private static int crc(byte[] registro) {
+        CRC32 crc = new CRC32();
+        crc.update(registro, 0, POSICION_CRC);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,167 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.journal;
+
+import com.ceiba.biblioteca.domain.model.Prestamo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Archivo de segmento del journal, mapeado completo en memoria.
+ *
+ * Un segmento tiene capacidad para un número fijo de registros de
+ * {@link RegistroPrestamo#TAMANO} bytes. Al mapearlo el archivo se extiende
+ * al tamaño del segmento; la zona no escrita queda en ceros.
+ *
+ * Las escrituras las serializa el adaptador; las lecturas pueden ocurrir
+ * en paralelo porque solo usan copias del buffer con su propia posición.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+final class SegmentoJournal {
+
+    private static final String PREFIJO = "prestamos-";
+    private static final String EXTENSION = ".journal";
+
+    private final int numero;
+    private final int capacidad;
+    private final FileChannel canal;
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Cantidad de registros válidos; la siguiente escritura va en esta posición.
+     */
+    private int registros;
+
+    private SegmentoJournal(int numero, int capacidad, FileChannel canal, MappedByteBuffer buffer) {
+        this.numero = numero;
+        this.capacidad = capacidad;
+        this.canal = canal;
+        this.buffer = buffer;
+    }
+
+    static SegmentoJournal abrir(Path directorio, int numero, int capacidad) {
+        try {
+            FileChannel canal = FileChannel.open(directorio.resolve(nombre(numero)),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0,
+                (long) capacidad * RegistroPrestamo.TAMANO);
+            return new SegmentoJournal(numero, capacidad, canal, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No fue posible abrir el segmento " + nombre(numero), e);
+        }
+    }
+
+    static String nombre(int numero) {
+        return String.format("%s%06d%s", PREFIJO, numero, EXTENSION);
+    }
+
+    static boolean esSegmento(String archivo) {
+        return archivo.startsWith(PREFIJO) && archivo.endsWith(EXTENSION);
+    }
+
+    static int numeroDe(String archivo) {
+        return Integer.parseInt(archivo.substring(PREFIJO.length(), archivo.length() - EXTENSION.length()));
+    }
+
+    /**
+     * Recorre los registros válidos desde el inicio y deja la posición de
+     * escritura después del último.
+     *
+     * @return true si el segmento termina en un registro inválido antes de
+     *         llenarse, es decir, si tiene una cola por recuperar
+     */
+    boolean recorrer(ObjIntConsumer<Prestamo> visitante) {
+        byte[] registro = new byte[RegistroPrestamo.TAMANO];
+        registros = 0;
+        while (registros < capacidad) {
+            leer(registros, registro);
+            Prestamo prestamo = RegistroPrestamo.decodificar(registro);
+            if (prestamo == null) {
+                return !vacio(registro) || !restoVacio(registros + 1);
+            }
+            visitante.accept(prestamo, registros);
+            registros++;
+        }
+        return false;
+    }
+
+    /**
+     * Descarta todo lo que hay después del último registro válido: escribe
+     * ceros hasta el final y fuerza el segmento a disco, para que un
+     * registro a medias o datos viejos no reaparezcan en el siguiente arranque.
+     */
+    void truncarCola() {
+        ByteBuffer copia = buffer.duplicate();
+        copia.position(registros * RegistroPrestamo.TAMANO);
+        byte[] ceros = new byte[RegistroPrestamo.TAMANO];
+        while (copia.remaining() >= ceros.length) {
+            copia.put(ceros);
+        }
+        forzar();
+    }
+
+    boolean lleno() {
+        return registros >= capacidad;
+    }
+
+    /**
+     * @return índice del registro escrito dentro del segmento
+     */
+    int agregar(byte[] registro) {
+        ByteBuffer copia = buffer.duplicate();
+        copia.position(registros * RegistroPrestamo.TAMANO);
+        copia.put(registro);
+        return registros++;
+    }
+
+    void leer(int indice, byte[] destino) {
+        ByteBuffer copia = buffer.duplicate();
+        copia.position(indice * RegistroPrestamo.TAMANO);
+        copia.get(destino);
+    }
+
+    void forzar() {
+        buffer.force();
+    }
+
+    void cerrar() {
+        try {
+            forzar();
+            canal.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No fue posible cerrar el segmento " + nombre(numero), e);
+        }
+    }
+
+    int getNumero() {
+        return numero;
+    }
+
+    private boolean restoVacio(int desde) {
+        byte[] registro = new byte[RegistroPrestamo.TAMANO];
+        for (int i = desde; i < capacidad; i++) {
+            leer(i, registro);
+            if (!vacio(registro)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean vacio(byte[] registro) {
+        for (byte b : registro) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,305 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.memoria;
+
+import com.ceiba.biblioteca.domain.model.Libro;
+import com.ceiba.biblioteca.domain.model.Prestamo;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Almacén en memoria compartido por los adaptadores del perfil "memoria".
+ *
+ * Reemplaza a la base de datos en despliegues de borde y pruebas de carga.
+ * Todas las estructuras son concurrentes y sin bloqueos globales:
+ * - Libros indexados por ID y por ISBN normalizado
+ * - Préstamos indexados por ID y por identificación de usuario
+ * - Contadores de préstamos por usuario y por libro, actualizados en cada
+ *   inserción para que contar préstamos sea O(1)
+ * - Generadores atómicos de IDs, que continúan después de los datos semilla
+ *
+ * Las estructuras son privadas: los adaptadores solo usan las operaciones
+ * de esta clase, que guardan y entregan copias, así ningún llamador puede
+ * modificar un libro o un préstamo almacenado.
+ *
+ * Al crearse carga el catálogo y los préstamos semilla desde archivos
+ * delimitados por '|' (por defecto los de classpath:memoria/), con los
+ * mismos datos que schema.sql carga en la base de datos.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@Profile("memoria")
+public class AlmacenMemoria {
+
+    private static final String SEPARADOR = "\\|";
+    private static final String COMENTARIO = "#";
+
+    private final ConcurrentMap<Integer, Libro> librosPorId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Libro> librosPorIsbn = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Prestamo> prestamosPorId = new ConcurrentHashMap<>();
+
+    /**
+     * Primer préstamo registrado por cada usuario; su presencia responde
+     * las verificaciones de existencia de la regla de invitados.
+     */
+    private final ConcurrentMap<String, Prestamo> primerPrestamoPorUsuario = new ConcurrentHashMap<>();
+
+    /**
+     * Préstamo de cada usuario invitado; su reserva con putIfAbsent cumple
+     * el papel del índice único uk_prestamo_invitado.
+     */
+    private final ConcurrentMap<String, Prestamo> prestamoPorInvitado = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, LongAdder> prestamosPorUsuario = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, LongAdder> prestamosPorLibro = new ConcurrentHashMap<>();
+
+    private final AtomicInteger secuenciaLibros = new AtomicInteger();
+    private final AtomicInteger secuenciaPrestamos = new AtomicInteger();
+
+    /**
+     * Constructor que crea el almacén y carga los datos semilla.
+     *
+     * @param libros Archivo con el catálogo inicial
+     * @param prestamos Archivo con los préstamos iniciales
+     */
+    public AlmacenMemoria(@Value("${biblioteca.memoria.libros:classpath:memoria/libros.csv}") Resource libros,
+                          @Value("${biblioteca.memoria.prestamos:classpath:memoria/prestamos.csv}") Resource prestamos) {
+        leer(libros, this::cargarLibro);
+        leer(prestamos, this::cargarPrestamo);
+    }
+
+    int siguienteIdLibro() {
+        return secuenciaLibros.incrementAndGet();
+    }
+
+    int siguienteIdPrestamo() {
+        return secuenciaPrestamos.incrementAndGet();
+    }
+
+    /**
+     * Guarda una copia del libro, que ya trae su ID y su ISBN normalizado.
+     *
+     * Un libro nuevo reserva su ISBN con putIfAbsent antes de quedar visible
+     * por ID, así dos altas concurrentes del mismo ISBN no pueden ganar ambas.
+     * Las actualizaciones se serializan por ID.
+     *
+     * @param libro Libro a guardar
+     * @param nuevo true si el ID se acaba de asignar
+     * @return Copia del libro guardado
+     *
+     * @throws DataIntegrityViolationException si otro libro ya tiene el mismo ISBN
+     */
+    Libro guardarLibro(Libro libro, boolean nuevo) {
+        Libro copia = copiar(libro);
+        if (nuevo) {
+            reservarIsbn(copia);
+            librosPorId.put(copia.getId(), copia);
+        } else {
+            librosPorId.compute(copia.getId(), (id, anterior) -> {
+                if (anterior == null || !anterior.getIsbn().equals(copia.getIsbn())) {
+                    reservarIsbn(copia);
+                    if (anterior != null) {
+                        librosPorIsbn.remove(anterior.getIsbn(), anterior);
+                    }
+                } else {
+                    librosPorIsbn.put(copia.getIsbn(), copia);
+                }
+                return copia;
+            });
+        }
+        return copiar(copia);
+    }
+
+    boolean existeLibro(Integer id) {
+        return librosPorId.containsKey(id);
+    }
+
+    /**
+     * @return Copia del libro con el ID, o empty() si no existe
+     */
+    Optional<Libro> buscarLibroPorId(Integer id) {
+        return Optional.ofNullable(librosPorId.get(id)).map(AlmacenMemoria::copiar);
+    }
+
+    /**
+     * @param isbn ISBN ya normalizado
+     * @return Copia del libro con el ISBN, o empty() si no existe
+     */
+    Optional<Libro> buscarLibroPorIsbn(String isbn) {
+        return Optional.ofNullable(librosPorIsbn.get(isbn)).map(AlmacenMemoria::copiar);
+    }
+
+    /**
+     * Ordena el catálogo por el contador de préstamos de cada libro.
+     * Recorre todo el catálogo; está pensado para la precarga al arrancar.
+     *
+     * @return Copias de los libros con préstamos, del más al menos prestado
+     */
+    List<Libro> librosMasPrestados(int limite) {
+        return librosPorId.values().stream()
+            .filter(libro -> contarPrestamosDeLibro(libro.getId()) > 0)
+            .sorted(Comparator.comparingLong((Libro libro) -> contarPrestamosDeLibro(libro.getId())).reversed())
+            .limit(Math.max(limite, 0))
+            .map(AlmacenMemoria::copiar)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Publica un préstamo: primero en los índices y luego en los contadores,
+     * de modo que un contador positivo siempre tiene detrás un préstamo
+     * consultable. Un invitado reserva antes su lugar; si ya lo tenía otro
+     * préstamo, no se publica nada.
+     *
+     * El préstamo se almacena tal cual, así que el llamador lo crea para
+     * este fin y no lo entrega. Basta que su libro lleve el ID: las lecturas
+     * lo completan con una copia del libro actual del catálogo.
+     *
+     * @return false si el préstamo es de un invitado que ya tiene un préstamo
+     */
+    boolean registrarPrestamo(Prestamo prestamo) {
+        if (prestamo.getTipoUsuario().esInvitado()
+                && prestamoPorInvitado.putIfAbsent(prestamo.getIdentificacionUsuario(), prestamo) != null) {
+            return false;
+        }
+        prestamosPorId.put(prestamo.getId(), prestamo);
+        primerPrestamoPorUsuario.putIfAbsent(prestamo.getIdentificacionUsuario(), prestamo);
+        prestamosPorUsuario.computeIfAbsent(prestamo.getIdentificacionUsuario(), clave -> new LongAdder()).increment();
+        prestamosPorLibro.computeIfAbsent(prestamo.getLibro().getId(), clave -> new LongAdder()).increment();
+        return true;
+    }
+
+    /**
+     * @return Copia del préstamo con el ID y el libro actual, o empty() si no existe
+     */
+    Optional<Prestamo> buscarPrestamoPorId(Integer id) {
+        return Optional.ofNullable(prestamosPorId.get(id)).map(this::copiar);
+    }
+
+    /**
+     * @return Copia del primer préstamo registrado por el usuario, o empty() si no tiene
+     */
+    Optional<Prestamo> buscarPrimerPrestamoDeUsuario(String identificacionUsuario) {
+        return Optional.ofNullable(primerPrestamoPorUsuario.get(identificacionUsuario)).map(this::copiar);
+    }
+
+    boolean invitadoTienePrestamo(String identificacionUsuario) {
+        return prestamoPorInvitado.containsKey(identificacionUsuario);
+    }
+
+    long contarPrestamosDeUsuario(String identificacionUsuario) {
+        LongAdder contador = prestamosPorUsuario.get(identificacionUsuario);
+        return contador != null ? contador.sum() : 0;
+    }
+
+    private long contarPrestamosDeLibro(Integer idLibro) {
+        LongAdder contador = prestamosPorLibro.get(idLibro);
+        return contador != null ? contador.sum() : 0;
+    }
+
+    private void reservarIsbn(Libro libro) {
+        Libro existente = librosPorIsbn.putIfAbsent(libro.getIsbn(), libro);
+        if (existente != null) {
+            throw new DataIntegrityViolationException("Ya existe un libro con ISBN " + libro.getIsbn());
+        }
+    }
+
+    private Prestamo copiar(Prestamo prestamo) {
+        Integer idLibro = prestamo.getLibro().getId();
+        return Prestamo.builder()
+            .id(prestamo.getId())
+            .fechaPrestamo(prestamo.getFechaPrestamo())
+            .fechaMaximaDevolucion(prestamo.getFechaMaximaDevolucion())
+            .identificacionUsuario(prestamo.getIdentificacionUsuario())
+            .tipoUsuario(prestamo.getTipoUsuario())
+            .libro(buscarLibroPorId(idLibro).orElseGet(() -> Libro.builder().id(idLibro).build()))
+            .build();
+    }
+
+    /**
+     * Copia de un libro con todos sus campos.
+     */
+    static Libro copiar(Libro libro) {
+        return Libro.builder()
+            .id(libro.getId())
+            .isbn(libro.getIsbn())
+            .titulo(libro.getTitulo())
+            .autor(libro.getAutor())
+            .descripcion(libro.getDescripcion())
+            .fechaPublicacion(libro.getFechaPublicacion())
+            .editorial(libro.getEditorial())
+            .build();
+    }
+
+    private void cargarLibro(String[] campos) {
+        Libro libro = Libro.builder()
+            .id(Integer.valueOf(campos[0]))
+            .isbn(Libro.normalizarIsbn(campos[1]))
+            .titulo(campos[2])
+            .descripcion(vacioComoNulo(campos[3]))
+            .fechaPublicacion(campos[4].isEmpty() ? null : LocalDate.parse(campos[4]))
+            .autor(campos[5])
+            .editorial(vacioComoNulo(campos[6]))
+            .build();
+        librosPorId.put(libro.getId(), libro);
+        librosPorIsbn.put(libro.getIsbn(), libro);
+        secuenciaLibros.accumulateAndGet(libro.getId(), Math::max);
+    }
+
+    private void cargarPrestamo(String[] campos) {
+        Libro libro = librosPorId.get(Integer.valueOf(campos[5]));
+        if (libro == null) {
+            throw new IllegalStateException("Préstamo semilla " + campos[0] + " referencia un libro inexistente");
+        }
+        registrarPrestamo(Prestamo.builder()
+            .id(Integer.valueOf(campos[0]))
+            .fechaPrestamo(LocalDate.parse(campos[1]))
+            .fechaMaximaDevolucion(LocalDate.parse(campos[2]))
+            .identificacionUsuario(campos[3])
+            .tipoUsuario(TipoUsuario.fromValor(Integer.valueOf(campos[4])))
+            .libro(Libro.builder().id(libro.getId()).build())
+            .build());
+        secuenciaPrestamos.accumulateAndGet(Integer.parseInt(campos[0]), Math::max);
+    }
+
+    private static void leer(Resource recurso, Consumer<String[]> cargar) {
+        if (!recurso.exists()) {
+            return;
+        }
+        try (BufferedReader lector = new BufferedReader(
+                new InputStreamReader(recurso.getInputStream(), StandardCharsets.UTF_8))) {
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                if (!linea.trim().isEmpty() && !linea.startsWith(COMENTARIO)) {
+                    cargar.accept(linea.split(SEPARADOR, -1));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No fue posible leer " + recurso.getDescription(), e);
+        }
+    }
+
+    private static String vacioComoNulo(String valor) {
+        return valor.isEmpty() ? null : valor;
+    }
+}
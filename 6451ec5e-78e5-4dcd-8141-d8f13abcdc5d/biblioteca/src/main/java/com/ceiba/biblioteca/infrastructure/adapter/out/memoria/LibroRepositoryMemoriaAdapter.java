@@ -0,0 +1,118 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.memoria;
+
+import com.ceiba.biblioteca.domain.model.Libro;
+import com.ceiba.biblioteca.domain.port.out.LibroRepositoryPort;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Adaptador en memoria para el catálogo de libros.
+ *
+ * Implementa el puerto de salida LibroRepositoryPort sobre el
+ * {@link AlmacenMemoria}, sin base de datos. Se activa con el perfil
+ * "memoria" en lugar del adaptador JPA.
+ *
+ * Conserva las garantías del adaptador JPA que el dominio espera:
+ * - El ISBN se normaliza al guardar y al buscar
+ * - El ISBN es único: guardar un segundo libro con el mismo ISBN falla
+ *   con DataIntegrityViolationException, como la restricción uk_libro_isbn
+ * - Se guardan y retornan copias, de modo que modificar un libro obtenido
+ *   no altera el catálogo sin pasar por save
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+@Repository
+@Profile("memoria")
+public class LibroRepositoryMemoriaAdapter implements LibroRepositoryPort {
+
+    /**
+     * Almacén compartido con el adaptador de préstamos.
+     */
+    private final AlmacenMemoria almacen;
+
+    /**
+     * Constructor que inicializa el adaptador con el almacén en memoria.
+     *
+     * @param almacen Estructuras concurrentes con el catálogo y los préstamos
+     */
+    public LibroRepositoryMemoriaAdapter(AlmacenMemoria almacen) {
+        this.almacen = almacen;
+    }
+
+    /**
+     * Registra un libro nuevo o reemplaza uno existente, con el ISBN
+     * normalizado y sin modificar el libro recibido.
+     *
+     * @param libro Modelo de dominio del libro a persistir
+     * @return Copia del libro persistido con ID asignado
+     */
+    @Override
+    public Libro save(Libro libro) {
+        Libro copia = AlmacenMemoria.copiar(libro);
+        copia.setIsbn(Libro.normalizarIsbn(libro.getIsbn()));
+        boolean nuevo = copia.getId() == null;
+        if (nuevo) {
+            copia.setId(almacen.siguienteIdLibro());
+        }
+        return almacen.guardarLibro(copia, nuevo);
+    }
+
+    /**
+     * Registra los libros uno a uno. A diferencia del adaptador JPA no es
+     * atómico: si un libro falla, los anteriores ya quedaron registrados.
+     *
+     * @param libros Libros a persistir
+     * @return Copias de los libros persistidos, en el orden recibido
+     */
+    @Override
+    public List<Libro> saveAll(List<Libro> libros) {
+        List<Libro> guardados = new ArrayList<>(libros.size());
+        for (Libro libro : libros) {
+            guardados.add(save(libro));
+        }
+        return guardados;
+    }
+
+    @Override
+    public Optional<Libro> findByIsbn(String isbn) {
+        if (isbn == null) {
+            return Optional.empty();
+        }
+        return almacen.buscarLibroPorIsbn(Libro.normalizarIsbn(isbn));
+    }
+
+    @Override
+    public Optional<Libro> findById(Integer id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return almacen.buscarLibroPorId(id);
+    }
+
+    @Override
+    public Map<String, Libro> findAllByIsbn(Collection<String> isbns) {
+        Map<String, Libro> libros = new HashMap<>();
+        for (String isbn : isbns) {
+            findByIsbn(isbn).ifPresent(libro -> libros.put(isbn, libro));
+        }
+        return libros;
+    }
+
+    /**
+     * Ordena el catálogo por el contador de préstamos de cada libro.
+     * Recorre todo el catálogo; está pensado para la precarga al arrancar.
+     */
+    @Override
+    public List<Libro> findMasPrestados(int limite) {
+        return almacen.librosMasPrestados(limite);
+    }
+}
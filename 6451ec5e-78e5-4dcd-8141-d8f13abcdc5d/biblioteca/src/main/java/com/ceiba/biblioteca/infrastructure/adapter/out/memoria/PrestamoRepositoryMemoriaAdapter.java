@@ -0,0 +1,194 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.memoria;
+
+import com.ceiba.biblioteca.domain.exception.UsuarioConPrestamoExistenteException;
+import com.ceiba.biblioteca.domain.model.ConsultaPrestamo;
+import com.ceiba.biblioteca.domain.model.Libro;
+import com.ceiba.biblioteca.domain.model.Prestamo;
+import com.ceiba.biblioteca.domain.port.out.PrestamoRepositoryPort;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Adaptador en memoria para los préstamos.
+ *
+ * Implementa el puerto de salida PrestamoRepositoryPort sobre el
+ * {@link AlmacenMemoria}, sin base de datos. Se activa con el perfil
+ * "memoria" en lugar del adaptador JPA.
+ *
+ * Cada operación es O(1) y sin bloqueos:
+ * - Los IDs salen de un contador atómico
+ * - Las consultas por ID y por usuario son lecturas de mapas concurrentes
+ * - countByIdentificacionUsuario lee un contador que se incrementa en cada
+ *   préstamo, en lugar de recorrer los préstamos del usuario
+ *
+ * Como en el adaptador JPA, el libro del préstamo se asocia por su ID y
+ * debe existir en el catálogo, y un invitado no puede registrar un segundo
+ * préstamo.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+@Repository
+@Profile("memoria")
+public class PrestamoRepositoryMemoriaAdapter implements PrestamoRepositoryPort {
+
+    /**
+     * Almacén compartido con el adaptador de libros.
+     */
+    private final AlmacenMemoria almacen;
+
+    /**
+     * Constructor que inicializa el adaptador con el almacén en memoria.
+     *
+     * @param almacen Estructuras concurrentes con el catálogo y los préstamos
+     */
+    public PrestamoRepositoryMemoriaAdapter(AlmacenMemoria almacen) {
+        this.almacen = almacen;
+    }
+
+    /**
+     * Registra un préstamo nuevo con el siguiente ID del contador atómico.
+     *
+     * @param prestamo Préstamo a persistir, con el libro ya resuelto
+     * @return Préstamo persistido con ID asignado
+     *
+     * @throws DataIntegrityViolationException si el libro no existe en el catálogo,
+     *                                         como la llave foránea fk_prestamo_libro
+     * @throws UsuarioConPrestamoExistenteException si el usuario es invitado y ya tiene un préstamo
+     */
+    @Override
+    public Prestamo save(Prestamo prestamo) {
+        Prestamo guardado = Prestamo.builder()
+            .id(almacen.siguienteIdPrestamo())
+            .fechaPrestamo(prestamo.getFechaPrestamo())
+            .fechaMaximaDevolucion(prestamo.getFechaMaximaDevolucion())
+            .identificacionUsuario(prestamo.getIdentificacionUsuario())
+            .tipoUsuario(prestamo.getTipoUsuario())
+            .libro(Libro.builder().id(idLibroRegistrado(prestamo.getLibro())).build())
+            .build();
+        if (!almacen.registrarPrestamo(guardado)) {
+            throw new UsuarioConPrestamoExistenteException(prestamo.getIdentificacionUsuario());
+        }
+        return conLibro(guardado, prestamo.getLibro());
+    }
+
+    /**
+     * Registra los préstamos uno a uno. Antes del primero verifica que
+     * ningún invitado del conjunto tenga ya un préstamo ni aparezca dos
+     * veces, para que la regla de invitados rechace el conjunto completo
+     * como el adaptador JPA; la verificación es exacta mientras el llamador
+     * tenga el bloqueo de esos invitados, como el caso de uso de préstamo.
+     * Ante otros fallos no es atómico: los préstamos anteriores ya quedaron
+     * registrados.
+     *
+     * @param prestamos Préstamos a persistir
+     * @return Préstamos persistidos, en el orden recibido
+     *
+     * @throws UsuarioConPrestamoExistenteException si algún préstamo es de un invitado que ya tiene un préstamo
+     */
+    @Override
+    public List<Prestamo> saveAll(List<Prestamo> prestamos) {
+        Set<String> invitados = new HashSet<>();
+        for (Prestamo prestamo : prestamos) {
+            String identificacion = prestamo.getIdentificacionUsuario();
+            if (prestamo.getTipoUsuario().esInvitado()
+                    && (almacen.invitadoTienePrestamo(identificacion) || !invitados.add(identificacion))) {
+                throw new UsuarioConPrestamoExistenteException(identificacion);
+            }
+        }
+        List<Prestamo> guardados = new ArrayList<>(prestamos.size());
+        for (Prestamo prestamo : prestamos) {
+            guardados.add(save(prestamo));
+        }
+        return guardados;
+    }
+
+    @Override
+    public Optional<Prestamo> findById(Integer id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return almacen.buscarPrestamoPorId(id);
+    }
+
+    /**
+     * Arma la consulta con el ISBN y título actuales del libro.
+     */
+    @Override
+    public Optional<ConsultaPrestamo> findConsultaById(Integer id) {
+        return findById(id).map(prestamo -> ConsultaPrestamo.de(prestamo, prestamo.getLibro()));
+    }
+
+    /**
+     * Retorna el primer préstamo registrado por el usuario.
+     */
+    @Override
+    public Optional<Prestamo> findByIdentificacionUsuario(String identificacionUsuario) {
+        if (identificacionUsuario == null) {
+            return Optional.empty();
+        }
+        return almacen.buscarPrimerPrestamoDeUsuario(identificacionUsuario);
+    }
+
+    @Override
+    public long countByIdentificacionUsuario(String identificacionUsuario) {
+        return identificacionUsuario != null ? almacen.contarPrestamosDeUsuario(identificacionUsuario) : 0;
+    }
+
+    @Override
+    public boolean existsPrestamoInvitado(String identificacionUsuario) {
+        return identificacionUsuario != null && almacen.invitadoTienePrestamo(identificacionUsuario);
+    }
+
+    @Override
+    public Set<String> findInvitadosConPrestamo(Collection<String> identificacionesUsuario) {
+        Set<String> conPrestamo = new HashSet<>();
+        for (String identificacion : identificacionesUsuario) {
+            if (existsPrestamoInvitado(identificacion)) {
+                conPrestamo.add(identificacion);
+            }
+        }
+        return conPrestamo;
+    }
+
+    /**
+     * Resuelve el libro del préstamo en el catálogo, por ID o, si no lo
+     * trae, por ISBN, igual que la asociación por referencia del adaptador JPA.
+     */
+    private Integer idLibroRegistrado(Libro libro) {
+        Integer id = null;
+        if (libro != null && libro.getId() != null) {
+            id = almacen.existeLibro(libro.getId()) ? libro.getId() : null;
+        } else if (libro != null && libro.getIsbn() != null) {
+            id = almacen.buscarLibroPorIsbn(Libro.normalizarIsbn(libro.getIsbn())).map(Libro::getId).orElse(null);
+        }
+        if (id == null) {
+            throw new DataIntegrityViolationException("El libro del préstamo no existe en el catálogo");
+        }
+        return id;
+    }
+
+    /**
+     * Copia el préstamo con el libro indicado; los préstamos almacenados
+     * nunca se entregan directamente a los llamadores.
+     */
+    private static Prestamo conLibro(Prestamo prestamo, Libro libro) {
+        return Prestamo.builder()
+            .id(prestamo.getId())
+            .fechaPrestamo(prestamo.getFechaPrestamo())
+            .fechaMaximaDevolucion(prestamo.getFechaMaximaDevolucion())
+            .identificacionUsuario(prestamo.getIdentificacionUsuario())
+            .tipoUsuario(prestamo.getTipoUsuario())
+            .libro(libro)
+            .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.metricas;
+
+import com.ceiba.biblioteca.domain.model.Libro;
+import com.ceiba.biblioteca.domain.port.out.LibroRepositoryPort;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Decorador que mide las llamadas al catálogo de libros.
+ *
+ * Implementa el puerto de salida LibroRepositoryPort envolviendo la
+ * implementación activa (JPA, caché o memoria) y registra la duración y el
+ * resultado de cada método como {@link OperacionMedida#METRICA} con
+ * puerto=LibroRepositoryPort. No cambia el comportamiento del delegado.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public class LibroRepositoryMetricasAdapter implements LibroRepositoryPort {
+
+    private static final String PUERTO = "LibroRepositoryPort";
+
+    /**
+     * Repositorio medido.
+     */
+    private final LibroRepositoryPort delegado;
+
+    private final OperacionMedida save;
+    private final OperacionMedida saveAll;
+    private final OperacionMedida findByIsbn;
+    private final OperacionMedida findById;
+    private final OperacionMedida findAllByIsbn;
+    private final OperacionMedida findMasPrestados;
+
+    /**
+     * Constructor que registra los temporizadores de cada operación.
+     *
+     * @param delegado Implementación del catálogo a medir
+     * @param registro Registro de métricas de la aplicación
+     */
+    public LibroRepositoryMetricasAdapter(LibroRepositoryPort delegado, MeterRegistry registro) {
+        this.delegado = delegado;
+        this.save = OperacionMedida.de(registro, PUERTO, "save");
+        this.saveAll = OperacionMedida.de(registro, PUERTO, "saveAll");
+        this.findByIsbn = OperacionMedida.de(registro, PUERTO, "findByIsbn");
+        this.findById = OperacionMedida.de(registro, PUERTO, "findById");
+        this.findAllByIsbn = OperacionMedida.de(registro, PUERTO, "findAllByIsbn");
+        this.findMasPrestados = OperacionMedida.de(registro, PUERTO, "findMasPrestados");
+    }
+
+    @Override
+    public Libro save(Libro libro) {
+        return save.medir(() -> delegado.save(libro));
+    }
+
+    @Override
+    public List<Libro> saveAll(List<Libro> libros) {
+        return saveAll.medir(() -> delegado.saveAll(libros));
+    }
+
+    @Override
+    public Optional<Libro> findByIsbn(String isbn) {
+        return findByIsbn.medir(() -> delegado.findByIsbn(isbn));
+    }
+
+    @Override
+    public Optional<Libro> findById(Integer id) {
+        return findById.medir(() -> delegado.findById(id));
+    }
+
+    @Override
+    public Map<String, Libro> findAllByIsbn(Collection<String> isbns) {
+        return findAllByIsbn.medir(() -> delegado.findAllByIsbn(isbns));
+    }
+
+    @Override
+    public List<Libro> findMasPrestados(int limite) {
+        return findMasPrestados.medir(() -> delegado.findMasPrestados(limite));
+    }
+}
@@ -0,0 +1,82 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.metricas;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Temporizadores de una operación de un puerto de salida.
+ *
+ * Registra la duración de cada llamada en el temporizador
+ * {@value #METRICA} con las etiquetas puerto, operacion y resultado
+ * (ok o error). Los dos temporizadores se registran una sola vez al crear
+ * el decorador, así cada llamada solo lee el reloj y suma en el histograma,
+ * sin buscar el medidor por sus etiquetas en el registro.
+ *
+ * El histograma se publica en cubetas (percentiles-histogram) desde 10
+ * microsegundos, para distinguir las lecturas en memoria o en caché de las
+ * consultas a la base de datos; los percentiles se calculan en Prometheus
+ * y se pueden agregar entre instancias.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public final class OperacionMedida {
+
+    /**
+     * Nombre del temporizador de las llamadas a los puertos de salida.
+     */
+    public static final String METRICA = "biblioteca.puerto";
+
+    private final Timer exitosa;
+    private final Timer fallida;
+
+    private OperacionMedida(Timer exitosa, Timer fallida) {
+        this.exitosa = exitosa;
+        this.fallida = fallida;
+    }
+
+    /**
+     * @param registro Registro de métricas de la aplicación
+     * @param puerto Nombre del puerto decorado, valor de la etiqueta puerto
+     * @param operacion Nombre del método, valor de la etiqueta operacion
+     */
+    public static OperacionMedida de(MeterRegistry registro, String puerto, String operacion) {
+        return new OperacionMedida(temporizador(registro, puerto, operacion, "ok"),
+            temporizador(registro, puerto, operacion, "error"));
+    }
+
+    /**
+     * Ejecuta la llamada al puerto decorado y registra su duración.
+     *
+     * @param llamada Llamada al delegado; sus excepciones se propagan sin cambios
+     * @return El resultado de la llamada
+     */
+    public <T> T medir(Supplier<T> llamada) {
+        long inicio = System.nanoTime();
+        boolean exito = false;
+        try {
+            T resultado = llamada.get();
+            exito = true;
+            return resultado;
+        } finally {
+            (exito ? exitosa : fallida).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer temporizador(MeterRegistry registro, String puerto, String operacion, String resultado) {
+        return Timer.builder(METRICA)
+            .description("Duración de las llamadas a los puertos de salida")
+            .tag("puerto", puerto)
+            .tag("operacion", operacion)
+            .tag("resultado", resultado)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofNanos(10_000))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(registro);
+    }
+}
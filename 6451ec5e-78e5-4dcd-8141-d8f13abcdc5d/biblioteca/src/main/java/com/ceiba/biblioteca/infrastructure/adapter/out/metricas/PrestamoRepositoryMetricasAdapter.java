@@ -0,0 +1,103 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.metricas;
+
+import com.ceiba.biblioteca.domain.model.ConsultaPrestamo;
+import com.ceiba.biblioteca.domain.model.Prestamo;
+import com.ceiba.biblioteca.domain.port.out.PrestamoRepositoryPort;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Decorador que mide las llamadas al repositorio de préstamos.
+ *
+ * Implementa el puerto de salida PrestamoRepositoryPort envolviendo la
+ * implementación activa (JPA, caché, journal o memoria) y registra la
+ * duración y el resultado de cada método como {@link OperacionMedida#METRICA}
+ * con puerto=PrestamoRepositoryPort. Un save rechazado por la regla de un
+ * préstamo por invitado queda con resultado=error, igual que una falla de
+ * la base de datos; el caso de uso distingue ambos en sus propias métricas.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public class PrestamoRepositoryMetricasAdapter implements PrestamoRepositoryPort {
+
+    private static final String PUERTO = "PrestamoRepositoryPort";
+
+    /**
+     * Repositorio medido.
+     */
+    private final PrestamoRepositoryPort delegado;
+
+    private final OperacionMedida save;
+    private final OperacionMedida saveAll;
+    private final OperacionMedida findById;
+    private final OperacionMedida findConsultaById;
+    private final OperacionMedida findByIdentificacionUsuario;
+    private final OperacionMedida countByIdentificacionUsuario;
+    private final OperacionMedida existsPrestamoInvitado;
+    private final OperacionMedida findInvitadosConPrestamo;
+
+    /**
+     * Constructor que registra los temporizadores de cada operación.
+     *
+     * @param delegado Implementación del repositorio a medir
+     * @param registro Registro de métricas de la aplicación
+     */
+    public PrestamoRepositoryMetricasAdapter(PrestamoRepositoryPort delegado, MeterRegistry registro) {
+        this.delegado = delegado;
+        this.save = OperacionMedida.de(registro, PUERTO, "save");
+        this.saveAll = OperacionMedida.de(registro, PUERTO, "saveAll");
+        this.findById = OperacionMedida.de(registro, PUERTO, "findById");
+        this.findConsultaById = OperacionMedida.de(registro, PUERTO, "findConsultaById");
+        this.findByIdentificacionUsuario = OperacionMedida.de(registro, PUERTO, "findByIdentificacionUsuario");
+        this.countByIdentificacionUsuario = OperacionMedida.de(registro, PUERTO, "countByIdentificacionUsuario");
+        this.existsPrestamoInvitado = OperacionMedida.de(registro, PUERTO, "existsPrestamoInvitado");
+        this.findInvitadosConPrestamo = OperacionMedida.de(registro, PUERTO, "findInvitadosConPrestamo");
+    }
+
+    @Override
+    public Prestamo save(Prestamo prestamo) {
+        return save.medir(() -> delegado.save(prestamo));
+    }
+
+    @Override
+    public List<Prestamo> saveAll(List<Prestamo> prestamos) {
+        return saveAll.medir(() -> delegado.saveAll(prestamos));
+    }
+
+    @Override
+    public Optional<Prestamo> findById(Integer id) {
+        return findById.medir(() -> delegado.findById(id));
+    }
+
+    @Override
+    public Optional<ConsultaPrestamo> findConsultaById(Integer id) {
+        return findConsultaById.medir(() -> delegado.findConsultaById(id));
+    }
+
+    @Override
+    public Optional<Prestamo> findByIdentificacionUsuario(String identificacionUsuario) {
+        return findByIdentificacionUsuario.medir(() -> delegado.findByIdentificacionUsuario(identificacionUsuario));
+    }
+
+    @Override
+    public long countByIdentificacionUsuario(String identificacionUsuario) {
+        return countByIdentificacionUsuario.medir(() -> delegado.countByIdentificacionUsuario(identificacionUsuario));
+    }
+
+    @Override
+    public boolean existsPrestamoInvitado(String identificacionUsuario) {
+        return existsPrestamoInvitado.medir(() -> delegado.existsPrestamoInvitado(identificacionUsuario));
+    }
+
+    @Override
+    public Set<String> findInvitadosConPrestamo(Collection<String> identificacionesUsuario) {
+        return findInvitadosConPrestamo.medir(
+            () -> delegado.findInvitadosConPrestamo(identificacionesUsuario));
+    }
+}
@@ -5,9 +5,19 @@ import com.ceiba.biblioteca.domain.port.out.LibroRepositoryPort;
 import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.entity.LibroJpaEntity;
 import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.mapper.LibroJpaMapper;
 import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.repository.LibroJpaRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Adaptador de persistencia para el catálogo de libros.
@@ -25,6 +35,7 @@ import java.util.Optional;
  * Responsabilidades:
  * - Gestionar la persistencia del catálogo de libros
  * - Realizar búsquedas de libros por ISBN
+ * - Persistir cargas masivas del catálogo en lotes JDBC
  * - Coordinar transformaciones entre modelos de dominio y entidades JPA
  * - Delegar operaciones CRUD al repositorio JPA
  *
@@ -33,6 +44,7 @@ import java.util.Optional;
  * @since 1.0
  */
 @Repository
+@Profile("!memoria")
 public class LibroRepositoryAdapter implements LibroRepositoryPort {
 
     /**
@@ -75,18 +87,128 @@ public class LibroRepositoryAdapter implements LibroRepositoryPort {
         return mapper.toDomain(savedEntity);
     }
 
+    /**
+     * Persiste un conjunto de libros en una sola transacción.
+     *
+     * Como los IDs se reservan en bloques de la secuencia libro_seq,
+     * Hibernate envía los INSERT en lotes JDBC al hacer flush en lugar
+     * de un viaje a la base de datos por libro.
+     *
+     * @param libros Modelos de dominio de los libros a persistir
+     * @return Libros persistidos con ID asignado, en el orden recibido
+     */
+    @Override
+    @Transactional
+    public List<Libro> saveAll(List<Libro> libros) {
+        List<LibroJpaEntity> entities = new ArrayList<>(libros.size());
+        for (Libro libro : libros) {
+            entities.add(mapper.toEntity(libro));
+        }
+        List<Libro> guardados = new ArrayList<>(entities.size());
+        for (LibroJpaEntity savedEntity : jpaRepository.saveAll(entities)) {
+            guardados.add(mapper.toDomain(savedEntity));
+        }
+        return guardados;
+    }
+
     /**
      * Busca un libro en el catálogo por su código ISBN.
      *
-     * Utiliza el repositorio JPA para realizar la búsqueda y
-     * convierte el resultado a modelo de dominio si existe.
+     * Normaliza el ISBN recibido y realiza una consulta preparada por
+     * igualdad que se resuelve con el índice único uk_libro_isbn, por lo
+     * que el costo no crece con el tamaño del catálogo.
      *
      * @param isbn Código ISBN del libro a buscar
      * @return Optional conteniendo el libro si existe, empty() si no se encuentra
      */
     @Override
     public Optional<Libro> findByIsbn(String isbn) {
-        return jpaRepository.findByIsbn(isbn)
+        return jpaRepository.findByIsbn(LibroJpaEntity.normalizarIsbn(isbn))
             .map(mapper::toDomain);
     }
-}
\ No newline at end of file
+
+    /**
+     * Busca un libro por su llave primaria.
+     *
+     * @param id Identificador único del libro
+     * @return Optional conteniendo el libro si existe, empty() si no se encuentra
+     */
+    @Override
+    public Optional<Libro> findById(Integer id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return jpaRepository.findById(id).map(mapper::toDomain);
+    }
+
+    /**
+     * Busca varios libros del catálogo con una única consulta IN.
+     *
+     * Normaliza cada ISBN recibido, consulta una sola vez los ISBN distintos
+     * y vuelve a asociar los resultados con los valores originales, de modo
+     * que el llamador puede buscarlos con el ISBN tal como lo recibió.
+     *
+     * @param isbns Códigos ISBN a buscar
+     * @return Mapa de ISBN recibido a libro; los ISBN inexistentes no aparecen
+     */
+    @Override
+    public Map<String, Libro> findAllByIsbn(Collection<String> isbns) {
+        Set<String> normalizados = new LinkedHashSet<>();
+        for (String isbn : isbns) {
+            if (isbn != null) {
+                normalizados.add(LibroJpaEntity.normalizarIsbn(isbn));
+            }
+        }
+        if (normalizados.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        Map<String, Libro> porIsbnNormalizado = new HashMap<>();
+        for (LibroJpaEntity entity : jpaRepository.findAllByIsbnIn(normalizados)) {
+            porIsbnNormalizado.put(entity.getIsbn(), mapper.toDomain(entity));
+        }
+
+        Map<String, Libro> libros = new HashMap<>();
+        for (String isbn : isbns) {
+            Libro libro = isbn != null ? porIsbnNormalizado.get(LibroJpaEntity.normalizarIsbn(isbn)) : null;
+            if (libro != null) {
+                libros.put(isbn, libro);
+            }
+        }
+        return libros;
+    }
+
+    /**
+     * Obtiene los libros con más préstamos registrados.
+     *
+     * Primero consulta los IDs ordenados por cantidad de préstamos y luego
+     * carga esos libros por llave primaria, conservando el orden del ranking.
+     *
+     * @param limite Cantidad máxima de libros a retornar
+     * @return Los libros más prestados, del más al menos solicitado
+     */
+    @Override
+    public List<Libro> findMasPrestados(int limite) {
+        if (limite <= 0) {
+            return new ArrayList<>();
+        }
+        List<Integer> ids = jpaRepository.findIdsMasPrestados(PageRequest.of(0, limite));
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Integer, Libro> porId = new HashMap<>();
+        for (LibroJpaEntity entity : jpaRepository.findAllById(ids)) {
+            porId.put(entity.getId(), mapper.toDomain(entity));
+        }
+
+        List<Libro> libros = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Libro libro = porId.get(id);
+            if (libro != null) {
+                libros.add(libro);
+            }
+        }
+        return libros;
+    }
+}
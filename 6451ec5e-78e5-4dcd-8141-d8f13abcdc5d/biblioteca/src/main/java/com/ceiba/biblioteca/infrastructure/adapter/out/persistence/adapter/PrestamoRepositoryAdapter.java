@@ -1,49 +1,161 @@
 package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.adapter;
 
+import com.ceiba.biblioteca.domain.exception.UsuarioConPrestamoExistenteException;
+import com.ceiba.biblioteca.domain.model.ConsultaPrestamo;
 import com.ceiba.biblioteca.domain.model.Prestamo;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
 import com.ceiba.biblioteca.domain.port.out.PrestamoRepositoryPort;
-import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.entity.LibroJpaEntity;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.entity.ConsultaPrestamoJpaEntity;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.entity.OutboxPrestamoCreadoJpaEntity;
 import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.entity.PrestamoJpaEntity;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.mapper.ConsultaPrestamoJpaMapper;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.mapper.OutboxPrestamoCreadoJpaMapper;
 import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.mapper.PrestamoJpaMapper;
-import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.repository.LibroJpaRepository;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.repository.ConsultaPrestamoJpaRepository;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.repository.OutboxPrestamoCreadoJpaRepository;
 import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.repository.PrestamoJpaRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
+@Profile("!memoria & !journal")
 public class PrestamoRepositoryAdapter implements PrestamoRepositoryPort {
 
+    /**
+     * Índice único de schema.sql que admite un solo préstamo por invitado.
+     */
+    private static final String INDICE_INVITADO = "UK_PRESTAMO_INVITADO";
+
+    /**
+     * SQLState estándar de una violación de llave única.
+     */
+    private static final String VIOLACION_UNICIDAD = "23505";
+
     private final PrestamoJpaRepository jpaRepository;
-    private final LibroJpaRepository libroJpaRepository;
     private final PrestamoJpaMapper mapper;
+    private final ConsultaPrestamoJpaRepository consultaRepository;
+    private final ConsultaPrestamoJpaMapper consultaMapper;
+    private final OutboxPrestamoCreadoJpaRepository outboxRepository;
+    private final OutboxPrestamoCreadoJpaMapper outboxMapper;
+    private final boolean outboxHabilitado;
+    private final Clock reloj;
 
+    /**
+     * @param outboxHabilitado Si es true, cada préstamo guardado deja su evento
+     *                         PrestamoCreado en el outbox, en la misma transacción
+     * @param reloj Reloj con el que se fechan los eventos, para medir el retraso de entrega
+     */
     public PrestamoRepositoryAdapter(PrestamoJpaRepository jpaRepository,
-                                   LibroJpaRepository libroJpaRepository,
-                                   PrestamoJpaMapper mapper) {
+                                   PrestamoJpaMapper mapper,
+                                   ConsultaPrestamoJpaRepository consultaRepository,
+                                   ConsultaPrestamoJpaMapper consultaMapper,
+                                   OutboxPrestamoCreadoJpaRepository outboxRepository,
+                                   OutboxPrestamoCreadoJpaMapper outboxMapper,
+                                   @Value("${biblioteca.outbox.habilitado:false}") boolean outboxHabilitado,
+                                   Clock reloj) {
         this.jpaRepository = jpaRepository;
-        this.libroJpaRepository = libroJpaRepository;
         this.mapper = mapper;
+        this.consultaRepository = consultaRepository;
+        this.consultaMapper = consultaMapper;
+        this.outboxRepository = outboxRepository;
+        this.outboxMapper = outboxMapper;
+        this.outboxHabilitado = outboxHabilitado;
+        this.reloj = reloj;
     }
 
+    /**
+     * El libro del préstamo ya viene resuelto por el caso de uso, así que se
+     * asocia por referencia a su ID y el camino de escritura emite solo el INSERT.
+     *
+     * La regla de un préstamo por invitado la garantiza el índice
+     * uk_prestamo_invitado, sin consultar antes los préstamos del usuario.
+     * El INSERT se envía de inmediato para que la violación del índice
+     * ocurra aquí y se traduzca a la excepción de dominio.
+     *
+     * La fila del modelo de lectura prestamo_consulta y, con el outbox
+     * habilitado, el evento PrestamoCreado quedan en la sesión y se envían
+     * al confirmar la transacción: si el préstamo se revierte, ellos también.
+     *
+     * @throws UsuarioConPrestamoExistenteException si el usuario es invitado y ya tiene un préstamo
+     */
     @Override
+    @Transactional
     public Prestamo save(Prestamo prestamo) {
-        // Obtener el libro por ISBN primero
-        LibroJpaEntity libroEntity = libroJpaRepository.findByIsbn(prestamo.getLibro().getIsbn())
-            .orElseThrow(() -> new RuntimeException("Libro no encontrado con ISBN: " + prestamo.getLibro().getIsbn()));
-
-        // Crear la entidad préstamo manualmente para evitar conflictos
-        PrestamoJpaEntity entity = PrestamoJpaEntity.builder()
-            .id(prestamo.getId()) // null para nuevos préstamos
-            .fechaPrestamo(prestamo.getFechaPrestamo())
-            .fechaMaximaDevolucion(prestamo.getFechaMaximaDevolucion())
-            .identificacionUsuario(prestamo.getIdentificacionUsuario())
-            .tipoUsuario(prestamo.getTipoUsuario().getValor())
-            .libro(libroEntity) // usar la entidad existente directamente
-            .build();
-
-        PrestamoJpaEntity savedEntity = jpaRepository.save(entity);
-        return mapper.toDomain(savedEntity);
+        PrestamoJpaEntity savedEntity;
+        try {
+            savedEntity = jpaRepository.saveAndFlush(mapper.toEntity(prestamo));
+        } catch (DataIntegrityViolationException e) {
+            if (esInvitadoDuplicado(e)) {
+                throw new UsuarioConPrestamoExistenteException(prestamo.getIdentificacionUsuario());
+            }
+            throw e;
+        }
+        consultaRepository.save(consultaMapper.toEntity(savedEntity, prestamo.getLibro()));
+        Prestamo guardado = mapper.toDomain(savedEntity, prestamo.getLibro());
+        if (outboxHabilitado) {
+            outboxRepository.save(outboxMapper.toEntity(guardado, reloj.millis()));
+        }
+        return guardado;
+    }
+
+    /**
+     * Los IDs salen de bloques de la secuencia, así que los INSERT se
+     * agrupan en lotes JDBC (hibernate.jdbc.batch_size) al hacer flush.
+     * Las filas de prestamo_consulta y los eventos del outbox viajan en sus
+     * propios lotes dentro de la misma transacción.
+     *
+     * Los préstamos se envían con un flush explícito para que una violación
+     * de uk_prestamo_invitado ocurra aquí y se traduzca a la excepción de
+     * dominio; el índice no indica qué invitado la causó, así que el
+     * llamador recibe el conjunto rechazado completo.
+     *
+     * @throws UsuarioConPrestamoExistenteException si algún préstamo es de un invitado que ya tiene un préstamo
+     */
+    @Override
+    @Transactional
+    public List<Prestamo> saveAll(List<Prestamo> prestamos) {
+        List<PrestamoJpaEntity> entities = new ArrayList<>(prestamos.size());
+        for (Prestamo prestamo : prestamos) {
+            entities.add(mapper.toEntity(prestamo));
+        }
+        List<PrestamoJpaEntity> savedEntities;
+        try {
+            savedEntities = jpaRepository.saveAll(entities);
+            jpaRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            if (esInvitadoDuplicado(e)) {
+                throw new UsuarioConPrestamoExistenteException();
+            }
+            throw e;
+        }
+        List<Prestamo> guardados = new ArrayList<>(savedEntities.size());
+        List<ConsultaPrestamoJpaEntity> consultas = new ArrayList<>(savedEntities.size());
+        for (int i = 0; i < savedEntities.size(); i++) {
+            guardados.add(mapper.toDomain(savedEntities.get(i), prestamos.get(i).getLibro()));
+            consultas.add(consultaMapper.toEntity(savedEntities.get(i), prestamos.get(i).getLibro()));
+        }
+        consultaRepository.saveAll(consultas);
+        if (outboxHabilitado) {
+            long creado = reloj.millis();
+            List<OutboxPrestamoCreadoJpaEntity> eventos = new ArrayList<>(guardados.size());
+            for (Prestamo guardado : guardados) {
+                eventos.add(outboxMapper.toEntity(guardado, creado));
+            }
+            outboxRepository.saveAll(eventos);
+        }
+        return guardados;
     }
 
     @Override
@@ -52,6 +164,19 @@ public class PrestamoRepositoryAdapter implements PrestamoRepositoryPort {
             .map(mapper::toDomain);
     }
 
+    /**
+     * Lee el modelo de lectura prestamo_consulta: una búsqueda por llave
+     * primaria que ya trae los campos de la respuesta, sin JOIN con libro.
+     */
+    @Override
+    public Optional<ConsultaPrestamo> findConsultaById(Integer id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return consultaRepository.findById(id)
+            .map(consultaMapper::toDomain);
+    }
+
     @Override
     public Optional<Prestamo> findByIdentificacionUsuario(String identificacionUsuario) {
         return jpaRepository.findByIdentificacionUsuario(identificacionUsuario)
@@ -62,4 +187,53 @@ public class PrestamoRepositoryAdapter implements PrestamoRepositoryPort {
     public long countByIdentificacionUsuario(String identificacionUsuario) {
         return jpaRepository.countByIdentificacionUsuario(identificacionUsuario);
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean existsPrestamoInvitado(String identificacionUsuario) {
+        return jpaRepository.existsByIdentificacionUsuarioAndTipoUsuario(
+            identificacionUsuario, TipoUsuario.INVITADO.getValor());
+    }
+
+    @Override
+    public Set<String> findInvitadosConPrestamo(Collection<String> identificacionesUsuario) {
+        if (identificacionesUsuario.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(jpaRepository.findIdentificacionesConPrestamoDeTipo(
+            identificacionesUsuario, TipoUsuario.INVITADO.getValor()));
+    }
+
+    /**
+     * Reconoce la violación de uk_prestamo_invitado por el SQLState y el
+     * nombre de la restricción que Hibernate extrae con el dialecto, sin
+     * buscar texto en el mensaje del driver. Cualquier otra violación, como
+     * una llave primaria o una columna obligatoria, no es un invitado repetido.
+     */
+    private static boolean esInvitadoDuplicado(DataIntegrityViolationException e) {
+        for (Throwable causa = e.getCause(); causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException) {
+                ConstraintViolationException violacion = (ConstraintViolationException) causa;
+                return VIOLACION_UNICIDAD.equals(violacion.getSQLState())
+                    && INDICE_INVITADO.equalsIgnoreCase(nombreIndice(violacion.getConstraintName()));
+            }
+        }
+        return false;
+    }
+
+    /**
+     * El extractor de H2Dialect entrega lo que sigue a "violation: ", por
+     * ejemplo {@code "PUBLIC.UK_PRESTAMO_INVITADO ON PUBLIC.PRESTAMO(...)"}:
+     * el nombre del índice es la primera palabra, sin comillas ni esquema.
+     */
+    private static String nombreIndice(String constraintName) {
+        if (constraintName == null) {
+            return null;
+        }
+        String nombre = constraintName.trim().replace("\"", "");
+        int espacio = nombre.indexOf(' ');
+        if (espacio >= 0) {
+            nombre = nombre.substring(0, espacio);
+        }
+        return nombre.substring(nombre.lastIndexOf('.') + 1);
+    }
+}
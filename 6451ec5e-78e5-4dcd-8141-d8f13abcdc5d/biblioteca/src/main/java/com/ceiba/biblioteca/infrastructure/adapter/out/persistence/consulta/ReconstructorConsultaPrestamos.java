@@ -0,0 +1,120 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.consulta;
+
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.repository.ConsultaPrestamoJpaRepository;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.repository.PrestamoJpaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Regenera el modelo de lectura prestamo_consulta desde las tablas
+ * prestamo y libro.
+ *
+ * Funcionamiento:
+ * - Divide el rango de IDs de préstamo en tramos de tamaño fijo
+ * - Cada tramo se regenera con un MERGE en su propia transacción, y varios
+ *   tramos corren en paralelo
+ * - Al final borra las filas cuyo préstamo ya no existe
+ *
+ * El MERGE inserta las filas que faltan y corrige las existentes sin
+ * borrarlas antes, así la aplicación puede seguir atendiendo consultas y
+ * préstamos durante la reconstrucción: un préstamo nuevo escribe su propia
+ * fila y el tramo que lo incluya la vuelve a escribir con los mismos datos.
+ *
+ * Se ejecuta al arrancar con biblioteca.consulta.reconstruir=true, por
+ * ejemplo después de cambiar el formato de la consulta o de corregir datos
+ * de libros directamente en la base.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@Profile("!memoria & !journal")
+public class ReconstructorConsultaPrestamos {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReconstructorConsultaPrestamos.class);
+
+    private final PrestamoJpaRepository prestamoRepository;
+    private final ConsultaPrestamoJpaRepository consultaRepository;
+    private final int tamanoTramo;
+    private final int hilos;
+
+    /**
+     * @param tamanoTramo IDs de préstamo que regenera cada transacción
+     * @param hilos Tramos que se regeneran a la vez
+     */
+    public ReconstructorConsultaPrestamos(PrestamoJpaRepository prestamoRepository,
+                                          ConsultaPrestamoJpaRepository consultaRepository,
+                                          @Value("${biblioteca.consulta.tamano-tramo:10000}") int tamanoTramo,
+                                          @Value("${biblioteca.consulta.hilos:4}") int hilos) {
+        this.prestamoRepository = prestamoRepository;
+        this.consultaRepository = consultaRepository;
+        this.tamanoTramo = tamanoTramo;
+        this.hilos = hilos;
+    }
+
+    /**
+     * Regenera todas las filas del modelo de lectura.
+     *
+     * @return Filas escritas
+     * @throws IllegalStateException si algún tramo falla; los tramos ya
+     *                               confirmados quedan regenerados
+     */
+    public int reconstruir() {
+        long inicio = System.nanoTime();
+        Integer minimo = prestamoRepository.findIdMinimo();
+        Integer maximo = prestamoRepository.findIdMaximo();
+        AtomicInteger filas = new AtomicInteger();
+        int tramos = 0;
+
+        if (minimo != null) {
+            ExecutorService ejecutor = Executors.newFixedThreadPool(hilos, tarea -> {
+                Thread hilo = new Thread(tarea, "reconstruccion-consulta");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+            try {
+                List<Future<?>> pendientes = new ArrayList<>();
+                for (long desde = minimo; desde <= maximo; desde += tamanoTramo) {
+                    int inicioTramo = (int) desde;
+                    int finTramo = (int) Math.min(desde + tamanoTramo - 1, maximo);
+                    pendientes.add(ejecutor.submit(() ->
+                        filas.addAndGet(consultaRepository.reconstruirRango(inicioTramo, finTramo))));
+                }
+                tramos = pendientes.size();
+                esperar(pendientes);
+            } finally {
+                ejecutor.shutdownNow();
+            }
+        }
+        int borradas = consultaRepository.deleteSinPrestamo();
+
+        LOG.info("Consulta de préstamos reconstruida: {} filas en {} tramos, {} borradas, {} ms",
+            filas.get(), tramos, borradas, (System.nanoTime() - inicio) / 1_000_000);
+        return filas.get();
+    }
+
+    private static void esperar(List<Future<?>> pendientes) {
+        try {
+            for (Future<?> pendiente : pendientes) {
+                pendiente.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("No se pudo reconstruir la consulta de préstamos", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconstrucción de la consulta de préstamos interrumpida", e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDate;
+
+/**
+ * Fila del modelo de lectura prestamo_consulta.
+ *
+ * Guarda exactamente los campos de la respuesta de GET /prestamo/{id}, así
+ * la consulta es una búsqueda por llave primaria sin JOIN. El ID es el del
+ * préstamo.
+ *
+ * La fecha máxima de devolución se guarda también formateada como
+ * dd/MM/yyyy: se formatea una vez al escribir la fila y no en cada consulta.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+@Table(name = "prestamo_consulta")
+public class ConsultaPrestamoJpaEntity implements Persistable<Integer> {
+
+    @Id
+    private Integer id;
+
+    @Column(name = "isbn", nullable = false, length = 20)
+    private String isbn;
+
+    @Column(name = "titulo", nullable = false)
+    private String titulo;
+
+    @Column(name = "fecha_maxima_devolucion", nullable = false)
+    private LocalDate fechaMaximaDevolucion;
+
+    @Column(name = "fecha_maxima_devolucion_formateada", nullable = false, length = 10)
+    private String fechaMaximaDevolucionFormateada;
+
+    @Column(name = "identificacion_usuario", nullable = false, length = 20)
+    private String identificacionUsuario;
+
+    @Column(name = "tipo_usuario")
+    private Integer tipoUsuario;
+
+    /**
+     * La aplicación solo guarda filas nuevas, en el alta de cada préstamo.
+     * Como el ID viene asignado, sin esto save() haría merge y un SELECT
+     * previo al INSERT.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
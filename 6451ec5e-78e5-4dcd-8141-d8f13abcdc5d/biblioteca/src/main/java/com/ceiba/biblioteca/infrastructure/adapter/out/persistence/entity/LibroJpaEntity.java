@@ -1,9 +1,12 @@
 package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.entity;
 
+import com.ceiba.biblioteca.domain.model.Libro;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.time.LocalDate;
@@ -17,8 +20,8 @@ import java.time.LocalDate;
  *
  * Características de la entidad:
  * - Mapeo directo a tabla 'libro'
- * - ID autogenerado con estrategia IDENTITY
- * - Campos optimizados para búsquedas (ISBN indexado)
+ * - ID autogenerado desde la secuencia libro_seq (bloques pooled-lo)
+ * - Campos optimizados para búsquedas (ISBN normalizado con índice único)
  * - Soporte para textos largos en descripción
  * - Validaciones de base de datos en campos críticos
  *
@@ -37,22 +40,31 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @Builder
 @Data
-@Table(name = "libro")
+@Table(name = "libro", indexes = @Index(name = "uk_libro_isbn", columnList = "isbn", unique = true))
 public class LibroJpaEntity {
 
     /**
      * Identificador único del libro en la base de datos.
-     * Se genera automáticamente usando la estrategia IDENTITY.
+     * Se toma de la secuencia libro_seq reservando bloques de 50 IDs por
+     * consulta, lo que permite a Hibernate agrupar los INSERT en lotes JDBC
+     * (con IDENTITY el batching de inserts queda deshabilitado).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "libro_seq")
+    @GenericGenerator(name = "libro_seq", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+        @Parameter(name = "sequence_name", value = "libro_seq"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     private Integer id;
 
     /**
      * Código ISBN (International Standard Book Number) del libro.
      * Identificador único internacional, limitado a 20 caracteres.
+     * Se almacena normalizado (ver {@link #normalizarIsbn(String)}) para
+     * que las búsquedas por igualdad usen el índice único uk_libro_isbn.
      */
-    @Column(name = "isbn", length = 20)
+    @Column(name = "isbn", length = 20, nullable = false, unique = true)
     private String isbn;
 
     /**
@@ -89,4 +101,26 @@ public class LibroJpaEntity {
      */
     @Column(name = "editorial")
     private String editorial;
-}
\ No newline at end of file
+
+    /**
+     * Normaliza el ISBN antes de insertarlo o actualizarlo, de modo que
+     * la clave almacenada coincida con la usada en las búsquedas.
+     */
+    @PrePersist
+    @PreUpdate
+    void normalizarIsbn() {
+        this.isbn = normalizarIsbn(isbn);
+    }
+
+    /**
+     * Convierte un ISBN a su clave de búsqueda; la regla vive en el
+     * modelo de dominio ({@link Libro#normalizarIsbn(String)}) para que
+     * cualquier adaptador del catálogo normalice de la misma forma.
+     *
+     * @param isbn ISBN tal como lo envía el cliente, puede ser null
+     * @return ISBN normalizado, o null si la entrada es null
+     */
+    public static String normalizarIsbn(String isbn) {
+        return Libro.normalizarIsbn(isbn);
+    }
+}
@@ -0,0 +1,62 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.*;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Fila del outbox de eventos PrestamoCreado.
+ *
+ * Se inserta junto con el préstamo y vive hasta que el relevo la entrega.
+ * Los IDs salen de bloques de outbox_seq, igual que los de prestamo, para
+ * que los INSERT de un lote viajen agrupados.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+@Table(name = "outbox_prestamo_creado")
+public class OutboxPrestamoCreadoJpaEntity {
+
+    @Id
+    @GeneratedValue(generator = "outbox_seq")
+    @GenericGenerator(name = "outbox_seq", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+        @Parameter(name = "sequence_name", value = "outbox_seq"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo")
+    })
+    private Long id;
+
+    @Column(name = "id_prestamo", nullable = false)
+    private Integer prestamoId;
+
+    @Column(name = "isbn", length = 20)
+    private String isbn;
+
+    @Column(name = "identificacion_usuario", nullable = false, length = 20)
+    private String identificacionUsuario;
+
+    @Column(name = "tipo_usuario")
+    private Integer tipoUsuario;
+
+    @Column(name = "fecha_prestamo", nullable = false)
+    private LocalDate fechaPrestamo;
+
+    @Column(name = "fecha_maxima_devolucion", nullable = false)
+    private LocalDate fechaMaximaDevolucion;
+
+    @Column(name = "creado", nullable = false)
+    private Instant creado;
+}
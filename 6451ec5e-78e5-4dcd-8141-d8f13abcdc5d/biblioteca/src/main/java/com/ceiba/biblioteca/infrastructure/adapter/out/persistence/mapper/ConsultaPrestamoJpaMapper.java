@@ -0,0 +1,40 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.mapper;
+
+import com.ceiba.biblioteca.domain.model.ConsultaPrestamo;
+import com.ceiba.biblioteca.domain.model.FechasDelDia;
+import com.ceiba.biblioteca.domain.model.Libro;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.entity.ConsultaPrestamoJpaEntity;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.entity.PrestamoJpaEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ConsultaPrestamoJpaMapper {
+
+    /**
+     * Fila del modelo de lectura para un préstamo recién guardado.
+     *
+     * Toma ISBN y título del libro de dominio, que el caso de uso ya
+     * resolvió; solo si no los trae los lee de la entidad del libro. La
+     * fecha máxima de devolución se formatea aquí, una vez por préstamo.
+     */
+    public ConsultaPrestamoJpaEntity toEntity(PrestamoJpaEntity prestamo, Libro libro) {
+        boolean libroCompleto = libro != null && libro.getIsbn() != null && libro.getTitulo() != null;
+        return ConsultaPrestamoJpaEntity.builder()
+            .id(prestamo.getId())
+            .isbn(libroCompleto ? libro.getIsbn() : prestamo.getLibro().getIsbn())
+            .titulo(libroCompleto ? libro.getTitulo() : prestamo.getLibro().getTitulo())
+            .fechaMaximaDevolucion(prestamo.getFechaMaximaDevolucion())
+            .fechaMaximaDevolucionFormateada(prestamo.getFechaMaximaDevolucion().format(FechasDelDia.DATE_FORMATTER))
+            .identificacionUsuario(prestamo.getIdentificacionUsuario())
+            .tipoUsuario(prestamo.getTipoUsuario())
+            .build();
+    }
+
+    public ConsultaPrestamo toDomain(ConsultaPrestamoJpaEntity entity) {
+        return new ConsultaPrestamo(entity.getId(), entity.getIsbn(), entity.getTitulo(),
+            entity.getFechaMaximaDevolucion(), entity.getFechaMaximaDevolucionFormateada(),
+            entity.getIdentificacionUsuario(),
+            TipoUsuario.buscarPorValor(entity.getTipoUsuario()));
+    }
+}
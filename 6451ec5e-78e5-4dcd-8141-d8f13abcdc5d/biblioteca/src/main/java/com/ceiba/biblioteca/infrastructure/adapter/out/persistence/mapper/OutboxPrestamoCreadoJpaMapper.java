@@ -0,0 +1,40 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.mapper;
+
+import com.ceiba.biblioteca.domain.model.Prestamo;
+import com.ceiba.biblioteca.domain.model.PrestamoCreado;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.entity.OutboxPrestamoCreadoJpaEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+@Component
+public class OutboxPrestamoCreadoJpaMapper {
+
+    /**
+     * Fila del outbox para un préstamo recién guardado, que ya tiene ID.
+     */
+    public OutboxPrestamoCreadoJpaEntity toEntity(Prestamo prestamo, long creado) {
+        return OutboxPrestamoCreadoJpaEntity.builder()
+            .prestamoId(prestamo.getId())
+            .isbn(prestamo.getLibro() != null ? prestamo.getLibro().getIsbn() : null)
+            .identificacionUsuario(prestamo.getIdentificacionUsuario())
+            .tipoUsuario(prestamo.getTipoUsuario() != null ? prestamo.getTipoUsuario().getValor() : null)
+            .fechaPrestamo(prestamo.getFechaPrestamo())
+            .fechaMaximaDevolucion(prestamo.getFechaMaximaDevolucion())
+            .creado(Instant.ofEpochMilli(creado))
+            .build();
+    }
+
+    public PrestamoCreado toDomain(OutboxPrestamoCreadoJpaEntity entity) {
+        return new PrestamoCreado(
+            entity.getId(),
+            entity.getPrestamoId(),
+            entity.getIsbn(),
+            entity.getIdentificacionUsuario(),
+            entity.getTipoUsuario() != null ? TipoUsuario.fromValor(entity.getTipoUsuario()) : null,
+            entity.getFechaPrestamo(),
+            entity.getFechaMaximaDevolucion(),
+            entity.getCreado().toEpochMilli());
+    }
+}
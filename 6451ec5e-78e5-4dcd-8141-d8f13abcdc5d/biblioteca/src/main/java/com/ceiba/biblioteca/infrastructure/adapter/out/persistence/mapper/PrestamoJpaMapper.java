@@ -1,13 +1,16 @@
 package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.mapper;
 
+import com.ceiba.biblioteca.domain.model.Libro;
 import com.ceiba.biblioteca.domain.model.Prestamo;
 import com.ceiba.biblioteca.domain.model.TipoUsuario;
 import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.entity.LibroJpaEntity;
 import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.entity.PrestamoJpaEntity;
 import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.repository.LibroJpaRepository;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 @Component
+@Profile("!memoria & !journal")
 public class PrestamoJpaMapper {
 
     private final LibroJpaMapper libroMapper;
@@ -19,27 +22,47 @@ public class PrestamoJpaMapper {
     }
 
     public PrestamoJpaEntity toEntity(Prestamo prestamo) {
-        LibroJpaEntity libroEntity = libroRepository.findByIsbn(prestamo.getLibro().getIsbn())
-            .orElseThrow(() -> new RuntimeException("Libro no encontrado con ISBN: " + prestamo.getLibro().getIsbn()));
-
         return PrestamoJpaEntity.builder()
             .id(prestamo.getId())
             .fechaPrestamo(prestamo.getFechaPrestamo())
             .fechaMaximaDevolucion(prestamo.getFechaMaximaDevolucion())
             .identificacionUsuario(prestamo.getIdentificacionUsuario())
             .tipoUsuario(prestamo.getTipoUsuario() != null ? prestamo.getTipoUsuario().getValor() : null)
-            .libro(libroEntity)
+            .libro(referenciaLibro(prestamo.getLibro()))
             .build();
     }
 
     public Prestamo toDomain(PrestamoJpaEntity entity) {
+        return toDomain(entity, libroMapper.toDomain(entity.getLibro()));
+    }
+
+    /**
+     * Convierte la entidad reutilizando un libro de dominio ya resuelto,
+     * sin inicializar la asociación perezosa de la entidad.
+     */
+    public Prestamo toDomain(PrestamoJpaEntity entity, Libro libro) {
         return Prestamo.builder()
             .id(entity.getId())
             .fechaPrestamo(entity.getFechaPrestamo())
             .fechaMaximaDevolucion(entity.getFechaMaximaDevolucion())
             .identificacionUsuario(entity.getIdentificacionUsuario())
             .tipoUsuario(entity.getTipoUsuario() != null ? TipoUsuario.fromValor(entity.getTipoUsuario()) : null)
-            .libro(libroMapper.toDomain(entity.getLibro()))
+            .libro(libro)
             .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Obtiene la entidad del libro asociado al préstamo.
+     *
+     * Si el libro ya fue resuelto (tiene ID) se usa una referencia por ID,
+     * que no ejecuta ningún SELECT; solo se consulta por ISBN cuando el
+     * libro aún no tiene identificador.
+     */
+    private LibroJpaEntity referenciaLibro(Libro libro) {
+        if (libro.getId() != null) {
+            return libroRepository.getOne(libro.getId());
+        }
+        return libroRepository.findByIsbn(LibroJpaEntity.normalizarIsbn(libro.getIsbn()))
+            .orElseThrow(() -> new RuntimeException("Libro no encontrado con ISBN: " + libro.getIsbn()));
+    }
+}
@@ -0,0 +1,195 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.outbox;
+
+import com.ceiba.biblioteca.domain.model.PrestamoCreado;
+import com.ceiba.biblioteca.domain.port.out.PublicadorPrestamosCreadosPort;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.entity.OutboxPrestamoCreadoJpaEntity;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.mapper.OutboxPrestamoCreadoJpaMapper;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.repository.OutboxPrestamoCreadoJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relevo del outbox de eventos PrestamoCreado hacia su publicador.
+ *
+ * Funcionamiento:
+ * - Un único hilo recorre la tabla outbox_prestamo_creado cada intervalo,
+ *   en tramos consecutivos de la llave primaria (id mayor que el último
+ *   entregado), sin OFFSET
+ * - Cada tramo se entrega completo al {@link PublicadorPrestamosCreadosPort}
+ *   y solo después se borran sus filas, por sus IDs exactos
+ * - Cada ciclo empieza desde el menor ID pendiente: los IDs se reservan en
+ *   bloques y una transacción con un ID menor puede confirmarse después de
+ *   otra con un ID mayor, así que un cursor en memoria podría saltarse su
+ *   evento; borrar solo lo entregado y volver a empezar no deja huecos
+ *
+ * Entrega al menos una vez: si el publicador falla, el tramo queda en el
+ * outbox y se vuelve a entregar en el siguiente ciclo; si el borrado falla
+ * después de publicar, el tramo se publica otra vez. Con varias instancias
+ * de la aplicación sobre la misma base, cada una releva por su cuenta y un
+ * evento puede entregarse una vez por instancia.
+ *
+ * Métricas:
+ * - {@value #DESPACHADOS}: eventos entregados al publicador
+ * - {@value #RETRASO}: tiempo entre el registro del préstamo y la entrega de su evento
+ * - {@value #FALLOS}: tramos que el publicador no pudo entregar
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public class RelevoPrestamosCreados {
+
+    /**
+     * Nombre del contador de eventos entregados.
+     */
+    public static final String DESPACHADOS = "biblioteca.outbox.despachados";
+
+    /**
+     * Nombre del temporizador del retraso de entrega.
+     */
+    public static final String RETRASO = "biblioteca.outbox.retraso";
+
+    /**
+     * Nombre del contador de tramos no entregados.
+     */
+    public static final String FALLOS = "biblioteca.outbox.fallos";
+
+    private static final Logger LOG = LoggerFactory.getLogger(RelevoPrestamosCreados.class);
+
+    private final OutboxPrestamoCreadoJpaRepository repository;
+    private final OutboxPrestamoCreadoJpaMapper mapper;
+    private final PublicadorPrestamosCreadosPort publicador;
+    private final int tamanoLote;
+    private final long intervaloMillis;
+    private final Clock reloj;
+
+    private final Counter despachados;
+    private final Timer retraso;
+    private final Counter fallos;
+
+    private final ScheduledExecutorService ejecutor;
+
+    /**
+     * @param repository Repositorio de la tabla outbox
+     * @param mapper Conversión de las filas del outbox a eventos de dominio
+     * @param publicador Destino de los eventos
+     * @param tamanoLote Eventos que se leen y entregan en cada tramo
+     * @param intervalo Pausa entre el fin de un ciclo y el inicio del siguiente
+     * @param reloj Reloj con el que se fechan los eventos, para medir el retraso
+     * @param registro Registro de métricas de la aplicación
+     */
+    public RelevoPrestamosCreados(OutboxPrestamoCreadoJpaRepository repository,
+                                  OutboxPrestamoCreadoJpaMapper mapper,
+                                  PublicadorPrestamosCreadosPort publicador, int tamanoLote,
+                                  Duration intervalo, Clock reloj, MeterRegistry registro) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.publicador = publicador;
+        this.tamanoLote = tamanoLote;
+        this.intervaloMillis = intervalo.toMillis();
+        this.reloj = reloj;
+
+        this.despachados = Counter.builder(DESPACHADOS)
+            .description("Eventos PrestamoCreado entregados desde el outbox")
+            .register(registro);
+        this.retraso = Timer.builder(RETRASO)
+            .description("Tiempo entre el registro de un préstamo y la entrega de su evento PrestamoCreado")
+            .register(registro);
+        this.fallos = Counter.builder(FALLOS)
+            .description("Tramos del outbox que no pudieron entregarse y se reintentan")
+            .register(registro);
+
+        this.ejecutor = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "relevo-outbox");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Programa los ciclos del relevo; el primero corre después de un intervalo.
+     */
+    @PostConstruct
+    public void iniciar() {
+        ejecutor.scheduleWithFixedDelay(this::ciclo, intervaloMillis, intervaloMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Detiene el relevo dejando terminar el ciclo en curso. Lo que quede en
+     * el outbox se entrega al volver a arrancar.
+     */
+    @PreDestroy
+    public void cerrar() {
+        ejecutor.shutdown();
+        try {
+            ejecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Entrega todo lo que hay en el outbox, tramo por tramo, hasta vaciarlo.
+     *
+     * @return Eventos entregados
+     * @throws RuntimeException si el publicador falla; el tramo en curso y
+     *                          los siguientes quedan en el outbox
+     */
+    public int relevar() {
+        int entregados = 0;
+        long desde = 0;
+        while (true) {
+            List<OutboxPrestamoCreadoJpaEntity> tramo = repository.findSiguientes(desde, PageRequest.of(0, tamanoLote));
+            if (tramo.isEmpty()) {
+                return entregados;
+            }
+            List<PrestamoCreado> eventos = new ArrayList<>(tramo.size());
+            List<Long> ids = new ArrayList<>(tramo.size());
+            for (OutboxPrestamoCreadoJpaEntity fila : tramo) {
+                eventos.add(mapper.toDomain(fila));
+                ids.add(fila.getId());
+            }
+
+            publicador.publicar(eventos);
+            registrarEntrega(eventos);
+            repository.deleteByIdIn(ids);
+
+            entregados += eventos.size();
+            if (tramo.size() < tamanoLote) {
+                return entregados;
+            }
+            desde = ids.get(ids.size() - 1);
+        }
+    }
+
+    private void ciclo() {
+        try {
+            relevar();
+        } catch (RuntimeException e) {
+            fallos.increment();
+            LOG.warn("No se pudieron entregar los eventos del outbox; se reintentan en el siguiente ciclo", e);
+        }
+    }
+
+    private void registrarEntrega(List<PrestamoCreado> eventos) {
+        long ahora = reloj.millis();
+        for (PrestamoCreado evento : eventos) {
+            retraso.record(Math.max(0, ahora - evento.getCreado()), TimeUnit.MILLISECONDS);
+        }
+        despachados.increment(eventos.size());
+    }
+}
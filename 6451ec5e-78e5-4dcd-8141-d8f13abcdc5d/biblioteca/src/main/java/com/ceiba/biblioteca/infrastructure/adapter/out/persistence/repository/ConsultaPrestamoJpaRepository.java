@@ -0,0 +1,39 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.repository;
+
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.entity.ConsultaPrestamoJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ConsultaPrestamoJpaRepository extends JpaRepository<ConsultaPrestamoJpaEntity, Integer> {
+
+    /**
+     * Regenera las filas de un rango de IDs de préstamo desde prestamo y
+     * libro, con un solo MERGE que inserta las que faltan y corrige las
+     * existentes.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "MERGE INTO prestamo_consulta "
+        + "(id, isbn, titulo, fecha_maxima_devolucion, fecha_maxima_devolucion_formateada, "
+        + "identificacion_usuario, tipo_usuario) KEY (id) "
+        + "SELECT p.id, l.isbn, l.titulo, p.fecha_maxima_devolucion, "
+        + "FORMATDATETIME(p.fecha_maxima_devolucion, 'dd/MM/yyyy'), "
+        + "p.identificacion_usuario, p.tipo_usuario "
+        + "FROM prestamo p JOIN libro l ON l.id = p.id_libro WHERE p.id BETWEEN :desde AND :hasta",
+        nativeQuery = true)
+    int reconstruirRango(@Param("desde") int desde, @Param("hasta") int hasta);
+
+    /**
+     * Borra las filas cuyo préstamo ya no existe.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM prestamo_consulta c WHERE NOT EXISTS (SELECT 1 FROM prestamo p WHERE p.id = c.id)",
+        nativeQuery = true)
+    int deleteSinPrestamo();
+}
@@ -1,16 +1,43 @@
 package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.repository;
 
 import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.entity.LibroJpaEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface LibroJpaRepository extends JpaRepository<LibroJpaEntity, Integer> {
 
+    /**
+     * Búsqueda por igualdad sobre el índice único uk_libro_isbn.
+     * El ISBN recibido debe estar normalizado con LibroJpaEntity.normalizarIsbn.
+     * Se marca de solo lectura para que Hibernate no guarde la copia
+     * usada en el dirty checking.
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true"))
     @Query("SELECT l FROM LibroJpaEntity l WHERE l.isbn = :isbn")
     Optional<LibroJpaEntity> findByIsbn(@Param("isbn") String isbn);
-}
\ No newline at end of file
+
+    /**
+     * Búsqueda por lote sobre el mismo índice, con una única consulta IN.
+     * Los ISBN recibidos deben estar normalizados.
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true"))
+    @Query("SELECT l FROM LibroJpaEntity l WHERE l.isbn IN :isbns")
+    List<LibroJpaEntity> findAllByIsbnIn(@Param("isbns") Collection<String> isbns);
+
+    /**
+     * IDs de los libros ordenados por cantidad de préstamos, de mayor a menor.
+     * Agrupa por la llave foránea de prestamo, sin hacer join con libro.
+     */
+    @Query("SELECT p.libro.id FROM PrestamoJpaEntity p GROUP BY p.libro.id ORDER BY COUNT(p.id) DESC")
+    List<Integer> findIdsMasPrestados(Pageable pageable);
+}
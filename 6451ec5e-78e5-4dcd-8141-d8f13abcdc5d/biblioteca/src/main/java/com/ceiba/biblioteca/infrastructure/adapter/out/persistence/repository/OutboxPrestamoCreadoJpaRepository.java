@@ -0,0 +1,32 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.repository;
+
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.entity.OutboxPrestamoCreadoJpaEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxPrestamoCreadoJpaRepository extends JpaRepository<OutboxPrestamoCreadoJpaEntity, Long> {
+
+    /**
+     * Siguiente tramo del outbox a partir de un ID: recorre la llave primaria
+     * desde ese punto y se detiene al completar la página, sin OFFSET ni COUNT.
+     */
+    @Query("SELECT e FROM OutboxPrestamoCreadoJpaEntity e WHERE e.id > :desde ORDER BY e.id")
+    List<OutboxPrestamoCreadoJpaEntity> findSiguientes(@Param("desde") long desde, Pageable pagina);
+
+    /**
+     * Borra las filas entregadas con un solo DELETE, sin cargarlas en la sesión.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxPrestamoCreadoJpaEntity e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
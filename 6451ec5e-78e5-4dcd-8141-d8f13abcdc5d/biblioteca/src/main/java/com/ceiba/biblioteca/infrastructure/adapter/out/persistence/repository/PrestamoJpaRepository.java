@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +18,21 @@ public interface PrestamoJpaRepository extends JpaRepository<PrestamoJpaEntity,
 
     @Query("SELECT COUNT(p) FROM PrestamoJpaEntity p WHERE p.identificacionUsuario = :identificacionUsuario")
     long countByIdentificacionUsuario(@Param("identificacionUsuario") String identificacionUsuario);
+
+    /**
+     * Consulta derivada que Spring Data limita a una fila, por lo que se detiene
+     * en la primera entrada del índice idx_prestamo_usuario_tipo.
+     */
+    boolean existsByIdentificacionUsuarioAndTipoUsuario(String identificacionUsuario, Integer tipoUsuario);
+
+    @Query("SELECT DISTINCT p.identificacionUsuario FROM PrestamoJpaEntity p "
+        + "WHERE p.identificacionUsuario IN :identificaciones AND p.tipoUsuario = :tipoUsuario")
+    List<String> findIdentificacionesConPrestamoDeTipo(@Param("identificaciones") Collection<String> identificaciones,
+                                                       @Param("tipoUsuario") Integer tipoUsuario);
+
+    @Query("SELECT MIN(p.id) FROM PrestamoJpaEntity p")
+    Integer findIdMinimo();
+
+    @Query("SELECT MAX(p.id) FROM PrestamoJpaEntity p")
+    Integer findIdMaximo();
 }
\ No newline at end of file
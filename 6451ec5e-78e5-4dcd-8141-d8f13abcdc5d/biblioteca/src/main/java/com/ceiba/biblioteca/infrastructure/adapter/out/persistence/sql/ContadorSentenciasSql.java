@@ -0,0 +1,46 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.sql;
+
+/**
+ * Contadores por hilo de las sentencias SQL que pasan por
+ * {@link DataSourceMedido}.
+ *
+ * Los contadores son acumulados y nunca se reinician: quien quiera medir un
+ * tramo toma {@link #actual()} al inicio y al final y resta. Así varias
+ * mediciones anidadas (una solicitud HTTP dentro de una prueba) no se
+ * interfieren. Cada hilo escribe solo sus propios contadores, sin
+ * sincronización.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public final class ContadorSentenciasSql {
+
+    private static final int SENTENCIAS = 0;
+    private static final int FILAS = 1;
+    private static final int NANOS = 2;
+
+    private static final ThreadLocal<long[]> CONTADORES = ThreadLocal.withInitial(() -> new long[3]);
+
+    private ContadorSentenciasSql() {
+    }
+
+    /**
+     * @return Totales acumulados del hilo actual
+     */
+    public static MedicionSql actual() {
+        long[] contadores = CONTADORES.get();
+        return new MedicionSql(contadores[SENTENCIAS], contadores[FILAS], contadores[NANOS]);
+    }
+
+    static void sentencia(long nanos, long filas) {
+        long[] contadores = CONTADORES.get();
+        contadores[SENTENCIAS]++;
+        contadores[FILAS] += filas;
+        contadores[NANOS] += nanos;
+    }
+
+    static void filas(long filas) {
+        CONTADORES.get()[FILAS] += filas;
+    }
+}
@@ -0,0 +1,162 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+
+/**
+ * DataSource que cuenta las sentencias SQL de cada hilo en
+ * {@link ContadorSentenciasSql}.
+ *
+ * Envuelve las conexiones del pool, sus sentencias y los resultados de las
+ * consultas en proxies de JDK:
+ * - Cada llamada execute* de una sentencia cuenta una sentencia y su
+ *   tiempo; executeBatch cuenta una por lote, que es un viaje a la base
+ * - Las filas de una modificación son las que reporta el driver
+ * - Las filas de una consulta se cuentan al recorrer el ResultSet
+ *
+ * Spring Boot reconoce el DelegatingDataSource, así que las métricas del
+ * pool siguen leyendo el DataSource original.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public class DataSourceMedido extends DelegatingDataSource {
+
+    /**
+     * @param dataSource DataSource a medir, normalmente el pool de conexiones
+     */
+    public DataSourceMedido(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return medir(Connection.class, new ConexionMedida(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return medir(Connection.class, new ConexionMedida(super.getConnection(username, password)));
+    }
+
+    private static <T> T medir(Class<T> tipo, InvocationHandler manejador) {
+        return tipo.cast(Proxy.newProxyInstance(DataSourceMedido.class.getClassLoader(), new Class<?>[]{tipo},
+            manejador));
+    }
+
+    private static Object invocar(Object objetivo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(objetivo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Devuelve las sentencias creadas por la conexión envueltas en
+     * {@link SentenciaMedida}.
+     */
+    private static final class ConexionMedida implements InvocationHandler {
+
+        private final Connection conexion;
+
+        ConexionMedida(Connection conexion) {
+            this.conexion = conexion;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            Object resultado = invocar(conexion, metodo, args);
+            Class<?> tipo = metodo.getReturnType();
+            if (tipo == PreparedStatement.class || tipo == Statement.class || tipo == CallableStatement.class) {
+                return medir(tipo, new SentenciaMedida(resultado));
+            }
+            return resultado;
+        }
+    }
+
+    /**
+     * Cuenta cada ejecución de la sentencia y envuelve sus resultados.
+     */
+    private static final class SentenciaMedida implements InvocationHandler {
+
+        private final Object sentencia;
+
+        SentenciaMedida(Object sentencia) {
+            this.sentencia = sentencia;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nombre = metodo.getName();
+            if (nombre.startsWith("execute")) {
+                long inicio = System.nanoTime();
+                Object resultado;
+                try {
+                    resultado = invocar(sentencia, metodo, args);
+                } finally {
+                    ContadorSentenciasSql.sentencia(System.nanoTime() - inicio, 0);
+                }
+                ContadorSentenciasSql.filas(filasAfectadas(resultado));
+                return resultado instanceof ResultSet ? resultadoMedido((ResultSet) resultado) : resultado;
+            }
+            Object resultado = invocar(sentencia, metodo, args);
+            return "getResultSet".equals(nombre) && resultado != null
+                ? resultadoMedido((ResultSet) resultado) : resultado;
+        }
+
+        private static ResultSet resultadoMedido(ResultSet resultado) {
+            return medir(ResultSet.class, new ResultadoMedido(resultado));
+        }
+
+        private static long filasAfectadas(Object resultado) {
+            if (resultado instanceof Number) {
+                return Math.max(0, ((Number) resultado).longValue());
+            }
+            long filas = 0;
+            if (resultado instanceof int[]) {
+                for (int fila : (int[]) resultado) {
+                    filas += Math.max(0, fila);
+                }
+            } else if (resultado instanceof long[]) {
+                for (long fila : (long[]) resultado) {
+                    filas += Math.max(0, fila);
+                }
+            }
+            return filas;
+        }
+    }
+
+    /**
+     * Cuenta una fila por cada next() que avanza a una fila.
+     */
+    private static final class ResultadoMedido implements InvocationHandler {
+
+        private final ResultSet resultado;
+
+        ResultadoMedido(ResultSet resultado) {
+            this.resultado = resultado;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            Object valor = invocar(resultado, metodo, args);
+            if (Boolean.TRUE.equals(valor) && "next".equals(metodo.getName())) {
+                ContadorSentenciasSql.filas(1);
+            }
+            return valor;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.sql;
+
+/**
+ * Sentencias SQL ejecutadas por un hilo, con sus filas y su tiempo.
+ *
+ * {@link ContadorSentenciasSql#actual()} devuelve los totales acumulados
+ * del hilo; la diferencia entre dos mediciones con {@link #desde} da lo
+ * ejecutado entre ellas, por ejemplo durante una solicitud HTTP.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public final class MedicionSql {
+
+    private final long sentencias;
+    private final long filas;
+    private final long nanos;
+
+    MedicionSql(long sentencias, long filas, long nanos) {
+        this.sentencias = sentencias;
+        this.filas = filas;
+        this.nanos = nanos;
+    }
+
+    /**
+     * @param inicio Medición tomada antes en el mismo hilo
+     * @return Lo ejecutado desde esa medición
+     */
+    public MedicionSql desde(MedicionSql inicio) {
+        return new MedicionSql(sentencias - inicio.sentencias, filas - inicio.filas, nanos - inicio.nanos);
+    }
+
+    /**
+     * Ejecuciones enviadas a la base de datos; un lote de JDBC cuenta como una.
+     */
+    public long getSentencias() {
+        return sentencias;
+    }
+
+    /**
+     * Filas leídas de las consultas más filas afectadas por las modificaciones.
+     */
+    public long getFilas() {
+        return filas;
+    }
+
+    /**
+     * Tiempo dentro de las llamadas execute de JDBC, sin recorrer los resultados.
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    @Override
+    public String toString() {
+        return sentencias + " sentencias, " + filas + " filas, " + (nanos / 1_000) + " us";
+    }
+}
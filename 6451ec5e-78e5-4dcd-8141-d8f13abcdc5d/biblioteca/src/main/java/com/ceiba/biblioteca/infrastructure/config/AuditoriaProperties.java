@@ -0,0 +1,71 @@
+package com.ceiba.biblioteca.infrastructure.config;
+
+import com.ceiba.biblioteca.infrastructure.adapter.out.auditoria.PoliticaBufferLleno;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de la traza de auditoría de las solicitudes de préstamo.
+ *
+ * Se leen del prefijo {@code biblioteca.auditoria}. Con la auditoría
+ * habilitada cada solicitud de préstamo deja un registro en los archivos
+ * del directorio configurado, escritos por un hilo aparte.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@ConfigurationProperties(prefix = "biblioteca.auditoria")
+public class AuditoriaProperties {
+
+    /**
+     * Registra cada solicitud de préstamo en los archivos de auditoría.
+     */
+    private boolean habilitado = false;
+
+    /**
+     * Directorio de los archivos de auditoría.
+     */
+    private String directorio = "auditoria";
+
+    /**
+     * Tamaño a partir del cual se abre un archivo nuevo.
+     */
+    private DataSize tamanoMaximoArchivo = DataSize.ofMegabytes(64);
+
+    /**
+     * Espera a que cada vaciado llegue a disco; sin esto una caída del
+     * sistema operativo puede perder el último intervalo.
+     */
+    private boolean sincronizar = false;
+
+    /**
+     * Registros que caben en el buffer entre las solicitudes y el escritor.
+     */
+    private int capacidad = 65_536;
+
+    /**
+     * Qué hace una solicitud cuando el buffer está lleno.
+     */
+    private PoliticaBufferLleno politica = PoliticaBufferLleno.DESCARTAR;
+
+    /**
+     * Espera máxima de una solicitud por espacio en el buffer con la política BLOQUEAR.
+     */
+    private Duration esperaMaxima = Duration.ofMillis(50);
+
+    /**
+     * Tiempo máximo que un registro escrito queda en memoria antes de
+     * entregarse al sistema operativo.
+     */
+    private Duration intervaloVaciado = Duration.ofMillis(200);
+
+    /**
+     * Registros que el escritor toma del buffer en cada escritura.
+     */
+    private int tamanoLote = 1024;
+}
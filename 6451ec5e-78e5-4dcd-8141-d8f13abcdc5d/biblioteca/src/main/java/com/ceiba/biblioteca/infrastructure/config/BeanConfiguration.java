@@ -1,15 +1,47 @@
 package com.ceiba.biblioteca.infrastructure.config;
 
 import com.ceiba.biblioteca.application.usecase.ConsultarPrestamoUseCaseImpl;
+import com.ceiba.biblioteca.application.usecase.PrestarLibroUseCaseAuditado;
 import com.ceiba.biblioteca.application.usecase.PrestarLibroUseCaseImpl;
+import com.ceiba.biblioteca.domain.model.CalendarioFestivos;
+import com.ceiba.biblioteca.domain.model.FestivosColombia;
 import com.ceiba.biblioteca.domain.port.in.ConsultarPrestamoUseCase;
 import com.ceiba.biblioteca.domain.port.in.PrestarLibroUseCase;
+import com.ceiba.biblioteca.domain.port.out.AuditoriaPrestamosPort;
+import com.ceiba.biblioteca.domain.port.out.BloqueoUsuarioPort;
 import com.ceiba.biblioteca.domain.port.out.LibroRepositoryPort;
 import com.ceiba.biblioteca.domain.port.out.PrestamoRepositoryPort;
+import com.ceiba.biblioteca.domain.port.out.TemporizadorFasesPort;
 import com.ceiba.biblioteca.domain.service.CalculadorFechaDevolucion;
+import com.ceiba.biblioteca.domain.service.ProveedorFechasDelDia;
 import com.ceiba.biblioteca.domain.service.ValidadorPrestamo;
+import com.ceiba.biblioteca.infrastructure.adapter.in.metricas.ConsultarPrestamoUseCaseMetricas;
+import com.ceiba.biblioteca.infrastructure.adapter.in.metricas.PrestarLibroUseCaseMetricas;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.traza.TemporizadorFasesAdapter;
+import com.ceiba.biblioteca.infrastructure.adapter.out.auditoria.AuditoriaArchivoAdapter;
+import com.ceiba.biblioteca.infrastructure.adapter.out.cache.LibroRepositoryCacheAdapter;
+import com.ceiba.biblioteca.infrastructure.adapter.out.cache.PrestamoRepositoryCacheAdapter;
+import com.ceiba.biblioteca.infrastructure.adapter.out.metricas.LibroRepositoryMetricasAdapter;
+import com.ceiba.biblioteca.infrastructure.adapter.out.metricas.PrestamoRepositoryMetricasAdapter;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.adapter.LibroRepositoryAdapter;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.adapter.PrestamoRepositoryAdapter;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.consulta.ReconstructorConsultaPrestamos;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.sql.DataSourceMedido;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Configuración de beans para la inversión de dependencias en el dominio.
@@ -29,34 +61,183 @@ import org.springframework.context.annotation.Configuration;
  * - Inyección de dependencias en casos de uso
  * - Creación de beans sin anotaciones (@Component, @Service)
  * - Orquestación de la arquitectura hexagonal
+ * - Activación de la caché del catálogo según biblioteca.cache.libros.habilitado
+ * - Activación de la caché de consultas según biblioteca.cache.prestamos.habilitado
+ * - Calendario de festivos para las fechas de devolución: la regla de Colombia según
+ *   biblioteca.calendario.festivos-colombia, más el archivo de biblioteca.calendario.festivos
+ * - Métricas de duración y resultado de los casos de uso y de los puertos de salida
+ * - Traza por fases de los casos de uso según biblioteca.traza.habilitado
+ * - Conteo de sentencias SQL en el DataSource según biblioteca.sql.habilitado
+ * - Auditoría asíncrona de las solicitudes de préstamo según biblioteca.auditoria.habilitado
+ * - Propiedades del outbox de eventos PrestamoCreado, cuyo relevo arma {@link OutboxConfiguration}
+ * - Reconstrucción del modelo de lectura de préstamos según biblioteca.consulta.reconstruir
+ *
+ * Los decoradores de métricas no se registran como beans: se aplican al
+ * construir cada consumidor, así los adaptadores (y sus decoradores de
+ * caché) siguen inyectándose por su propio tipo. Varios decoradores de un
+ * mismo puerto comparten los temporizadores, porque el registro devuelve el
+ * medidor existente para el mismo nombre y etiquetas.
  *
  * @author Sistema Biblioteca Ceiba
  * @version 1.0
  * @since 1.0
  */
 @Configuration
+@EnableConfigurationProperties({CacheLibrosProperties.class, CachePrestamosProperties.class,
+    CalendarioProperties.class, TrazaProperties.class, SqlProperties.class, AuditoriaProperties.class,
+    OutboxProperties.class})
 public class BeanConfiguration {
 
+    /**
+     * Reloj del dominio. Las pruebas pueden reemplazarlo por uno fijo para
+     * controlar la fecha de los préstamos.
+     */
+    @Bean
+    public Clock reloj() {
+        return Clock.systemDefaultZone();
+    }
+
+    @Bean
+    public CalculadorFechaDevolucion calculadorFechaDevolucion(CalendarioProperties calendarioProperties, Clock reloj) {
+        List<LocalDate> adicionales = LectorCalendarioFestivos.leerFechas(calendarioProperties.getFestivos());
+        CalendarioFestivos calendario = calendarioProperties.isFestivosColombia()
+            ? CalendarioFestivos.porRegla(FestivosColombia::delAnio, adicionales)
+            : CalendarioFestivos.de(adicionales);
+        return new CalculadorFechaDevolucion(calendario, reloj);
+    }
+
     @Bean
-    public CalculadorFechaDevolucion calculadorFechaDevolucion() {
-        return new CalculadorFechaDevolucion();
+    public ProveedorFechasDelDia proveedorFechasDelDia(Clock reloj, CalculadorFechaDevolucion calculadorFecha) {
+        return new ProveedorFechasDelDia(reloj, calculadorFecha);
     }
 
     @Bean
-    public ValidadorPrestamo validadorPrestamo(PrestamoRepositoryPort prestamoRepository) {
-        return new ValidadorPrestamo(prestamoRepository);
+    public ValidadorPrestamo validadorPrestamo(PrestamoRepositoryPort prestamoRepository,
+                                               MeterRegistry registroMetricas) {
+        return new ValidadorPrestamo(new PrestamoRepositoryMetricasAdapter(prestamoRepository, registroMetricas));
+    }
+
+    @Bean
+    public TemporizadorFasesAdapter temporizadorFases(TrazaProperties trazaProperties) {
+        return new TemporizadorFasesAdapter(trazaProperties.isHabilitado());
     }
 
     @Bean
     public PrestarLibroUseCase prestarLibroUseCase(PrestamoRepositoryPort prestamoRepository,
                                                    LibroRepositoryPort libroRepository,
-                                                   CalculadorFechaDevolucion calculadorFecha,
-                                                   ValidadorPrestamo validadorPrestamo) {
-        return new PrestarLibroUseCaseImpl(prestamoRepository, libroRepository, calculadorFecha, validadorPrestamo);
+                                                   ProveedorFechasDelDia fechasDelDia,
+                                                   ValidadorPrestamo validadorPrestamo,
+                                                   BloqueoUsuarioPort bloqueoUsuario,
+                                                   MeterRegistry registroMetricas,
+                                                   TemporizadorFasesAdapter temporizadorFases,
+                                                   ObjectProvider<AuditoriaPrestamosPort> auditoria,
+                                                   Clock reloj) {
+        PrestarLibroUseCase prestarLibro = new PrestarLibroUseCaseImpl(
+            new PrestamoRepositoryMetricasAdapter(prestamoRepository, registroMetricas),
+            new LibroRepositoryMetricasAdapter(libroRepository, registroMetricas),
+            fechasDelDia, validadorPrestamo, bloqueoUsuario, fases(temporizadorFases));
+        AuditoriaPrestamosPort auditoriaPrestamos = auditoria.getIfAvailable();
+        if (auditoriaPrestamos != null) {
+            prestarLibro = new PrestarLibroUseCaseAuditado(prestarLibro, auditoriaPrestamos, reloj);
+        }
+        return new PrestarLibroUseCaseMetricas(prestarLibro, registroMetricas);
+    }
+
+    @Bean
+    public ConsultarPrestamoUseCase consultarPrestamoUseCase(PrestamoRepositoryPort prestamoRepository,
+                                                             MeterRegistry registroMetricas,
+                                                             TemporizadorFasesAdapter temporizadorFases) {
+        ConsultarPrestamoUseCase consultarPrestamo = new ConsultarPrestamoUseCaseImpl(
+            new PrestamoRepositoryMetricasAdapter(prestamoRepository, registroMetricas), fases(temporizadorFases));
+        return new ConsultarPrestamoUseCaseMetricas(consultarPrestamo, registroMetricas);
+    }
+
+    /**
+     * Escritor asíncrono de la auditoría de préstamos cuando
+     * biblioteca.auditoria.habilitado=true. Arranca su hilo al crearse y al
+     * cerrar el contexto termina de escribir lo pendiente.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "biblioteca.auditoria", name = "habilitado", havingValue = "true")
+    public AuditoriaArchivoAdapter auditoriaPrestamos(AuditoriaProperties properties, Clock reloj,
+                                                      MeterRegistry registroMetricas) {
+        return new AuditoriaArchivoAdapter(Paths.get(properties.getDirectorio()),
+            properties.getTamanoMaximoArchivo().toBytes(), properties.isSincronizar(), properties.getCapacidad(),
+            properties.getPolitica(), properties.getEsperaMaxima(), properties.getIntervaloVaciado(),
+            properties.getTamanoLote(), reloj, registroMetricas);
+    }
+
+    /**
+     * Regenera la tabla prestamo_consulta desde prestamo y libro al arrancar
+     * con biblioteca.consulta.reconstruir=true. Los perfiles memoria y
+     * journal no tienen esa tabla y no hacen nada.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "biblioteca.consulta", name = "reconstruir", havingValue = "true")
+    public ApplicationRunner reconstruccionConsultaPrestamos(ObjectProvider<ReconstructorConsultaPrestamos> reconstructor) {
+        return args -> reconstructor.ifAvailable(ReconstructorConsultaPrestamos::reconstruir);
+    }
+
+    /**
+     * Con la traza deshabilitada los casos de uso reciben el temporizador
+     * vacío, cuyas llamadas el compilador JIT elimina.
+     */
+    private static TemporizadorFasesPort fases(TemporizadorFasesAdapter temporizadorFases) {
+        return temporizadorFases.isHabilitado() ? temporizadorFases : TemporizadorFasesPort.INACTIVO;
+    }
+
+    /**
+     * Envuelve el DataSource de la aplicación en {@link DataSourceMedido}
+     * cuando biblioteca.sql.habilitado=true. Es estático porque los
+     * BeanPostProcessor se crean antes que el resto de la configuración.
+     * En el perfil memoria no hay DataSource y no envuelve nada.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "biblioteca.sql", name = "habilitado", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor medicionSentenciasSql() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource && !(bean instanceof DataSourceMedido)
+                    ? new DataSourceMedido((DataSource) bean) : bean;
+            }
+        };
+    }
+
+    /**
+     * Caché del catálogo que decora al adaptador JPA cuando
+     * biblioteca.cache.libros.habilitado=true. Al ser @Primary, es la
+     * implementación de LibroRepositoryPort que reciben los casos de uso.
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "biblioteca.cache.libros", name = "habilitado", havingValue = "true")
+    public LibroRepositoryCacheAdapter libroRepositoryCache(LibroRepositoryAdapter libroRepositoryAdapter,
+                                                            CacheLibrosProperties properties,
+                                                            MeterRegistry registroMetricas) {
+        return new LibroRepositoryCacheAdapter(libroRepositoryAdapter, properties.getTamanoMaximo(), properties.getTtl(),
+            registroMetricas);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "biblioteca.cache.libros", name = "habilitado", havingValue = "true")
+    public ApplicationRunner precargaCacheLibros(LibroRepositoryCacheAdapter libroRepositoryCache,
+                                                 CacheLibrosProperties properties) {
+        return args -> libroRepositoryCache.precargar(properties.getPrecarga());
     }
 
+    /**
+     * Caché de consultas de préstamos que decora al adaptador JPA cuando
+     * biblioteca.cache.prestamos.habilitado=true. Al ser @Primary, los casos
+     * de uso guardan a través de ella y así queda poblada en cada préstamo.
+     */
     @Bean
-    public ConsultarPrestamoUseCase consultarPrestamoUseCase(PrestamoRepositoryPort prestamoRepository) {
-        return new ConsultarPrestamoUseCaseImpl(prestamoRepository);
+    @Primary
+    @ConditionalOnProperty(prefix = "biblioteca.cache.prestamos", name = "habilitado", havingValue = "true")
+    public PrestamoRepositoryCacheAdapter prestamoRepositoryCache(PrestamoRepositoryAdapter prestamoRepositoryAdapter,
+                                                                  CachePrestamosProperties properties,
+                                                                  MeterRegistry registroMetricas) {
+        return new PrestamoRepositoryCacheAdapter(prestamoRepositoryAdapter, properties.getTamanoMaximo(),
+            properties.getTtlAusentes(), registroMetricas);
     }
-}
\ No newline at end of file
+}
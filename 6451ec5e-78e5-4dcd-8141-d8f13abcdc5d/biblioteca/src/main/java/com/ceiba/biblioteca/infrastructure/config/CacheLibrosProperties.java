@@ -0,0 +1,42 @@
+package com.ceiba.biblioteca.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de la caché en memoria del catálogo de libros.
+ *
+ * Se leen del prefijo {@code biblioteca.cache.libros} y permiten activar o
+ * desactivar la caché sin recompilar, por ejemplo para comparar el
+ * rendimiento con y sin ella.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@ConfigurationProperties(prefix = "biblioteca.cache.libros")
+public class CacheLibrosProperties {
+
+    /**
+     * Activa el decorador con caché sobre el repositorio de libros.
+     */
+    private boolean habilitado = false;
+
+    /**
+     * Cantidad máxima de libros en memoria.
+     */
+    private long tamanoMaximo = 10_000;
+
+    /**
+     * Tiempo de vida de cada libro cacheado desde que se carga.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * Cantidad de libros más prestados a precargar al arrancar; 0 desactiva la precarga.
+     */
+    private int precarga = 0;
+}
@@ -0,0 +1,36 @@
+package com.ceiba.biblioteca.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de la caché de consultas de préstamos.
+ *
+ * Se leen del prefijo {@code biblioteca.cache.prestamos} y controlan la
+ * caché que atiende GET /prestamo/{id} sin ir a la base de datos.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@ConfigurationProperties(prefix = "biblioteca.cache.prestamos")
+public class CachePrestamosProperties {
+
+    /**
+     * Activa el decorador con caché sobre el repositorio de préstamos.
+     */
+    private boolean habilitado = false;
+
+    /**
+     * Cantidad máxima de consultas en memoria, incluidos los ID inexistentes.
+     */
+    private long tamanoMaximo = 100_000;
+
+    /**
+     * Tiempo durante el cual se recuerda que un ID de préstamo no existe.
+     */
+    private Duration ttlAusentes = Duration.ofSeconds(5);
+}
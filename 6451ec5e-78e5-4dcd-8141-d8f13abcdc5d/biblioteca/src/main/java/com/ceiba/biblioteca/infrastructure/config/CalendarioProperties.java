@@ -0,0 +1,33 @@
+package com.ceiba.biblioteca.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+
+/**
+ * Propiedades del calendario de festivos para las fechas de devolución.
+ *
+ * Se leen del prefijo {@code biblioteca.calendario}. Los festivos nacionales
+ * salen de una regla que cubre cualquier año; cada sede puede sumar sus
+ * festivos locales en un archivo sin recompilar.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@ConfigurationProperties(prefix = "biblioteca.calendario")
+public class CalendarioProperties {
+
+    /**
+     * Genera los festivos nacionales de Colombia por regla. Sin regla ni
+     * archivo solo se excluyen los fines de semana.
+     */
+    private boolean festivosColombia;
+
+    /**
+     * Archivo con festivos adicionales a la regla, uno por línea en formato
+     * fecha|descripción, por ejemplo {@code 2026-11-11|Fiesta local}.
+     */
+    private Resource festivos;
+}
@@ -0,0 +1,86 @@
+package com.ceiba.biblioteca.infrastructure.config;
+
+import com.ceiba.biblioteca.domain.model.CalendarioFestivos;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lee el archivo de festivos configurado y construye el calendario de dominio.
+ *
+ * El archivo solo lista fechas: no sabe de años futuros. Por eso la
+ * configuración lo usa para festivos adicionales a la regla de
+ * {@link com.ceiba.biblioteca.domain.model.FestivosColombia}, no como
+ * calendario completo.
+ *
+ * Formato: una línea por festivo, delimitada por '|', con la fecha ISO
+ * (yyyy-MM-dd) en el primer campo; los demás campos son descriptivos. Las
+ * líneas vacías y las que empiezan con '#' se ignoran, igual que en los
+ * archivos semilla del perfil "memoria".
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+public final class LectorCalendarioFestivos {
+
+    private static final String SEPARADOR = "\\|";
+    private static final String COMENTARIO = "#";
+
+    private LectorCalendarioFestivos() {
+    }
+
+    /**
+     * @param recurso Archivo de festivos; null o inexistente equivale a un calendario sin festivos
+     * @return Calendario con los festivos del archivo
+     *
+     * @throws IllegalStateException si una línea no tiene una fecha válida
+     */
+    public static CalendarioFestivos leer(Resource recurso) {
+        return CalendarioFestivos.de(leerFechas(recurso));
+    }
+
+    /**
+     * @param recurso Archivo de festivos; null o inexistente equivale a un archivo vacío
+     * @return Fechas del archivo, en el orden en que aparecen
+     *
+     * @throws IllegalStateException si una línea no tiene una fecha válida
+     */
+    public static List<LocalDate> leerFechas(Resource recurso) {
+        List<LocalDate> festivos = new ArrayList<>();
+        if (recurso == null || !recurso.exists()) {
+            return festivos;
+        }
+        try (BufferedReader lector = new BufferedReader(
+                new InputStreamReader(recurso.getInputStream(), StandardCharsets.UTF_8))) {
+            String linea;
+            int numero = 0;
+            while ((linea = lector.readLine()) != null) {
+                numero++;
+                if (!linea.trim().isEmpty() && !linea.startsWith(COMENTARIO)) {
+                    festivos.add(fecha(linea, numero, recurso));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No fue posible leer " + recurso.getDescription(), e);
+        }
+        return festivos;
+    }
+
+    private static LocalDate fecha(String linea, int numero, Resource recurso) {
+        try {
+            return LocalDate.parse(linea.split(SEPARADOR, -1)[0].trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalStateException("Fecha inválida en la línea " + numero + " de "
+                + recurso.getDescription() + ": " + linea, e);
+        }
+    }
+}
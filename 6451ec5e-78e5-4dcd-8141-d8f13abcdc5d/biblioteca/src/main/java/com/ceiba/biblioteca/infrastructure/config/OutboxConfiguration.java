@@ -0,0 +1,64 @@
+package com.ceiba.biblioteca.infrastructure.config;
+
+import com.ceiba.biblioteca.domain.port.out.PublicadorPrestamosCreadosPort;
+import com.ceiba.biblioteca.infrastructure.adapter.out.eventos.PublicadorPrestamosCreadosArchivoAdapter;
+import com.ceiba.biblioteca.infrastructure.adapter.out.eventos.PublicadorPrestamosCreadosLogAdapter;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.mapper.OutboxPrestamoCreadoJpaMapper;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.outbox.RelevoPrestamosCreados;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.repository.OutboxPrestamoCreadoJpaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.nio.file.Paths;
+import java.time.Clock;
+
+/**
+ * Configuración del relevo del outbox de eventos PrestamoCreado.
+ *
+ * Solo se activa con biblioteca.outbox.habilitado=true y con la
+ * persistencia JPA de préstamos, que es la que escribe el outbox; los
+ * perfiles memoria y journal no lo tienen.
+ *
+ * El publicador se elige con biblioteca.outbox.destino:
+ * - log (por defecto): una línea INFO por evento en el log de la aplicación
+ * - archivo: JSON, una línea por evento, en biblioteca.outbox.archivo, rotando
+ *   al superar biblioteca.outbox.tamano-maximo-archivo
+ *
+ * Para entregar a otro sistema basta con registrar otro bean de
+ * {@link PublicadorPrestamosCreadosPort} y un destino distinto de los anteriores.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+@Profile("!memoria & !journal")
+@ConditionalOnProperty(prefix = "biblioteca.outbox", name = "habilitado", havingValue = "true")
+public class OutboxConfiguration {
+
+    @Bean
+    public RelevoPrestamosCreados relevoPrestamosCreados(OutboxPrestamoCreadoJpaRepository outboxRepository,
+                                                         OutboxPrestamoCreadoJpaMapper outboxMapper,
+                                                         PublicadorPrestamosCreadosPort publicador,
+                                                         OutboxProperties properties, Clock reloj,
+                                                         MeterRegistry registroMetricas) {
+        return new RelevoPrestamosCreados(outboxRepository, outboxMapper, publicador, properties.getTamanoLote(),
+            properties.getIntervalo(), reloj, registroMetricas);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "biblioteca.outbox", name = "destino", havingValue = "archivo")
+    public PublicadorPrestamosCreadosArchivoAdapter publicadorPrestamosCreadosArchivo(OutboxProperties properties) {
+        return new PublicadorPrestamosCreadosArchivoAdapter(Paths.get(properties.getArchivo()),
+            properties.getTamanoMaximoArchivo().toBytes(), properties.isSincronizar());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "biblioteca.outbox", name = "destino", havingValue = "log", matchIfMissing = true)
+    public PublicadorPrestamosCreadosLogAdapter publicadorPrestamosCreadosLog() {
+        return new PublicadorPrestamosCreadosLogAdapter();
+    }
+}
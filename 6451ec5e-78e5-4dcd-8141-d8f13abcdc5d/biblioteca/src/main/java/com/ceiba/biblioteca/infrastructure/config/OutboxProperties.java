@@ -0,0 +1,63 @@
+package com.ceiba.biblioteca.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del outbox de eventos PrestamoCreado.
+ *
+ * Se leen del prefijo {@code biblioteca.outbox}. Con el outbox habilitado
+ * cada préstamo guardado con JPA deja su evento en la tabla
+ * outbox_prestamo_creado, dentro de la misma transacción, y un hilo de
+ * relevo lo entrega al destino configurado. Los perfiles memoria y journal
+ * no tienen outbox.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@ConfigurationProperties(prefix = "biblioteca.outbox")
+public class OutboxProperties {
+
+    /**
+     * Registra el evento de cada préstamo y arranca el relevo.
+     */
+    private boolean habilitado = false;
+
+    /**
+     * Pausa del relevo entre un ciclo y el siguiente; es el retraso máximo
+     * con el que se detecta un evento nuevo.
+     */
+    private Duration intervalo = Duration.ofMillis(200);
+
+    /**
+     * Eventos que el relevo lee y entrega en cada lote.
+     */
+    private int tamanoLote = 500;
+
+    /**
+     * Destino de los eventos: log o archivo (JSON, una línea por evento).
+     * El archivo se activa de forma explícita, porque escribe en disco.
+     */
+    private String destino = "log";
+
+    /**
+     * Archivo de eventos del destino archivo.
+     */
+    private String archivo = "eventos/prestamos-creados.jsonl";
+
+    /**
+     * Tamaño a partir del cual el archivo de eventos se rota.
+     */
+    private DataSize tamanoMaximoArchivo = DataSize.ofMegabytes(64);
+
+    /**
+     * Espera a que cada lote llegue a disco antes de borrarlo del outbox;
+     * sin esto una caída del sistema operativo puede perder el último lote.
+     */
+    private boolean sincronizar = false;
+}
@@ -0,0 +1,25 @@
+package com.ceiba.biblioteca.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de la medición de sentencias SQL.
+ *
+ * Se leen del prefijo {@code biblioteca.sql}. Con la medición habilitada
+ * el DataSource cuenta las sentencias de cada hilo y las solicitudes de
+ * /prestamo publican sus sentencias, filas y tiempo en la base de datos.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@ConfigurationProperties(prefix = "biblioteca.sql")
+public class SqlProperties {
+
+    /**
+     * Envuelve el DataSource para contar las sentencias SQL por solicitud.
+     */
+    private boolean habilitado = true;
+}
@@ -0,0 +1,38 @@
+package com.ceiba.biblioteca.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de la traza por fases de las solicitudes de préstamo.
+ *
+ * Se leen del prefijo {@code biblioteca.traza}. Con la traza habilitada
+ * las respuestas de /prestamo llevan el encabezado Server-Timing y las
+ * solicitudes lentas se registran en el log.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@ConfigurationProperties(prefix = "biblioteca.traza")
+public class TrazaProperties {
+
+    /**
+     * Mide las fases de cada solicitud. Deshabilitada no tiene costo: los
+     * casos de uso reciben un temporizador vacío.
+     */
+    private boolean habilitado = false;
+
+    /**
+     * Duración a partir de la cual una solicitud se registra como lenta.
+     */
+    private Duration umbralLento = Duration.ofMillis(500);
+
+    /**
+     * Máximo de solicitudes lentas registradas en el log por segundo.
+     */
+    private int lentosPorSegundo = 10;
+}
@@ -0,0 +1,90 @@
+package com.ceiba.biblioteca.infrastructure.config;
+
+import com.ceiba.biblioteca.infrastructure.adapter.in.metricas.InterceptorSentenciasSql;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.codec.PrestamoBinarioHttpMessageConverter;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.codec.PrestamoJsonHttpMessageConverter;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.traza.InterceptorFases;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.traza.TemporizadorFasesAdapter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Configuración de la capa web.
+ *
+ * Registra los convertidores escritos a mano de los mensajes de préstamo
+ * al inicio de la cadena de convertidores de Spring MVC. Spring usa el
+ * primero que acepte la clase y el tipo de contenido, así que:
+ * - Los mensajes de préstamo en application/json pasan por el convertidor
+ *   de streaming, sin binding por reflexión
+ * - Los mismos mensajes en application/vnd.biblioteca.prestamo usan el
+ *   formato binario de CodecBinarioPrestamo
+ * - Cualquier otra clase o tipo de contenido sigue en los convertidores
+ *   por defecto, entre ellos el de Jackson
+ *
+ * Spring Data también inserta al inicio su convertidor de proyecciones,
+ * pero solo lee interfaces y no escribe, así que no compite con este.
+ *
+ * Con biblioteca.traza.habilitado=true registra además el interceptor que
+ * mide las fases de las solicitudes de /prestamo y registra las lentas, y
+ * con biblioteca.sql.habilitado=true el que publica sus sentencias SQL.
+ *
+ * @author Sistema Biblioteca Ceiba
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    private final TemporizadorFasesAdapter temporizadorFases;
+
+    private final TrazaProperties trazaProperties;
+
+    private final SqlProperties sqlProperties;
+
+    private final MeterRegistry registroMetricas;
+
+    /**
+     * @param objectMapper ObjectMapper de la aplicación; su fábrica comparte la
+     *                     configuración de JSON con el convertidor de Jackson
+     * @param temporizadorFases Temporizador de fases que reciben los casos de uso
+     * @param trazaProperties Umbral y muestreo del log de solicitudes lentas
+     * @param sqlProperties Activación de la medición de sentencias SQL
+     * @param registroMetricas Registro de las métricas de sentencias SQL
+     */
+    public WebConfiguration(ObjectMapper objectMapper, TemporizadorFasesAdapter temporizadorFases,
+                            TrazaProperties trazaProperties, SqlProperties sqlProperties,
+                            MeterRegistry registroMetricas) {
+        this.objectMapper = objectMapper;
+        this.temporizadorFases = temporizadorFases;
+        this.trazaProperties = trazaProperties;
+        this.sqlProperties = sqlProperties;
+        this.registroMetricas = registroMetricas;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new PrestamoJsonHttpMessageConverter(objectMapper.getFactory()));
+        converters.add(1, new PrestamoBinarioHttpMessageConverter());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (temporizadorFases.isHabilitado()) {
+            registry.addInterceptor(new InterceptorFases(temporizadorFases, trazaProperties.getUmbralLento(),
+                    trazaProperties.getLentosPorSegundo()))
+                .addPathPatterns("/prestamo", "/prestamo/**");
+        }
+        if (sqlProperties.isHabilitado()) {
+            registry.addInterceptor(new InterceptorSentenciasSql(registroMetricas))
+                .addPathPatterns("/prestamo", "/prestamo/**");
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.ceiba.biblioteca.infrastructure.configuration;
 import com.ceiba.biblioteca.domain.exception.DomainException;
 import com.ceiba.biblioteca.domain.exception.PrestamoNoEncontradoException;
 import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ErrorResponseDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -11,6 +13,8 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Logger LOG = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
     @ExceptionHandler(PrestamoNoEncontradoException.class)
     public ResponseEntity<ErrorResponseDto> handlePrestamoNoEncontrado(PrestamoNoEncontradoException e) {
         ErrorResponseDto error = new ErrorResponseDto(e.getMessage());
@@ -25,6 +29,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseDto> handleGenericException(Exception e) {
+        LOG.error("Error no controlado al atender la solicitud", e);
         ErrorResponseDto error = new ErrorResponseDto("Error interno del servidor");
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
@@ -1,9 +1,19 @@
+DROP TABLE IF EXISTS outbox_prestamo_creado;
+DROP TABLE IF EXISTS prestamo_consulta;
 DROP TABLE IF EXISTS prestamo;
 DROP TABLE IF EXISTS libro;
+DROP SEQUENCE IF EXISTS outbox_seq;
+DROP SEQUENCE IF EXISTS prestamo_seq;
+DROP SEQUENCE IF EXISTS libro_seq;
+
+-- Secuencias con incremento 50: Hibernate reserva bloques de IDs (pooled-lo) y puede agrupar los INSERT en lotes JDBC
+CREATE SEQUENCE libro_seq START WITH 19 INCREMENT BY 50;
+CREATE SEQUENCE prestamo_seq START WITH 8 INCREMENT BY 50;
+CREATE SEQUENCE outbox_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE libro (
-    id INTEGER NOT NULL AUTO_INCREMENT,
-    isbn VARCHAR(20),
+    id INTEGER DEFAULT NEXT VALUE FOR libro_seq NOT NULL,
+    isbn VARCHAR(20) NOT NULL,
     titulo VARCHAR(255) NOT NULL,
     descripcion TEXT,
     fecha_publicacion DATE,
@@ -12,17 +22,60 @@ CREATE TABLE libro (
     CONSTRAINT libro_pk PRIMARY KEY (id)
 );
 
+-- Cada préstamo busca el libro por ISBN: índice único para evitar recorrer todo el catálogo
+CREATE UNIQUE INDEX uk_libro_isbn ON libro (isbn);
+
 CREATE TABLE prestamo (
-    id INTEGER NOT NULL AUTO_INCREMENT,
+    id INTEGER DEFAULT NEXT VALUE FOR prestamo_seq NOT NULL,
     fecha_prestamo DATE NOT NULL,
     fecha_maxima_devolucion DATE NOT NULL,
     identificacion_usuario VARCHAR(20) NOT NULL,
     tipo_usuario INTEGER,
     id_libro INTEGER NOT NULL,
+    -- Identificación solo para préstamos de invitados; NULL para los demás tipos de usuario
+    usuario_invitado VARCHAR(20) AS (CASE WHEN tipo_usuario = 3 THEN identificacion_usuario END),
     CONSTRAINT prestamo_pk PRIMARY KEY (id),
     CONSTRAINT fk_prestamo_libro FOREIGN KEY (id_libro) REFERENCES libro (id)
 );
 
+-- Validación de invitados: la existencia de préstamos del usuario se resuelve sobre el índice
+CREATE INDEX idx_prestamo_usuario_tipo ON prestamo (identificacion_usuario, tipo_usuario);
+
+-- Un solo préstamo por invitado, garantizado por la base de datos incluso con varias instancias.
+-- Equivale a un índice único parcial (WHERE tipo_usuario = 3): el índice admite varios NULL
+CREATE UNIQUE INDEX uk_prestamo_invitado ON prestamo (usuario_invitado);
+
+-- Modelo de lectura de GET /prestamo/{id}: los campos de la respuesta, junto al ISBN y el título,
+-- para resolver la consulta con una búsqueda por llave primaria y sin JOIN. Se escribe en la
+-- transacción de cada préstamo y puede regenerarse desde prestamo y libro (biblioteca.consulta.reconstruir).
+-- La fecha máxima de devolución va como fecha, para el formato binario, y ya formateada como dd/MM/yyyy,
+-- para que el JSON la entregue tal cual
+CREATE TABLE prestamo_consulta (
+    id INTEGER NOT NULL,
+    isbn VARCHAR(20) NOT NULL,
+    titulo VARCHAR(255) NOT NULL,
+    fecha_maxima_devolucion DATE NOT NULL,
+    fecha_maxima_devolucion_formateada CHAR(10) NOT NULL,
+    identificacion_usuario VARCHAR(20) NOT NULL,
+    tipo_usuario INTEGER,
+    CONSTRAINT prestamo_consulta_pk PRIMARY KEY (id)
+);
+
+-- Outbox de eventos PrestamoCreado: se escribe en la transacción del préstamo y el relevo
+-- lo recorre por rangos de la llave primaria y borra cada fila al entregarla.
+-- Sin llave foránea para que el borrado no toque la tabla prestamo
+CREATE TABLE outbox_prestamo_creado (
+    id BIGINT DEFAULT NEXT VALUE FOR outbox_seq NOT NULL,
+    id_prestamo INTEGER NOT NULL,
+    isbn VARCHAR(20),
+    identificacion_usuario VARCHAR(20) NOT NULL,
+    tipo_usuario INTEGER,
+    fecha_prestamo DATE NOT NULL,
+    fecha_maxima_devolucion DATE NOT NULL,
+    creado TIMESTAMP NOT NULL,
+    CONSTRAINT outbox_prestamo_creado_pk PRIMARY KEY (id)
+);
+
 INSERT INTO libro (id, isbn, titulo, descripcion, fecha_publicacion, autor, editorial) VALUES
 (1, '9788408187462', 'Cien Años de Soledad', 'Obra maestra del realismo mágico que narra la historia de la familia Buendía', '1967-05-30', 'Gabriel García Márquez', 'Editorial Sudamericana'),
 (2, '9788491050145', 'Sapiens: De Animales a Dioses', 'Una breve historia de la humanidad desde la revolución cognitiva', '2011-02-10', 'Yuval Noah Harari', 'Debate'),
@@ -52,6 +105,8 @@ INSERT INTO prestamo (id, fecha_prestamo, fecha_maxima_devolucion, identificacio
 (6, '2025-09-15', '2025-09-22', '4455667788', 3, 7),
 (7, '2025-09-16', '2025-09-23', '7788990011', 1, 14);
 
--- Resetear las secuencias AUTO_INCREMENT para evitar conflictos
-ALTER TABLE libro ALTER COLUMN id RESTART WITH 19;
-ALTER TABLE prestamo ALTER COLUMN id RESTART WITH 8;
+INSERT INTO prestamo_consulta (id, isbn, titulo, fecha_maxima_devolucion, fecha_maxima_devolucion_formateada,
+    identificacion_usuario, tipo_usuario)
+SELECT p.id, l.isbn, l.titulo, p.fecha_maxima_devolucion, FORMATDATETIME(p.fecha_maxima_devolucion, 'dd/MM/yyyy'),
+    p.identificacion_usuario, p.tipo_usuario
+FROM prestamo p JOIN libro l ON l.id = p.id_libro;
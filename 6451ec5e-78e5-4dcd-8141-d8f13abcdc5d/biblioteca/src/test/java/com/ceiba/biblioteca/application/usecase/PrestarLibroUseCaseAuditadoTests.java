@@ -0,0 +1,91 @@
+package com.ceiba.biblioteca.application.usecase;
+
+import com.ceiba.biblioteca.application.dto.PrestarLibroCommand;
+import com.ceiba.biblioteca.application.dto.ResultadoPrestar;
+import com.ceiba.biblioteca.application.dto.ResultadoPrestarLote;
+import com.ceiba.biblioteca.domain.exception.LibroNoEncontradoException;
+import com.ceiba.biblioteca.domain.exception.TipoUsuarioNoPermitidoException;
+import com.ceiba.biblioteca.domain.model.IntentoPrestamo;
+import com.ceiba.biblioteca.domain.port.in.PrestarLibroUseCase;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PrestarLibroUseCaseAuditadoTests {
+
+    private final List<IntentoPrestamo> registros = new ArrayList<>();
+
+    private final Clock reloj = Clock.fixed(Instant.parse("2026-03-02T15:04:05Z"), ZoneOffset.UTC);
+
+    @Test
+    public void prestamosDeberianRegistrarseConSuResultado() {
+        PrestarLibroUseCase auditado = new PrestarLibroUseCaseAuditado(new PrestarLibroUseCase() {
+            @Override
+            public ResultadoPrestar ejecutar(PrestarLibroCommand command) {
+                switch (command.getTipoUsuario()) {
+                    case 1:
+                        return ResultadoPrestar.builder().id(7).fechaMaximaDevolucion("13/03/2026").build();
+                    case 5:
+                        throw TipoUsuarioNoPermitidoException.INSTANCIA;
+                    default:
+                        throw new LibroNoEncontradoException("X");
+                }
+            }
+
+            @Override
+            public List<ResultadoPrestarLote> ejecutarLote(List<PrestarLibroCommand> commands) {
+                throw new UnsupportedOperationException();
+            }
+        }, registros::add, reloj);
+
+        auditado.ejecutar(new PrestarLibroCommand("ASDA7884", "1001", 1));
+        assertThrows(TipoUsuarioNoPermitidoException.class,
+            () -> auditado.ejecutar(new PrestarLibroCommand("ASDA7884", "1002", 5)));
+        assertThrows(LibroNoEncontradoException.class,
+            () -> auditado.ejecutar(new PrestarLibroCommand("X", "1003", 2)));
+
+        assertEquals(3, registros.size());
+        assertEquals(IntentoPrestamo.Resultado.ACEPTADO, registros.get(0).getResultado());
+        assertEquals(7, registros.get(0).getPrestamoId());
+        assertEquals(reloj.millis(), registros.get(0).getInstante());
+        assertEquals(IntentoPrestamo.Resultado.RECHAZADO, registros.get(1).getResultado());
+        assertEquals(5, registros.get(1).getTipoUsuario());
+        assertEquals(TipoUsuarioNoPermitidoException.INSTANCIA.getMessage(), registros.get(1).getMensaje());
+        assertEquals(IntentoPrestamo.Resultado.ERROR, registros.get(2).getResultado());
+        assertNull(registros.get(2).getPrestamoId());
+    }
+
+    @Test
+    public void lotesDeberianRegistrarCadaSolicitud() {
+        PrestarLibroUseCase auditado = new PrestarLibroUseCaseAuditado(new PrestarLibroUseCase() {
+            @Override
+            public ResultadoPrestar ejecutar(PrestarLibroCommand command) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public List<ResultadoPrestarLote> ejecutarLote(List<PrestarLibroCommand> commands) {
+                return Arrays.asList(ResultadoPrestarLote.builder().id(8).build(),
+                    ResultadoPrestarLote.fallido("Libro con ISBN NOEXISTE no encontrado"));
+            }
+        }, registros::add, reloj);
+
+        auditado.ejecutarLote(Arrays.asList(new PrestarLibroCommand("AWQ489", "2001", 2),
+            new PrestarLibroCommand("NOEXISTE", "2002", 1)));
+
+        assertEquals(2, registros.size());
+        assertEquals("2001", registros.get(0).getIdentificacionUsuario());
+        assertEquals(IntentoPrestamo.Resultado.ACEPTADO, registros.get(0).getResultado());
+        assertEquals(IntentoPrestamo.Resultado.RECHAZADO, registros.get(1).getResultado());
+        assertEquals("Libro con ISBN NOEXISTE no encontrado", registros.get(1).getMensaje());
+    }
+}
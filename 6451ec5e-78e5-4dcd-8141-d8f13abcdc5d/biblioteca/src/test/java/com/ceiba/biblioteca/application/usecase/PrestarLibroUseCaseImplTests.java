@@ -0,0 +1,227 @@
+package com.ceiba.biblioteca.application.usecase;
+
+import com.ceiba.biblioteca.application.dto.PrestarLibroCommand;
+import com.ceiba.biblioteca.application.dto.ResultadoPrestarLote;
+import com.ceiba.biblioteca.domain.exception.UsuarioConPrestamoExistenteException;
+import com.ceiba.biblioteca.domain.model.Prestamo;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
+import com.ceiba.biblioteca.domain.port.in.PrestarLibroUseCase;
+import com.ceiba.biblioteca.domain.port.out.BloqueoUsuarioPort;
+import com.ceiba.biblioteca.domain.port.out.LibroRepositoryPort;
+import com.ceiba.biblioteca.domain.port.out.PrestamoRepositoryPort;
+import com.ceiba.biblioteca.domain.service.ProveedorFechasDelDia;
+import com.ceiba.biblioteca.domain.service.ValidadorPrestamo;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import javax.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+class PrestarLibroUseCaseImplTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PrestarLibroUseCase prestarLibroUseCase;
+
+    @Autowired
+    private PrestamoRepositoryPort prestamoRepository;
+
+    @Autowired
+    private LibroRepositoryPort libroRepository;
+
+    @Autowired
+    private ProveedorFechasDelDia fechasDelDia;
+
+    @Autowired
+    private ValidadorPrestamo validadorPrestamo;
+
+    @Autowired
+    private BloqueoUsuarioPort bloqueoUsuario;
+
+    private Statistics estadisticas;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        // El primer préstamo reserva el bloque de IDs de prestamo_seq; se excluye de la medición
+        prestar("ASDA7884", "calentamiento", 1);
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+    }
+
+    @Test
+    public void prestamoAfiliadoDeberiaEjecutarSoloLaBusquedaDelLibroYLosInsertDelPrestamoYSuConsulta() throws Exception {
+        prestar("ASDA7884", "974148", 1);
+
+        // INSERT en prestamo y en el modelo de lectura prestamo_consulta
+        assertEquals(3, estadisticas.getPrepareStatementCount());
+        assertEquals(2, estadisticas.getEntityInsertCount());
+    }
+
+    @Test
+    public void prestamoInvitadoDeberiaEjecutarSoloLaBusquedaDelLibroYLosInsertDelPrestamoYSuConsulta() throws Exception {
+        prestar("EQWQW8545", "74851254", 3);
+
+        assertEquals(3, estadisticas.getPrepareStatementCount());
+        assertEquals(2, estadisticas.getEntityInsertCount());
+    }
+
+    @Test
+    public void solicitudesConcurrentesDelMismoInvitadoDeberianRegistrarUnSoloPrestamo() throws Exception {
+        int hilos = 100;
+        PrestarLibroCommand command = PrestarLibroCommand.builder()
+            .isbn("EQWQW8545")
+            .identificacionUsuario("invitadoConcurrente")
+            .tipoUsuario(TipoUsuario.INVITADO.getValor())
+            .build();
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<?>> solicitudes = new ArrayList<>();
+        try {
+            for (int i = 0; i < hilos; i++) {
+                solicitudes.add(executor.submit(() -> {
+                    salida.await();
+                    return prestarLibroUseCase.ejecutar(command);
+                }));
+            }
+            salida.countDown();
+
+            int exitosas = 0;
+            int rechazadas = 0;
+            for (Future<?> solicitud : solicitudes) {
+                try {
+                    solicitud.get(30, TimeUnit.SECONDS);
+                    exitosas++;
+                } catch (ExecutionException e) {
+                    if (!(e.getCause() instanceof UsuarioConPrestamoExistenteException)) {
+                        throw e;
+                    }
+                    rechazadas++;
+                }
+            }
+            assertEquals(1, exitosas);
+            assertEquals(hilos - 1, rechazadas);
+            assertEquals(1, prestamoRepository.countByIdentificacionUsuario("invitadoConcurrente"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void loteDeberiaRechazarSoloAlInvitadoQueOtraInstanciaRegistroDespuesDeLaConsulta() {
+        Prestamo otraInstancia = Prestamo.crear("invitadoRemoto", TipoUsuario.INVITADO,
+            libroRepository.findByIsbn("EQWQW8545").get(), LocalDate.now(), LocalDate.now());
+        // El préstamo de la otra instancia llega después de que el lote consultó a sus invitados
+        PrestamoRepositoryPort repositorio = (PrestamoRepositoryPort) Proxy.newProxyInstance(
+            PrestamoRepositoryPort.class.getClassLoader(), new Class<?>[]{PrestamoRepositoryPort.class},
+            (proxy, metodo, argumentos) -> {
+                try {
+                    Object resultado = metodo.invoke(prestamoRepository, argumentos);
+                    if (metodo.getName().equals("findInvitadosConPrestamo")) {
+                        prestamoRepository.save(otraInstancia);
+                    }
+                    return resultado;
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        PrestarLibroUseCase prestarLibro = new PrestarLibroUseCaseImpl(repositorio, libroRepository,
+            fechasDelDia, validadorPrestamo, bloqueoUsuario);
+
+        List<ResultadoPrestarLote> resultados = prestarLibro.ejecutarLote(Arrays.asList(
+            new PrestarLibroCommand("ASDA7884", "afiliadoLote", 1),
+            new PrestarLibroCommand("EQWQW8545", "invitadoRemoto", 3),
+            new PrestarLibroCommand("AWQ489", "empleadoLote", 2)));
+
+        assertNotNull(resultados.get(0).getId());
+        assertEquals(new UsuarioConPrestamoExistenteException("invitadoRemoto").getMessage(),
+            resultados.get(1).getMensaje());
+        assertNotNull(resultados.get(2).getId());
+        assertEquals(1, prestamoRepository.countByIdentificacionUsuario("afiliadoLote"));
+        assertEquals(1, prestamoRepository.countByIdentificacionUsuario("invitadoRemoto"));
+        assertEquals(1, prestamoRepository.countByIdentificacionUsuario("empleadoLote"));
+    }
+
+    @Test
+    public void rechazoDeInvitadoRepetidoDeberiaAsignarDelOrdenDeUnPrestamo() {
+        ThreadMXBean mxBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(mxBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) mxBean;
+        assumeTrue(hilos.isThreadAllocatedMemorySupported() && hilos.isThreadAllocatedMemoryEnabled());
+        long hilo = Thread.currentThread().getId();
+        int repeticiones = 200;
+        prestarLibroUseCase.ejecutar(new PrestarLibroCommand("EQWQW8545", "invitadoMedido", 3));
+        medirPrestamos(repeticiones);
+        medirRechazos(repeticiones);
+
+        long antes = hilos.getThreadAllocatedBytes(hilo);
+        medirPrestamos(repeticiones);
+        long porPrestamo = (hilos.getThreadAllocatedBytes(hilo) - antes) / repeticiones;
+        antes = hilos.getThreadAllocatedBytes(hilo);
+        medirRechazos(repeticiones);
+        long porRechazo = (hilos.getThreadAllocatedBytes(hilo) - antes) / repeticiones;
+
+        // El rechazo llega por el INSERT que viola uk_prestamo_invitado: cuesta un valor de la
+        // secuencia, el rollback y la cadena de excepciones, a cambio de no consultar antes de
+        // cada préstamo. Se acepta mientras no supere dos veces lo que asigna un préstamo
+        assertTrue(porRechazo <= 2 * porPrestamo,
+            "Rechazo: " + porRechazo + " bytes; préstamo: " + porPrestamo + " bytes");
+    }
+
+    private void medirPrestamos(int repeticiones) {
+        for (int i = 0; i < repeticiones; i++) {
+            prestarLibroUseCase.ejecutar(new PrestarLibroCommand("ASDA7884", "afiliadoMedido", 1));
+        }
+    }
+
+    private void medirRechazos(int repeticiones) {
+        PrestarLibroCommand command = new PrestarLibroCommand("EQWQW8545", "invitadoMedido", 3);
+        for (int i = 0; i < repeticiones; i++) {
+            assertThrows(UsuarioConPrestamoExistenteException.class, () -> prestarLibroUseCase.ejecutar(command));
+        }
+    }
+
+    private void prestar(String isbn, String identificacionUsuario, int tipoUsuario) throws Exception {
+        mvc.perform(MockMvcRequestBuilders.post("/prestamo")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"isbn\":\"" + isbn + "\",\"identificacionUsuario\":\"" + identificacionUsuario
+                    + "\",\"tipoUsuario\":" + tipoUsuario + "}"))
+            .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,13 @@
+package com.ceiba.biblioteca.calificador;
+
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Ejecuta la misma suite de PrestamoTests con los préstamos en el journal,
+ * usando un directorio nuevo por cada contexto.
+ */
+@ActiveProfiles("journal")
+@TestPropertySource(properties = "biblioteca.journal.directorio=${java.io.tmpdir}/biblioteca-journal/${random.uuid}")
+class PrestamoJournalTests extends PrestamoTests {
+}
@@ -0,0 +1,10 @@
+package com.ceiba.biblioteca.calificador;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Ejecuta la misma suite de PrestamoTests con los adaptadores del perfil "memoria".
+ */
+@ActiveProfiles("memoria")
+class PrestamoMemoriaTests extends PrestamoTests {
+}
@@ -0,0 +1,61 @@
+package com.ceiba.biblioteca.domain.model;
+
+import com.ceiba.biblioteca.infrastructure.config.LectorCalendarioFestivos;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FestivosColombiaTests {
+
+    @Test
+    public void reglaDeberiaCoincidirConLosFestivosPublicados() {
+        Set<LocalDate> publicados = new HashSet<>(
+            LectorCalendarioFestivos.leerFechas(new ClassPathResource("calendario/festivos-co.csv")));
+
+        Set<LocalDate> generados = new HashSet<>(FestivosColombia.delAnio(2026));
+        generados.addAll(FestivosColombia.delAnio(2027));
+
+        assertEquals(publicados, generados);
+    }
+
+    @Test
+    public void domingoDePascuaDeberiaCoincidirConLasFechasConocidas() {
+        assertEquals(LocalDate.of(2024, 3, 31), FestivosColombia.domingoDePascua(2024));
+        assertEquals(LocalDate.of(2025, 4, 20), FestivosColombia.domingoDePascua(2025));
+        assertEquals(LocalDate.of(2038, 4, 25), FestivosColombia.domingoDePascua(2038));
+        assertEquals(LocalDate.of(2285, 3, 22), FestivosColombia.domingoDePascua(2285));
+    }
+
+    @Test
+    public void festivosQueCoincidenDeberianContarUnaVez() {
+        // En 2025 San Pedro y San Pablo y Sagrado Corazón se celebran el lunes 30 de junio
+        assertEquals(17, new HashSet<>(FestivosColombia.delAnio(2025)).size());
+
+        CalendarioFestivos calendario = CalendarioFestivos.porRegla(FestivosColombia::delAnio, Collections.emptyList());
+        assertEquals(1, calendario.contarFestivos(LocalDate.of(2025, 6, 29), LocalDate.of(2025, 6, 30)));
+    }
+
+    @Test
+    public void calendarioPorReglaDeberiaCubrirCualquierAnioYSumarLosAdicionales() {
+        CalendarioFestivos calendario = CalendarioFestivos.porRegla(FestivosColombia::delAnio,
+            Arrays.asList(LocalDate.of(2031, 2, 4), LocalDate.of(2031, 2, 8)));
+
+        // Reyes Magos de 2028 cae jueves y se traslada al lunes 10
+        assertTrue(calendario.esFestivo(LocalDate.of(2028, 1, 10)));
+        assertFalse(calendario.esFestivo(LocalDate.of(2028, 1, 6)));
+        assertTrue(calendario.esFestivo(LocalDate.of(2040, 12, 25)));
+        assertTrue(calendario.esFestivo(LocalDate.of(2031, 2, 4)));
+        assertFalse(calendario.esFestivo(LocalDate.of(2031, 2, 8)), "El adicional del sábado no cuenta");
+        // Navidad y Año Nuevo entre semana, más el lunes de Reyes
+        assertEquals(3, calendario.contarFestivos(LocalDate.of(2029, 12, 20), LocalDate.of(2030, 1, 7)));
+    }
+}
@@ -0,0 +1,86 @@
+package com.ceiba.biblioteca.domain.service;
+
+import com.ceiba.biblioteca.domain.model.CalendarioFestivos;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CalculadorFechaDevolucionTests {
+
+    private static final LocalDate DESDE = LocalDate.of(1990, 1, 1);
+    private static final LocalDate HASTA = LocalDate.of(2060, 12, 31);
+    private static final int MAXIMO_DIAS = 40;
+
+    @Test
+    public void sinFestivosDeberiaCoincidirConElConteoDiaPorDia() {
+        CalculadorFechaDevolucion calculador = new CalculadorFechaDevolucion();
+
+        for (LocalDate fecha = DESDE; !fecha.isAfter(HASTA); fecha = fecha.plusDays(1)) {
+            for (int dias = 0; dias <= MAXIMO_DIAS; dias++) {
+                assertEquals(sumarDiaPorDia(fecha, dias, new HashSet<>()), calculador.sumarDiasHabiles(fecha, dias),
+                    "Desde " + fecha + " sumando " + dias + " días");
+            }
+        }
+    }
+
+    @Test
+    public void conFestivosDeberiaCoincidirConElConteoDiaPorDia() {
+        // Festivos densos, consecutivos, en fines de semana y en el cambio de año
+        Random aleatorio = new Random(20261017L);
+        Set<LocalDate> festivos = new HashSet<>();
+        for (LocalDate fecha = LocalDate.of(2023, 1, 1); fecha.getYear() <= 2028; fecha = fecha.plusDays(1)) {
+            if (aleatorio.nextInt(6) == 0) {
+                festivos.add(fecha);
+            }
+        }
+        festivos.add(LocalDate.of(2025, 12, 31));
+        festivos.add(LocalDate.of(2026, 1, 1));
+        festivos.add(LocalDate.of(2026, 1, 2));
+        CalculadorFechaDevolucion calculador = new CalculadorFechaDevolucion(CalendarioFestivos.de(new ArrayList<>(festivos)));
+
+        for (LocalDate fecha = LocalDate.of(2022, 6, 1); fecha.getYear() <= 2029; fecha = fecha.plusDays(1)) {
+            for (int dias = 0; dias <= MAXIMO_DIAS; dias++) {
+                assertEquals(sumarDiaPorDia(fecha, dias, festivos), calculador.sumarDiasHabiles(fecha, dias),
+                    "Desde " + fecha + " sumando " + dias + " días");
+            }
+        }
+    }
+
+    @Test
+    public void festivoEntreSemanaDeberiaCorrerLaFechaDeDevolucion() {
+        List<LocalDate> festivos = new ArrayList<>();
+        festivos.add(LocalDate.of(2026, 10, 12));
+        festivos.add(LocalDate.of(2026, 10, 17));
+        CalculadorFechaDevolucion calculador = new CalculadorFechaDevolucion(CalendarioFestivos.de(festivos));
+
+        // Viernes 9: sin el festivo del lunes 12 la devolución del invitado sería el martes 20
+        assertEquals(LocalDate.of(2026, 10, 21), calculador.calcular(TipoUsuario.INVITADO, LocalDate.of(2026, 10, 9)));
+        // El sábado 17 es festivo pero no cuenta: desde el 13 el resultado no cambia
+        assertEquals(LocalDate.of(2026, 10, 22), calculador.calcular(TipoUsuario.INVITADO, LocalDate.of(2026, 10, 13)));
+    }
+
+    /**
+     * Algoritmo original: avanza un día a la vez contando solo los días hábiles.
+     */
+    private static LocalDate sumarDiaPorDia(LocalDate fecha, int dias, Set<LocalDate> festivos) {
+        LocalDate resultado = fecha;
+        int sumados = 0;
+        while (sumados < dias) {
+            resultado = resultado.plusDays(1);
+            if (!(resultado.getDayOfWeek() == DayOfWeek.SATURDAY || resultado.getDayOfWeek() == DayOfWeek.SUNDAY)
+                    && !festivos.contains(resultado)) {
+                ++sumados;
+            }
+        }
+        return resultado;
+    }
+}
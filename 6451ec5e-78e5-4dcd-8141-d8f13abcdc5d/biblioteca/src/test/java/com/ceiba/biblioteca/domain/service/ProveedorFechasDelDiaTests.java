@@ -0,0 +1,93 @@
+package com.ceiba.biblioteca.domain.service;
+
+import com.ceiba.biblioteca.domain.model.FechasDelDia;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ProveedorFechasDelDiaTests {
+
+    private static final ZoneId BOGOTA = ZoneId.of("America/Bogota");
+
+    private RelojAjustable reloj;
+    private ProveedorFechasDelDia proveedor;
+
+    @BeforeEach
+    public void setUp() {
+        reloj = new RelojAjustable(LocalDateTime.of(2026, 10, 16, 8, 0).atZone(BOGOTA).toInstant());
+        proveedor = new ProveedorFechasDelDia(reloj, new CalculadorFechaDevolucion());
+    }
+
+    @Test
+    public void fechasDelMismoDiaDeberianCalcularseUnaSolaVez() {
+        FechasDelDia manana = proveedor.actuales();
+        reloj.avanzar(Duration.ofHours(15).plusMinutes(59));
+
+        assertSame(manana, proveedor.actuales());
+        assertEquals(LocalDate.of(2026, 10, 16), manana.getFecha());
+        assertEquals(LocalDate.of(2026, 10, 30), manana.getFechaMaximaDevolucion(TipoUsuario.AFILIADO));
+        assertEquals("28/10/2026", manana.getFechaMaximaDevolucionFormateada(TipoUsuario.EMPLEADO));
+        assertEquals("27/10/2026", manana.getFechaMaximaDevolucionFormateada(TipoUsuario.INVITADO));
+    }
+
+    @Test
+    public void fechasDeberianRenovarseALaMedianocheDeLaZonaDelReloj() {
+        FechasDelDia viernes = proveedor.actuales();
+        reloj.avanzar(Duration.ofHours(16));
+
+        FechasDelDia sabado = proveedor.actuales();
+        assertNotSame(viernes, sabado);
+        assertEquals(LocalDate.of(2026, 10, 17), sabado.getFecha());
+        assertEquals("30/10/2026", sabado.getFechaMaximaDevolucionFormateada(TipoUsuario.AFILIADO));
+    }
+
+    @Test
+    public void relojRetrocedidoDeberiaRecalcularElDiaAnterior() {
+        proveedor.actuales();
+        reloj.avanzar(Duration.ofDays(-1));
+
+        assertEquals(LocalDate.of(2026, 10, 15), proveedor.actuales().getFecha());
+    }
+
+    /**
+     * Reloj de prueba cuyo instante se mueve a voluntad.
+     */
+    private static final class RelojAjustable extends Clock {
+
+        private Instant instante;
+
+        private RelojAjustable(Instant instante) {
+            this.instante = instante;
+        }
+
+        private void avanzar(Duration duracion) {
+            instante = instante.plus(duracion);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return BOGOTA;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zona) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instante;
+        }
+    }
+}
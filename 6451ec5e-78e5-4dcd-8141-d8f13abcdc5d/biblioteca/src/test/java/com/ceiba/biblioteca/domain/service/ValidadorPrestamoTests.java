@@ -0,0 +1,92 @@
+package com.ceiba.biblioteca.domain.service;
+
+import com.ceiba.biblioteca.domain.exception.DomainException;
+import com.ceiba.biblioteca.domain.exception.IdentificacionUsuarioInvalidaException;
+import com.ceiba.biblioteca.domain.exception.TipoUsuarioNoPermitidoException;
+import com.ceiba.biblioteca.domain.exception.UsuarioConPrestamoExistenteException;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ValidadorPrestamoTests {
+
+    private static final int RECHAZOS = 200_000;
+
+    // La validación del tipo de usuario no consulta el repositorio
+    private final ValidadorPrestamo validadorPrestamo = new ValidadorPrestamo(null);
+
+    @Test
+    public void tipoUsuarioDeberiaResolverseParaTodosLosValores() {
+        for (TipoUsuario tipoUsuario : TipoUsuario.values()) {
+            assertSame(tipoUsuario, validadorPrestamo.validarTipoUsuario(tipoUsuario.getValor()));
+        }
+        assertNull(TipoUsuario.buscarPorValor(null));
+        assertNull(TipoUsuario.buscarPorValor(-1));
+        assertNull(TipoUsuario.buscarPorValor(0));
+        assertNull(TipoUsuario.buscarPorValor(4));
+        assertNull(TipoUsuario.buscarPorValor(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> TipoUsuario.fromValor(4));
+    }
+
+    @Test
+    public void identificacionUsuarioDeberiaSerObligatoriaYCaberEnElRegistro() {
+        validadorPrestamo.validarIdentificacionUsuario("12345678901234567890");
+
+        assertThrows(IdentificacionUsuarioInvalidaException.class, () -> validadorPrestamo.validarIdentificacionUsuario(null));
+        assertThrows(IdentificacionUsuarioInvalidaException.class, () -> validadorPrestamo.validarIdentificacionUsuario(""));
+        assertThrows(IdentificacionUsuarioInvalidaException.class,
+            () -> validadorPrestamo.validarIdentificacionUsuario("123456789012345678901"));
+    }
+
+    @Test
+    public void excepcionesDeDominioNoDeberianCapturarLaPila() {
+        DomainException rechazo = assertThrows(TipoUsuarioNoPermitidoException.class,
+            () -> validadorPrestamo.validarTipoUsuario(5));
+
+        assertEquals(0, rechazo.getStackTrace().length);
+        assertEquals(0, new UsuarioConPrestamoExistenteException("123").getStackTrace().length);
+        assertEquals("Tipo de usuario no permitido en la biblioteca", rechazo.getMessage());
+    }
+
+    @Test
+    public void tipoUsuarioInvalidoNoDeberiaAsignarMemoria() {
+        ThreadMXBean mxBean = ManagementFactory.getThreadMXBean();
+        // La medición por hilo es una extensión de HotSpot; en otras JVM la prueba se omite
+        assumeTrue(mxBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) mxBean;
+        assumeTrue(hilos.isThreadAllocatedMemorySupported() && hilos.isThreadAllocatedMemoryEnabled());
+        long hilo = Thread.currentThread().getId();
+        // Valores dentro de la caché de Integer: el boxing no crea objetos
+        Integer[] invalidos = {null, 0, 4, 99, -7};
+        rechazar(invalidos);
+
+        long antes = hilos.getThreadAllocatedBytes(hilo);
+        int rechazados = rechazar(invalidos);
+        long asignados = hilos.getThreadAllocatedBytes(hilo) - antes;
+
+        assertEquals(RECHAZOS, rechazados);
+        // Margen fijo para la propia medición, independiente de la cantidad de rechazos
+        assertTrue(asignados < 4_096, "Se asignaron " + asignados + " bytes en " + RECHAZOS + " rechazos");
+    }
+
+    private int rechazar(Integer[] invalidos) {
+        int rechazados = 0;
+        for (int i = 0; i < RECHAZOS; i++) {
+            try {
+                validadorPrestamo.validarTipoUsuario(invalidos[i % invalidos.length]);
+            } catch (TipoUsuarioNoPermitidoException e) {
+                rechazados++;
+            }
+        }
+        return rechazados;
+    }
+}
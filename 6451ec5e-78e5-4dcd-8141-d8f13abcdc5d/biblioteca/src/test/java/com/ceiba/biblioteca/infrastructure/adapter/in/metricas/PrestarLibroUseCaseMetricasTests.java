@@ -0,0 +1,106 @@
+package com.ceiba.biblioteca.infrastructure.adapter.in.metricas;
+
+import com.ceiba.biblioteca.infrastructure.adapter.out.metricas.OperacionMedida;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+class PrestarLibroUseCaseMetricasTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MeterRegistry registro;
+
+    @Test
+    public void prestamosYConsultasDeberianContarsePorTipoDeUsuarioYResultado() throws Exception {
+        prestar("{\"isbn\":\"ASDA7884\",\"identificacionUsuario\":\"6001\",\"tipoUsuario\":1}", 200);
+        prestar("{\"isbn\":\"ASDA7884\",\"identificacionUsuario\":\"6002\",\"tipoUsuario\":1}", 200);
+        prestar("{\"isbn\":\"ASDA7884\",\"identificacionUsuario\":\"6003\",\"tipoUsuario\":5}", 400);
+        prestar("{\"isbn\":\"EQWQW8545\",\"identificacionUsuario\":\"1122334455\",\"tipoUsuario\":3}", 400);
+        prestar("{\"isbn\":\"NOEXISTE\",\"identificacionUsuario\":\"6004\",\"tipoUsuario\":2}", 500);
+        mvc.perform(MockMvcRequestBuilders.get("/prestamo/99999").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isNotFound());
+
+        assertEquals(2.0, solicitudes("afiliado", "ok"));
+        assertEquals(1.0, solicitudes("no_valido", "tipo_no_permitido"));
+        assertEquals(1.0, solicitudes("invitado", "invitado_con_prestamo"));
+        assertEquals(1.0, solicitudes("empleado", "no_encontrado"));
+
+        assertEquals(2, ejecuciones("prestar", "ok"));
+        assertEquals(1, ejecuciones("prestar", "tipo_no_permitido"));
+        assertEquals(1, ejecuciones("prestar", "invitado_con_prestamo"));
+        assertEquals(1, ejecuciones("prestar", "no_encontrado"));
+        assertEquals(0, ejecuciones("prestar", "error"));
+        assertEquals(1, ejecuciones("consultar", "no_encontrado"));
+
+        assertEquals(1, registro.get(OperacionMedida.METRICA).tag("puerto", "PrestamoRepositoryPort")
+            .tag("operacion", "findConsultaById").tag("resultado", "ok").timer().count());
+        assertTrue(registro.get(OperacionMedida.METRICA).tag("puerto", "LibroRepositoryPort")
+            .tag("operacion", "findByIsbn").tag("resultado", "ok").timer().count() >= 2);
+    }
+
+    @Test
+    public void lotesDeberianContarCadaSolicitudComoAceptadaORechazada() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.post("/prestamo/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("["
+                    + "{\"isbn\":\"AWQ489\",\"identificacionUsuario\":\"6101\",\"tipoUsuario\":2},"
+                    + "{\"isbn\":\"EQWQW8545\",\"identificacionUsuario\":\"6102\",\"tipoUsuario\":3},"
+                    + "{\"isbn\":\"EQWQW8545\",\"identificacionUsuario\":\"6102\",\"tipoUsuario\":3}"
+                    + "]"))
+            .andExpect(status().isOk());
+
+        assertEquals(1.0, solicitudes("empleado", "ok"));
+        assertEquals(1.0, solicitudes("invitado", "ok"));
+        assertEquals(1.0, solicitudes("invitado", "rechazado"));
+        assertEquals(1, ejecuciones("prestar_lote", "ok"));
+    }
+
+    @Test
+    public void metricasDeberianPublicarseEnElEndpointDePrometheus() throws Exception {
+        prestar("{\"isbn\":\"AWQ489\",\"identificacionUsuario\":\"6201\",\"tipoUsuario\":2}", 200);
+
+        mvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString(
+                "biblioteca_prestamos_solicitudes_total{aplicacion=\"biblioteca\",resultado=\"ok\",tipo_usuario=\"empleado\",} 1.0")))
+            .andExpect(content().string(containsString(
+                "biblioteca_caso_uso_seconds_bucket{aplicacion=\"biblioteca\",caso_uso=\"prestar\",resultado=\"ok\",le=")))
+            .andExpect(content().string(containsString(
+                "biblioteca_puerto_seconds_count{aplicacion=\"biblioteca\",operacion=\"save\",puerto=\"PrestamoRepositoryPort\",resultado=\"ok\",} 1.0")));
+    }
+
+    private void prestar(String solicitud, int estado) throws Exception {
+        mvc.perform(MockMvcRequestBuilders.post("/prestamo")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(solicitud))
+            .andExpect(status().is(estado));
+    }
+
+    private double solicitudes(String tipoUsuario, String resultado) {
+        return registro.get(PrestarLibroUseCaseMetricas.SOLICITUDES)
+            .tag("tipo_usuario", tipoUsuario).tag("resultado", resultado).counter().count();
+    }
+
+    private long ejecuciones(String casoUso, String resultado) {
+        return registro.get(MedidorCasoUso.METRICA)
+            .tag("caso_uso", casoUso).tag("resultado", resultado).timer().count();
+    }
+}
@@ -0,0 +1,90 @@
+package com.ceiba.biblioteca.infrastructure.adapter.in.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "biblioteca.cache.libros.habilitado=true",
+    "biblioteca.cache.prestamos.habilitado=true",
+    "biblioteca.outbox.habilitado=true",
+    "biblioteca.outbox.destino=archivo",
+    "biblioteca.outbox.archivo=build/eventos/prestamos-creados.jsonl"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+class PrestamoControllerConCachesTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry registroMetricas;
+
+    @Test
+    public void prestamosYConsultasDeberianResolverseConLasCachesActivas() throws Exception {
+        JsonNode prestamo = respuesta(mvc.perform(MockMvcRequestBuilders.post("/prestamo")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"isbn\":\"asda-7884\",\"identificacionUsuario\":\"8001\",\"tipoUsuario\":1}"))
+            .andExpect(status().isOk())
+            .andReturn());
+
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(MockMvcRequestBuilders.get("/prestamo/" + prestamo.get("id").asInt())
+                    .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.isbn", is("ASDA7884")))
+                .andExpect(jsonPath("$.titulo", is("Libro Test Afiliado")))
+                .andExpect(jsonPath("$.identificacionUsuario", is("8001")))
+                .andExpect(jsonPath("$.fechaMaximaDevolucion", is(prestamo.get("fechaMaximaDevolucion").asText())));
+        }
+
+        JsonNode lote = respuesta(mvc.perform(MockMvcRequestBuilders.post("/prestamo/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("["
+                    + "{\"isbn\":\"ASDA7884\",\"identificacionUsuario\":\"8002\",\"tipoUsuario\":3},"
+                    + "{\"isbn\":\"AWQ489\",\"identificacionUsuario\":\"8002\",\"tipoUsuario\":3}"
+                    + "]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").exists())
+            .andExpect(jsonPath("$[1].mensaje", is("El usuario con identificación 8002 ya tiene un libro prestado por lo cual no se le puede realizar otro préstamo")))
+            .andReturn());
+
+        mvc.perform(MockMvcRequestBuilders.get("/prestamo/" + lote.get(0).get("id").asInt())
+                .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.identificacionUsuario", is("8002")))
+            .andExpect(jsonPath("$.tipoUsuario", is(3)));
+
+        assertEquals(3, lecturas("prestamos", "hit"));
+        assertEquals(0, lecturas("prestamos", "miss"));
+        assertTrue(lecturas("libros", "hit") > 0);
+    }
+
+    private JsonNode respuesta(MvcResult resultado) throws Exception {
+        return objectMapper.readTree(resultado.getResponse().getContentAsString());
+    }
+
+    private double lecturas(String cache, String resultado) {
+        return registroMetricas.get("cache.gets").tag("cache", cache).tag("result", resultado)
+            .functionCounter().count();
+    }
+}
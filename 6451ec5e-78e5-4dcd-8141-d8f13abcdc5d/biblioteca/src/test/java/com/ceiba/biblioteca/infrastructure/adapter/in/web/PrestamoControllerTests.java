@@ -0,0 +1,225 @@
+package com.ceiba.biblioteca.infrastructure.adapter.in.web;
+
+import com.ceiba.biblioteca.domain.model.FechasDelDia;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.codec.CodecBinarioPrestamo;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.codec.PrestamoBinarioHttpMessageConverter;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.codec.PrestamoJsonHttpMessageConverter;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ConsultaPrestamoResponseDto;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ResultadoPrestarDto;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.SolicitudPrestarLibroDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "biblioteca.traza.habilitado=false")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+class PrestamoControllerTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Test
+    public void prestamoPorLoteDeberiaResponderCadaSolicitudEnOrdenConSuResultadoOError() throws Exception {
+        String lote = "["
+            + "{\"isbn\":\"ASDA7884\",\"identificacionUsuario\":\"5001\",\"tipoUsuario\":1},"
+            + "{\"isbn\":\"ASDA7884\",\"identificacionUsuario\":\"5002\",\"tipoUsuario\":5},"
+            + "{\"isbn\":\"EQWQW8545\",\"identificacionUsuario\":\"5003\",\"tipoUsuario\":3},"
+            + "{\"isbn\":\"EQWQW8545\",\"identificacionUsuario\":\"5003\",\"tipoUsuario\":3},"
+            + "{\"isbn\":\"EQWQW8545\",\"identificacionUsuario\":\"1122334455\",\"tipoUsuario\":3},"
+            + "{\"isbn\":\"NOEXISTE\",\"identificacionUsuario\":\"5004\",\"tipoUsuario\":1},"
+            + "{\"isbn\":\"978-84-08-18746-2\",\"identificacionUsuario\":\"5005\",\"tipoUsuario\":2}"
+            + "]";
+
+        MvcResult resultado = mvc.perform(MockMvcRequestBuilders.post("/prestamo/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(lote))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()", is(7)))
+            .andExpect(jsonPath("$[0].id").exists())
+            .andExpect(jsonPath("$[0].mensaje").doesNotExist())
+            .andExpect(jsonPath("$[1].id").doesNotExist())
+            .andExpect(jsonPath("$[1].mensaje", is("Tipo de usuario no permitido en la biblioteca")))
+            .andExpect(jsonPath("$[2].id").exists())
+            .andExpect(jsonPath("$[3].mensaje", is("El usuario con identificación 5003 ya tiene un libro prestado por lo cual no se le puede realizar otro préstamo")))
+            .andExpect(jsonPath("$[4].mensaje", is("El usuario con identificación 1122334455 ya tiene un libro prestado por lo cual no se le puede realizar otro préstamo")))
+            .andExpect(jsonPath("$[5].mensaje", is("Libro con ISBN NOEXISTE no encontrado")))
+            .andExpect(jsonPath("$[6].id").exists())
+            .andReturn();
+
+        JsonNode resultados = objectMapper.readTree(resultado.getResponse().getContentAsString());
+
+        mvc.perform(MockMvcRequestBuilders.get("/prestamo/" + resultados.get(6).get("id").asInt())
+                .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Server-Timing"))
+            .andExpect(jsonPath("$.isbn", is("9788408187462")))
+            .andExpect(jsonPath("$.identificacionUsuario", is("5005")))
+            .andExpect(jsonPath("$.fechaMaximaDevolucion", is(resultados.get(6).get("fechaMaximaDevolucion").asText())));
+    }
+
+    @Test
+    public void loteConIdentificacionesInvalidasDeberiaRechazarSoloEsasSolicitudes() throws Exception {
+        String rechazo = "La identificación del usuario es obligatoria y debe tener máximo 20 caracteres";
+
+        mvc.perform(MockMvcRequestBuilders.post("/prestamo/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("["
+                    + "{\"isbn\":\"EQWQW8545\",\"tipoUsuario\":3},"
+                    + "{\"isbn\":\"ASDA7884\",\"identificacionUsuario\":null,\"tipoUsuario\":1},"
+                    + "{\"isbn\":\"ASDA7884\",\"identificacionUsuario\":\"123456789012345678901\",\"tipoUsuario\":2},"
+                    + "{\"isbn\":\"EQWQW8545\",\"identificacionUsuario\":\"6001\",\"tipoUsuario\":3}"
+                    + "]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].mensaje", is(rechazo)))
+            .andExpect(jsonPath("$[1].mensaje", is(rechazo)))
+            .andExpect(jsonPath("$[2].mensaje", is(rechazo)))
+            .andExpect(jsonPath("$[3].id").exists());
+
+        mvc.perform(MockMvcRequestBuilders.post("/prestamo")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"isbn\":\"EQWQW8545\",\"tipoUsuario\":3}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.mensaje", is(rechazo)));
+    }
+
+    @Test
+    public void prestamosComoAfiliadoNoDeberianContarParaLaReglaDeInvitadosEnNingunCamino() throws Exception {
+        // 1234567891, 5566778899 y 7788990011 solo tienen préstamos semilla como afiliados
+        String rechazo = "El usuario con identificación %s ya tiene un libro prestado por lo cual no se le puede realizar otro préstamo";
+
+        mvc.perform(MockMvcRequestBuilders.post("/prestamo")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"isbn\":\"EQWQW8545\",\"identificacionUsuario\":\"1234567891\",\"tipoUsuario\":3}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").exists());
+        mvc.perform(MockMvcRequestBuilders.post("/prestamo")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"isbn\":\"EQWQW8545\",\"identificacionUsuario\":\"1234567891\",\"tipoUsuario\":3}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.mensaje", is(String.format(rechazo, "1234567891"))));
+
+        mvc.perform(MockMvcRequestBuilders.post("/prestamo/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("["
+                    + "{\"isbn\":\"ASDA7884\",\"identificacionUsuario\":\"5566778899\",\"tipoUsuario\":1},"
+                    + "{\"isbn\":\"EQWQW8545\",\"identificacionUsuario\":\"5566778899\",\"tipoUsuario\":3},"
+                    + "{\"isbn\":\"EQWQW8545\",\"identificacionUsuario\":\"5566778899\",\"tipoUsuario\":3},"
+                    + "{\"isbn\":\"NOEXISTE\",\"identificacionUsuario\":\"7788990011\",\"tipoUsuario\":3}"
+                    + "]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").exists())
+            .andExpect(jsonPath("$[1].id").exists())
+            .andExpect(jsonPath("$[2].mensaje", is(String.format(rechazo, "5566778899"))))
+            .andExpect(jsonPath("$[3].mensaje", is("Libro con ISBN NOEXISTE no encontrado")));
+
+        // Sin libro, el préstamo individual tampoco lo rechaza la regla de invitados
+        mvc.perform(MockMvcRequestBuilders.post("/prestamo")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"isbn\":\"NOEXISTE\",\"identificacionUsuario\":\"7788990011\",\"tipoUsuario\":3}"))
+            .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    public void tipoDeContenidoSinCodecPropioDeberiaResolverseConElBindingDeJackson() throws Exception {
+        MediaType json = MediaType.valueOf("application/vnd.biblioteca+json");
+        assertTrue(primerConvertidorQueLee(MediaType.APPLICATION_JSON) instanceof PrestamoJsonHttpMessageConverter);
+        assertTrue(primerConvertidorQueLee(json) instanceof MappingJackson2HttpMessageConverter);
+
+        MvcResult resultado = mvc.perform(MockMvcRequestBuilders.post("/prestamo")
+                .contentType(json)
+                .accept(json)
+                .content("{\"isbn\":\"ASDA7884\",\"identificacionUsuario\":\"6001\",\"tipoUsuario\":2}"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(json))
+            .andExpect(jsonPath("$.id").exists())
+            .andExpect(jsonPath("$.fechaMaximaDevolucion").exists())
+            .andReturn();
+
+        JsonNode prestamo = objectMapper.readTree(resultado.getResponse().getContentAsString());
+
+        mvc.perform(MockMvcRequestBuilders.get("/prestamo/" + prestamo.get("id").asInt())
+                .accept(json))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(json))
+            .andExpect(jsonPath("$.isbn", is("ASDA7884")))
+            .andExpect(jsonPath("$.identificacionUsuario", is("6001")))
+            .andExpect(jsonPath("$.tipoUsuario", is(2)))
+            .andExpect(jsonPath("$.fechaMaximaDevolucion", is(prestamo.get("fechaMaximaDevolucion").asText())));
+    }
+
+    @Test
+    public void formatoBinarioDeberiaNegociarseEnSolicitudesYRespuestas() throws Exception {
+        MediaType binario = PrestamoBinarioHttpMessageConverter.TIPO_CONTENIDO;
+
+        MvcResult prestamo = mvc.perform(MockMvcRequestBuilders.post("/prestamo")
+                .contentType(binario)
+                .accept(binario)
+                .content(CodecBinarioPrestamo.codificar(new SolicitudPrestarLibroDto("AWQ489", "7001", 2))))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(binario))
+            .andReturn();
+        ResultadoPrestarDto resultado = CodecBinarioPrestamo.decodificarResultado(prestamo.getResponse().getContentAsByteArray());
+
+        MvcResult consulta = mvc.perform(MockMvcRequestBuilders.get("/prestamo/" + resultado.getId())
+                .accept(binario))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(binario))
+            .andReturn();
+        assertEquals(new ConsultaPrestamoResponseDto(resultado.getId(), "AWQ489", "Libro Test Empleado",
+                resultado.getFechaMaximaDevolucion(), "7001", 2, resultado.getDiaMaximoDevolucion()),
+            CodecBinarioPrestamo.decodificarConsulta(consulta.getResponse().getContentAsByteArray()));
+
+        mvc.perform(MockMvcRequestBuilders.get("/prestamo/" + resultado.getId())
+                .accept(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.fechaMaximaDevolucion", is(resultado.getDiaMaximoDevolucion().format(FechasDelDia.DATE_FORMATTER))))
+            .andExpect(jsonPath("$.fechaMaximaDevolucion", is(resultado.getFechaMaximaDevolucion())));
+
+        MvcResult error = mvc.perform(MockMvcRequestBuilders.post("/prestamo")
+                .contentType(binario)
+                .accept(binario)
+                .content(CodecBinarioPrestamo.codificar(new SolicitudPrestarLibroDto("AWQ489", "7001", 5))))
+            .andExpect(status().isBadRequest())
+            .andReturn();
+        assertEquals("Tipo de usuario no permitido en la biblioteca",
+            CodecBinarioPrestamo.decodificarError(error.getResponse().getContentAsByteArray()).getMensaje());
+    }
+
+    private HttpMessageConverter<?> primerConvertidorQueLee(MediaType tipoDeContenido) {
+        for (HttpMessageConverter<?> converter : handlerAdapter.getMessageConverters()) {
+            boolean lee = converter instanceof GenericHttpMessageConverter
+                ? ((GenericHttpMessageConverter<?>) converter).canRead(SolicitudPrestarLibroDto.class, null, tipoDeContenido)
+                : converter.canRead(SolicitudPrestarLibroDto.class, tipoDeContenido);
+            if (lee) {
+                return converter;
+            }
+        }
+        return null;
+    }
+}
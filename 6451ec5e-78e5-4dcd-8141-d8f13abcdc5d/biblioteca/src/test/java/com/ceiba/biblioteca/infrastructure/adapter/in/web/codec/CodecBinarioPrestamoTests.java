@@ -0,0 +1,71 @@
+package com.ceiba.biblioteca.infrastructure.adapter.in.web.codec;
+
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ConsultaPrestamoResponseDto;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ResultadoPrestarDto;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.SolicitudPrestarLibroDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CodecBinarioPrestamoTests {
+
+    @Test
+    public void solicitudDeberiaCodificarseConTextosPrefijadosYTipoEnUnByte() throws Exception {
+        byte[] cuerpo = CodecBinarioPrestamo.codificar(new SolicitudPrestarLibroDto("ASDA7884", "Ñandú", 3));
+
+        ByteBuffer buffer = ByteBuffer.allocate(2 + 8 + 2 + 7 + 1);
+        buffer.putShort((short) 8).put("ASDA7884".getBytes("UTF-8"));
+        buffer.putShort((short) 7).put("Ñandú".getBytes("UTF-8"));
+        buffer.put((byte) 3);
+        assertArrayEquals(buffer.array(), cuerpo);
+
+        SolicitudPrestarLibroDto leida = CodecBinarioPrestamo.leerSolicitud(new DataInputStream(new ByteArrayInputStream(cuerpo)));
+        assertEquals(new SolicitudPrestarLibroDto("ASDA7884", "Ñandú", 3), leida);
+    }
+
+    @Test
+    public void mensajesDeberianConservarseIdaYVueltaIncluyendoNulos() throws Exception {
+        assertEquals(new SolicitudPrestarLibroDto(null, "", null),
+            CodecBinarioPrestamo.leerSolicitud(entrada(CodecBinarioPrestamo.codificar(new SolicitudPrestarLibroDto(null, "", null)))));
+
+        ResultadoPrestarDto resultado = new ResultadoPrestarDto(15, "29/02/2028", LocalDate.of(2028, 2, 29));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CodecBinarioPrestamo.escribirResultado(resultado, new DataOutputStream(bytes));
+        assertEquals(8, bytes.size());
+        assertEquals(LocalDate.of(2028, 2, 29).toEpochDay(), ByteBuffer.wrap(bytes.toByteArray()).getInt(4));
+        assertEquals(resultado, CodecBinarioPrestamo.decodificarResultado(bytes.toByteArray()));
+
+        ConsultaPrestamoResponseDto[] consultas = {
+            new ConsultaPrestamoResponseDto(7, "9788408187462", "Cien Años de Soledad", "01/01/1970", "74851254", 2,
+                LocalDate.ofEpochDay(0)),
+            new ConsultaPrestamoResponseDto()
+        };
+        for (ConsultaPrestamoResponseDto consulta : consultas) {
+            bytes.reset();
+            CodecBinarioPrestamo.escribirConsulta(consulta, new DataOutputStream(bytes));
+            assertEquals(consulta, CodecBinarioPrestamo.decodificarConsulta(bytes.toByteArray()));
+        }
+    }
+
+    @Test
+    public void valoresFueraDelFormatoDeberianRechazarse() {
+        assertThrows(IllegalArgumentException.class,
+            () -> CodecBinarioPrestamo.codificar(new SolicitudPrestarLibroDto("A", "1", 256)));
+        assertThrows(EOFException.class,
+            () -> CodecBinarioPrestamo.leerSolicitud(entrada(new byte[]{0, 8, 'A', 'S'})));
+    }
+
+    private static DataInputStream entrada(byte[] bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+}
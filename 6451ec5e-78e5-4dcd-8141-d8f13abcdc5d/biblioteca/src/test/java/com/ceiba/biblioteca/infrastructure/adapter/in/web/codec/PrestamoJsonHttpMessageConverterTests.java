@@ -0,0 +1,101 @@
+package com.ceiba.biblioteca.infrastructure.adapter.in.web.codec;
+
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ConsultaPrestamoResponseDto;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ErrorResponseDto;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.ResultadoPrestarDto;
+import com.ceiba.biblioteca.infrastructure.adapter.in.web.dto.SolicitudPrestarLibroDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrestamoJsonHttpMessageConverterTests {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final PrestamoJsonHttpMessageConverter converter =
+        new PrestamoJsonHttpMessageConverter(objectMapper.getFactory());
+
+    @Test
+    public void solicitudDeberiaLeerseComoComandoIgnorandoCamposDesconocidosYElOrden() throws Exception {
+        SolicitudPrestarLibroDto solicitud = leer("{\"extra\":{\"a\":[1,2,{\"b\":null}]},"
+            + "\"tipoUsuario\":\"3\",\"identificacionUsuario\":\"1111\",\"isbn\":\"ASDA7884\"}");
+
+        assertEquals("ASDA7884", solicitud.getIsbn());
+        assertEquals("1111", solicitud.getIdentificacionUsuario());
+        assertEquals(Integer.valueOf(3), solicitud.getTipoUsuario());
+    }
+
+    @Test
+    public void solicitudDeberiaLeerseIgualQueConElBindingDeJackson() throws Exception {
+        String[] solicitudes = {
+            "{\"isbn\":\"9788408187462\",\"identificacionUsuario\":\"74851254\",\"tipoUsuario\":1}",
+            "{\"isbn\":123,\"identificacionUsuario\":true,\"tipoUsuario\":null}",
+            "{\"isbn\":null,\"tipoUsuario\":\"\"}",
+            "{}"
+        };
+        for (String json : solicitudes) {
+            SolicitudPrestarLibroDto esperado = objectMapper.readValue(json, SolicitudPrestarLibroDto.class);
+            SolicitudPrestarLibroDto solicitud = leer(json);
+
+            assertEquals(esperado.getIsbn(), solicitud.getIsbn(), json);
+            assertEquals(esperado.getIdentificacionUsuario(), solicitud.getIdentificacionUsuario(), json);
+            assertEquals(esperado.getTipoUsuario(), solicitud.getTipoUsuario(), json);
+        }
+    }
+
+    @Test
+    public void solicitudInvalidaDeberiaRechazarseComoMensajeNoLegible() {
+        String[] solicitudes = {"", "[]", "{\"isbn\":\"A\"", "{\"tipoUsuario\":\"uno\"}", "{\"isbn\":{}}"};
+        for (String json : solicitudes) {
+            assertThrows(HttpMessageNotReadableException.class, () -> leer(json), json);
+        }
+    }
+
+    @Test
+    public void respuestasDeberianEscribirseIgualQueConElBindingDeJackson() throws Exception {
+        Object[] respuestas = {
+            new ResultadoPrestarDto(15, "24/10/2026", LocalDate.of(2026, 10, 24)),
+            new ConsultaPrestamoResponseDto(7, "9788408187462", "Cien Años de Soledad \"edición\"",
+                "24/10/2026", "74851254", 1, LocalDate.of(2026, 10, 24)),
+            new ConsultaPrestamoResponseDto(),
+            new ErrorResponseDto("Libro con ISBN NOEXISTE no encontrado")
+        };
+        for (Object respuesta : respuestas) {
+            MockHttpOutputMessage salida = new MockHttpOutputMessage();
+            converter.write(respuesta, MediaType.APPLICATION_JSON, salida);
+
+            assertEquals(objectMapper.writeValueAsString(respuesta), salida.getBodyAsString(StandardCharsets.UTF_8));
+            assertEquals(MediaType.APPLICATION_JSON, salida.getHeaders().getContentType());
+        }
+    }
+
+    @Test
+    public void otrasClasesYTiposDeContenidoDeberianQuedarParaLosDemasConvertidores() {
+        assertTrue(converter.canRead(SolicitudPrestarLibroDto.class, MediaType.APPLICATION_JSON));
+        assertTrue(converter.canWrite(ResultadoPrestarDto.class, null));
+
+        assertFalse(converter.canRead(SolicitudPrestarLibroDto.class, MediaType.APPLICATION_XML));
+        assertFalse(converter.canRead(SolicitudPrestarLibroDto.class, MediaType.valueOf("application/vnd.biblioteca+json")));
+        assertFalse(converter.canRead(ResultadoPrestarDto.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(SolicitudPrestarLibroDto.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(SolicitudPrestarLibroDto.class, MediaType.APPLICATION_JSON));
+    }
+
+    private SolicitudPrestarLibroDto leer(String json) throws Exception {
+        MockHttpInputMessage entrada = new MockHttpInputMessage(json.getBytes(StandardCharsets.UTF_8));
+        entrada.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return (SolicitudPrestarLibroDto) converter.read(SolicitudPrestarLibroDto.class, entrada);
+    }
+}
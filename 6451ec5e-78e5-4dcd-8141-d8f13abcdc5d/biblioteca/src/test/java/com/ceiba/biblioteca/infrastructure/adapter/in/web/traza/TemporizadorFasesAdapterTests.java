@@ -0,0 +1,74 @@
+package com.ceiba.biblioteca.infrastructure.adapter.in.web.traza;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"biblioteca.traza.habilitado=true", "biblioteca.traza.umbral-lento=0ms"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+class TemporizadorFasesAdapterTests {
+
+    private static final String DURACION = ";dur=\\d+\\.\\d{3}";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    public void prestamoDeberiaResponderLasFasesEnServerTiming() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.post("/prestamo")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"isbn\":\"ASDA7884\",\"identificacionUsuario\":\"7001\",\"tipoUsuario\":1}"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(TemporizadorFasesAdapter.ENCABEZADO, matchesPattern(
+                "validacion" + DURACION + ", libro" + DURACION + ", fechas" + DURACION
+                    + ", insert" + DURACION + ", total" + DURACION)));
+    }
+
+    @Test
+    public void prestamoDeInvitadoDeberiaIncluirLaEsperaDelBloqueo() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.post("/prestamo")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"isbn\":\"AWQ489\",\"identificacionUsuario\":\"7002\",\"tipoUsuario\":3}"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(TemporizadorFasesAdapter.ENCABEZADO, matchesPattern(
+                ".*fechas" + DURACION + ", bloqueo" + DURACION + ", insert" + DURACION + ", total" + DURACION)));
+    }
+
+    @Test
+    public void consultaDeberiaResponderLaFaseDeConsulta() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get("/prestamo/1").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().string(TemporizadorFasesAdapter.ENCABEZADO,
+                matchesPattern("consulta" + DURACION + ", total" + DURACION)));
+    }
+
+    @Test
+    public void fasesFueraDeUnaSolicitudDeberianIgnorarse() {
+        TemporizadorFasesAdapter temporizador = new TemporizadorFasesAdapter(true);
+
+        assertEquals(0L, temporizador.fase("libro", temporizador.iniciar()));
+        assertNull(temporizador.servidorTiming());
+    }
+
+    @Test
+    public void duracionesDeberianFormatearseEnMilisegundosConTresDecimales() {
+        FasesPeticion fases = new FasesPeticion();
+        fases.abrir(0L);
+        fases.agregar("libro", 1_234_567L);
+        fases.agregar("insert", 45_000L);
+
+        assertEquals("libro;dur=1.234, insert;dur=0.045, total;dur=12.007", fases.formatear(12_007_000L));
+    }
+}
@@ -0,0 +1,134 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.auditoria;
+
+import com.ceiba.biblioteca.domain.model.IntentoPrestamo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditoriaArchivoAdapterTests {
+
+    private static final long INSTANTE = Instant.parse("2026-03-02T15:04:05.123Z").toEpochMilli();
+
+    @TempDir
+    Path directorio;
+
+    private final SimpleMeterRegistry registro = new SimpleMeterRegistry();
+
+    @Test
+    public void registrosDeberianEscribirseUnoPorLineaAlCerrar() throws IOException {
+        AuditoriaArchivoAdapter auditoria = crear(1024, 1024, PoliticaBufferLleno.DESCARTAR);
+        auditoria.iniciar();
+
+        auditoria.registrar(new IntentoPrestamo(INSTANTE, "ASDA7884", "1001", 1,
+            IntentoPrestamo.Resultado.ACEPTADO, 15, null));
+        auditoria.registrar(new IntentoPrestamo(INSTANTE, "AWQ489", "1002", 5,
+            IntentoPrestamo.Resultado.RECHAZADO, null, "Tipo de usuario | no\npermitido"));
+        auditoria.cerrar();
+
+        assertEquals(2, lineas().size());
+        assertEquals("2026-03-02T15:04:05.123Z|ACEPTADO|1|1001|ASDA7884|15|", lineas().get(0));
+        assertEquals("2026-03-02T15:04:05.123Z|RECHAZADO|5|1002|AWQ489||Tipo de usuario   no permitido",
+            lineas().get(1));
+        assertEquals(2.0, registro.get(AuditoriaArchivoAdapter.ESCRITOS).counter().count());
+    }
+
+    @Test
+    public void archivoDeberiaRotarAlSuperarElTamanoMaximo() throws IOException {
+        AuditoriaArchivoAdapter auditoria = crear(1024, 200, PoliticaBufferLleno.DESCARTAR);
+        auditoria.iniciar();
+
+        for (int i = 0; i < 10; i++) {
+            auditoria.registrar(intento(i));
+        }
+        auditoria.cerrar();
+
+        assertTrue(archivos().size() >= 3);
+        assertEquals(10, lineas().size());
+        assertTrue(lineas().get(9).contains("|usuario9|"));
+    }
+
+    @Test
+    public void bufferLlenoDeberiaDescartarYContarSinEsperar() throws IOException {
+        AuditoriaArchivoAdapter auditoria = crear(4, 1024, PoliticaBufferLleno.DESCARTAR);
+
+        for (int i = 0; i < 6; i++) {
+            auditoria.registrar(intento(i));
+        }
+
+        assertEquals(4, auditoria.pendientes());
+        assertEquals(4.0, registro.get(AuditoriaArchivoAdapter.PENDIENTES).gauge().value());
+        assertEquals(2.0, registro.get(AuditoriaArchivoAdapter.DESCARTADOS)
+            .tag("motivo", "buffer_lleno").counter().count());
+
+        auditoria.iniciar();
+        auditoria.cerrar();
+        assertEquals(4, lineas().size());
+    }
+
+    @Test
+    public void politicaBloquearDeberiaEsperarAlEscritorEnLugarDeDescartar() throws Exception {
+        AuditoriaArchivoAdapter auditoria = crear(2, 1024 * 1024, PoliticaBufferLleno.BLOQUEAR);
+        auditoria.iniciar();
+
+        List<Thread> productores = new ArrayList<>();
+        for (int hilo = 0; hilo < 4; hilo++) {
+            int base = hilo * 500;
+            Thread productor = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    auditoria.registrar(intento(base + i));
+                }
+            });
+            productor.start();
+            productores.add(productor);
+        }
+        for (Thread productor : productores) {
+            productor.join();
+        }
+        auditoria.cerrar();
+
+        assertEquals(0.0, registro.get(AuditoriaArchivoAdapter.DESCARTADOS)
+            .tag("motivo", "buffer_lleno").counter().count());
+        assertEquals(2000, lineas().size());
+    }
+
+    private AuditoriaArchivoAdapter crear(int capacidad, long tamanoMaximoArchivo, PoliticaBufferLleno politica) {
+        return new AuditoriaArchivoAdapter(directorio, tamanoMaximoArchivo, false, capacidad, politica,
+            Duration.ofSeconds(5), Duration.ofMillis(10), 64, Clock.fixed(Instant.ofEpochMilli(INSTANTE), ZoneOffset.UTC),
+            registro);
+    }
+
+    private static IntentoPrestamo intento(int numero) {
+        return new IntentoPrestamo(INSTANTE, "ASDA7884", "usuario" + numero, 2,
+            IntentoPrestamo.Resultado.ACEPTADO, numero, null);
+    }
+
+    private List<Path> archivos() throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private List<String> lineas() throws IOException {
+        List<String> lineas = new ArrayList<>();
+        for (Path archivo : archivos()) {
+            lineas.addAll(Files.readAllLines(archivo, StandardCharsets.UTF_8));
+        }
+        return lineas;
+    }
+}
@@ -0,0 +1,72 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.bloqueo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloqueoUsuarioLocalAdapterTests {
+
+    private BloqueoUsuarioLocalAdapter bloqueoUsuario;
+
+    @BeforeEach
+    public void setUp() {
+        bloqueoUsuario = new BloqueoUsuarioLocalAdapter();
+    }
+
+    @Test
+    public void usuarioDistintoDeberiaAvanzarMientrasOtroTieneElBloqueo() throws Exception {
+        CountDownLatch tomado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<Void> retenido = CompletableFuture.runAsync(() ->
+            bloqueoUsuario.ejecutarConBloqueo("usuario-a", () -> {
+                tomado.countDown();
+                esperar(liberar);
+                return null;
+            }));
+        try {
+            assertTrue(tomado.await(5, TimeUnit.SECONDS));
+
+            String resultado = CompletableFuture.supplyAsync(() -> bloqueoUsuario.ejecutarConBloqueo("usuario-b", () -> "b"))
+                .get(5, TimeUnit.SECONDS);
+            assertEquals("b", resultado);
+
+            CompletableFuture<String> mismoUsuario = CompletableFuture.supplyAsync(() ->
+                bloqueoUsuario.ejecutarConBloqueo("usuario-a", () -> "a"));
+            assertThrows(TimeoutException.class, () -> mismoUsuario.get(200, TimeUnit.MILLISECONDS));
+
+            liberar.countDown();
+            assertEquals("a", mismoUsuario.get(5, TimeUnit.SECONDS));
+        } finally {
+            liberar.countDown();
+            retenido.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void bloqueosLiberadosNoDeberianQuedarEnMemoria() {
+        bloqueoUsuario.ejecutarConBloqueo("usuario-a", () -> null);
+        bloqueoUsuario.ejecutarConBloqueo(Arrays.asList("usuario-c", "usuario-b", "usuario-c"), () -> null);
+        assertThrows(IllegalStateException.class, () -> bloqueoUsuario.ejecutarConBloqueo("usuario-d", () -> {
+            throw new IllegalStateException("fallo");
+        }));
+
+        assertEquals(0, bloqueoUsuario.getBloqueosActivos());
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.cache;
+
+import com.ceiba.biblioteca.domain.model.Libro;
+import com.ceiba.biblioteca.domain.port.out.LibroRepositoryPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "biblioteca.cache.libros.habilitado=true",
+    "biblioteca.cache.libros.precarga=100"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class LibroRepositoryCacheAdapterTests {
+
+    private static final int LIBROS_CON_PRESTAMO = 7;
+
+    @Autowired
+    private LibroRepositoryPort libroRepository;
+
+    @Autowired
+    private LibroRepositoryCacheAdapter libroRepositoryCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry registroMetricas;
+
+    @Test
+    public void elPuertoDeLibrosDeberiaSerLaCacheCuandoEstaHabilitada() {
+        assertSame(libroRepositoryCache, libroRepository);
+    }
+
+    @Test
+    public void precargaDeberiaCargarLosLibrosMasPrestados() {
+        Statistics estadisticas = estadisticasLimpias();
+
+        assertEquals(LIBROS_CON_PRESTAMO, libroRepositoryCache.getTamano());
+        for (String isbn : Arrays.asList("9788408187462", "9788437604947", "9788499892719", "9788420432781")) {
+            assertTrue(libroRepository.findByIsbn(isbn).isPresent());
+        }
+
+        assertEquals(0, estadisticas.getPrepareStatementCount());
+        assertEquals(4, lecturas("hit"));
+    }
+
+    @Test
+    public void busquedaRepetidaDeberiaResolverseEnMemoria() {
+        Statistics estadisticas = estadisticasLimpias();
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("ASDA7884", libroRepository.findByIsbn("ASDA7884").get().getIsbn());
+        }
+
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+        assertEquals(1, lecturas("miss"));
+        assertEquals(9, lecturas("hit"));
+    }
+
+    @Test
+    public void escriturasDistintasDelIsbnDeberianCompartirLaEntrada() {
+        Statistics estadisticas = estadisticasLimpias();
+
+        libroRepository.findByIsbn("ASDA7884");
+        libroRepository.findByIsbn("asda-7884");
+        libroRepository.findByIsbn(" asda 7884 ");
+
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+        assertEquals(1, lecturas("miss"));
+        assertEquals(2, lecturas("hit"));
+    }
+
+    @Test
+    public void guardarLibroDeberiaInvalidarSuEntrada() {
+        Libro libro = libroRepository.findByIsbn("asda-7884").get();
+        libroRepository.findByIsbn("ASDA7884");
+
+        libro.setTitulo("Titulo actualizado");
+        libroRepository.save(libro);
+
+        assertEquals("Titulo actualizado", libroRepository.findByIsbn("asda-7884").get().getTitulo());
+        assertEquals("Titulo actualizado", libroRepository.findByIsbn("ASDA7884").get().getTitulo());
+    }
+
+    @Test
+    public void isbnInexistenteNoDeberiaQuedarCacheado() {
+        assertFalse(libroRepository.findByIsbn("NUEVO0001").isPresent());
+
+        libroRepository.save(Libro.crear("NUEVO0001", "Libro nuevo", "Autor nuevo"));
+
+        assertTrue(libroRepository.findByIsbn("NUEVO0001").isPresent());
+    }
+
+    @Test
+    public void busquedaPorLoteDeberiaConsultarSoloLosIsbnFaltantes() {
+        libroRepository.findByIsbn("ASDA7884");
+        Statistics estadisticas = estadisticasLimpias();
+
+        Map<String, Libro> libros = libroRepository.findAllByIsbn(Arrays.asList("ASDA7884", "9788491050145", "NO-EXISTE"));
+
+        assertEquals(2, libros.size());
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+
+        estadisticas.clear();
+        libroRepository.findAllByIsbn(Arrays.asList("ASDA7884", "9788491050145"));
+        assertEquals(0, estadisticas.getPrepareStatementCount());
+    }
+
+    private double lecturas(String resultado) {
+        return registroMetricas.get("cache.gets").tag("cache", "libros").tag("result", resultado)
+            .functionCounter().count();
+    }
+
+    private Statistics estadisticasLimpias() {
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+        return estadisticas;
+    }
+}
@@ -0,0 +1,107 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.cache;
+
+import com.ceiba.biblioteca.application.dto.ConsultaPrestamoResponse;
+import com.ceiba.biblioteca.application.dto.PrestarLibroCommand;
+import com.ceiba.biblioteca.application.dto.ResultadoPrestar;
+import com.ceiba.biblioteca.domain.exception.PrestamoNoEncontradoException;
+import com.ceiba.biblioteca.domain.port.in.ConsultarPrestamoUseCase;
+import com.ceiba.biblioteca.domain.port.in.PrestarLibroUseCase;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "biblioteca.cache.prestamos.habilitado=true",
+    "biblioteca.cache.prestamos.ttl-ausentes=1m"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class PrestamoRepositoryCacheAdapterTests {
+
+    private static final int CONSULTAS = 10;
+
+    @Autowired
+    private PrestarLibroUseCase prestarLibroUseCase;
+
+    @Autowired
+    private ConsultarPrestamoUseCase consultarPrestamoUseCase;
+
+    @Autowired
+    private MeterRegistry registroMetricas;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+
+    @BeforeEach
+    public void setUp() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+    }
+
+    @Test
+    public void prestamoRecienCreadoDeberiaConsultarseSinIrALaBase() {
+        ResultadoPrestar resultado = prestar("asda-7884", "974148", 1);
+        estadisticas.clear();
+
+        ConsultaPrestamoResponse consulta = consultarPrestamoUseCase.ejecutar(resultado.getId());
+
+        assertEquals(0, estadisticas.getPrepareStatementCount());
+        assertEquals(resultado.getId(), consulta.getId());
+        assertEquals("ASDA7884", consulta.getIsbn());
+        assertEquals("Libro Test Afiliado", consulta.getTitulo());
+        assertEquals(resultado.getFechaMaximaDevolucion(), consulta.getFechaMaximaDevolucion());
+        assertEquals("974148", consulta.getIdentificacionUsuario());
+        assertEquals(1, consulta.getTipoUsuario());
+    }
+
+    @Test
+    public void consultaRepetidaDeberiaLeerLaBaseUnaSolaVez() {
+        for (int i = 0; i < CONSULTAS; i++) {
+            assertEquals("9788408187462", consultarPrestamoUseCase.ejecutar(1).getIsbn());
+        }
+
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+        assertEquals(CONSULTAS - 1, registroMetricas.get("cache.gets").tag("cache", "prestamos").tag("result", "hit")
+            .functionCounter().count());
+    }
+
+    @Test
+    public void idInexistenteDeberiaConsultarseUnaSolaVez() {
+        for (int i = 0; i < CONSULTAS; i++) {
+            assertThrows(PrestamoNoEncontradoException.class, () -> consultarPrestamoUseCase.ejecutar(9999));
+        }
+
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    public void prestamoCreadoDeberiaReemplazarLaAusenciaCacheadaDeSuId() {
+        Integer siguienteId = prestar("ASDA7884", "974148", 1).getId() + 1;
+        assertThrows(PrestamoNoEncontradoException.class, () -> consultarPrestamoUseCase.ejecutar(siguienteId));
+
+        ResultadoPrestar resultado = prestar("EQWQW8545", "74851254", 3);
+
+        assertEquals(siguienteId, resultado.getId());
+        assertEquals("74851254", consultarPrestamoUseCase.ejecutar(siguienteId).getIdentificacionUsuario());
+    }
+
+    private ResultadoPrestar prestar(String isbn, String identificacionUsuario, int tipoUsuario) {
+        return prestarLibroUseCase.ejecutar(PrestarLibroCommand.builder()
+            .isbn(isbn)
+            .identificacionUsuario(identificacionUsuario)
+            .tipoUsuario(tipoUsuario)
+            .build());
+    }
+}
@@ -0,0 +1,122 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.eventos;
+
+import com.ceiba.biblioteca.domain.model.PrestamoCreado;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PublicadorPrestamosCreadosArchivoAdapterTests {
+
+    private static final long MAXIMO = 64 * 1024 * 1024;
+
+    private static final long CREADO = Instant.parse("2026-03-02T15:04:05.123Z").toEpochMilli();
+
+    @TempDir
+    Path directorio;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void cadaEventoDeberiaQuedarEnUnaLineaJsonAlRetornarElLote() throws IOException {
+        Path archivo = directorio.resolve("eventos").resolve("prestamos-creados.jsonl");
+        PublicadorPrestamosCreadosArchivoAdapter publicador = new PublicadorPrestamosCreadosArchivoAdapter(archivo, MAXIMO, true);
+
+        publicador.publicar(Arrays.asList(evento(1, 15, TipoUsuario.AFILIADO), evento(2, 16, TipoUsuario.INVITADO)));
+
+        List<String> lineas = Files.readAllLines(archivo, StandardCharsets.UTF_8);
+        assertEquals(2, lineas.size());
+        JsonNode primero = objectMapper.readTree(lineas.get(0));
+        assertEquals(1, primero.get("eventoId").asLong());
+        assertEquals("PrestamoCreado", primero.get("tipo").asText());
+        assertEquals(15, primero.get("prestamoId").asInt());
+        assertEquals("ASDA7884", primero.get("isbn").asText());
+        assertEquals("1001", primero.get("identificacionUsuario").asText());
+        assertEquals(1, primero.get("tipoUsuario").asInt());
+        assertEquals("2026-03-02", primero.get("fechaPrestamo").asText());
+        assertEquals("2026-03-16", primero.get("fechaMaximaDevolucion").asText());
+        assertEquals("2026-03-02T15:04:05.123Z", primero.get("creado").asText());
+        assertEquals(3, objectMapper.readTree(lineas.get(1)).get("tipoUsuario").asInt());
+        publicador.cerrar();
+    }
+
+    @Test
+    public void archivoExistenteDeberiaConservarseYAnexarLosLotesNuevos() throws IOException {
+        Path archivo = directorio.resolve("prestamos-creados.jsonl");
+        PublicadorPrestamosCreadosArchivoAdapter primero = new PublicadorPrestamosCreadosArchivoAdapter(archivo, MAXIMO, false);
+        primero.publicar(Collections.singletonList(evento(1, 15, TipoUsuario.AFILIADO)));
+        primero.cerrar();
+
+        PublicadorPrestamosCreadosArchivoAdapter segundo = new PublicadorPrestamosCreadosArchivoAdapter(archivo, MAXIMO, false);
+        segundo.publicar(Collections.singletonList(evento(2, 16, TipoUsuario.EMPLEADO)));
+        segundo.publicar(Collections.singletonList(evento(3, 17, TipoUsuario.EMPLEADO)));
+
+        List<String> lineas = Files.readAllLines(archivo, StandardCharsets.UTF_8);
+        assertEquals(3, lineas.size());
+        for (int i = 0; i < lineas.size(); i++) {
+            assertEquals(i + 1, objectMapper.readTree(lineas.get(i)).get("eventoId").asLong());
+        }
+        segundo.cerrar();
+    }
+
+    @Test
+    public void archivoQueSuperaElTamanoMaximoDeberiaRotarAlTerminarElLote() throws IOException {
+        Path archivo = directorio.resolve("prestamos-creados.jsonl");
+        PublicadorPrestamosCreadosArchivoAdapter publicador = new PublicadorPrestamosCreadosArchivoAdapter(archivo, 400, false);
+
+        // Cada línea ocupa unos 210 bytes: el archivo rota al completar dos
+        publicador.publicar(Arrays.asList(evento(1, 15, TipoUsuario.AFILIADO), evento(2, 16, TipoUsuario.AFILIADO)));
+        publicador.publicar(Collections.singletonList(evento(3, 17, TipoUsuario.AFILIADO)));
+        publicador.publicar(Collections.singletonList(evento(4, 18, TipoUsuario.AFILIADO)));
+        publicador.publicar(Collections.singletonList(evento(5, 19, TipoUsuario.AFILIADO)));
+
+        List<Path> rotados;
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            rotados = archivos.filter(ruta -> !ruta.equals(archivo)).sorted().collect(Collectors.toList());
+        }
+        assertEquals(2, rotados.size());
+        assertTrue(rotados.get(0).getFileName().toString().matches("prestamos-creados-\\d{8}-\\d{6}-0001\\.jsonl"));
+        assertEquals(2, Files.readAllLines(rotados.get(0), StandardCharsets.UTF_8).size());
+        assertEquals(3, objectMapper.readTree(Files.readAllLines(rotados.get(1), StandardCharsets.UTF_8).get(0))
+            .get("eventoId").asLong());
+        List<String> actual = Files.readAllLines(archivo, StandardCharsets.UTF_8);
+        assertEquals(1, actual.size());
+        assertEquals(5, objectMapper.readTree(actual.get(0)).get("eventoId").asLong());
+        publicador.cerrar();
+    }
+
+    @Test
+    public void lineaCortadaPorUnaFallaDeberiaQuedarSolaAlReabrir() throws IOException {
+        Path archivo = directorio.resolve("prestamos-creados.jsonl");
+        Files.write(archivo, "{\"eventoId\":1,\"tipo\":\"Prest".getBytes(StandardCharsets.UTF_8));
+        PublicadorPrestamosCreadosArchivoAdapter publicador = new PublicadorPrestamosCreadosArchivoAdapter(archivo, MAXIMO, false);
+
+        publicador.publicar(Collections.singletonList(evento(1, 15, TipoUsuario.AFILIADO)));
+
+        List<String> lineas = Files.readAllLines(archivo, StandardCharsets.UTF_8);
+        assertEquals(2, lineas.size());
+        assertEquals(1, objectMapper.readTree(lineas.get(1)).get("eventoId").asLong());
+        publicador.cerrar();
+    }
+
+    private static PrestamoCreado evento(long eventoId, int prestamoId, TipoUsuario tipoUsuario) {
+        return new PrestamoCreado(eventoId, prestamoId, "ASDA7884", "1001", tipoUsuario,
+            LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 16), CREADO);
+    }
+}
@@ -0,0 +1,183 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.journal;
+
+import com.ceiba.biblioteca.domain.model.Libro;
+import com.ceiba.biblioteca.domain.model.Prestamo;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
+import com.ceiba.biblioteca.domain.port.out.LibroRepositoryPort;
+import com.ceiba.biblioteca.infrastructure.adapter.out.memoria.AlmacenMemoria;
+import com.ceiba.biblioteca.infrastructure.adapter.out.memoria.LibroRepositoryMemoriaAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrestamoRepositoryJournalAdapterTests {
+
+    private static final long SEGMENTO_GRANDE = 1 << 20;
+    private static final long SEGMENTO_DE_CUATRO = 4 * RegistroPrestamo.TAMANO;
+    private static final int HILOS = 16;
+    private static final int PRESTAMOS_POR_HILO = 50;
+
+    @TempDir
+    Path directorio;
+
+    private LibroRepositoryPort libroRepository;
+    private Libro libro;
+    private PrestamoRepositoryJournalAdapter journal;
+
+    @BeforeEach
+    public void setUp() {
+        libroRepository = new LibroRepositoryMemoriaAdapter(new AlmacenMemoria(
+            new ClassPathResource("memoria/libros.csv"), new ClassPathResource("memoria/prestamos.csv")));
+        libro = libroRepository.findByIsbn("ASDA7884").get();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (journal != null) {
+            journal.cerrar();
+        }
+    }
+
+    @Test
+    public void prestamosDeberianSobrevivirAlReinicio() {
+        journal = abrir(SEGMENTO_GRANDE);
+        guardar("974148", 3);
+        reabrir(SEGMENTO_GRANDE);
+
+        assertEquals(3, journal.countByIdentificacionUsuario("974148"));
+        assertEquals("ASDA7884", journal.findConsultaById(2).get().getIsbn());
+        assertEquals("Libro Test Afiliado", journal.findConsultaById(2).get().getTitulo());
+        assertEquals(1, journal.findByIdentificacionUsuario("974148").get().getId());
+        assertEquals(4, guardar("974148", 1).get(0).getId());
+    }
+
+    @Test
+    public void registroFinalTruncadoDeberiaDescartarseAlRecuperar() throws IOException {
+        journal = abrir(SEGMENTO_GRANDE);
+        guardar("974148", 3);
+        journal.cerrar();
+        journal = null;
+
+        try (FileChannel canal = FileChannel.open(segmento(1), StandardOpenOption.WRITE)) {
+            canal.truncate(2L * RegistroPrestamo.TAMANO + RegistroPrestamo.TAMANO / 2);
+        }
+        reabrir(SEGMENTO_GRANDE);
+
+        assertTrue(journal.findById(2).isPresent());
+        assertFalse(journal.findById(3).isPresent());
+        assertEquals(2, journal.countByIdentificacionUsuario("974148"));
+
+        assertEquals(3, guardar("74851254", 1).get(0).getId());
+        reabrir(SEGMENTO_GRANDE);
+        assertEquals("74851254", journal.findById(3).get().getIdentificacionUsuario());
+    }
+
+    @Test
+    public void registroFinalEscritoAMediasDeberiaDescartarseAlRecuperar() throws IOException {
+        journal = abrir(SEGMENTO_GRANDE);
+        guardar("974148", 3);
+        journal.cerrar();
+        journal = null;
+
+        try (FileChannel canal = FileChannel.open(segmento(1), StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}), 2L * RegistroPrestamo.TAMANO + 20);
+        }
+        reabrir(SEGMENTO_GRANDE);
+
+        assertFalse(journal.findById(3).isPresent());
+        assertEquals(3, guardar("74851254", 1).get(0).getId());
+        reabrir(SEGMENTO_GRANDE);
+        assertEquals(3, journal.countByIdentificacionUsuario("974148") + journal.countByIdentificacionUsuario("74851254"));
+    }
+
+    @Test
+    public void segmentoLlenoDeberiaRotarAUnArchivoNuevo() throws IOException {
+        journal = abrir(SEGMENTO_DE_CUATRO);
+        guardar("974148", 10);
+
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            assertEquals(3, archivos.count());
+        }
+        reabrir(SEGMENTO_DE_CUATRO);
+
+        for (int id = 1; id <= 10; id++) {
+            assertEquals(id, journal.findById(id).get().getId());
+        }
+        assertEquals(11, guardar("974148", 1).get(0).getId());
+    }
+
+    @Test
+    public void escriturasConcurrentesDeberianQuedarTodasEnDisco() throws Exception {
+        journal = abrir(SEGMENTO_DE_CUATRO * 64);
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService ejecutor = Executors.newFixedThreadPool(HILOS);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int hilo = 0; hilo < HILOS; hilo++) {
+                String usuario = "usuario-" + hilo;
+                tareas.add(ejecutor.submit(() -> {
+                    for (Prestamo guardado : guardar(usuario, PRESTAMOS_POR_HILO)) {
+                        ids.add(guardado.getId());
+                    }
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+        reabrir(SEGMENTO_DE_CUATRO * 64);
+
+        assertEquals(HILOS * PRESTAMOS_POR_HILO, ids.size());
+        for (int hilo = 0; hilo < HILOS; hilo++) {
+            assertEquals(PRESTAMOS_POR_HILO, journal.countByIdentificacionUsuario("usuario-" + hilo));
+        }
+    }
+
+    private PrestamoRepositoryJournalAdapter abrir(long tamanoSegmento) {
+        return new PrestamoRepositoryJournalAdapter(directorio.toString(), tamanoSegmento, true, libroRepository);
+    }
+
+    private void reabrir(long tamanoSegmento) {
+        if (journal != null) {
+            journal.cerrar();
+        }
+        journal = abrir(tamanoSegmento);
+    }
+
+    private List<Prestamo> guardar(String identificacionUsuario, int cantidad) {
+        List<Prestamo> guardados = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            guardados.add(journal.save(Prestamo.crear(identificacionUsuario, TipoUsuario.AFILIADO, libro, LocalDate.now(), LocalDate.now())));
+        }
+        return guardados;
+    }
+
+    private Path segmento(int numero) {
+        return directorio.resolve(SegmentoJournal.nombre(numero));
+    }
+}
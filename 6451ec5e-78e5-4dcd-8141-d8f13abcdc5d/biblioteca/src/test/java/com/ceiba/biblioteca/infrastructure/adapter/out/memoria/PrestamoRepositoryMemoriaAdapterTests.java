@@ -0,0 +1,166 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.memoria;
+
+import com.ceiba.biblioteca.domain.exception.UsuarioConPrestamoExistenteException;
+import com.ceiba.biblioteca.domain.model.Libro;
+import com.ceiba.biblioteca.domain.model.Prestamo;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrestamoRepositoryMemoriaAdapterTests {
+
+    private static final int HILOS = 64;
+    private static final int PRESTAMOS_POR_HILO = 500;
+    private static final int PRESTAMOS_SEMILLA = 7;
+
+    private LibroRepositoryMemoriaAdapter libroRepository;
+    private PrestamoRepositoryMemoriaAdapter prestamoRepository;
+
+    @BeforeEach
+    public void setUp() {
+        AlmacenMemoria almacen = new AlmacenMemoria(
+            new ClassPathResource("memoria/libros.csv"), new ClassPathResource("memoria/prestamos.csv"));
+        libroRepository = new LibroRepositoryMemoriaAdapter(almacen);
+        prestamoRepository = new PrestamoRepositoryMemoriaAdapter(almacen);
+    }
+
+    @Test
+    public void datosSemillaDeberianCoincidirConSchemaSql() {
+        assertEquals("ASDA7884", libroRepository.findByIsbn("asda-7884").get().getIsbn());
+        assertEquals("9788408187462", prestamoRepository.findConsultaById(1).get().getIsbn());
+        assertTrue(prestamoRepository.existsPrestamoInvitado("1122334455"));
+        assertFalse(prestamoRepository.existsPrestamoInvitado("1234567891"));
+        assertEquals(PRESTAMOS_SEMILLA + 1, prestamoRepository.save(prestamo("nuevo", libro("ASDA7884"))).getId());
+    }
+
+    @Test
+    public void prestamosConcurrentesDeberianTenerIdsUnicosYContadoresExactos() throws Exception {
+        Libro libro = libro("ASDA7884");
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+
+        ejecutarEnParalelo(hilo -> {
+            for (int i = 0; i < PRESTAMOS_POR_HILO; i++) {
+                ids.add(prestamoRepository.save(prestamo("compartido", libro)).getId());
+                ids.add(prestamoRepository.save(prestamo("usuario-" + hilo, libro)).getId());
+            }
+            return null;
+        });
+
+        assertEquals(2 * HILOS * PRESTAMOS_POR_HILO, ids.size());
+        assertEquals(HILOS * PRESTAMOS_POR_HILO, prestamoRepository.countByIdentificacionUsuario("compartido"));
+        for (int hilo = 0; hilo < HILOS; hilo++) {
+            assertEquals(PRESTAMOS_POR_HILO, prestamoRepository.countByIdentificacionUsuario("usuario-" + hilo));
+        }
+        assertEquals(libro.getId(), libroRepository.findMasPrestados(1).get(0).getId());
+    }
+
+    @Test
+    public void altasConcurrentesDelMismoIsbnDeberianAceptarSoloUna() throws Exception {
+        AtomicInteger aceptadas = new AtomicInteger();
+
+        ejecutarEnParalelo(hilo -> {
+            try {
+                libroRepository.save(Libro.crear("nuevo-0001", "Libro " + hilo, "Autor"));
+                aceptadas.incrementAndGet();
+            } catch (DataIntegrityViolationException e) {
+                // otro hilo reservó el ISBN primero
+            }
+            return null;
+        });
+
+        assertEquals(1, aceptadas.get());
+        assertTrue(libroRepository.findByIsbn("NUEVO0001").isPresent());
+    }
+
+    @Test
+    public void prestamoDeLibroInexistenteDeberiaFallarComoLaLlaveForanea() {
+        Libro inexistente = Libro.builder().id(9999).isbn("NO-EXISTE").build();
+
+        assertThrows(DataIntegrityViolationException.class,
+            () -> prestamoRepository.save(prestamo("974148", inexistente)));
+    }
+
+    @Test
+    public void modificarElLibroDeUnPrestamoLeidoNoDeberiaAlterarElCatalogo() {
+        Integer id = prestamoRepository.save(prestamo("974148", libro("ASDA7884"))).getId();
+
+        prestamoRepository.findById(id).get().getLibro().setTitulo("Modificado");
+        libroRepository.findById(libro("ASDA7884").getId()).get().setTitulo("Modificado");
+
+        assertEquals("Libro Test Afiliado", libro("ASDA7884").getTitulo());
+        assertEquals("Libro Test Afiliado", prestamoRepository.findById(id).get().getLibro().getTitulo());
+    }
+
+    private Libro libro(String isbn) {
+        return libroRepository.findByIsbn(isbn).get();
+    }
+
+    @Test
+    public void invitadoConcurrenteDeberiaRegistrarSoloUnPrestamo() throws Exception {
+        Libro libro = libro("EQWQW8545");
+        AtomicInteger aceptados = new AtomicInteger();
+
+        ejecutarEnParalelo(hilo -> {
+            try {
+                prestamoRepository.save(Prestamo.crear("invitado", TipoUsuario.INVITADO, libro, LocalDate.now(), LocalDate.now()));
+                aceptados.incrementAndGet();
+            } catch (UsuarioConPrestamoExistenteException e) {
+                // otro hilo registró primero el préstamo del invitado
+            }
+            return null;
+        });
+
+        assertEquals(1, aceptados.get());
+        assertEquals(1, prestamoRepository.countByIdentificacionUsuario("invitado"));
+    }
+
+    private static Prestamo prestamo(String identificacionUsuario, Libro libro) {
+        return Prestamo.crear(identificacionUsuario, TipoUsuario.AFILIADO, libro, LocalDate.now(), LocalDate.now());
+    }
+
+    private interface Tarea {
+        Void ejecutar(int hilo) throws Exception;
+    }
+
+    private static void ejecutarEnParalelo(Tarea tarea) throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch salida = new CountDownLatch(1);
+        try {
+            List<Future<Void>> resultados = new ArrayList<>();
+            for (int hilo = 0; hilo < HILOS; hilo++) {
+                int numero = hilo;
+                Callable<Void> llamada = () -> {
+                    salida.await();
+                    return tarea.ejecutar(numero);
+                };
+                resultados.add(ejecutor.submit(llamada));
+            }
+            salida.countDown();
+            for (Future<Void> resultado : resultados) {
+                resultado.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.adapter;
+
+import com.ceiba.biblioteca.domain.model.Libro;
+import com.ceiba.biblioteca.domain.port.out.LibroRepositoryPort;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DirtiesContext
+class LibroRepositoryAdapterTests {
+
+    private static final int LIBROS_CARGA_MASIVA = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LibroRepositoryPort libroRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void busquedaPorIsbnDeberiaNormalizarElCodigoRecibido() {
+        assertEquals("ASDA7884", libroRepository.findByIsbn(" asda-7884 ").get().getIsbn());
+        assertEquals("9788408187462", libroRepository.findByIsbn("978-84-08-18746-2").get().getIsbn());
+    }
+
+    @Test
+    public void busquedaPorIsbnDeberiaUsarElIndiceUnico() {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN SELECT * FROM libro WHERE isbn = 'ASDA7884'", String.class);
+
+        assertTrue(plan.toUpperCase().contains("UK_LIBRO_ISBN"), plan);
+    }
+
+    @Test
+    public void cargaMasivaDeLibrosDeberiaAgruparLosInsertsEnLotes() {
+        List<Libro> libros = new ArrayList<>(LIBROS_CARGA_MASIVA);
+        for (int i = 0; i < LIBROS_CARGA_MASIVA; i++) {
+            libros.add(Libro.crear("LOTE" + i, "Libro en lote " + i, "Autor en lote"));
+        }
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+
+        List<Libro> guardados = libroRepository.saveAll(libros);
+
+        assertEquals(LIBROS_CARGA_MASIVA, guardados.size());
+        assertEquals("LOTE0", guardados.get(0).getIsbn());
+        assertEquals(LIBROS_CARGA_MASIVA, estadisticas.getEntityInsertCount());
+        // Sin lotes serían 500 INSERT más 500 llamadas a la secuencia; con bloques de 50
+        // son 10 sentencias INSERT preparadas y 10 llamadas a libro_seq
+        assertTrue(estadisticas.getPrepareStatementCount() <= 20,
+            "Sentencias preparadas: " + estadisticas.getPrepareStatementCount());
+        assertEquals(LIBROS_CARGA_MASIVA, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM libro WHERE isbn LIKE 'LOTE%'", Integer.class));
+    }
+}
@@ -0,0 +1,61 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.adapter;
+
+import com.ceiba.biblioteca.domain.exception.UsuarioConPrestamoExistenteException;
+import com.ceiba.biblioteca.domain.model.Libro;
+import com.ceiba.biblioteca.domain.model.Prestamo;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
+import com.ceiba.biblioteca.domain.port.out.PrestamoRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@DirtiesContext
+class PrestamoRepositoryAdapterTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PrestamoRepositoryPort prestamoRepository;
+
+    @Test
+    public void existenciaDePrestamosPorUsuarioDeberiaUsarElIndiceCompuesto() {
+        String plan = jdbcTemplate.queryForObject(
+            "EXPLAIN SELECT id FROM prestamo WHERE identificacion_usuario = '1122334455' LIMIT 1", String.class);
+
+        assertTrue(plan.toUpperCase().contains("IDX_PRESTAMO_USUARIO_TIPO"), plan);
+    }
+
+    @Test
+    public void segundoPrestamoDeInvitadoDeberiaRechazarloElIndiceUnico() {
+        prestamoRepository.save(prestamo("invitadoUnico", TipoUsuario.INVITADO));
+
+        assertThrows(UsuarioConPrestamoExistenteException.class,
+            () -> prestamoRepository.save(prestamo("invitadoUnico", TipoUsuario.INVITADO)));
+        assertEquals(1, prestamoRepository.countByIdentificacionUsuario("invitadoUnico"));
+    }
+
+    @Test
+    public void indiceDeInvitadosNoDeberiaRestringirAOtrosTiposDeUsuario() {
+        prestamoRepository.save(prestamo("afiliadoFrecuente", TipoUsuario.AFILIADO));
+        prestamoRepository.save(prestamo("afiliadoFrecuente", TipoUsuario.AFILIADO));
+        prestamoRepository.save(prestamo("empleadoFrecuente", TipoUsuario.EMPLEADO));
+        prestamoRepository.save(prestamo("empleadoFrecuente", TipoUsuario.EMPLEADO));
+
+        assertEquals(2, prestamoRepository.countByIdentificacionUsuario("afiliadoFrecuente"));
+        assertEquals(2, prestamoRepository.countByIdentificacionUsuario("empleadoFrecuente"));
+    }
+
+    private static Prestamo prestamo(String identificacionUsuario, TipoUsuario tipoUsuario) {
+        return Prestamo.crear(identificacionUsuario, tipoUsuario, Libro.builder().id(1).build(), LocalDate.now(), LocalDate.now());
+    }
+}
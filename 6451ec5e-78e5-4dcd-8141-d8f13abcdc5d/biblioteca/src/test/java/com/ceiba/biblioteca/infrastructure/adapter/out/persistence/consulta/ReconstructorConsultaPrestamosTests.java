@@ -0,0 +1,104 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.consulta;
+
+import com.ceiba.biblioteca.application.dto.ConsultaPrestamoResponse;
+import com.ceiba.biblioteca.application.dto.PrestarLibroCommand;
+import com.ceiba.biblioteca.application.dto.ResultadoPrestar;
+import com.ceiba.biblioteca.domain.model.FechasDelDia;
+import com.ceiba.biblioteca.domain.model.Libro;
+import com.ceiba.biblioteca.domain.model.Prestamo;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
+import com.ceiba.biblioteca.domain.port.in.ConsultarPrestamoUseCase;
+import com.ceiba.biblioteca.domain.port.in.PrestarLibroUseCase;
+import com.ceiba.biblioteca.domain.port.out.PrestamoRepositoryPort;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.entity.ConsultaPrestamoJpaEntity;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.repository.ConsultaPrestamoJpaRepository;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.repository.PrestamoJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class ReconstructorConsultaPrestamosTests {
+
+    @Autowired
+    private PrestarLibroUseCase prestarLibroUseCase;
+
+    @Autowired
+    private ConsultarPrestamoUseCase consultarPrestamoUseCase;
+
+    @Autowired
+    private PrestamoRepositoryPort prestamoRepository;
+
+    @Autowired
+    private PrestamoJpaRepository prestamoJpaRepository;
+
+    @Autowired
+    private ConsultaPrestamoJpaRepository consultaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void prestamoNuevoDeberiaConsultarseDesdeElModeloDeLectura() {
+        ResultadoPrestar prestamo = prestarLibroUseCase.ejecutar(PrestarLibroCommand.builder()
+            .isbn("EQWQW8545")
+            .identificacionUsuario("74851254")
+            .tipoUsuario(TipoUsuario.INVITADO.getValor())
+            .build());
+
+        ConsultaPrestamoJpaEntity fila = consultaRepository.findById(prestamo.getId()).get();
+        assertEquals("EQWQW8545", fila.getIsbn());
+        assertEquals("Libro Test Invitado", fila.getTitulo());
+        assertEquals(prestamo.getDiaMaximoDevolucion(), fila.getFechaMaximaDevolucion());
+        assertEquals(prestamo.getFechaMaximaDevolucion(), fila.getFechaMaximaDevolucionFormateada());
+        assertEquals(prestamo.getDiaMaximoDevolucion().format(FechasDelDia.DATE_FORMATTER),
+            prestamo.getFechaMaximaDevolucion());
+        assertEquals(new ConsultaPrestamoResponse(prestamo.getId(), "EQWQW8545", "Libro Test Invitado",
+                prestamo.getFechaMaximaDevolucion(), "74851254", 3, prestamo.getDiaMaximoDevolucion()),
+            consultarPrestamoUseCase.ejecutar(prestamo.getId()));
+    }
+
+    @Test
+    public void reconstruccionDeberiaRegenerarLasFilasFaltantesYAlteradasYBorrarLasHuerfanas() {
+        List<Prestamo> lote = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            lote.add(Prestamo.crear("afiliado" + i, TipoUsuario.AFILIADO, Libro.builder().id(9).build(),
+                LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 16).plusDays(i)));
+        }
+        prestamoRepository.saveAll(lote);
+        Map<Integer, ConsultaPrestamoJpaEntity> esperadas = filas();
+        assertEquals(17, esperadas.size());
+        assertEquals("Los Pilares de la Tierra", esperadas.get(lote.size() + 7).getTitulo());
+
+        jdbcTemplate.update("DELETE FROM prestamo_consulta WHERE id IN (1, 3, 9)");
+        jdbcTemplate.update("UPDATE prestamo_consulta SET titulo = 'alterado', fecha_maxima_devolucion = '2000-01-01', "
+            + "fecha_maxima_devolucion_formateada = '01/01/2000' WHERE id = 8");
+        jdbcTemplate.update("INSERT INTO prestamo_consulta VALUES (99999, 'X', 'huérfana', '2000-01-01', '01/01/2000', 'nadie', 1)");
+
+        int filas = new ReconstructorConsultaPrestamos(prestamoJpaRepository, consultaRepository, 3, 2).reconstruir();
+
+        assertEquals(17, filas);
+        assertEquals(esperadas, filas());
+        assertFalse(consultaRepository.existsById(99999));
+    }
+
+    private Map<Integer, ConsultaPrestamoJpaEntity> filas() {
+        Map<Integer, ConsultaPrestamoJpaEntity> filas = new HashMap<>();
+        for (ConsultaPrestamoJpaEntity fila : consultaRepository.findAll()) {
+            filas.put(fila.getId(), fila);
+        }
+        return filas;
+    }
+}
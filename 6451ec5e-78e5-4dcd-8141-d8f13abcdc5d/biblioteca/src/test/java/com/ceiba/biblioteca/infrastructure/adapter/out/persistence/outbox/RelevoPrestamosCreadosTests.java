@@ -0,0 +1,117 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.outbox;
+
+import com.ceiba.biblioteca.application.dto.PrestarLibroCommand;
+import com.ceiba.biblioteca.domain.model.PrestamoCreado;
+import com.ceiba.biblioteca.domain.model.TipoUsuario;
+import com.ceiba.biblioteca.domain.port.in.PrestarLibroUseCase;
+import com.ceiba.biblioteca.domain.port.out.PublicadorPrestamosCreadosPort;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.mapper.OutboxPrestamoCreadoJpaMapper;
+import com.ceiba.biblioteca.infrastructure.adapter.out.persistence.repository.OutboxPrestamoCreadoJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "biblioteca.outbox.habilitado=true",
+    "biblioteca.outbox.destino=log",
+    "biblioteca.outbox.intervalo=1h"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class RelevoPrestamosCreadosTests {
+
+    @Autowired
+    private PrestarLibroUseCase prestarLibroUseCase;
+
+    @Autowired
+    private OutboxPrestamoCreadoJpaRepository outboxRepository;
+
+    @Autowired
+    private OutboxPrestamoCreadoJpaMapper outboxMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final SimpleMeterRegistry registro = new SimpleMeterRegistry();
+
+    @Test
+    public void prestamoDeberiaRegistrarSuEventoEnLaMismaTransaccion() {
+        // El primer préstamo reserva los bloques de prestamo_seq y outbox_seq; se excluye de la medición
+        prestar("ASDA7884", "calentamiento", TipoUsuario.AFILIADO);
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+
+        Integer prestamoId = prestar("EQWQW8545", "74851254", TipoUsuario.INVITADO);
+
+        // SELECT del libro e INSERT en prestamo, prestamo_consulta y el outbox
+        assertEquals(4, estadisticas.getPrepareStatementCount());
+        assertEquals(3, estadisticas.getEntityInsertCount());
+        PrestamoCreado evento = outboxMapper.toDomain(outboxRepository.findAll(Sort.by("id")).get(1));
+        assertEquals(prestamoId, evento.getPrestamoId());
+        assertEquals("EQWQW8545", evento.getIsbn());
+        assertEquals("74851254", evento.getIdentificacionUsuario());
+        assertEquals(TipoUsuario.INVITADO, evento.getTipoUsuario());
+    }
+
+    @Test
+    public void relevoDeberiaEntregarLosEventosEnOrdenPorTramosYVaciarElOutbox() {
+        List<Integer> prestamos = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            prestamos.add(prestar("ASDA7884", "afiliado" + i, TipoUsuario.AFILIADO));
+        }
+        List<List<PrestamoCreado>> lotes = new ArrayList<>();
+
+        assertEquals(5, relevo(lotes::add, 2).relevar());
+
+        assertEquals(3, lotes.size());
+        List<Integer> entregados = new ArrayList<>();
+        lotes.forEach(lote -> lote.forEach(evento -> entregados.add(evento.getPrestamoId())));
+        assertEquals(prestamos, entregados);
+        assertEquals(0, outboxRepository.count());
+        assertEquals(5.0, registro.get(RelevoPrestamosCreados.DESPACHADOS).counter().count());
+        assertEquals(5, registro.get(RelevoPrestamosCreados.RETRASO).timer().count());
+    }
+
+    @Test
+    public void eventosDeUnPublicadorQueFallaDeberianEntregarseEnElSiguienteCiclo() {
+        Integer prestamoId = prestar("AWQ489", "empleado", TipoUsuario.EMPLEADO);
+
+        assertThrows(IllegalStateException.class, relevo(eventos -> {
+            throw new IllegalStateException("destino caído");
+        }, 10)::relevar);
+        assertEquals(1, outboxRepository.count());
+
+        List<PrestamoCreado> entregados = new ArrayList<>();
+        assertEquals(1, relevo(entregados::addAll, 10).relevar());
+        assertEquals(prestamoId, entregados.get(0).getPrestamoId());
+        assertEquals(0, outboxRepository.count());
+        assertEquals(0, relevo(entregados::addAll, 10).relevar());
+    }
+
+    private RelevoPrestamosCreados relevo(PublicadorPrestamosCreadosPort publicador, int tamanoLote) {
+        return new RelevoPrestamosCreados(outboxRepository, outboxMapper, publicador, tamanoLote,
+            Duration.ofHours(1), Clock.systemUTC(), registro);
+    }
+
+    private Integer prestar(String isbn, String identificacionUsuario, TipoUsuario tipoUsuario) {
+        return prestarLibroUseCase.ejecutar(PrestarLibroCommand.builder()
+            .isbn(isbn)
+            .identificacionUsuario(identificacionUsuario)
+            .tipoUsuario(tipoUsuario.getValor())
+            .build()).getId();
+    }
+}
@@ -0,0 +1,86 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.sql;
+
+import com.ceiba.biblioteca.infrastructure.adapter.in.metricas.InterceptorSentenciasSql;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+class DataSourceMedidoTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry registro;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        // El primer préstamo reserva el bloque de IDs de prestamo_seq; se excluye de la medición
+        prestar("ASDA7884", "calentamiento", 1);
+    }
+
+    @Test
+    public void dataSourceDeLaAplicacionDeberiaContarLasSentencias() {
+        assertTrue(dataSource instanceof DataSourceMedido);
+    }
+
+    @Test
+    public void prestamoDeberiaEjecutarLaConsultaDelLibroYLosInsertDelPrestamoYSuConsulta() throws Exception {
+        MedicionSql medicion = SentenciasSql.alMaximo(3, "POST /prestamo",
+            () -> prestar("AWQ489", "8001", 2));
+
+        // SELECT del libro, INSERT en prestamo y en el modelo de lectura prestamo_consulta
+        assertEquals(3, medicion.getSentencias());
+        assertEquals(3, medicion.getFilas());
+    }
+
+    @Test
+    public void consultaDeberiaEjecutarUnaSolaSentencia() throws Exception {
+        MedicionSql medicion = SentenciasSql.alMaximo(1, "GET /prestamo/{id}",
+            () -> mvc.perform(MockMvcRequestBuilders.get("/prestamo/1").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()));
+
+        assertEquals(1, medicion.getFilas());
+    }
+
+    @Test
+    public void sentenciasDeberianPublicarsePorEndpoint() throws Exception {
+        prestar("AWQ489", "8002", 1);
+        prestar("EQWQW8545", "8003", 1);
+
+        DistributionSummary sentencias = registro.get(InterceptorSentenciasSql.SENTENCIAS)
+            .tag("metodo", "POST").tag("uri", "/prestamo").summary();
+        assertEquals(3, sentencias.count());
+        assertTrue(sentencias.totalAmount() >= 9);
+        assertEquals(3, registro.get(InterceptorSentenciasSql.TIEMPO)
+            .tag("metodo", "POST").tag("uri", "/prestamo").timer().count());
+    }
+
+    private void prestar(String isbn, String usuario, int tipoUsuario) throws Exception {
+        mvc.perform(MockMvcRequestBuilders.post("/prestamo")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"isbn\":\"" + isbn + "\",\"identificacionUsuario\":\"" + usuario
+                    + "\",\"tipoUsuario\":" + tipoUsuario + "}"))
+            .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,27 @@
+package com.ceiba.biblioteca.infrastructure.adapter.out.persistence.sql;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class SentenciasSql {
+
+    @FunctionalInterface
+    public interface Accion {
+        void ejecutar() throws Exception;
+    }
+
+    private SentenciasSql() {
+    }
+
+    public static MedicionSql medir(Accion accion) throws Exception {
+        MedicionSql inicio = ContadorSentenciasSql.actual();
+        accion.ejecutar();
+        return ContadorSentenciasSql.actual().desde(inicio);
+    }
+
+    public static MedicionSql alMaximo(long sentencias, String descripcion, Accion accion) throws Exception {
+        MedicionSql medicion = medir(accion);
+        assertTrue(medicion.getSentencias() <= sentencias,
+            () -> descripcion + " debería ejecutar como máximo " + sentencias + " sentencias y ejecutó " + medicion);
+        return medicion;
+    }
+}
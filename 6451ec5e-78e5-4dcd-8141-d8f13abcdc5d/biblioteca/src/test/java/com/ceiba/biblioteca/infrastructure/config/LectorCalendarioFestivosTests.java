@@ -0,0 +1,42 @@
+package com.ceiba.biblioteca.infrastructure.config;
+
+import com.ceiba.biblioteca.domain.model.CalendarioFestivos;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LectorCalendarioFestivosTests {
+
+    @Test
+    public void calendarioIncluidoDeberiaCargarSoloLosFestivosEntreSemana() {
+        CalendarioFestivos calendario = LectorCalendarioFestivos.leer(new ClassPathResource("calendario/festivos-co.csv"));
+
+        assertTrue(calendario.esFestivo(LocalDate.of(2026, 12, 25)));
+        assertFalse(calendario.esFestivo(LocalDate.of(2027, 12, 25)), "La Navidad de 2027 es sábado");
+        assertEquals(3, calendario.contarFestivos(LocalDate.of(2026, 10, 1), LocalDate.of(2026, 11, 30)));
+    }
+
+    @Test
+    public void archivoInexistenteDeberiaDarUnCalendarioSinFestivos() {
+        CalendarioFestivos calendario = LectorCalendarioFestivos.leer(new ClassPathResource("calendario/no-existe.csv"));
+
+        assertEquals(0, calendario.contarFestivos(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31)));
+    }
+
+    @Test
+    public void fechaInvalidaDeberiaIndicarLaLinea() {
+        ByteArrayResource archivo = new ByteArrayResource(
+            "# fecha|descripcion\n2026-01-01|Año Nuevo\n2026-13-01|Error\n".getBytes(StandardCharsets.UTF_8));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> LectorCalendarioFestivos.leer(archivo));
+        assertTrue(error.getMessage().contains("línea 3"), error.getMessage());
+    }
+}